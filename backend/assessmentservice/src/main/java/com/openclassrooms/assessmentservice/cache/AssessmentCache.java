@@ -1,9 +1,18 @@
 package com.openclassrooms.assessmentservice.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.openclassrooms.assessmentservice.config.AssessmentCacheConfig;
 import com.openclassrooms.assessmentservice.model.Assessment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -11,33 +20,149 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache en mémoire pour les résultats d'évaluation de risque de diabète.
- * Les résultats sont stockés après chaque calcul et disponibles pour lecture rapide.
- * Le cache se vide au redémarrage du service.
+ * CARACTÉRISTIQUES:
+ * - Borné (maximumSize) et expirant (ttl) : Caffeine évince les entrées les moins utiles
+ * - Stale-while-revalidate : une entrée plus ancienne que refreshAfter est servie
+ *   puis recalculée en arrière-plan (un seul recalcul en cours par patient)
+ * - Invalidation par patient sur les événements Kafka (notes, patient modifié), mémorisée pendant ttl
+ *   pour ne pas resservir l'évaluation historisée antérieure au changement
+ * - Statistiques hit/miss/eviction exportées dans le registre Micrometer (cache=assessments)
  *
  * @author Kardigué MAGASSA
- * @version 1.0
+ * @version 2.0
  * @since 2026-03-07
  */
 @Slf4j
 @Component
 public class AssessmentCache {
 
-    private final Map<String, Assessment> cache = new ConcurrentHashMap<>();
+    private static final String CACHE_NAME = "assessments";
+
+    private final Cache<String, Assessment> cache;
+    private final Duration refreshAfter;
+    private final Ticker ticker;
+    private final long ttlNanos;
+
+    /** Patients invalidés dont aucune nouvelle évaluation n'a encore été mise en cache. */
+    private final Cache<String, Boolean> invalidated;
+
+    /** Instant (ticker) de la dernière invalidation globale. */
+    private volatile Long allInvalidatedAt;
+
+    /** Recalculs en cours ; le marqueur d'un recalcul est retiré par une invalidation. */
+    private final Map<String, Object> refreshing = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AssessmentCache(AssessmentCacheConfig config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, Ticker.systemTicker());
+    }
+
+    AssessmentCache(AssessmentCacheConfig config, MeterRegistry meterRegistry, Ticker ticker) {
+        this.refreshAfter = config.getRefreshAfter();
+        this.ticker = ticker;
+        this.ttlNanos = config.getTtl().toNanos();
+        this.invalidated = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .ticker(ticker)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
 
     public void save(Assessment assessment) {
         cache.put(assessment.patientUuid(), assessment);
+        invalidated.invalidate(assessment.patientUuid());
         log.debug("Assessment cached for patient: {}", assessment.patientUuid());
     }
 
     public List<Assessment> getAll() {
-        return new ArrayList<>(cache.values());
+        return new ArrayList<>(cache.asMap().values());
     }
 
     public Assessment getByPatientUuid(String patientUuid) {
-        return cache.get(patientUuid);
+        return cache.getIfPresent(patientUuid);
+    }
+
+    /**
+     * Indique si le patient a été invalidé depuis moins de ttl sans nouvelle évaluation en cache :
+     * une évaluation historisée peut alors précéder le changement (écriture de l'historique asynchrone).
+     */
+    public boolean wasInvalidated(String patientUuid) {
+        Long allAt = allInvalidatedAt;
+        return invalidated.getIfPresent(patientUuid) != null
+                || (allAt != null && ticker.read() - allAt < ttlNanos);
+    }
+
+    /**
+     * Indique si l'évaluation en cache doit être recalculée en arrière-plan.
+     */
+    public boolean isStale(String patientUuid) {
+        return cache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(patientUuid))
+                .map(age -> age.compareTo(refreshAfter) >= 0)
+                .orElse(false);
+    }
+
+    /**
+     * Recalcule l'évaluation en arrière-plan, sauf si un recalcul est déjà en cours.
+     * Le résultat n'est pas mis en cache si le patient a été invalidé entre-temps.
+     *
+     * @param patientUuid UUID du patient
+     * @param loader      calcul de la nouvelle évaluation (souscrit une seule fois)
+     */
+    public void refresh(String patientUuid, Mono<Assessment> loader) {
+        reload(patientUuid, loader).subscribe(
+                assessment -> {},
+                error -> log.warn("Background refresh failed for patient {}: {}", patientUuid, error.getMessage())
+        );
+    }
+
+    /**
+     * Variante de {@link #refresh} à souscrire par l'appelant : vide si un recalcul est déjà en cours,
+     * en erreur si le calcul échoue. Le résultat est émis même s'il n'a pas été mis en cache.
+     *
+     * @param patientUuid UUID du patient
+     * @param loader      calcul de la nouvelle évaluation
+     * @return Mono<Assessment> la nouvelle évaluation
+     */
+    public Mono<Assessment> reload(String patientUuid, Mono<Assessment> loader) {
+        return Mono.defer(() -> {
+            Object marker = new Object();
+            if (refreshing.putIfAbsent(patientUuid, marker) != null) {
+                return Mono.empty();
+            }
+            log.debug("Refreshing assessment for patient: {}", patientUuid);
+            return loader
+                    .doOnNext(assessment -> {
+                        if (refreshing.get(patientUuid) == marker) {
+                            save(assessment);
+                        }
+                    })
+                    .doFinally(signal -> refreshing.remove(patientUuid, marker));
+        });
+    }
+
+    public void invalidate(String patientUuid) {
+        refreshing.remove(patientUuid);
+        cache.invalidate(patientUuid);
+        invalidated.put(patientUuid, Boolean.TRUE);
+        log.debug("Assessment invalidated for patient: {}", patientUuid);
+    }
+
+    public void invalidateAll() {
+        refreshing.clear();
+        cache.invalidateAll();
+        allInvalidatedAt = ticker.read();
+        log.debug("All cached assessments invalidated");
     }
 
-    public int size() {
-        return cache.size();
+    public long size() {
+        return cache.estimatedSize();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.openclassrooms.assessmentservice.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration des évaluations en lot (re-scoring d'une patientèle).
+ * Chaque service aval a sa propre limite d'appels simultanés : le flux
+ * ne demande de nouveaux patients que lorsque des appels se terminent.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.1
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assessment.batch")
+@Validated
+public class AssessmentBatchConfig {
+
+    /**Nombre maximal d'UUID acceptés dans une requête batch.*/
+    @Min(1)
+    private int maxPatients = 10_000;
+
+    /**Appels simultanés maximum vers PatientService.*/
+    @Min(1)
+    private int patientServiceConcurrency = 8;
+
+    /**UUID envoyés par appel POST /api/patients/batch (limite PatientService : 5000).*/
+    @Min(1)
+    @Max(5000)
+    private int patientLookupChunkSize = 500;
+
+    /**Appels simultanés maximum vers NotesService.*/
+    @Min(1)
+    private int notesServiceConcurrency = 16;
+}
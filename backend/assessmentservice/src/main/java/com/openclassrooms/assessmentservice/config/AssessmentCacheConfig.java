@@ -0,0 +1,38 @@
+package com.openclassrooms.assessmentservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration du cache des évaluations.
+ * Une entrée plus ancienne que refreshAfter est servie immédiatement puis recalculée
+ * en arrière-plan ; au-delà de ttl elle est évincée et recalculée à la demande.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assessment.cache")
+@Validated
+public class AssessmentCacheConfig {
+
+    /**Nombre maximal d'évaluations conservées (éviction des moins utilisées).*/
+    @Min(1)
+    private long maximumSize = 10_000;
+
+    /**Durée de vie d'une évaluation après son calcul.*/
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /**Âge à partir duquel une évaluation servie est recalculée en arrière-plan.*/
+    @NotNull
+    private Duration refreshAfter = Duration.ofMinutes(5);
+}
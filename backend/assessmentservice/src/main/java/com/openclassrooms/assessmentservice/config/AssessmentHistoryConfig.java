@@ -0,0 +1,48 @@
+package com.openclassrooms.assessmentservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration de l'historique persistant des évaluations.
+ * Les évaluations sont insérées par lots : dès que batchSize est atteint
+ * ou au plus tard après flushInterval. Un lot en échec est réessayé retryAttempts fois,
+ * puis mis de côté et réécrit avant le lot suivant.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assessment.history")
+@Validated
+public class AssessmentHistoryConfig {
+
+    /**Nombre maximal d'évaluations par insertion groupée.*/
+    @Min(1)
+    private int batchSize = 500;
+
+    /**Délai maximal avant l'écriture d'un lot incomplet.*/
+    @NotNull
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**Nouvelles tentatives d'un lot en échec avant sa mise de côté.*/
+    @Min(0)
+    private int retryAttempts = 3;
+
+    /**Délai avant la première nouvelle tentative, doublé à chaque échec.*/
+    @NotNull
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /**Évaluations en attente d'écriture au-delà desquelles les nouvelles sont ignorées (base indisponible),
+     * sauf celles qui portent un événement.*/
+    @Min(1)
+    private int maxPending = 50_000;
+}
@@ -0,0 +1,50 @@
+package com.openclassrooms.assessmentservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration du recalcul proactif des évaluations sur les événements notes/patient.
+ * Les événements d'un même patient sont regroupés : le recalcul part après debounce sans
+ * nouvel événement, et au plus tard maxWait après le premier.
+ * Sans identifiants client (client_credentials), seul le cache est invalidé.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assessment.reassessment")
+@Validated
+public class AssessmentReassessmentConfig {
+
+    private boolean enabled = true;
+
+    /**Silence requis après le dernier événement d'un patient avant recalcul.*/
+    @NotNull
+    private Duration debounce = Duration.ofSeconds(2);
+
+    /**Délai maximal entre le premier événement et le recalcul, même en rafale continue.*/
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /**Nombre maximal de recalculs simultanés.*/
+    @Min(1)
+    private int concurrency = 4;
+
+    /**Nombre maximal de patients en attente ; au-delà, seul le cache est invalidé.*/
+    @Min(1)
+    private int maxPending = 10_000;
+
+    /**Client OAuth2 (client_credentials) utilisé pour appeler PatientService et NotesService.*/
+    private String clientId;
+
+    private String clientSecret;
+}
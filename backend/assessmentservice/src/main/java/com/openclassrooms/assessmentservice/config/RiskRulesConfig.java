@@ -0,0 +1,71 @@
+package com.openclassrooms.assessmentservice.config;
+
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Règles de calcul du niveau de risque, ordonnées par priorité : la première règle satisfaite
+ * détermine le niveau, NONE si aucune. Rechargées à chaud par /actuator/refresh.
+ * Une règle FEMALE s'applique aussi aux patients dont le genre n'est pas renseigné.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assessment.risk")
+@Validated
+public class RiskRulesConfig {
+
+    /**Âge jusqu'auquel (inclus) un patient est considéré jeune.*/
+    @Min(0)
+    private int ageThreshold = 30;
+
+    @NotEmpty
+    @Valid
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule(AgeGroup.YOUNG, Gender.MALE, 5, RiskLevel.EARLY_ONSET),
+            new Rule(AgeGroup.YOUNG, Gender.FEMALE, 7, RiskLevel.EARLY_ONSET),
+            new Rule(AgeGroup.OLDER, null, 8, RiskLevel.EARLY_ONSET),
+            new Rule(AgeGroup.YOUNG, Gender.MALE, 3, RiskLevel.IN_DANGER),
+            new Rule(AgeGroup.YOUNG, Gender.FEMALE, 4, RiskLevel.IN_DANGER),
+            new Rule(AgeGroup.OLDER, null, 6, RiskLevel.IN_DANGER),
+            new Rule(AgeGroup.OLDER, null, 2, RiskLevel.BORDERLINE)));
+
+    public enum AgeGroup {
+        YOUNG, OLDER, ANY
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        @NotNull
+        private AgeGroup age = AgeGroup.ANY;
+
+        /**Genre concerné ; absent : tous.*/
+        private Gender gender;
+
+        /**Nombre minimal de déclencheurs.*/
+        @Min(0)
+        private int minTriggers;
+
+        @NotNull
+        private RiskLevel level;
+    }
+}
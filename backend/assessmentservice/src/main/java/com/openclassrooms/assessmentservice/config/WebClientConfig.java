@@ -1,10 +1,12 @@
 package com.openclassrooms.assessmentservice.config;
 
 import com.openclassrooms.assessmentservice.handler.WebClientInterceptor;
+import com.openclassrooms.commons.security.ServiceTokenProvider;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,14 +38,22 @@ public class WebClientConfig {
     @Value("${services.notes.url}")
     private String notesServiceUrl;
 
+    @Value("${services.authorization-server.url}")
+    private String authorizationServerUrl;
+
     @Value("${services.timeout:5000}")
     private int defaultTimeout;
 
+    /**Taille maximale d'une réponse bufferisée (listes de patients / notes volumineuses).*/
+    @Value("${services.max-in-memory-size:16777216}")
+    private int maxInMemorySize;
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder()
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
                 .filter(WebClientInterceptor.jwtAuthorizationFilter())
                 .filter(WebClientInterceptor.logRequest())
                 .filter(WebClientInterceptor.logResponse())
@@ -68,6 +78,29 @@ public class WebClientConfig {
                 .build();
     }
 
+    /**
+     * Sans propagation du JWT utilisateur : sert à obtenir le jeton du service (client_credentials).
+     */
+    @Bean("authorizationServerWebClient")
+    public WebClient authorizationServerWebClient() {
+        log.info("Configuring WebClient for Authorization Server: {}", authorizationServerUrl);
+        return WebClient.builder()
+                .baseUrl(authorizationServerUrl)
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient(defaultTimeout)))
+                .filter(WebClientInterceptor.logRequest())
+                .filter(WebClientInterceptor.logResponse())
+                .build();
+    }
+
+    /**
+     * Jeton du service (client_credentials) pour le recalcul en arrière-plan.
+     */
+    @Bean
+    public ServiceTokenProvider serviceTokenProvider(@Qualifier("authorizationServerWebClient") WebClient authorizationServerWebClient,
+                                                     AssessmentReassessmentConfig config) {
+        return new ServiceTokenProvider(authorizationServerWebClient, config.getClientId(), config.getClientSecret());
+    }
+
     private HttpClient createHttpClient(int timeout) {
         return HttpClient.create()
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout)
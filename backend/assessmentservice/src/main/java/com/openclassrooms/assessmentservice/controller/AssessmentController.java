@@ -1,7 +1,13 @@
 package com.openclassrooms.assessmentservice.controller;
 
+import com.openclassrooms.assessmentservice.domain.PageResponse;
 import com.openclassrooms.assessmentservice.domain.Response;
+import com.openclassrooms.assessmentservice.dtorequest.BatchAssessmentRequestDTO;
+import com.openclassrooms.assessmentservice.dtoresponse.BatchAssessmentResponseDTO;
 import com.openclassrooms.assessmentservice.mapper.AssessmentMapper;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
 import com.openclassrooms.assessmentservice.service.AssessmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,11 +18,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 import static com.openclassrooms.assessmentservice.util.RequestUtils.getResponse;
@@ -29,7 +39,7 @@ import static org.springframework.http.HttpStatus.OK;
  * Le JWT est propagé automatiquement via WebClientInterceptor
  *
  * @author Kardigué MAGASSA
- * @version 2.0
+ * @version 2.1
  * @since 2026-02-25
  */
 @Tag(name = "Assessment", description = "API d'évaluation du risque de diabète")
@@ -74,11 +84,100 @@ public class AssessmentController {
 
         log.info("Received diabetes assessment request for patient: {}", patientUuid);
 
-        String authHeader = request.getHeader("Authorization");
-        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
+        String token = extractToken(request);
 
         return assessmentService.assessDiabetesRisk(patientUuid, token).map(assessmentMapper::toResponse).map(assessmentResponse -> ResponseEntity.ok(getResponse(request,
                         Map.of("assessment", assessmentResponse), "Évaluation du risque effectuée avec succès", OK)))
                 .doOnError(error -> log.error("Assessment failed for patient {}: {}", patientUuid, error.getMessage()));
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Évaluer le risque de diabète d'un lot de patients",
+            description = "Évalue une liste d'UUID ou tous les patients actifs. Les résultats sont diffusés au fil de l'eau " + "(NDJSON ou SSE selon l'en-tête Accept), un élément par patient, avec concurrence bornée vers les services externes"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flux des évaluations"),
+            @ApiResponse(responseCode = "400", description = "Requête invalide")
+    })
+    @PostMapping(value = "/diabetes/batch", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public Flux<BatchAssessmentResponseDTO> assessDiabetesRiskBatch(@RequestBody BatchAssessmentRequestDTO batchRequest, HttpServletRequest request) {
+
+        log.info("Received batch diabetes assessment request - allActivePatients: {}, patients: {}", batchRequest.isAllActivePatients(),
+                batchRequest.getPatientUuids() != null ? batchRequest.getPatientUuids().size() : 0);
+
+        return assessmentService.assessDiabetesRiskBatch(batchRequest.getPatientUuids(), batchRequest.isAllActivePatients(), extractToken(request))
+                .map(assessmentMapper::toBatchResponse);
+    }
+
+    @Operation(
+            summary = "Dernière évaluation de chaque patient",
+            description = "Lit la dernière évaluation enregistrée de chaque patient dans l'historique, sans recalcul. Filtre optionnel par niveau de risque"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Évaluations récupérées avec succès"),
+            @ApiResponse(responseCode = "400", description = "Pagination invalide")
+    })
+    @GetMapping("/history/latest")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<Response>> getLatestAssessments(@RequestParam(required = false) @Parameter(description = "Niveau de risque") RiskLevel riskLevel,
+                                                               @RequestParam(defaultValue = "0") @Parameter(description = "Numéro de page (à partir de 0)", example = "0") int page,
+                                                               @RequestParam(defaultValue = "20") @Parameter(description = "Taille de page (max 100)", example = "20") int size,
+                                                               HttpServletRequest request) {
+        log.info("Received request to get latest assessments - riskLevel: {}, page: {}, size: {}", riskLevel, page, size);
+        return assessmentService.getLatestAssessments(riskLevel, page, size)
+                .map(pageResult -> ResponseEntity.ok(getResponse(request, pageData(pageResult), "Évaluations récupérées avec succès", OK)));
+    }
+
+    @Operation(
+            summary = "Historique des évaluations d'un patient",
+            description = "Retourne les évaluations enregistrées du patient, de la plus récente à la plus ancienne"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Historique récupéré avec succès"),
+            @ApiResponse(responseCode = "400", description = "Pagination invalide")
+    })
+    @GetMapping("/history/patients/{patientUuid}")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<Response>> getAssessmentHistory(@Parameter(description = "UUID du patient", required = true) @PathVariable String patientUuid,
+                                                               @RequestParam(defaultValue = "0") @Parameter(description = "Numéro de page (à partir de 0)", example = "0") int page,
+                                                               @RequestParam(defaultValue = "20") @Parameter(description = "Taille de page (max 100)", example = "20") int size,
+                                                               HttpServletRequest request) {
+        log.info("Received request to get assessment history for patient: {}", patientUuid);
+        return assessmentService.getAssessmentHistory(patientUuid, page, size)
+                .map(pageResult -> ResponseEntity.ok(getResponse(request, pageData(pageResult), "Historique récupéré avec succès", OK)));
+    }
+
+    @Operation(
+            summary = "Distribution des niveaux de risque dans le temps",
+            description = "Nombre de patients par niveau de risque et par période (jour, semaine, mois). " + "Un patient compte une fois par période, avec sa dernière évaluation de la période"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Distribution récupérée avec succès"),
+            @ApiResponse(responseCode = "400", description = "Intervalle invalide")
+    })
+    @GetMapping("/history/distribution")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<Response>> getRiskDistribution(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Parameter(description = "Début (inclus), défaut : il y a 30 jours") LocalDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Parameter(description = "Fin (exclue), défaut : maintenant") LocalDateTime to,
+                                                              @RequestParam(defaultValue = "DAY") @Parameter(description = "Granularité : DAY, WEEK ou MONTH") TimeBucket interval,
+                                                              HttpServletRequest request) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        log.info("Received request to get risk distribution - from: {}, to: {}, interval: {}", start, end, interval);
+        return assessmentService.getRiskDistribution(start, end, interval)
+                .map(distribution -> ResponseEntity.ok(getResponse(request, Map.of("distribution", distribution, "from", start, "to", end, "interval", interval),
+                        "Distribution récupérée avec succès", OK)));
+    }
+
+    private Map<String, Object> pageData(PageResponse<Assessment> pageResult) {
+        return Map.of("assessments", pageResult.content().stream().map(assessmentMapper::toResponse).toList(),
+                "currentPage", pageResult.currentPage(), "totalPages", pageResult.totalPages(),
+                "totalElements", pageResult.totalElements(), "size", pageResult.size());
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        return (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.openclassrooms.assessmentservice.dtorequest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Requête d'évaluation en lot : liste explicite d'UUID ou tous les patients actifs.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAssessmentRequestDTO {
+    private List<String> patientUuids;
+    private boolean allActivePatients;
+}
@@ -0,0 +1,25 @@
+package com.openclassrooms.assessmentservice.dtoresponse;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ligne NDJSON / événement SSE d'une évaluation en lot.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchAssessmentResponseDTO {
+    private String patientUuid;
+    private AssessmentResponseDTO assessment;
+    private String error;
+}
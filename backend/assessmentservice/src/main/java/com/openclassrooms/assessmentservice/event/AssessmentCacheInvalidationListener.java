@@ -0,0 +1,73 @@
+package com.openclassrooms.assessmentservice.event;
+
+import com.openclassrooms.assessmentservice.cache.AssessmentCache;
+import com.openclassrooms.assessmentservice.reassessment.ReassessmentQueue;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listener Kafka invalidant le cache des évaluations lorsque les données d'un patient changent,
+ * puis programmant leur recalcul en arrière-plan (sauf suppression du patient).
+ * Chaque instance consomme le topic avec son propre groupe : toutes les instances sont invalidées.
+ * Le message est décodé par {@link NotificationCodec} : un message Avro d'un autre type d'événement
+ * est écarté sur l'empreinte de son schéma, sans décoder les données.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssessmentCacheInvalidationListener {
+
+    private static final String MEDILABO_NOTIFICATIONS = "MEDILABO_NOTIFICATIONS";
+
+    /** Événements modifiant une donnée utilisée par l'évaluation (notes, âge, genre). */
+    private static final Set<String> INVALIDATING_EVENTS = Set.of("NOTE_CREATED", "NOTE_UPDATED", "NOTE_DELETED", "PATIENT_UPDATED", "PATIENT_DELETED");
+
+    /** Événements après lesquels l'évaluation est recalculée de manière proactive. */
+    private static final Set<String> REASSESSING_EVENTS = Set.of("NOTE_CREATED", "NOTE_UPDATED", "NOTE_DELETED", "PATIENT_UPDATED");
+
+    private final AssessmentCache assessmentCache;
+    private final NotificationCodec notificationCodec;
+    private final ReassessmentQueue reassessmentQueue;
+
+    @KafkaListener(
+            topics = MEDILABO_NOTIFICATIONS,
+            groupId = "${assessment.cache.invalidation.group-id:assessment-cache-${random.uuid}}",
+            autoStartup = "${assessment.cache.invalidation.enabled:true}")
+    public void onNotification(byte[] message) {
+        try {
+            NotificationCodec.DecodedNotification notification = notificationCodec.decode(message, INVALIDATING_EVENTS).orElse(null);
+            if (notification == null) {
+                return;
+            }
+            String eventType = notification.eventType();
+
+            // NotesService : patientNumber ; PatientService : patientUuid
+            Map<String, Object> data = notification.data();
+            Object patientReference = data.get("patientUuid") != null ? data.get("patientUuid") : data.get("patientNumber");
+            String patientUuid = patientReference != null ? patientReference.toString() : null;
+
+            if (patientUuid == null || patientUuid.isBlank()) {
+                log.info("{} without patient UUID, invalidating all cached assessments", eventType);
+                assessmentCache.invalidateAll();
+            } else {
+                log.debug("{} received, invalidating assessment for patient {}", eventType, patientUuid);
+                assessmentCache.invalidate(patientUuid);
+                if (REASSESSING_EVENTS.contains(eventType)) {
+                    reassessmentQueue.submit(patientUuid);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error processing cache invalidation message: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.openclassrooms.assessmentservice.history;
+
+import com.openclassrooms.assessmentservice.config.AssessmentHistoryConfig;
+import com.openclassrooms.assessmentservice.event.Event;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.repository.AssessmentRepository;
+import com.openclassrooms.assessmentservice.repository.OutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Écriture asynchrone et groupée des évaluations dans l'historique.
+ * FLUX:
+ * 1. append() dépose l'évaluation, et son événement éventuel, dans un tampon (aucun accès base sur le chemin de la requête)
+ * 2. bufferTimeout() forme des lots de batchSize, ou plus petits après flushInterval
+ * 3. Un seul lot écrit à la fois (boundedElastic) : évaluations et événements (outbox) dans la même transaction,
+ *    l'événement n'est publié que si l'évaluation est historisée
+ * 4. Un lot en échec est réessayé (retryAttempts, retryBackoff), puis mis de côté et réécrit avant le lot suivant
+ * 5. À l'arrêt, le tampon et les lots mis de côté sont écrits avant la fermeture de la source de données
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+public class AssessmentHistoryWriter {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AssessmentRepository assessmentRepository;
+    private final OutboxRepository outboxRepository;
+    private final TransactionOperations transactionOperations;
+    private final AssessmentHistoryConfig config;
+    private final Sinks.Many<HistoryEntry> sink = Sinks.many().unicast().onBackpressureBuffer();
+    /** Lots en échec après les nouvelles tentatives, dans l'ordre de réception. */
+    private final Queue<List<HistoryEntry>> parked = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Mono<Void> completion;
+
+    public AssessmentHistoryWriter(AssessmentRepository assessmentRepository, OutboxRepository outboxRepository,
+                                   TransactionOperations transactionOperations, AssessmentHistoryConfig config) {
+        this.assessmentRepository = assessmentRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionOperations = transactionOperations;
+        this.config = config;
+        this.completion = sink.asFlux()
+                .bufferTimeout(config.getBatchSize(), config.getFlushInterval())
+                // Lots en attente pendant une écriture ; sans événement, leur volume est borné par maxPending
+                .onBackpressureBuffer()
+                .concatMap(batch -> writeParked().then(write(batch)))
+                .then()
+                .cache();
+        this.completion.subscribe();
+    }
+
+    /**
+     * Ajoute une évaluation au prochain lot. Sans effet bloquant : si la base ne suit pas
+     * et que maxPending est atteint, l'évaluation n'est pas historisée.
+     */
+    public void append(Assessment assessment) {
+        append(assessment, null);
+    }
+
+    /**
+     * Ajoute une évaluation et l'événement à publier une fois l'évaluation historisée.
+     * Une évaluation porteuse d'un événement est toujours acceptée : l'événement ne doit pas être perdu.
+     */
+    public void append(Assessment assessment, Event event) {
+        if (pending.incrementAndGet() > config.getMaxPending() && event == null) {
+            pending.decrementAndGet();
+            log.warn("History buffer full, assessment for patient {} not persisted", assessment.patientUuid());
+            return;
+        }
+        Sinks.EmitResult result = emit(new HistoryEntry(assessment, event));
+        if (result.isFailure()) {
+            pending.decrementAndGet();
+            log.error("Assessment for patient {} not persisted{}: {}", assessment.patientUuid(),
+                    event != null ? ", event " + event.getEventType() + " lost" : "", result);
+        }
+    }
+
+    /**
+     * Nombre d'évaluations reçues et pas encore écrites, lots mis de côté compris.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void flush() {
+        sink.tryEmitComplete();
+        completion.block(SHUTDOWN_TIMEOUT);
+        writeParked().block(SHUTDOWN_TIMEOUT);
+        if (!parked.isEmpty()) {
+            List<HistoryEntry> lost = parked.stream().flatMap(List::stream).toList();
+            log.error("Assessment history flushed, {} assessments and {} events not persisted", lost.size(),
+                    lost.stream().map(HistoryEntry::event).filter(Objects::nonNull).count());
+            return;
+        }
+        log.info("Assessment history flushed");
+    }
+
+    /**
+     * Écrit un lot, avec nouvelles tentatives ; un lot toujours en échec est mis de côté.
+     */
+    private Mono<Void> write(List<HistoryEntry> batch) {
+        return Mono.fromRunnable(() -> save(batch))
+                .subscribeOn(Schedulers.boundedElastic())
+                .retryWhen(Retry.backoff(config.getRetryAttempts(), config.getRetryBackoff()))
+                // Avant la propagation du signal : flush() voit le compteur à jour
+                .doOnSuccess(done -> pending.addAndGet(-batch.size()))
+                .onErrorResume(error -> {
+                    log.error("Failed to write {} assessments to history, batch parked: {}", batch.size(), error.getMessage());
+                    parked.add(batch);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Réécrit les lots mis de côté, dans l'ordre, une tentative chacun ; s'arrête au premier échec.
+     */
+    private Mono<Void> writeParked() {
+        return Mono.defer(() -> parked.isEmpty() ? Mono.empty() : Mono.fromRunnable(() -> {
+                    List<HistoryEntry> batch;
+                    while ((batch = parked.peek()) != null) {
+                        save(batch);
+                        parked.poll();
+                        pending.addAndGet(-batch.size());
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnError(error -> log.warn("{} parked history batches still failing: {}", parked.size(), error.getMessage()))
+                .onErrorComplete()
+                .then());
+    }
+
+    /** Évaluations et événements du lot dans la même transaction. */
+    private void save(List<HistoryEntry> batch) {
+        transactionOperations.executeWithoutResult(status -> {
+            assessmentRepository.saveAll(batch.stream().map(HistoryEntry::assessment).toList());
+            outboxRepository.saveAll(batch.stream().map(HistoryEntry::event).filter(Objects::nonNull).toList());
+        });
+    }
+
+    /** Les appels concurrents sont sérialisés : on réessaie tant qu'un autre thread émet. */
+    private Sinks.EmitResult emit(HistoryEntry entry) {
+        Sinks.EmitResult result;
+        do {
+            result = sink.tryEmitNext(entry);
+        } while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+        return result;
+    }
+
+    /** Évaluation et événement écrits dans la même transaction. */
+    private record HistoryEntry(Assessment assessment, Event event) {
+    }
+}
@@ -2,6 +2,8 @@ package com.openclassrooms.assessmentservice.mapper;
 
 import com.openclassrooms.assessmentservice.model.Assessment;
 import com.openclassrooms.assessmentservice.dtoresponse.AssessmentResponseDTO;
+import com.openclassrooms.assessmentservice.dtoresponse.BatchAssessmentResponseDTO;
+import com.openclassrooms.assessmentservice.model.BatchAssessmentResult;
 import com.openclassrooms.assessmentservice.model.RiskLevel;
 import org.springframework.stereotype.Component;
 
@@ -33,6 +35,14 @@ public class AssessmentMapper {
                 .build();
     }
 
+    public BatchAssessmentResponseDTO toBatchResponse(BatchAssessmentResult result) {
+        return BatchAssessmentResponseDTO.builder()
+                .patientUuid(result.patientUuid())
+                .assessment(toResponse(result.assessment()))
+                .error(result.error())
+                .build();
+    }
+
     private String getRiskDescription(RiskLevel riskLevel) {
         return riskLevel != null ? riskLevel.getDescription() : null;
     }
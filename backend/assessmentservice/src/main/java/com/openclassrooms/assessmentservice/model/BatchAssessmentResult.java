@@ -0,0 +1,20 @@
+package com.openclassrooms.assessmentservice.model;
+
+/**
+ * Résultat unitaire d'une évaluation en lot : l'évaluation ou la cause de l'échec.
+ * Un patient en erreur n'interrompt pas le flux.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record BatchAssessmentResult(String patientUuid, Assessment assessment, String error) {
+
+    public static BatchAssessmentResult success(Assessment assessment) {
+        return new BatchAssessmentResult(assessment.patientUuid(), assessment, null);
+    }
+
+    public static BatchAssessmentResult failure(String patientUuid, Throwable error) {
+        return new BatchAssessmentResult(patientUuid, null, error.getMessage());
+    }
+}
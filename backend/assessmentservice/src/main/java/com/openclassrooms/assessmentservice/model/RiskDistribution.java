@@ -0,0 +1,13 @@
+package com.openclassrooms.assessmentservice.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nombre de patients par niveau de risque sur une période (dernière évaluation de chaque patient dans la période).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record RiskDistribution(LocalDateTime period, RiskLevel riskLevel, long patientCount) {
+}
@@ -0,0 +1,21 @@
+package com.openclassrooms.assessmentservice.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Granularité des périodes pour la distribution des niveaux de risque (unité PostgreSQL date_trunc).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TimeBucket {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String unit;
+}
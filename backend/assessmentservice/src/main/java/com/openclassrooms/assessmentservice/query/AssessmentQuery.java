@@ -0,0 +1,58 @@
+package com.openclassrooms.assessmentservice.query;
+
+/**
+ * Requêtes SQL de l'historique des évaluations.
+ * Cette classe centralise :
+ * Les insertions groupées dans l'historique (append-only) et l'upsert de la dernière évaluation
+ * La lecture de la dernière évaluation par patient (table latest_assessments)
+ * L'historique d'un patient (index patient_uuid, assessed_at DESC : une seule partition)
+ * La distribution des niveaux de risque par période (dernière évaluation de chaque patient dans la période)
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class AssessmentQuery {
+
+    public static final String INSERT_ASSESSMENT_QUERY =
+            """
+            INSERT INTO assessments (patient_uuid, patient_name, age, gender, risk_level, trigger_count, triggers_found, assessed_at) VALUES (:patientUuid, :patientName, :age, :gender, :riskLevel, :triggerCount, :triggersFound, :assessedAt)
+            """;
+
+    /** Une évaluation plus ancienne que celle enregistrée ne la remplace pas. */
+    public static final String UPSERT_LATEST_ASSESSMENT_QUERY =
+            """
+            INSERT INTO latest_assessments (patient_uuid, patient_name, age, gender, risk_level, trigger_count, triggers_found, assessed_at) VALUES (:patientUuid, :patientName, :age, :gender, :riskLevel, :triggerCount, :triggersFound, :assessedAt) ON CONFLICT (patient_uuid) DO UPDATE SET patient_name = EXCLUDED.patient_name, age = EXCLUDED.age, gender = EXCLUDED.gender, risk_level = EXCLUDED.risk_level, trigger_count = EXCLUDED.trigger_count, triggers_found = EXCLUDED.triggers_found, assessed_at = EXCLUDED.assessed_at WHERE latest_assessments.assessed_at <= EXCLUDED.assessed_at
+            """;
+
+    public static final String SELECT_LATEST_ASSESSMENTS_QUERY =
+            """
+            SELECT patient_uuid, patient_name, age, gender, risk_level, trigger_count, triggers_found, assessed_at FROM latest_assessments WHERE (CAST(:riskLevel AS VARCHAR) IS NULL OR risk_level = :riskLevel) ORDER BY patient_uuid LIMIT :limit OFFSET :offset
+            """;
+
+    public static final String SELECT_LATEST_ASSESSMENT_BY_PATIENT_QUERY =
+            """
+            SELECT patient_uuid, patient_name, age, gender, risk_level, trigger_count, triggers_found, assessed_at FROM latest_assessments WHERE patient_uuid = :patientUuid
+            """;
+
+    public static final String COUNT_LATEST_ASSESSMENTS_QUERY =
+            """
+            SELECT COUNT(*) FROM latest_assessments WHERE (CAST(:riskLevel AS VARCHAR) IS NULL OR risk_level = :riskLevel)
+            """;
+
+    public static final String SELECT_PATIENT_HISTORY_QUERY =
+            """
+            SELECT patient_uuid, patient_name, age, gender, risk_level, trigger_count, triggers_found, assessed_at FROM assessments WHERE patient_uuid = :patientUuid ORDER BY assessed_at DESC LIMIT :limit OFFSET :offset
+            """;
+
+    public static final String COUNT_PATIENT_HISTORY_QUERY =
+            """
+            SELECT COUNT(*) FROM assessments WHERE patient_uuid = :patientUuid
+            """;
+
+    /** Un patient compte une fois par période : sa dernière évaluation de la période. */
+    public static final String SELECT_RISK_DISTRIBUTION_QUERY =
+            """
+            WITH bucketed AS (SELECT date_trunc(:interval, assessed_at) AS bucket, patient_uuid, risk_level, assessed_at FROM assessments WHERE assessed_at >= :from AND assessed_at < :to) SELECT bucket, risk_level, COUNT(*) AS patient_count FROM (SELECT DISTINCT ON (bucket, patient_uuid) bucket, risk_level FROM bucketed ORDER BY bucket, patient_uuid, assessed_at DESC) latest_in_bucket GROUP BY bucket, risk_level ORDER BY bucket, risk_level
+            """;
+}
@@ -0,0 +1,18 @@
+package com.openclassrooms.assessmentservice.query;
+
+/**
+ * Requêtes SQL de l'outbox transactionnelle.
+ * Les événements sont insérés dans la transaction de l'historique ; le relais commun
+ * (JdbcOutboxStore de medilabo-commons) les réserve par lots et les supprime une fois publiés.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class OutboxQuery {
+
+    public static final String INSERT_OUTBOX_EVENT_QUERY =
+            """
+            INSERT INTO outbox_events (event_type, event_key, payload) VALUES (:eventType, :eventKey, :payload)
+            """;
+}
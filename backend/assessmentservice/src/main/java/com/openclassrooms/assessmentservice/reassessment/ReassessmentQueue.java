@@ -0,0 +1,197 @@
+package com.openclassrooms.assessmentservice.reassessment;
+
+import com.openclassrooms.assessmentservice.config.AssessmentReassessmentConfig;
+import com.openclassrooms.commons.security.ServiceTokenProvider;
+import com.openclassrooms.assessmentservice.service.AssessmentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * File de recalcul proactif des évaluations, alimentée par les événements notes/patient.
+ * FLUX:
+ * 1. submit() : le patient entre en attente (debouncing) ; un nouvel événement repousse son recalcul
+ * 2. drain() (toutes les debounce/4) : les patients sans événement depuis debounce, ou en attente
+ *    depuis maxWait, passent dans la file des recalculs (queued)
+ * 3. Au plus concurrency recalculs simultanés ; un événement reçu pendant que le patient est
+ *    dans la file est absorbé par ce recalcul, pendant le recalcul il en programme un nouveau
+ * MÉTRIQUES: assessment.reassessment.pending{state} (profondeur), assessment.reassessment.lag
+ * (premier événement -> cache à jour), assessment.reassessment{outcome}, .coalesced, .dropped
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+public class ReassessmentQueue {
+
+    private static final String METRIC_PREFIX = "assessment.reassessment";
+    private static final Duration MIN_TICK = Duration.ofMillis(100);
+
+    private final AssessmentService assessmentService;
+    private final ServiceTokenProvider tokenProvider;
+    private final AssessmentReassessmentConfig config;
+    private final LongSupplier nanoClock;
+    private final boolean active;
+
+    /** Patients en attente de silence : premier et dernier événement (nanoTime). */
+    private final Map<String, Pending> debouncing = new ConcurrentHashMap<>();
+    /** Patients prêts, en attente d'un emplacement de recalcul : premier événement (nanoTime). */
+    private final Map<String, Long> queued = new ConcurrentHashMap<>();
+    private final Sinks.Many<String> ready = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final Timer lag;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    private Disposable ticker;
+    private Disposable workers;
+
+    @Autowired
+    public ReassessmentQueue(AssessmentService assessmentService, ServiceTokenProvider tokenProvider,
+                             AssessmentReassessmentConfig config, MeterRegistry meterRegistry) {
+        this(assessmentService, tokenProvider, config, meterRegistry, System::nanoTime);
+    }
+
+    ReassessmentQueue(AssessmentService assessmentService, ServiceTokenProvider tokenProvider,
+                      AssessmentReassessmentConfig config, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.assessmentService = assessmentService;
+        this.tokenProvider = tokenProvider;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.active = config.isEnabled() && tokenProvider.isConfigured();
+
+        Gauge.builder(METRIC_PREFIX + ".pending", debouncing, Map::size).tag("state", "debouncing").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", queued, Map::size).tag("state", "queued").register(meterRegistry);
+        this.lag = Timer.builder(METRIC_PREFIX + ".lag").publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+        this.succeeded = Counter.builder(METRIC_PREFIX).tag("outcome", "success").register(meterRegistry);
+        this.failed = Counter.builder(METRIC_PREFIX).tag("outcome", "failure").register(meterRegistry);
+        this.coalesced = meterRegistry.counter(METRIC_PREFIX + ".coalesced");
+        this.dropped = meterRegistry.counter(METRIC_PREFIX + ".dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!active) {
+            log.info("Proactive re-assessment disabled (enabled={}, client credentials configured={}): cache invalidation only",
+                    config.isEnabled(), tokenProvider.isConfigured());
+            return;
+        }
+        workers = ready.asFlux()
+                .flatMap(this::reassess, config.getConcurrency())
+                .subscribe();
+        Duration tick = config.getDebounce().dividedBy(4);
+        ticker = Flux.interval(tick.compareTo(MIN_TICK) < 0 ? MIN_TICK : tick)
+                .onBackpressureDrop()
+                .subscribe(i -> drain());
+        log.info("Proactive re-assessment started - debounce: {}, maxWait: {}, concurrency: {}",
+                config.getDebounce(), config.getMaxWait(), config.getConcurrency());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (workers != null) {
+            workers.dispose();
+        }
+    }
+
+    /**
+     * Programme le recalcul d'un patient. Sans effet bloquant ; au-delà de maxPending patients
+     * en attente, le recalcul est abandonné (le cache a déjà été invalidé).
+     */
+    public void submit(String patientUuid) {
+        if (!active) {
+            return;
+        }
+        if (queued.containsKey(patientUuid)) {
+            coalesced.increment();
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        debouncing.compute(patientUuid, (uuid, pending) -> {
+            if (pending != null) {
+                coalesced.increment();
+                return new Pending(pending.firstSeen(), now);
+            }
+            if (debouncing.size() + queued.size() >= config.getMaxPending()) {
+                dropped.increment();
+                log.warn("Re-assessment queue full, patient {} will be assessed on demand", uuid);
+                return null;
+            }
+            return new Pending(now, now);
+        });
+    }
+
+    /**
+     * Fait passer dans la file des recalculs les patients dont l'attente est terminée.
+     */
+    void drain() {
+        long now = nanoClock.getAsLong();
+        long debounce = config.getDebounce().toNanos();
+        long maxWait = config.getMaxWait().toNanos();
+        debouncing.forEach((patientUuid, pending) -> {
+            boolean due = now - pending.lastSeen() >= debounce || now - pending.firstSeen() >= maxWait;
+            // remove(key, value) : un événement arrivé entre-temps a remplacé l'entrée, on attend encore
+            if (due && debouncing.remove(patientUuid, pending)) {
+                queued.merge(patientUuid, pending.firstSeen(), Math::min);
+                Sinks.EmitResult result = ready.tryEmitNext(patientUuid);
+                if (result.isFailure()) {
+                    queued.remove(patientUuid);
+                    log.warn("Re-assessment of patient {} not scheduled: {}", patientUuid, result);
+                }
+            }
+        });
+    }
+
+    /**
+     * Nombre de patients en attente de recalcul (en attente de silence ou dans la file).
+     */
+    public int pending() {
+        return debouncing.size() + queued.size();
+    }
+
+    private Mono<Void> reassess(String patientUuid) {
+        return Mono.defer(() -> {
+            Long firstSeen = queued.remove(patientUuid);
+            return tokenProvider.getToken()
+                    .flatMap(token -> assessmentService.refreshAssessment(patientUuid, token))
+                    .doOnSuccess(assessment -> {
+                        succeeded.increment();
+                        if (firstSeen != null) {
+                            lag.record(nanoClock.getAsLong() - firstSeen, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .doOnError(error -> {
+                        failed.increment();
+                        log.warn("Re-assessment failed for patient {}: {}", patientUuid, error.getMessage());
+                    })
+                    .onErrorComplete()
+                    .then();
+        });
+    }
+
+    private record Pending(long firstSeen, long lastSeen) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.openclassrooms.assessmentservice.repository;
+
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.RiskDistribution;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository de l'historique des évaluations (PostgreSQL, append-only).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface AssessmentRepository {
+    void saveAll(List<Assessment> assessments);
+    List<Assessment> getLatestAssessments(RiskLevel riskLevel, int limit, int offset);
+    long countLatestAssessments(RiskLevel riskLevel);
+    Optional<Assessment> findLatestAssessment(String patientUuid);
+    List<Assessment> getPatientHistory(String patientUuid, int limit, int offset);
+    long countPatientHistory(String patientUuid);
+    List<RiskDistribution> getRiskDistribution(LocalDateTime from, LocalDateTime to, TimeBucket bucket);
+}
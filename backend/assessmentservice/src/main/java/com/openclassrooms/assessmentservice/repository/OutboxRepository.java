@@ -0,0 +1,19 @@
+package com.openclassrooms.assessmentservice.repository;
+
+import com.openclassrooms.assessmentservice.event.Event;
+
+import java.util.List;
+
+/**
+ * Outbox transactionnelle : événements en attente de publication sur Kafka.
+ * Lus et supprimés par le relais commun (JdbcOutboxStore de medilabo-commons).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface OutboxRepository {
+
+    /**Ajoute les événements à l'outbox, dans la transaction courante.*/
+    void saveAll(List<Event> events);
+}
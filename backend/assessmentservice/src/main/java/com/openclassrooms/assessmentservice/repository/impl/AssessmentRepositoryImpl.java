@@ -0,0 +1,186 @@
+package com.openclassrooms.assessmentservice.repository.impl;
+
+import com.openclassrooms.assessmentservice.exception.ApiException;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskDistribution;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
+import com.openclassrooms.assessmentservice.repository.AssessmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+import static com.openclassrooms.assessmentservice.query.AssessmentQuery.*;
+import static java.sql.Types.ARRAY;
+import static java.sql.Types.TIMESTAMP;
+import static java.sql.Types.VARCHAR;
+import static java.util.Map.of;
+
+/**
+ * Implémentation JDBC de l'historique des évaluations.
+ * Les écritures passent par {@link NamedParameterJdbcTemplate#batchUpdate} (un aller-retour par lot,
+ * réécrit en INSERT multi-lignes par le driver avec reWriteBatchedInserts) ; les lectures par {@link JdbcClient}.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class AssessmentRepositoryImpl implements AssessmentRepository {
+
+    private static final RowMapper<Assessment> ASSESSMENT_ROW_MAPPER = AssessmentRepositoryImpl::mapAssessment;
+
+    private final JdbcClient jdbc;
+    private final NamedParameterJdbcTemplate batchJdbc;
+
+    /**
+     * Ajoute les évaluations à l'historique et met à jour la dernière évaluation de chaque patient,
+     * dans une seule transaction.
+     */
+    @Override
+    @Transactional
+    public void saveAll(List<Assessment> assessments) {
+        if (assessments.isEmpty()) {
+            return;
+        }
+        batchJdbc.batchUpdate(INSERT_ASSESSMENT_QUERY, toParameters(assessments));
+        // Un patient présent deux fois dans le lot : l'upsert multi-lignes n'accepte qu'une ligne par clé
+        Collection<Assessment> latest = assessments.stream()
+                .collect(Collectors.toMap(Assessment::patientUuid, a -> a,
+                        BinaryOperator.maxBy(Comparator.comparing(Assessment::assessedAt))))
+                .values();
+        batchJdbc.batchUpdate(UPSERT_LATEST_ASSESSMENT_QUERY, toParameters(latest));
+        log.debug("{} assessments written to history", assessments.size());
+    }
+
+    @Override
+    public List<Assessment> getLatestAssessments(RiskLevel riskLevel, int limit, int offset) {
+        try {
+            return jdbc.sql(SELECT_LATEST_ASSESSMENTS_QUERY)
+                    .paramSource(riskLevelParameter(riskLevel).addValue("limit", limit).addValue("offset", offset))
+                    .query(ASSESSMENT_ROW_MAPPER)
+                    .list();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            throw new ApiException("Une erreur s'est produite. Veuillez réessayer.");
+        }
+    }
+
+    @Override
+    public long countLatestAssessments(RiskLevel riskLevel) {
+        try {
+            return jdbc.sql(COUNT_LATEST_ASSESSMENTS_QUERY).paramSource(riskLevelParameter(riskLevel)).query(Long.class).single();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Dernière évaluation enregistrée du patient ; vide si la lecture échoue (le patient est alors réévalué).
+     */
+    @Override
+    public Optional<Assessment> findLatestAssessment(String patientUuid) {
+        try {
+            return jdbc.sql(SELECT_LATEST_ASSESSMENT_BY_PATIENT_QUERY).param("patientUuid", patientUuid).query(ASSESSMENT_ROW_MAPPER).optional();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<Assessment> getPatientHistory(String patientUuid, int limit, int offset) {
+        try {
+            return jdbc.sql(SELECT_PATIENT_HISTORY_QUERY)
+                    .params(of("patientUuid", patientUuid, "limit", limit, "offset", offset))
+                    .query(ASSESSMENT_ROW_MAPPER)
+                    .list();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            throw new ApiException("Une erreur s'est produite. Veuillez réessayer.");
+        }
+    }
+
+    @Override
+    public long countPatientHistory(String patientUuid) {
+        try {
+            return jdbc.sql(COUNT_PATIENT_HISTORY_QUERY).param("patientUuid", patientUuid).query(Long.class).single();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public List<RiskDistribution> getRiskDistribution(LocalDateTime from, LocalDateTime to, TimeBucket bucket) {
+        try {
+            return jdbc.sql(SELECT_RISK_DISTRIBUTION_QUERY)
+                    .paramSource(new MapSqlParameterSource()
+                            .addValue("interval", bucket.getUnit())
+                            .addValue("from", Timestamp.valueOf(from), TIMESTAMP)
+                            .addValue("to", Timestamp.valueOf(to), TIMESTAMP))
+                    .query((rs, rowNum) -> new RiskDistribution(
+                            rs.getTimestamp("bucket").toLocalDateTime(),
+                            RiskLevel.valueOf(rs.getString("risk_level")),
+                            rs.getLong("patient_count")))
+                    .list();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            throw new ApiException("Une erreur s'est produite. Veuillez réessayer.");
+        }
+    }
+
+    private static MapSqlParameterSource riskLevelParameter(RiskLevel riskLevel) {
+        return new MapSqlParameterSource().addValue("riskLevel", riskLevel != null ? riskLevel.name() : null, VARCHAR);
+    }
+
+    private static SqlParameterSource[] toParameters(Collection<Assessment> assessments) {
+        return assessments.stream()
+                .map(assessment -> new MapSqlParameterSource()
+                        .addValue("patientUuid", assessment.patientUuid())
+                        .addValue("patientName", assessment.patientName())
+                        .addValue("age", assessment.age())
+                        .addValue("gender", assessment.gender() != null ? assessment.gender().getCode() : null, VARCHAR)
+                        .addValue("riskLevel", assessment.riskLevel().name())
+                        .addValue("triggerCount", assessment.triggerCount())
+                        .addValue("triggersFound", assessment.triggersFound() != null ? assessment.triggersFound().toArray(String[]::new) : new String[0], ARRAY)
+                        .addValue("assessedAt", Timestamp.valueOf(assessment.assessedAt()), TIMESTAMP))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private static Assessment mapAssessment(ResultSet rs, int rowNum) throws SQLException {
+        Array triggers = rs.getArray("triggers_found");
+        return new Assessment(
+                rs.getString("patient_uuid"),
+                rs.getString("patient_name"),
+                rs.getInt("age"),
+                Gender.fromString(rs.getString("gender")),
+                RiskLevel.valueOf(rs.getString("risk_level")),
+                rs.getInt("trigger_count"),
+                triggers != null ? Arrays.asList((String[]) triggers.getArray()) : List.of(),
+                rs.getTimestamp("assessed_at").toLocalDateTime());
+    }
+}
@@ -0,0 +1,49 @@
+package com.openclassrooms.assessmentservice.repository.impl;
+
+import com.openclassrooms.assessmentservice.event.Event;
+import com.openclassrooms.assessmentservice.repository.OutboxRepository;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static com.openclassrooms.assessmentservice.query.OutboxQuery.INSERT_OUTBOX_EVENT_QUERY;
+
+/**
+ * Implémentation JDBC de l'outbox.
+ * Insertions par {@link NamedParameterJdbcTemplate#batchUpdate} (un aller-retour par lot d'historique).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRepositoryImpl implements OutboxRepository {
+
+    private final NamedParameterJdbcTemplate batchJdbc;
+    private final NotificationCodec notificationCodec;
+
+    @Override
+    public void saveAll(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        batchJdbc.batchUpdate(INSERT_OUTBOX_EVENT_QUERY, events.stream().map(this::toParameters).toArray(SqlParameterSource[]::new));
+        log.debug("{} events stored in outbox", events.size());
+    }
+
+    private SqlParameterSource toParameters(Event event) {
+        Object patientUuid = event.getData() != null ? event.getData().get("patientUuid") : null;
+        return new MapSqlParameterSource()
+                .addValue("eventType", event.getEventType().name())
+                .addValue("eventKey", patientUuid != null ? patientUuid.toString() : null)
+                .addValue("payload", notificationCodec.encode(event.getEventType().name(), event.getData()));
+    }
+}
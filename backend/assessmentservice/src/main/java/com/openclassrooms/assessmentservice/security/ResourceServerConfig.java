@@ -52,6 +52,8 @@ public class ResourceServerConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(SWAGGER_ENDPOINTS).permitAll()
+                        // Rechargement à chaud de la configuration (règles de risque)
+                        .requestMatchers("/actuator/refresh").hasAnyAuthority("SUPER_ADMIN", "ADMIN")
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .accessDeniedHandler(new CustomAccessDeniedHandler())
@@ -1,15 +1,22 @@
 package com.openclassrooms.assessmentservice.service;
 
+import com.openclassrooms.assessmentservice.domain.PageResponse;
 import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.BatchAssessmentResult;
+import com.openclassrooms.assessmentservice.model.RiskDistribution;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Service d'évaluation du risque de diabète Full Réactif
  *
  * @author Kardigué MAGASSA
- * @version 2.0
+ * @version 2.1
  * @since 2026-02-25
  */
 public interface AssessmentService {
@@ -23,4 +30,39 @@ public interface AssessmentService {
      * @return Mono<Assessment> contenant l'évaluation complète du risque
      */
     Mono<Assessment> assessDiabetesRisk(String patientUuid, String token);
-}
\ No newline at end of file
+
+    /**
+     * Recalcule l'évaluation d'un patient et remplace celle du cache, sans notification.
+     * Vide si un recalcul du même patient est déjà en cours.
+     *
+     * @param patientUuid UUID du patient
+     * @return Mono<Assessment> la nouvelle évaluation
+     */
+    Mono<Assessment> refreshAssessment(String patientUuid, String token);
+
+    /**
+     * Évalue le risque de diabète pour un lot de patients, avec concurrence bornée par service aval.
+     *
+     * @param patientUuids      UUID des patients (ignoré si allActivePatients)
+     * @param allActivePatients évaluer tous les patients actifs
+     * @return Flux<BatchAssessmentResult> émis au fil de l'eau, un élément par patient
+     */
+    Flux<BatchAssessmentResult> assessDiabetesRiskBatch(List<String> patientUuids, boolean allActivePatients, String token);
+
+    /**
+     * Dernière évaluation enregistrée de chaque patient, lue dans l'historique (sans recalcul).
+     *
+     * @param riskLevel filtre optionnel sur le niveau de risque
+     */
+    Mono<PageResponse<Assessment>> getLatestAssessments(RiskLevel riskLevel, int page, int size);
+
+    /**
+     * Historique des évaluations d'un patient, de la plus récente à la plus ancienne.
+     */
+    Mono<PageResponse<Assessment>> getAssessmentHistory(String patientUuid, int page, int size);
+
+    /**
+     * Nombre de patients par niveau de risque et par période, sur l'intervalle [from, to[.
+     */
+    Mono<List<RiskDistribution>> getRiskDistribution(LocalDateTime from, LocalDateTime to, TimeBucket bucket);
+}
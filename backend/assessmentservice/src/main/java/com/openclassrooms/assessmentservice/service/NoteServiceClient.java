@@ -2,6 +2,9 @@ package com.openclassrooms.assessmentservice.service;
 
 import com.openclassrooms.assessmentservice.dtoresponse.NoteResponseDTO;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 /**
  * Client pour communiquer avec NotesService.
@@ -13,10 +16,18 @@ import reactor.core.publisher.Flux;
 public interface NoteServiceClient {
 
     /**
-     * Récupère toutes les notes d'un patient.
+     * Récupère les notes d'un patient au fil de l'eau (NDJSON), une note émise dès sa réception.
      *
      * @param patientUuid UUID du patient
      * @return Flux<NoteResponse> ou Flux.empty() si aucune note
      */
     Flux<NoteResponseDTO> getNotesByPatientUuid(String patientUuid, String token);
+
+    /**
+     * Récupère l'union des termes déclencheurs indexés par NotesService, sans le contenu des notes.
+     *
+     * @param patientUuid UUID du patient
+     * @return Mono<List<String>> ou Mono.empty() si l'index est indisponible
+     */
+    Mono<List<String>> getTriggersByPatientUuid(String patientUuid, String token);
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package com.openclassrooms.assessmentservice.service;
 
 import com.openclassrooms.assessmentservice.dtoresponse.PatientResponseDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Client pour communiquer avec PatientService.
  *
  * @author Kardigué MAGASSA
- * @version 2.0
+ * @version 2.1
  * @since 2026-02-25
  */
 public interface PatientServiceClient {
@@ -19,4 +22,20 @@ public interface PatientServiceClient {
      * @return Mono<PatientResponse> ou Mono.empty() si non trouvé
      */
     Mono<PatientResponseDTO> getPatientByUuid(String patientUuid, String token);
-}
\ No newline at end of file
+
+    /**
+     * Récupère tous les patients actifs en un seul appel.
+     *
+     * @return Flux<PatientResponse> ou Flux.empty() si indisponible
+     */
+    Flux<PatientResponseDTO> getAllActivePatients(String token);
+
+    /**
+     * Récupère un lot de patients en un seul appel (POST /api/patients/batch).
+     * Les UUID inconnus sont absents du résultat.
+     *
+     * @param patientUuids UUID des patients (max 5000 par appel)
+     * @return Flux<PatientResponse> ou erreur si PatientService est indisponible
+     */
+    Flux<PatientResponseDTO> getPatientsByUuids(Collection<String> patientUuids, String token);
+}
@@ -1,67 +1,117 @@
 package com.openclassrooms.assessmentservice.service;
 
+import com.openclassrooms.assessmentservice.config.RiskRulesConfig;
+import com.openclassrooms.assessmentservice.config.RiskRulesConfig.AgeGroup;
+import com.openclassrooms.assessmentservice.config.RiskRulesConfig.Rule;
 import com.openclassrooms.assessmentservice.model.Gender;
 import com.openclassrooms.assessmentservice.model.RiskLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.function.Predicate;
 
 /**
- * Calcule le niveau de risque de diabète via un moteur de règles déclaratives.
- * Les règles sont évaluées par ordre de priorité (EARLY_ONSET, IN_DANGER, BORDERLINE, NONE).
- * La première règle qui match détermine le résultat.
+ * Calcule le niveau de risque de diabète via une table de décision précompilée.
+ * Les règles ordonnées de {@link RiskRulesConfig} sont évaluées une seule fois, pour chaque
+ * combinaison (tranche d'âge, genre, nombre de déclencheurs) ; au-delà du plus grand seuil
+ * de déclencheurs le résultat ne change plus, la dernière colonne sert pour tous les comptes supérieurs.
+ * calculate() se réduit à une lecture de tableau : O(1), sans allocation.
+ * La table est recompilée après un /actuator/refresh ; une configuration invalide conserve la précédente.
+ *
+ * @author Kardigué MAGASSA
+ * @version 2.0
+ * @since 2026-03-16
  */
+@Slf4j
 @Component
 public class RiskLevelCalculator {
 
-    private static final int AGE_THRESHOLD = 30;
+    private final RiskRulesConfig config;
+    private volatile DecisionTable table;
 
-    /** Règle = condition + résultat */
-    private record RiskRule(Predicate<RiskContext> condition, RiskLevel level) {}
+    public RiskLevelCalculator() {
+        this(new RiskRulesConfig());
+    }
 
-    /** Contexte d'évaluation */
-    private record RiskContext(int age, boolean isMale, int triggerCount) {
-        boolean isYoung() { return age <= AGE_THRESHOLD; }
+    @Autowired
+    public RiskLevelCalculator(RiskRulesConfig config) {
+        this.config = config;
+        this.table = DecisionTable.compile(config.getAgeThreshold(), config.getRules());
     }
 
     /**
-     * Règles métier ordonnées par sévérité décroissante.
-     * Première règle qui match → résultat retourné.
+     * Niveau de risque du patient : lecture dans la table de décision.
      */
-    private static final List<RiskRule> RULES = List.of(
-            /** EARLY_ONSET — Homme jeune ≥5 déclencheurs */
-            new RiskRule(ctx -> ctx.isYoung() && ctx.isMale() && ctx.triggerCount() >= 5, RiskLevel.EARLY_ONSET),
-            /** EARLY_ONSET — Femme jeune ≥7 déclencheurs */
-            new RiskRule(ctx -> ctx.isYoung() && !ctx.isMale() && ctx.triggerCount() >= 7, RiskLevel.EARLY_ONSET),
-            /** EARLY_ONSET — Patient >30 ans ≥8 déclencheurs */
-            new RiskRule(ctx -> !ctx.isYoung() && ctx.triggerCount() >= 8, RiskLevel.EARLY_ONSET),
-
-            /**IN_DANGER — Homme jeune 3-4 déclencheurs */
-            new RiskRule(ctx -> ctx.isYoung() && ctx.isMale() && ctx.triggerCount() >= 3, RiskLevel.IN_DANGER),
-            /** IN_DANGER — Femme jeune 4-6 déclencheurs*/
-            new RiskRule(ctx -> ctx.isYoung() && !ctx.isMale() && ctx.triggerCount() >= 4, RiskLevel.IN_DANGER),
-            /** IN_DANGER — Patient >30 ans 6-7 déclencheurs */
-            new RiskRule(ctx -> !ctx.isYoung() && ctx.triggerCount() >= 6, RiskLevel.IN_DANGER),
+    public RiskLevel calculate(int age, Gender gender, int triggerCount) {
+        return table.lookup(age, gender == Gender.MALE, triggerCount);
+    }
 
-            /** BORDERLINE — Patient >30 ans 2-5 déclencheurs */
-            new RiskRule(ctx -> !ctx.isYoung() && ctx.triggerCount() >= 2, RiskLevel.BORDERLINE)
-    );
+    /**
+     * Recompile la table après rechargement de la configuration.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void recompile() {
+        try {
+            table = DecisionTable.compile(config.getAgeThreshold(), config.getRules());
+            log.info("Risk rules recompiled - {} rules, age threshold {}", config.getRules().size(), config.getAgeThreshold());
+        } catch (RuntimeException exception) {
+            log.error("Invalid risk rules, keeping previous decision table: {}", exception.getMessage());
+        }
+    }
 
     /**
-     * Évalue le risque en parcourant les règles par priorité.
+     * Niveaux indexés par [tranche d'âge][genre][déclencheurs], aplatis dans un seul tableau.
      */
-    public RiskLevel calculate(int age, Gender gender, int triggerCount) {
-        if (triggerCount <= 1) {
-            return RiskLevel.NONE;
+    private record DecisionTable(int ageThreshold, int width, RiskLevel[] levels) {
+
+        private static final int YOUNG = 0;
+        private static final int OLDER = 1;
+        private static final int OTHER = 0;
+        private static final int MALE = 1;
+
+        static DecisionTable compile(int ageThreshold, List<Rule> rules) {
+            if (rules == null || rules.isEmpty()) {
+                throw new IllegalArgumentException("Aucune règle de risque configurée");
+            }
+            for (Rule rule : rules) {
+                if (rule == null || rule.getLevel() == null || rule.getAge() == null || rule.getMinTriggers() < 0) {
+                    throw new IllegalArgumentException("Règle de risque invalide : " + rule);
+                }
+            }
+            int width = rules.stream().mapToInt(Rule::getMinTriggers).max().orElse(0) + 1;
+            RiskLevel[] levels = new RiskLevel[2 * 2 * width];
+            for (int age = YOUNG; age <= OLDER; age++) {
+                for (int gender = OTHER; gender <= MALE; gender++) {
+                    for (int triggers = 0; triggers < width; triggers++) {
+                        levels[(age * 2 + gender) * width + triggers] = firstMatch(rules, age, gender, triggers);
+                    }
+                }
+            }
+            return new DecisionTable(ageThreshold, width, levels);
         }
 
-        var context = new RiskContext(age, gender == Gender.MALE, triggerCount);
+        private static RiskLevel firstMatch(List<Rule> rules, int age, int gender, int triggers) {
+            for (Rule rule : rules) {
+                boolean ageMatches = rule.getAge() == AgeGroup.ANY || (rule.getAge() == AgeGroup.YOUNG) == (age == YOUNG);
+                boolean genderMatches = rule.getGender() == null || (rule.getGender() == Gender.MALE) == (gender == MALE);
+                if (ageMatches && genderMatches && triggers >= rule.getMinTriggers()) {
+                    return rule.getLevel();
+                }
+            }
+            return RiskLevel.NONE;
+        }
 
-        return RULES.stream()
-                .filter(rule -> rule.condition().test(context))
-                .map(RiskRule::level)
-                .findFirst()
-                .orElse(RiskLevel.NONE);
+        RiskLevel lookup(int age, boolean male, int triggerCount) {
+            if (triggerCount < 0) {
+                return RiskLevel.NONE;
+            }
+            int ageIndex = age <= ageThreshold ? YOUNG : OLDER;
+            int genderIndex = male ? MALE : OTHER;
+            int triggers = Math.min(triggerCount, width - 1);
+            return levels[(ageIndex * 2 + genderIndex) * width + triggers];
+        }
     }
-}
\ No newline at end of file
+}
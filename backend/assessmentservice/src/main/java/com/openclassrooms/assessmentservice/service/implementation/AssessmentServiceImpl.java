@@ -1,23 +1,34 @@
 package com.openclassrooms.assessmentservice.service.implementation;
 
 import com.openclassrooms.assessmentservice.cache.AssessmentCache;
+import com.openclassrooms.assessmentservice.config.AssessmentBatchConfig;
+import com.openclassrooms.assessmentservice.domain.PageResponse;
 import com.openclassrooms.assessmentservice.dtoresponse.NoteResponseDTO;
 import com.openclassrooms.assessmentservice.dtoresponse.PatientResponseDTO;
 import com.openclassrooms.assessmentservice.exception.ApiException;
+import com.openclassrooms.assessmentservice.history.AssessmentHistoryWriter;
 import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.BatchAssessmentResult;
+import com.openclassrooms.assessmentservice.model.RiskDistribution;
 import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
+import com.openclassrooms.assessmentservice.repository.AssessmentRepository;
 import com.openclassrooms.assessmentservice.service.AssessmentService;
 import com.openclassrooms.assessmentservice.service.NoteServiceClient;
 import com.openclassrooms.assessmentservice.service.PatientServiceClient;
 import com.openclassrooms.assessmentservice.service.RiskLevelCalculator;
-import com.openclassrooms.assessmentservice.service.TriggerTerms;
+import com.openclassrooms.commons.trigger.TriggerTerms;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -34,7 +45,7 @@ import java.util.Map;
  * - switchIfEmpty() : Gestion des patients non trouvés
  *
  * @author Kardigué MAGASSA
- * @version 2.0
+ * @version 2.3
  * @since 2026-02-25
  */
 @Slf4j
@@ -42,11 +53,15 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AssessmentServiceImpl implements AssessmentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PatientServiceClient patientServiceClient;
     private final NoteServiceClient noteServiceClient;
     private final RiskLevelCalculator riskLevelCalculator;
-    private final ApplicationEventPublisher eventPublisher;
     private final AssessmentCache assessmentCache;
+    private final AssessmentBatchConfig batchConfig;
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentHistoryWriter historyWriter;
 
     // 3. Ajouter cette nouvelle méthode
     @Override
@@ -58,45 +73,211 @@ public class AssessmentServiceImpl implements AssessmentService {
     /**
      * Évalue le risque de diabète pour un patient.
      * FLUX:
-     * 1. Appels parallèles vers PatientService et NotesService
-     * 2. Combinaison des résultats avec Mono.zip()
-     * 3. Analyse des termes déclencheurs dans les notes
-     * 4. Calcul du niveau de risque
-     * 5. Construction de l'Assessment
+     * 1. Évaluation en cache servie directement (recalculée en arrière-plan si ancienne) ;
+     *    sinon dernière évaluation enregistrée (latest_assessments), servie sans mise en cache puis recalculée
+     *    en arrière-plan ; évaluation synchrone si le patient vient d'être invalidé (historique antérieur au changement)
+     * 2. Appels parallèles vers PatientService et NotesService (index des déclencheurs)
+     * 3. Combinaison des résultats avec Mono.zip()
+     * 4. Repli sur l'analyse locale des notes si l'index est indisponible
+     * 5. Calcul du niveau de risque
+     * 6. Construction de l'Assessment
      */
     @Override
     public Mono<Assessment> assessDiabetesRisk(String patientUuid, String token) {
+        Assessment cached = assessmentCache.getByPatientUuid(patientUuid);
+        if (cached != null) {
+            if (assessmentCache.isStale(patientUuid)) {
+                // Stale-while-revalidate : réponse immédiate, recalcul sans nouvel événement
+                assessmentCache.refresh(patientUuid, recompute(patientUuid, token));
+            }
+            log.debug("Assessment served from cache for patient {}", patientUuid);
+            return Mono.just(cached);
+        }
+
+        Mono<Assessment> assessment = Mono.defer(() -> evaluate(patientUuid, token)
+                .map(tuple -> completeAssessment(tuple.getT1(), tuple.getT2()))
+                .doOnSuccess(a -> log.info("Assessment complete for patient {} - Risk: {}", patientUuid, a.riskLevel())));
+
+        if (assessmentCache.wasInvalidated(patientUuid)) {
+            // Notes ou patient modifiés : l'évaluation historisée peut précéder le changement
+            return assessment
+                    .doOnError(error -> log.error("Error assessing patient {}: {}", patientUuid, error.getMessage()));
+        }
+
+        // Cache vide (redémarrage, éviction) : dernière évaluation enregistrée servie sans être mise en cache ;
+        // seul le recalcul en arrière-plan alimente le cache (en cas d'échec, la lecture suivante relance le recalcul)
+        return Mono.fromCallable(() -> assessmentRepository.findLatestAssessment(patientUuid))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .doOnNext(persisted -> {
+                    assessmentCache.refresh(patientUuid, recompute(patientUuid, token));
+                    log.debug("Assessment served from history for patient {}", patientUuid);
+                })
+                .switchIfEmpty(assessment)
+                .doOnError(error -> log.error("Error assessing patient {}: {}", patientUuid, error.getMessage()));
+    }
+
+    /**
+     * Recalcul déclenché par un événement (notes, patient) : historisé, sans événement ASSESSMENT_COMPLETED.
+     */
+    @Override
+    public Mono<Assessment> refreshAssessment(String patientUuid, String token) {
+        return assessmentCache.reload(patientUuid, recompute(patientUuid, token))
+                .doOnNext(a -> log.debug("Assessment refreshed for patient {} - Risk: {}", patientUuid, a.riskLevel()));
+    }
+
+    /**
+     * Évalue le risque de diabète pour un lot de patients.
+     * FLUX:
+     * 1. Source : un seul appel PatientService (tous les actifs) ou résolution des UUID
+     *    par paquets de patientLookupChunkSize (POST /api/patients/batch), limitée à
+     *    patientServiceConcurrency appels simultanés
+     * 2. Déclencheurs : index NotesService limité à notesServiceConcurrency appels simultanés
+     * 3. Chaque résultat est émis dès qu'il est prêt ; un patient en erreur n'interrompt pas le lot
+     */
+    @Override
+    public Flux<BatchAssessmentResult> assessDiabetesRiskBatch(List<String> patientUuids, boolean allActivePatients, String token) {
+        if (!allActivePatients && (patientUuids == null || patientUuids.isEmpty())) {
+            throw new ApiException("Liste de patients vide : fournir patientUuids ou allActivePatients");
+        }
+        if (!allActivePatients && patientUuids.size() > batchConfig.getMaxPatients()) {
+            throw new ApiException("Trop de patients dans le lot (max " + batchConfig.getMaxPatients() + ")");
+        }
+
+        int patientConcurrency = batchConfig.getPatientServiceConcurrency();
+        int notesConcurrency = batchConfig.getNotesServiceConcurrency();
+
+        Flux<PatientLookup> patients = allActivePatients
+                ? patientServiceClient.getAllActivePatients(token).map(PatientLookup::found)
+                : Flux.fromIterable(new LinkedHashSet<>(patientUuids))
+                        .buffer(batchConfig.getPatientLookupChunkSize())
+                        .flatMapSequential(chunk -> lookupPatients(chunk, token), patientConcurrency, patientConcurrency);
+
+        return patients
+                .flatMap(lookup -> lookup.error() != null
+                                ? Mono.just(BatchAssessmentResult.failure(lookup.patientUuid(), lookup.error()))
+                                : Mono.defer(() -> findTriggers(lookup.patientUuid(), token))
+                                        .map(triggers -> BatchAssessmentResult.success(completeAssessment(lookup.patient(), triggers)))
+                                        .onErrorResume(error -> Mono.just(BatchAssessmentResult.failure(lookup.patientUuid(), error))),
+                        notesConcurrency, notesConcurrency)
+                .doOnNext(result -> {
+                    if (result.error() != null) {
+                        log.warn("Batch assessment failed for patient {}: {}", result.patientUuid(), result.error());
+                    }
+                })
+                .doOnComplete(() -> log.info("Batch assessment complete"));
+    }
+
+    @Override
+    public Mono<PageResponse<Assessment>> getLatestAssessments(RiskLevel riskLevel, int page, int size) {
+        validatePage(page, size);
+        return Mono.fromCallable(() -> PageResponse.of(
+                        assessmentRepository.getLatestAssessments(riskLevel, size, page * size), page, size,
+                        assessmentRepository.countLatestAssessments(riskLevel)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<PageResponse<Assessment>> getAssessmentHistory(String patientUuid, int page, int size) {
+        validatePage(page, size);
+        return Mono.fromCallable(() -> PageResponse.of(
+                        assessmentRepository.getPatientHistory(patientUuid, size, page * size), page, size,
+                        assessmentRepository.countPatientHistory(patientUuid)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<RiskDistribution>> getRiskDistribution(LocalDateTime from, LocalDateTime to, TimeBucket bucket) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ApiException("Intervalle invalide : from doit précéder to");
+        }
+        return Mono.fromCallable(() -> assessmentRepository.getRiskDistribution(from, to, bucket))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    //  PRIVATE METHODS
+
+    private void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ApiException("Pagination invalide (page >= 0, 1 <= size <= " + MAX_PAGE_SIZE + ")");
+        }
+    }
+
+    /**
+     * Patient et termes déclencheurs, récupérés en parallèle.
+     */
+    private Mono<Tuple2<PatientResponseDTO, Set<String>>> evaluate(String patientUuid, String token) {
         Mono<PatientResponseDTO> patientMono = patientServiceClient
                 .getPatientByUuid(patientUuid, token)
                 .switchIfEmpty(Mono.error(new ApiException("Patient non trouvé: " + patientUuid)));
 
-        Mono<List<NoteResponseDTO>> notesMono = noteServiceClient
+        return Mono.zip(patientMono, findTriggers(patientUuid, token));
+    }
+
+    /**
+     * Nouvelle évaluation historisée, sans mise en cache ni notification (gérées par l'appelant).
+     */
+    private Mono<Assessment> recompute(String patientUuid, String token) {
+        return evaluate(patientUuid, token)
+                .map(tuple -> buildAssessment(tuple.getT1(), tuple.getT2()))
+                .doOnNext(historyWriter::append);
+    }
+
+    /**
+     * Termes déclencheurs du patient : index NotesService, avec repli sur l'analyse locale des notes.
+     */
+    private Mono<Set<String>> findTriggers(String patientUuid, String token) {
+        // Repli : notes reçues en flux et analysées une à une si l'index NotesService est indisponible ;
+        // le flux est interrompu dès que tous les termes ont été trouvés
+        Mono<Set<String>> notesTriggersMono = noteServiceClient
                 .getNotesByPatientUuid(patientUuid, token)
-                .collectList()
-                .defaultIfEmpty(List.of());
-
-        return Mono.zip(patientMono, notesMono)
-                .map(tuple -> {
-                    Assessment assessment = buildAssessment(tuple.getT1(), tuple.getT2());
-                    assessmentCache.save(assessment);
-                    publishAssessmentCompletedEvent(tuple.getT1(), assessment);
-                    return assessment;
+                .mapNotNull(NoteResponseDTO::getContent)
+                .scan(0, (found, content) -> TriggerTerms.scanTriggers(content, found))
+                .takeUntil(TriggerTerms::allTriggersFound)
+                .last()
+                .map(TriggerTerms::toTriggers);
+
+        return noteServiceClient
+                .getTriggersByPatientUuid(patientUuid, token)
+                .onErrorResume(error -> {
+                    log.warn("Trigger index unavailable for patient {}, falling back to notes: {}", patientUuid, error.getMessage());
+                    return Mono.empty();
                 })
-                .doOnSuccess(a -> log.info("Assessment complete for patient {} - Risk: {}", patientUuid, a.riskLevel()))
-                .doOnError(error -> log.error("Error assessing patient {}: {}", patientUuid, error.getMessage()));
+                .<Set<String>>map(LinkedHashSet::new)
+                .switchIfEmpty(notesTriggersMono);
     }
 
-    //  PRIVATE METHODS
+    /**
+     * Résout un paquet d'UUID en un seul appel PatientService.
+     * UUID absent de la réponse : patient non trouvé ; appel en échec : tout le paquet échoue.
+     */
+    private Flux<PatientLookup> lookupPatients(List<String> chunk, String token) {
+        return patientServiceClient.getPatientsByUuids(chunk, token)
+                .filter(patient -> patient.getPatientUuid() != null)
+                .collectMap(PatientResponseDTO::getPatientUuid)
+                .map(found -> chunk.stream()
+                        .map(uuid -> found.containsKey(uuid)
+                                ? PatientLookup.found(found.get(uuid))
+                                : PatientLookup.failed(uuid, new ApiException("Patient non trouvé: " + uuid)))
+                        .toList())
+                .onErrorResume(error -> Mono.just(chunk.stream().map(uuid -> PatientLookup.failed(uuid, error)).toList()))
+                .flatMapIterable(lookups -> lookups);
+    }
 
     /**
-     * Construit l'Assessment à partir des données patient et notes.
+     * Construit l'Assessment, le met en cache, l'historise avec l'événement de fin d'évaluation.
      */
-    private Assessment buildAssessment(PatientResponseDTO patient, List<NoteResponseDTO> notes) {
-        // Extraire le contenu des notes
-        List<String> noteContents = notes.stream().map(NoteResponseDTO::getContent).toList();
+    private Assessment completeAssessment(PatientResponseDTO patient, Set<String> triggersFound) {
+        Assessment assessment = buildAssessment(patient, triggersFound);
+        assessmentCache.save(assessment);
+        historyWriter.append(assessment, assessmentCompletedEvent(patient, assessment));
+        return assessment;
+    }
 
-        // Analyser les termes déclencheurs
-        Set<String> triggersFound = TriggerTerms.findTriggersInMultipleTexts(noteContents);
+    /**
+     * Construit l'Assessment à partir des données patient et des termes déclencheurs trouvés.
+     */
+    private Assessment buildAssessment(PatientResponseDTO patient, Set<String> triggersFound) {
         int triggerCount = triggersFound.size();
 
         // Calculer le niveau de risque
@@ -106,10 +287,22 @@ public class AssessmentServiceImpl implements AssessmentService {
         return new Assessment(patient.getPatientUuid(), patient.getFullName(), patient.getAge(), patient.getGender(), riskLevel, triggerCount, new ArrayList<>(triggersFound));
     }
 
+    /** Patient résolu, ou cause de l'échec de résolution. */
+    private record PatientLookup(String patientUuid, PatientResponseDTO patient, Throwable error) {
+        static PatientLookup found(PatientResponseDTO patient) {
+            return new PatientLookup(patient.getPatientUuid(), patient, null);
+        }
+
+        static PatientLookup failed(String patientUuid, Throwable error) {
+            return new PatientLookup(patientUuid, null, error);
+        }
+    }
+
     /**
-     * Publie un événement ASSESSMENT_COMPLETED pour notification email.
+     * Événement ASSESSMENT_COMPLETED pour notification email, écrit dans l'outbox avec l'évaluation.
+     * @return null si l'événement ne peut pas être construit (l'évaluation reste historisée)
      */
-    private void publishAssessmentCompletedEvent(PatientResponseDTO patient, Assessment assessment) {
+    private Event assessmentCompletedEvent(PatientResponseDTO patient, Assessment assessment) {
         try {
             Map<String, Object> data = new HashMap<>();
             data.put("patientUuid", assessment.patientUuid());
@@ -123,16 +316,14 @@ public class AssessmentServiceImpl implements AssessmentService {
             data.put("triggersFound", assessment.triggersFound());
             data.put("assessedAt", assessment.assessedAt().toString());
 
-            Event event = Event.builder()
+            return Event.builder()
                     .eventType(EventType.ASSESSMENT_COMPLETED)
                     .data(data)
                     .build();
 
-            eventPublisher.publishEvent(event);
-            log.debug("ASSESSMENT_COMPLETED event published for patient: {}", assessment.patientUuid());
-
         } catch (Exception e) {
-            log.error("Failed to publish ASSESSMENT_COMPLETED event: {}", e.getMessage());
+            log.error("Failed to build ASSESSMENT_COMPLETED event: {}", e.getMessage());
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -12,12 +12,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.time.Duration;
-import java.util.Collections;
 import java.util.List;
 
 @Slf4j
@@ -31,25 +31,28 @@ public class NoteServiceClientImpl implements NoteServiceClient {
     private static final String CIRCUIT_BREAKER_NAME = "notesService";
     private static final Duration TIMEOUT = Duration.ofSeconds(5);
 
+    /**
+     * Notes du patient en NDJSON : chaque note est décodée dès sa réception, sans enveloppe
+     * ni liste intermédiaire. Le délai s'applique à chaque note, pas au transfert complet.
+     */
     @Override
     @Retry(name = CIRCUIT_BREAKER_NAME)
     @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getNotesByPatientUuidFallback")
     public Flux<NoteResponseDTO> getNotesByPatientUuid(String patientUuid, String token) {
-        log.info("Fetching notes from NotesService for patient: {}", patientUuid);
+        log.info("Streaming notes from NotesService for patient: {}", patientUuid);
 
         return notesServiceWebClient.get()
-                .uri("/api/notes/patient/{patientUuid}", patientUuid)
+                .uri("/api/notes/patient/{patientUuid}/stream", patientUuid)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError,
                         response -> Mono.error(new ApiException("Erreur client NotesService")))
                 .onStatus(HttpStatusCode::is5xxServerError,
                         response -> Mono.error(new ApiException("Erreur serveur NotesService")))
-                .bodyToMono(Response.class)
-                .map(this::extractNotes)
-                .flatMapMany(Flux::fromIterable)
-                .doOnComplete(() -> log.debug("Notes fetched for patient: {}", patientUuid))
-                .doOnError(error -> log.error("Error fetching notes for patient {}: {}", patientUuid, error.getMessage()))
+                .bodyToFlux(NoteResponseDTO.class)
+                .doOnComplete(() -> log.debug("Notes streamed for patient: {}", patientUuid))
+                .doOnError(error -> log.error("Error streaming notes for patient {}: {}", patientUuid, error.getMessage()))
                 .timeout(TIMEOUT);
     }
 
@@ -58,18 +61,43 @@ public class NoteServiceClientImpl implements NoteServiceClient {
         return Flux.empty();
     }
 
-    private List<NoteResponseDTO> extractNotes(Response response) {
+    @Override
+    @Retry(name = CIRCUIT_BREAKER_NAME)
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getTriggersByPatientUuidFallback")
+    public Mono<List<String>> getTriggersByPatientUuid(String patientUuid, String token) {
+        log.info("Fetching trigger index from NotesService for patient: {}", patientUuid);
+
+        return notesServiceWebClient.get()
+                .uri("/api/notes/triggers/patient/{patientUuid}", patientUuid)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError,
+                        response -> Mono.error(new ApiException("Erreur client NotesService")))
+                .onStatus(HttpStatusCode::is5xxServerError,
+                        response -> Mono.error(new ApiException("Erreur serveur NotesService")))
+                .bodyToMono(Response.class)
+                .flatMap(response -> Mono.justOrEmpty(extractTriggers(response)))
+                .doOnError(error -> log.error("Error fetching triggers for patient {}: {}", patientUuid, error.getMessage()))
+                .timeout(TIMEOUT);
+    }
+
+    public Mono<List<String>> getTriggersByPatientUuidFallback(String patientUuid, String token, Throwable throwable) {
+        log.error("Fallback getTriggersByPatientUuid - UUID: {}, Cause: {}", patientUuid, throwable.getMessage());
+        return Mono.empty();
+    }
+
+    /**
+     * Retourne null si la réponse ne contient pas l'index (ancienne version de NotesService).
+     */
+    private List<String> extractTriggers(Response response) {
         try {
-            if (response == null || response.data() == null || !response.data().containsKey("notes")) {
-                return Collections.emptyList();
+            if (response == null || response.data() == null || response.data().get("triggers") == null) {
+                return null;
             }
-            Object notesData = response.data().get("notes");
-            List<NoteResponseDTO> notes = objectMapper.convertValue(notesData, new TypeReference<>() {});
-            log.debug("Extracted {} notes", notes.size());
-            return notes;
+            return objectMapper.convertValue(response.data().get("triggers"), new TypeReference<>() {});
         } catch (Exception e) {
-            log.error("Error extracting notes from response: {}", e.getMessage());
-            return Collections.emptyList();
+            log.error("Error extracting triggers from response: {}", e.getMessage());
+            return null;
         }
     }
-}
\ No newline at end of file
+}
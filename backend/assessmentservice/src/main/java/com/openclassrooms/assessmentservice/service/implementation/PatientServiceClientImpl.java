@@ -1,5 +1,6 @@
 package com.openclassrooms.assessmentservice.service.implementation;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openclassrooms.assessmentservice.domain.Response;
 import com.openclassrooms.assessmentservice.dtoresponse.PatientResponseDTO;
@@ -14,8 +15,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -27,7 +32,9 @@ public class PatientServiceClientImpl implements PatientServiceClient {
 
     private static final String CIRCUIT_BREAKER_NAME = "patientService";
     private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration BATCH_TIMEOUT = Duration.ofSeconds(30);
 
+    @Override
     @Retry(name = CIRCUIT_BREAKER_NAME)
     @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getPatientByUuidFallback")
     public Mono<PatientResponseDTO> getPatientByUuid(String patientUuid, String token) {
@@ -54,6 +61,66 @@ public class PatientServiceClientImpl implements PatientServiceClient {
         return Mono.empty();
     }
 
+    @Override
+    @Retry(name = CIRCUIT_BREAKER_NAME)
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getAllActivePatientsFallback")
+    public Flux<PatientResponseDTO> getAllActivePatients(String token) {
+        log.info("Fetching all active patients from PatientService");
+
+        return patientServiceWebClient.get()
+                .uri("/api/patients")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.error(new ApiException("Erreur service Patient")))
+                .bodyToMono(Response.class)
+                .flatMapMany(this::extractPatients)
+                // Liste complète non paginée : même délai que les appels par lot
+                .timeout(BATCH_TIMEOUT);
+    }
+
+    /**
+     * Comme pour {@link #getPatientsByUuidsFallback}, pas de repli sur un résultat vide :
+     * un lot « tous les patients actifs » ne doit pas se terminer sans résultat quand le service est indisponible.
+     */
+    public Flux<PatientResponseDTO> getAllActivePatientsFallback(String token, Throwable throwable) {
+        log.error("Fallback getAllActivePatients - Cause: {}", throwable.getMessage());
+        return Flux.error(new ApiException("Service patient indisponible"));
+    }
+
+    @Override
+    @Retry(name = CIRCUIT_BREAKER_NAME)
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getPatientsByUuidsFallback")
+    public Flux<PatientResponseDTO> getPatientsByUuids(Collection<String> patientUuids, String token) {
+        log.info("Fetching {} patients from PatientService in one call", patientUuids.size());
+
+        return patientServiceWebClient.post()
+                .uri("/api/patients/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(Map.of("patientUuids", patientUuids))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.error(new ApiException("Erreur service Patient")))
+                .bodyToMono(Response.class)
+                .flatMapMany(this::extractPatients)
+                .timeout(BATCH_TIMEOUT);
+    }
+
+    /**
+     * Contrairement aux appels unitaires, le lot ne se replie pas sur un résultat vide :
+     * l'appelant doit distinguer « patients introuvables » de « service indisponible ».
+     */
+    public Flux<PatientResponseDTO> getPatientsByUuidsFallback(Collection<String> patientUuids, String token, Throwable throwable) {
+        log.error("Fallback getPatientsByUuids - {} UUIDs, Cause: {}", patientUuids.size(), throwable.getMessage());
+        return Flux.error(new ApiException("Service patient indisponible"));
+    }
+
+    private Flux<PatientResponseDTO> extractPatients(Response response) {
+        if (response == null || response.data() == null || response.data().get("patients") == null) {
+            return Flux.empty();
+        }
+        List<PatientResponseDTO> patients = objectMapper.convertValue(response.data().get("patients"), new TypeReference<>() {});
+        return Flux.fromIterable(patients);
+    }
+
     private PatientResponseDTO extractPatient(Response response) {
         Object patientData = response.data().get("patient");
         if (patientData == null) {
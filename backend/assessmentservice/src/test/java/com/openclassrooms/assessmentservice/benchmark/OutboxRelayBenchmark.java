@@ -0,0 +1,161 @@
+package com.openclassrooms.assessmentservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.assessmentservice.enumeration.EventType;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import com.openclassrooms.commons.notification.NotificationSchemaRegistry;
+import com.openclassrooms.commons.outbox.OutboxMessage;
+import com.openclassrooms.commons.outbox.OutboxProperties;
+import com.openclassrooms.commons.outbox.OutboxRelay;
+import com.openclassrooms.commons.outbox.OutboxStore;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la publication des événements sur un broker Kafka embarqué (KRaft), par volume :
+ * relais d'outbox (envois sans attente, producteur idempotent lz4 + linger.ms=20, accusés attendus par lot)
+ * vs ancien chemin (un envoi par événement, producteur par défaut, accusé attendu à chaque envoi).
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxRelayBenchmark {
+
+    private static final String TOPIC = "MEDILABO_NOTIFICATIONS";
+
+    @Param({"100", "1000"})
+    public int eventCount;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaTemplate<String, byte[]> batchedTemplate;
+    private KafkaTemplate<String, byte[]> legacyTemplate;
+    private InMemoryOutbox outbox;
+    private OutboxRelay<Long> relay;
+    private List<OutboxMessage<Long>> events;
+
+    @Setup
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> batched = producerProperties();
+        batched.put(ProducerConfig.ACKS_CONFIG, "all");
+        batched.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        batched.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+        batched.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        batched.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        batchedTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(batched));
+
+        Map<String, Object> legacy = producerProperties();
+        legacy.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        legacyTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(legacy));
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.setEnabled(false);
+        properties.setMaxDrainTime(Duration.ofMinutes(1));
+        outbox = new InMemoryOutbox();
+        relay = new OutboxRelay<>(outbox, batchedTemplate, properties);
+
+        NotificationCodec notificationCodec = new NotificationCodec(new NotificationSchemaRegistry(), new ObjectMapper());
+        events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            String patientUuid = "patient-" + (i % 50);
+            byte[] payload = notificationCodec.encode(EventType.ASSESSMENT_COMPLETED.name(), Map.of(
+                    "patientUuid", patientUuid, "name", "Jean Dupont", "riskLevel", "BORDERLINE", "triggerCount", 3));
+            events.add(new OutboxMessage<>((long) i, patientUuid, payload));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchedTemplate.destroy();
+        legacyTemplate.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public int outboxRelay() {
+        outbox.fill(events);
+        return relay.drain();
+    }
+
+    @Benchmark
+    public int legacyPerEvent() {
+        for (OutboxMessage<Long> event : events) {
+            legacyTemplate.send(TOPIC, event.key(), event.payload()).join();
+        }
+        return events.size();
+    }
+
+    private Map<String, Object> producerProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return properties;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OutboxRelayBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Outbox en mémoire : seul le coût d'envoi vers le broker est mesuré. */
+    private static final class InMemoryOutbox implements OutboxStore<Long> {
+
+        private final Queue<OutboxMessage<Long>> pending = new ArrayDeque<>();
+
+        void fill(List<OutboxMessage<Long>> events) {
+            pending.addAll(events);
+        }
+
+        @Override
+        public List<OutboxMessage<Long>> nextBatch(int limit) {
+            List<OutboxMessage<Long>> batch = new ArrayList<>(limit);
+            while (batch.size() < limit && !pending.isEmpty()) {
+                batch.add(pending.poll());
+            }
+            return batch;
+        }
+
+        @Override
+        public void delete(Collection<Long> ids) {
+        }
+    }
+}
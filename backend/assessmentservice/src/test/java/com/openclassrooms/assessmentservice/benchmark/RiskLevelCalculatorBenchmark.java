@@ -0,0 +1,109 @@
+package com.openclassrooms.assessmentservice.benchmark;
+
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.service.RiskLevelCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Benchmark JMH : table de décision précompilée vs ancienne liste de règles parcourue par un Stream.
+ * Chaque invocation évalue SAMPLES patients (âge, genre, déclencheurs) tirés au hasard.
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test ;
+ * ajouter -prof gc pour comparer les allocations.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RiskLevelCalculatorBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private record LegacyContext(int age, boolean isMale, int triggerCount) {
+        boolean isYoung() { return age <= 30; }
+    }
+
+    private record LegacyRule(Predicate<LegacyContext> condition, RiskLevel level) {}
+
+    private static final List<LegacyRule> LEGACY_RULES = List.of(
+            new LegacyRule(ctx -> ctx.isYoung() && ctx.isMale() && ctx.triggerCount() >= 5, RiskLevel.EARLY_ONSET),
+            new LegacyRule(ctx -> ctx.isYoung() && !ctx.isMale() && ctx.triggerCount() >= 7, RiskLevel.EARLY_ONSET),
+            new LegacyRule(ctx -> !ctx.isYoung() && ctx.triggerCount() >= 8, RiskLevel.EARLY_ONSET),
+            new LegacyRule(ctx -> ctx.isYoung() && ctx.isMale() && ctx.triggerCount() >= 3, RiskLevel.IN_DANGER),
+            new LegacyRule(ctx -> ctx.isYoung() && !ctx.isMale() && ctx.triggerCount() >= 4, RiskLevel.IN_DANGER),
+            new LegacyRule(ctx -> !ctx.isYoung() && ctx.triggerCount() >= 6, RiskLevel.IN_DANGER),
+            new LegacyRule(ctx -> !ctx.isYoung() && ctx.triggerCount() >= 2, RiskLevel.BORDERLINE));
+
+    private final RiskLevelCalculator calculator = new RiskLevelCalculator();
+
+    private int[] ages;
+    private Gender[] genders;
+    private int[] triggers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ages = new int[SAMPLES];
+        genders = new Gender[SAMPLES];
+        triggers = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            ages[i] = 18 + random.nextInt(70);
+            genders[i] = random.nextBoolean() ? Gender.MALE : Gender.FEMALE;
+            triggers[i] = random.nextInt(12);
+        }
+    }
+
+    @Benchmark
+    public void decisionTable(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(calculator.calculate(ages[i], genders[i], triggers[i]));
+        }
+    }
+
+    @Benchmark
+    public void legacyRuleStream(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(legacyCalculate(ages[i], genders[i], triggers[i]));
+        }
+    }
+
+    private static RiskLevel legacyCalculate(int age, Gender gender, int triggerCount) {
+        if (triggerCount <= 1) {
+            return RiskLevel.NONE;
+        }
+        var context = new LegacyContext(age, gender == Gender.MALE, triggerCount);
+        return LEGACY_RULES.stream()
+                .filter(rule -> rule.condition().test(context))
+                .map(LegacyRule::level)
+                .findFirst()
+                .orElse(RiskLevel.NONE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RiskLevelCalculatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.openclassrooms.assessmentservice.benchmark;
+
+import com.openclassrooms.commons.trigger.TriggerTerms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark JMH : automate Aho-Corasick vs ancienne implémentation regex (un Pattern par terme).
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-14
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerTermsBenchmark {
+
+    private static final Map<String, String> CANONICAL = Map.of("Vertige", "Vertiges");
+
+    private static final List<String> WORDS = List.of(
+            "patient", "stable", "contrôle", "tension", "normale", "rendez-vous", "suivi",
+            "traitement", "bilan", "sanguin", "examen", "clinique", "symptômes", "légers");
+
+    @Param({"10", "100", "1000"})
+    public int noteCount;
+
+    private List<String> notes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        notes = new ArrayList<>(noteCount);
+        for (int n = 0; n < noteCount; n++) {
+            StringBuilder note = new StringBuilder();
+            for (int w = 0; w < 60; w++) {
+                note.append(WORDS.get(random.nextInt(WORDS.size()))).append(' ');
+            }
+            // Quelques déclencheurs disséminés, la plupart des notes n'en contiennent pas
+            if (n % 7 == 0) {
+                note.append(TriggerTerms.TERMS.get(random.nextInt(TriggerTerms.TERMS.size())).toLowerCase());
+            }
+            notes.add(note.toString());
+        }
+    }
+
+    @Benchmark
+    public Set<String> ahoCorasick() {
+        return TriggerTerms.findTriggersInMultipleTexts(notes);
+    }
+
+    @Benchmark
+    public Set<String> legacyRegex() {
+        String combinedText = String.join(" ", notes);
+        return TriggerTerms.TERMS.stream()
+                .filter(term -> Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+                        .matcher(combinedText).find())
+                .map(term -> CANONICAL.getOrDefault(term, term))
+                .collect(Collectors.toSet());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TriggerTermsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,212 @@
+package com.openclassrooms.assessmentservice.cache;
+
+import com.openclassrooms.assessmentservice.config.AssessmentCacheConfig;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AssessmentCache - Tests unitaires")
+class AssessmentCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private AssessmentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        AssessmentCacheConfig config = new AssessmentCacheConfig();
+        config.setMaximumSize(100);
+        config.setTtl(Duration.ofMinutes(30));
+        config.setRefreshAfter(Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AssessmentCache(config, meterRegistry, nanos::get);
+    }
+
+    private Assessment assessment(String patientUuid, RiskLevel riskLevel) {
+        return new Assessment(patientUuid, "Jean Dupont", 45, Gender.MALE, riskLevel, 0, List.of());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Nested
+    @DisplayName("Expiration et staleness")
+    class ExpirationTests {
+
+        @Test
+        @DisplayName("Devrait servir une entrée fraîche sans la marquer stale")
+        void shouldServeFreshEntry() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+
+            assertThat(cache.getByPatientUuid("p1")).isNotNull();
+            assertThat(cache.isStale("p1")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Devrait marquer stale une entrée plus ancienne que refreshAfter")
+        void shouldMarkStaleAfterRefreshDelay() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+            advance(Duration.ofMinutes(6));
+
+            assertThat(cache.getByPatientUuid("p1")).isNotNull();
+            assertThat(cache.isStale("p1")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Devrait évincer une entrée au-delà du TTL")
+        void shouldExpireAfterTtl() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+            advance(Duration.ofMinutes(31));
+
+            assertThat(cache.getByPatientUuid("p1")).isNull();
+            assertThat(cache.isStale("p1")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recalcul en arrière-plan")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("Devrait remplacer l'entrée après un recalcul réussi")
+        void shouldReplaceEntryAfterRefresh() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+
+            cache.refresh("p1", Mono.just(assessment("p1", RiskLevel.IN_DANGER)));
+
+            assertThat(cache.getByPatientUuid("p1").riskLevel()).isEqualTo(RiskLevel.IN_DANGER);
+        }
+
+        @Test
+        @DisplayName("Ne devrait lancer qu'un seul recalcul à la fois par patient")
+        void shouldDeduplicateConcurrentRefreshes() {
+            Sinks.One<Assessment> pending = Sinks.one();
+            AtomicInteger subscriptions = new AtomicInteger();
+            Mono<Assessment> loader = pending.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+            cache.refresh("p1", loader);
+            cache.refresh("p1", loader);
+            assertThat(subscriptions).hasValue(1);
+
+            pending.tryEmitValue(assessment("p1", RiskLevel.BORDERLINE));
+            cache.refresh("p1", Mono.just(assessment("p1", RiskLevel.NONE)));
+            assertThat(cache.getByPatientUuid("p1").riskLevel()).isEqualTo(RiskLevel.NONE);
+        }
+
+        @Test
+        @DisplayName("Ne devrait pas remettre en cache un recalcul invalidé entre-temps")
+        void shouldDiscardRefreshInvalidatedMeanwhile() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+            Sinks.One<Assessment> pending = Sinks.one();
+
+            cache.refresh("p1", pending.asMono());
+            cache.invalidate("p1");
+            pending.tryEmitValue(assessment("p1", RiskLevel.BORDERLINE));
+
+            assertThat(cache.getByPatientUuid("p1")).isNull();
+        }
+
+        @Test
+        @DisplayName("Devrait conserver l'entrée si le recalcul échoue")
+        void shouldKeepEntryWhenRefreshFails() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+
+            cache.refresh("p1", Mono.error(new RuntimeException("Service down")));
+
+            assertThat(cache.getByPatientUuid("p1").riskLevel()).isEqualTo(RiskLevel.NONE);
+        }
+
+        @Test
+        @DisplayName("reload : devrait émettre et mettre en cache, vide si un recalcul est en cours")
+        void shouldReloadOrSkipWhenRefreshInProgress() {
+            Sinks.One<Assessment> pending = Sinks.one();
+            cache.refresh("p1", pending.asMono());
+
+            StepVerifier.create(cache.reload("p1", Mono.just(assessment("p1", RiskLevel.NONE))))
+                    .verifyComplete();
+
+            pending.tryEmitValue(assessment("p1", RiskLevel.BORDERLINE));
+            StepVerifier.create(cache.reload("p1", Mono.just(assessment("p1", RiskLevel.IN_DANGER))))
+                    .assertNext(reloaded -> assertThat(reloaded.riskLevel()).isEqualTo(RiskLevel.IN_DANGER))
+                    .verifyComplete();
+            assertThat(cache.getByPatientUuid("p1").riskLevel()).isEqualTo(RiskLevel.IN_DANGER);
+        }
+
+        @Test
+        @DisplayName("reload : devrait propager l'erreur du calcul")
+        void shouldPropagateReloadError() {
+            StepVerifier.create(cache.reload("p1", Mono.error(new RuntimeException("Service down"))))
+                    .verifyErrorMessage("Service down");
+            assertThat(cache.getByPatientUuid("p1")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation et métriques")
+    class InvalidationAndMetricsTests {
+
+        @Test
+        @DisplayName("Devrait invalider un seul patient ou tout le cache")
+        void shouldInvalidate() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+            cache.save(assessment("p2", RiskLevel.NONE));
+
+            cache.invalidate("p1");
+            assertThat(cache.getByPatientUuid("p1")).isNull();
+            assertThat(cache.getByPatientUuid("p2")).isNotNull();
+
+            cache.invalidateAll();
+            assertThat(cache.getAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Devrait mémoriser une invalidation jusqu'à la prochaine évaluation ou pendant ttl")
+        void shouldRememberInvalidation() {
+            assertThat(cache.wasInvalidated("p1")).isFalse();
+
+            cache.invalidate("p1");
+            assertThat(cache.wasInvalidated("p1")).isTrue();
+            cache.save(assessment("p1", RiskLevel.NONE));
+            assertThat(cache.wasInvalidated("p1")).isFalse();
+
+            cache.invalidate("p2");
+            advance(Duration.ofMinutes(31));
+            assertThat(cache.wasInvalidated("p2")).isFalse();
+
+            cache.invalidateAll();
+            assertThat(cache.wasInvalidated("p3")).isTrue();
+            advance(Duration.ofMinutes(31));
+            assertThat(cache.wasInvalidated("p3")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Devrait exporter hits, misses et evictions")
+        void shouldExportMetrics() {
+            cache.save(assessment("p1", RiskLevel.NONE));
+            cache.getByPatientUuid("p1");
+            cache.getByPatientUuid("unknown");
+
+            assertThat(meterRegistry.get("cache.gets").tag("cache", "assessments").tag("result", "hit")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", "assessments").tag("result", "miss")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.find("cache.evictions").tag("cache", "assessments").functionCounter()).isNotNull();
+        }
+    }
+}
@@ -1,29 +1,38 @@
 package com.openclassrooms.assessmentservice.controller;
 
+import com.openclassrooms.assessmentservice.domain.PageResponse;
 import com.openclassrooms.assessmentservice.domain.Response;
+import com.openclassrooms.assessmentservice.dtorequest.BatchAssessmentRequestDTO;
+import com.openclassrooms.assessmentservice.model.BatchAssessmentResult;
 import com.openclassrooms.assessmentservice.model.Assessment;
 import com.openclassrooms.assessmentservice.dtoresponse.AssessmentResponseDTO;
 import com.openclassrooms.assessmentservice.mapper.AssessmentMapper;
 import com.openclassrooms.assessmentservice.service.AssessmentService;
 import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskDistribution;
 import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -106,4 +115,93 @@ class AssessmentControllerTest {
         verify(assessmentService).assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN);
         verifyNoInteractions(assessmentMapper);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Devrait diffuser les résultats d'une évaluation en lot")
+    void shouldStreamBatchResults() {
+
+        // Given
+        BatchAssessmentResult failure = BatchAssessmentResult.failure("unknown-uuid", new RuntimeException("Patient non trouvé"));
+        BatchAssessmentResult success = BatchAssessmentResult.success(assessment);
+        BatchAssessmentRequestDTO batchRequest = BatchAssessmentRequestDTO.builder().patientUuids(List.of(PATIENT_UUID, "unknown-uuid")).build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + TEST_TOKEN);
+        when(assessmentService.assessDiabetesRiskBatch(batchRequest.getPatientUuids(), false, TEST_TOKEN)).thenReturn(Flux.just(success, failure));
+        when(assessmentMapper.toBatchResponse(any())).thenAnswer(invocation -> new AssessmentMapper().toBatchResponse(invocation.getArgument(0)));
+
+        // When / Then
+        StepVerifier.create(assessmentController.assessDiabetesRiskBatch(batchRequest, request))
+                .assertNext(line -> assertThat(line.getAssessment().getPatientUuid()).isEqualTo(PATIENT_UUID))
+                .assertNext(line -> {
+                    assertThat(line.getPatientUuid()).isEqualTo("unknown-uuid");
+                    assertThat(line.getAssessment()).isNull();
+                    assertThat(line.getError()).isEqualTo("Patient non trouvé");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Devrait retourner la dernière évaluation de chaque patient avec la pagination")
+    void shouldReturnLatestAssessmentsPage() {
+
+        // Given
+        when(assessmentService.getLatestAssessments(RiskLevel.NONE, 0, 20)).thenReturn(Mono.just(PageResponse.of(List.of(assessment), 0, 20, 1)));
+        when(assessmentMapper.toResponse(assessment)).thenReturn(assessmentResponseDTO);
+        when(request.getRequestURI()).thenReturn("/api/assessments/history/latest");
+
+        // When
+        ResponseEntity<Response> responseEntity = assessmentController.getLatestAssessments(RiskLevel.NONE, 0, 20, request).block();
+
+        // Then
+        assertThat(responseEntity).isNotNull();
+        assertThat(data(responseEntity))
+                .containsEntry("assessments", List.of(assessmentResponseDTO))
+                .containsEntry("totalElements", 1L)
+                .containsEntry("totalPages", 1);
+    }
+
+    @Test
+    @DisplayName("Devrait retourner l'historique d'un patient")
+    void shouldReturnPatientHistory() {
+
+        // Given
+        when(assessmentService.getAssessmentHistory(PATIENT_UUID, 1, 10)).thenReturn(Mono.just(PageResponse.of(List.of(assessment), 1, 10, 11)));
+        when(assessmentMapper.toResponse(assessment)).thenReturn(assessmentResponseDTO);
+        when(request.getRequestURI()).thenReturn("/api/assessments/history/patients/" + PATIENT_UUID);
+
+        // When
+        ResponseEntity<Response> responseEntity = assessmentController.getAssessmentHistory(PATIENT_UUID, 1, 10, request).block();
+
+        // Then
+        assertThat(responseEntity).isNotNull();
+        assertThat(data(responseEntity))
+                .containsEntry("currentPage", 1)
+                .containsEntry("totalPages", 2);
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer l'intervalle par défaut (30 derniers jours) à la distribution")
+    void shouldReturnRiskDistributionWithDefaultRange() {
+
+        // Given
+        RiskDistribution row = new RiskDistribution(LocalDateTime.now().withHour(0), RiskLevel.BORDERLINE, 3);
+        when(assessmentService.getRiskDistribution(any(), any(), eq(TimeBucket.WEEK))).thenReturn(Mono.just(List.of(row)));
+        when(request.getRequestURI()).thenReturn("/api/assessments/history/distribution");
+
+        // When
+        ResponseEntity<Response> responseEntity = assessmentController.getRiskDistribution(null, null, TimeBucket.WEEK, request).block();
+
+        // Then
+        assertThat(responseEntity).isNotNull();
+        assertThat(data(responseEntity)).containsEntry("distribution", List.of(row));
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(assessmentService).getRiskDistribution(from.capture(), to.capture(), eq(TimeBucket.WEEK));
+        assertThat(from.getValue()).isEqualTo(to.getValue().minusDays(30));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> data(ResponseEntity<Response> responseEntity) {
+        return (Map<String, Object>) responseEntity.getBody().data();
+    }
+}
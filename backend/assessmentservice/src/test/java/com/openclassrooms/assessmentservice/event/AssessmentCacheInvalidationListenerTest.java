@@ -0,0 +1,147 @@
+package com.openclassrooms.assessmentservice.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.assessmentservice.cache.AssessmentCache;
+import com.openclassrooms.assessmentservice.reassessment.ReassessmentQueue;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import com.openclassrooms.commons.notification.NotificationSchemaRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AssessmentCacheInvalidationListener - Tests unitaires")
+class AssessmentCacheInvalidationListenerTest {
+
+    @Mock
+    private AssessmentCache assessmentCache;
+
+    @Mock
+    private ReassessmentQueue reassessmentQueue;
+
+    private final NotificationSchemaRegistry schemaRegistry = new NotificationSchemaRegistry();
+    private final NotificationCodec notificationCodec = new NotificationCodec(schemaRegistry, new ObjectMapper());
+
+    private AssessmentCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new AssessmentCacheInvalidationListener(assessmentCache, notificationCodec, reassessmentQueue);
+    }
+
+    /** Enveloppe JSON des producteurs pas encore migrés. */
+    private byte[] message(String eventType, String data) {
+        return """
+                {"payload":{"eventType":"%s","data":%s},"headers":{"id":"1"}}
+                """.formatted(eventType, data).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] avroMessage(Schema schema, String field, String value) throws Exception {
+        GenericRecord record = new GenericData.Record(schema);
+        record.put(field, value);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryMessageEncoder<GenericRecord>(GenericData.get(), schema).encode(record, output);
+        return output.toByteArray();
+    }
+
+    @Test
+    @DisplayName("NOTE_CREATED : invalide puis programme le recalcul du patient référencé par patientNumber")
+    void noteCreated_invalidatesAndReassessesPatient() {
+        listener.onNotification(message("NOTE_CREATED", "{\"patientNumber\":\"patient-1\",\"email\":\"a@b.c\"}"));
+
+        InOrder inOrder = inOrder(assessmentCache, reassessmentQueue);
+        inOrder.verify(assessmentCache).invalidate("patient-1");
+        inOrder.verify(reassessmentQueue).submit("patient-1");
+    }
+
+    @Test
+    @DisplayName("NOTE_DELETED : invalide puis programme le recalcul du patient de la note supprimée")
+    void noteDeleted_invalidatesAndReassessesPatient() {
+        listener.onNotification(notificationCodec.encode("NOTE_DELETED", Map.of("patientNumber", "patient-4")));
+
+        InOrder inOrder = inOrder(assessmentCache, reassessmentQueue);
+        inOrder.verify(assessmentCache).invalidate("patient-4");
+        inOrder.verify(reassessmentQueue).submit("patient-4");
+    }
+
+    @Test
+    @DisplayName("PATIENT_DELETED : invalide sans recalcul")
+    void patientDeleted_invalidatesWithoutReassessment() {
+        listener.onNotification(message("PATIENT_DELETED", "{\"patientUuid\":\"patient-3\"}"));
+
+        verify(assessmentCache).invalidate("patient-3");
+        verifyNoInteractions(reassessmentQueue);
+    }
+
+    @Test
+    @DisplayName("PATIENT_UPDATED : invalide le patient référencé par patientUuid")
+    void patientUpdated_invalidatesPatient() {
+        listener.onNotification(message("PATIENT_UPDATED", "{\"patientUuid\":\"patient-2\",\"recordNumber\":\"MED-1\"}"));
+
+        verify(assessmentCache).invalidate("patient-2");
+    }
+
+    @Test
+    @DisplayName("Événement sans UUID patient : invalide tout le cache")
+    void eventWithoutUuid_invalidatesAll() {
+        listener.onNotification(message("PATIENT_UPDATED", "{\"recordNumber\":\"MED-1\"}"));
+
+        verify(assessmentCache).invalidateAll();
+        verifyNoInteractions(reassessmentQueue);
+    }
+
+    @Test
+    @DisplayName("Événement sans rapport avec l'évaluation : ignoré")
+    void unrelatedEvent_ignored() {
+        listener.onNotification(message("USER_CREATED", "{\"email\":\"a@b.c\"}"));
+
+        verifyNoInteractions(assessmentCache);
+    }
+
+    @Test
+    @DisplayName("Message invalide : ignoré sans exception")
+    void malformedMessage_ignored() {
+        listener.onNotification("not-json".getBytes(StandardCharsets.UTF_8));
+
+        verifyNoInteractions(assessmentCache);
+    }
+
+    @Test
+    @DisplayName("NOTE_UPDATED en Avro : invalide et recalcule le patient")
+    void avroNoteUpdated_invalidatesAndReassessesPatient() throws Exception {
+        Schema schema = schemaRegistry.latest("NOTE_UPDATED").orElseThrow().schema();
+
+        listener.onNotification(avroMessage(schema, "patientNumber", "patient-4"));
+
+        verify(assessmentCache).invalidate("patient-4");
+        verify(reassessmentQueue).submit("patient-4");
+    }
+
+    @Test
+    @DisplayName("Message Avro d'un schéma non déclaré : ignoré sur son empreinte")
+    void avroUnknownSchema_ignored() throws Exception {
+        Schema userCreated = SchemaBuilder.record("UserCreated").namespace("com.openclassrooms.medilabo.notification")
+                .fields().optionalString("email").endRecord();
+
+        listener.onNotification(avroMessage(userCreated, "email", "a@b.c"));
+
+        verifyNoInteractions(assessmentCache, reassessmentQueue);
+    }
+}
@@ -0,0 +1,171 @@
+package com.openclassrooms.assessmentservice.history;
+
+import com.openclassrooms.assessmentservice.config.AssessmentHistoryConfig;
+import com.openclassrooms.assessmentservice.enumeration.EventType;
+import com.openclassrooms.assessmentservice.event.Event;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.repository.AssessmentRepository;
+import com.openclassrooms.assessmentservice.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AssessmentHistoryWriter - Tests unitaires")
+class AssessmentHistoryWriterTest {
+
+    @Mock
+    private AssessmentRepository assessmentRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private AssessmentHistoryConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new AssessmentHistoryConfig();
+        config.setBatchSize(3);
+        config.setFlushInterval(Duration.ofMinutes(1));
+        config.setMaxPending(5);
+        config.setRetryAttempts(0);
+        config.setRetryBackoff(Duration.ofMillis(10));
+    }
+
+    private Assessment assessment(int i) {
+        return new Assessment("patient-" + i, "Patient " + i, 40, Gender.FEMALE, RiskLevel.NONE, 0, List.of());
+    }
+
+    @Test
+    @DisplayName("Devrait écrire par lots de batchSize puis vider le reste à l'arrêt")
+    void shouldWriteFullBatchesThenFlushRemainderOnShutdown() {
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+
+        for (int i = 0; i < 4; i++) {
+            writer.append(assessment(i));
+        }
+        verify(assessmentRepository, timeout(1000)).saveAll(anyList());
+
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Assessment>> batches = ArgumentCaptor.forClass(List.class);
+        verify(assessmentRepository, times(2)).saveAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(3, 1);
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait réessayer un lot en échec")
+    void shouldRetryFailedBatch() {
+        config.setRetryAttempts(2);
+        doThrow(new RuntimeException("DB down")).doNothing().when(assessmentRepository).saveAll(anyList());
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+        Event completed = new Event(EventType.ASSESSMENT_COMPLETED, Map.of("patientUuid", "patient-0"));
+
+        writer.append(assessment(0), completed);
+        writer.flush();
+
+        verify(assessmentRepository, times(2)).saveAll(anyList());
+        verify(outboxRepository).saveAll(List.of(completed));
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait mettre de côté un lot en échec puis l'écrire avant le lot suivant")
+    void shouldParkFailedBatchThenWriteItBeforeNextBatch() {
+        doThrow(new RuntimeException("DB down")).doNothing().when(assessmentRepository).saveAll(anyList());
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+
+        for (int i = 0; i < 6; i++) {
+            writer.append(assessment(i));
+        }
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Assessment>> batches = ArgumentCaptor.forClass(List.class);
+        verify(assessmentRepository, times(3)).saveAll(batches.capture());
+        assertThat(batches.getAllValues().get(1)).isEqualTo(batches.getAllValues().get(0));
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer les évaluations au-delà de maxPending")
+    void shouldDropWhenBufferFull() {
+        config.setBatchSize(100);
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+
+        for (int i = 0; i < 8; i++) {
+            writer.append(assessment(i));
+        }
+        assertThat(writer.pending()).isEqualTo(5);
+
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Assessment>> batch = ArgumentCaptor.forClass(List.class);
+        verify(assessmentRepository).saveAll(batch.capture());
+        assertThat(batch.getValue()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas ignorer une évaluation porteuse d'un événement au-delà de maxPending")
+    void shouldKeepEventsWhenBufferFull() {
+        config.setBatchSize(100);
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+
+        for (int i = 0; i < 8; i++) {
+            writer.append(assessment(i), new Event(EventType.ASSESSMENT_COMPLETED, Map.of("patientUuid", "patient-" + i)));
+        }
+        assertThat(writer.pending()).isEqualTo(8);
+
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Event>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(events.capture());
+        assertThat(events.getValue()).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("Devrait écrire les événements dans l'outbox avec leur lot d'évaluations")
+    void shouldWriteEventsWithTheirBatch() {
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+        Event completed = new Event(EventType.ASSESSMENT_COMPLETED, Map.of("patientUuid", "patient-1"));
+
+        writer.append(assessment(0));
+        writer.append(assessment(1), completed);
+        writer.flush();
+
+        verify(assessmentRepository).saveAll(anyList());
+        verify(outboxRepository).saveAll(List.of(completed));
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas écrire les événements d'un lot en échec")
+    void shouldNotWriteEventsOfFailedBatch() {
+        doThrow(new RuntimeException("DB down")).when(assessmentRepository).saveAll(anyList());
+        AssessmentHistoryWriter writer = new AssessmentHistoryWriter(assessmentRepository, outboxRepository, TransactionOperations.withoutTransaction(), config);
+
+        writer.append(assessment(0), new Event(EventType.ASSESSMENT_COMPLETED, Map.of("patientUuid", "patient-0")));
+        writer.flush();
+
+        verifyNoInteractions(outboxRepository);
+        assertThat(writer.pending()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,213 @@
+package com.openclassrooms.assessmentservice.reassessment;
+
+import com.openclassrooms.assessmentservice.config.AssessmentReassessmentConfig;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.commons.security.ServiceTokenProvider;
+import com.openclassrooms.assessmentservice.service.AssessmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReassessmentQueue - Tests unitaires")
+class ReassessmentQueueTest {
+
+    private static final String SERVICE_TOKEN = "service-token";
+
+    @Mock
+    private AssessmentService assessmentService;
+
+    @Mock
+    private ServiceTokenProvider tokenProvider;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AssessmentReassessmentConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private ReassessmentQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        // Délais longs : le drain périodique ne se déclenche pas pendant le test, le temps est piloté par nanos
+        config = new AssessmentReassessmentConfig();
+        config.setEnabled(true);
+        config.setDebounce(Duration.ofHours(1));
+        config.setMaxWait(Duration.ofHours(2));
+        config.setConcurrency(1);
+        config.setMaxPending(10);
+        meterRegistry = new SimpleMeterRegistry();
+        when(tokenProvider.isConfigured()).thenReturn(true);
+        when(tokenProvider.getToken()).thenReturn(Mono.just(SERVICE_TOKEN));
+        when(assessmentService.refreshAssessment(anyString(), eq(SERVICE_TOKEN)))
+                .thenAnswer(invocation -> Mono.just(assessment(invocation.getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    private ReassessmentQueue startQueue() {
+        queue = new ReassessmentQueue(assessmentService, tokenProvider, config, meterRegistry, nanos::get);
+        queue.start();
+        return queue;
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private Assessment assessment(String patientUuid) {
+        return new Assessment(patientUuid, "Jean Dupont", 45, Gender.MALE, RiskLevel.NONE, 0, List.of());
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double pendingGauge(String state) {
+        return meterRegistry.get("assessment.reassessment.pending").tag("state", state).gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Regroupement des événements")
+    class DebounceTests {
+
+        @Test
+        @DisplayName("Devrait regrouper une rafale d'événements en un seul recalcul après le silence")
+        void shouldCoalesceBurstIntoOneReassessment() {
+            startQueue();
+
+            queue.submit("p1");
+            advance(Duration.ofMinutes(30));
+            queue.submit("p1");
+            advance(Duration.ofMinutes(20));
+            queue.submit("p1");
+            assertThat(pendingGauge("debouncing")).isEqualTo(1);
+
+            advance(Duration.ofMinutes(30));
+            queue.drain();
+            verifyNoInteractions(assessmentService);
+
+            advance(Duration.ofMinutes(31));
+            queue.drain();
+
+            verify(assessmentService, times(1)).refreshAssessment("p1", SERVICE_TOKEN);
+            assertThat(counter("assessment.reassessment.coalesced")).isEqualTo(2);
+            assertThat(meterRegistry.get("assessment.reassessment").tag("outcome", "success").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("assessment.reassessment.lag").timer().totalTime(TimeUnit.MINUTES)).isEqualTo(111);
+            assertThat(queue.pending()).isZero();
+        }
+
+        @Test
+        @DisplayName("Devrait recalculer au plus tard maxWait après le premier événement")
+        void shouldReassessAfterMaxWaitUnderContinuousEvents() {
+            startQueue();
+
+            for (int i = 0; i < 4; i++) {
+                queue.submit("p1");
+                advance(Duration.ofMinutes(40));
+                queue.drain();
+            }
+
+            verify(assessmentService, times(1)).refreshAssessment("p1", SERVICE_TOKEN);
+        }
+
+        @Test
+        @DisplayName("Devrait absorber un événement reçu pendant que le patient attend un emplacement")
+        void shouldCoalesceEventWhileQueued() {
+            Sinks.One<Assessment> slow = Sinks.one();
+            when(assessmentService.refreshAssessment("p1", SERVICE_TOKEN)).thenReturn(slow.asMono());
+            startQueue();
+
+            queue.submit("p1");
+            advance(Duration.ofHours(1));
+            queue.drain();
+            queue.submit("p2");
+            advance(Duration.ofHours(1));
+            queue.drain();
+            assertThat(pendingGauge("queued")).isEqualTo(1);
+
+            queue.submit("p2");
+            assertThat(pendingGauge("debouncing")).isZero();
+
+            slow.tryEmitValue(assessment("p1"));
+            verify(assessmentService, times(1)).refreshAssessment("p2", SERVICE_TOKEN);
+            assertThat(counter("assessment.reassessment.coalesced")).isEqualTo(1);
+            assertThat(queue.pending()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Limites et échecs")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Devrait abandonner les patients au-delà de maxPending")
+        void shouldDropWhenFull() {
+            config.setMaxPending(2);
+            startQueue();
+
+            queue.submit("p1");
+            queue.submit("p2");
+            queue.submit("p3");
+            queue.submit("p1");
+
+            assertThat(queue.pending()).isEqualTo(2);
+            assertThat(counter("assessment.reassessment.dropped")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Devrait compter l'échec et continuer avec les patients suivants")
+        void shouldCountFailureAndContinue() {
+            when(assessmentService.refreshAssessment("p1", SERVICE_TOKEN)).thenReturn(Mono.error(new RuntimeException("Service down")));
+            startQueue();
+
+            queue.submit("p1");
+            queue.submit("p2");
+            advance(Duration.ofHours(1));
+            queue.drain();
+
+            verify(assessmentService).refreshAssessment("p2", SERVICE_TOKEN);
+            assertThat(meterRegistry.get("assessment.reassessment").tag("outcome", "failure").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("assessment.reassessment").tag("outcome", "success").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Sans identifiants client : aucun recalcul programmé")
+        void shouldIgnoreEventsWithoutClientCredentials() {
+            when(tokenProvider.isConfigured()).thenReturn(false);
+            startQueue();
+
+            queue.submit("p1");
+            advance(Duration.ofHours(1));
+            queue.drain();
+
+            assertThat(queue.pending()).isZero();
+            verifyNoInteractions(assessmentService);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.openclassrooms.assessmentservice.repository;
+
+import com.openclassrooms.assessmentservice.exception.ApiException;
+import com.openclassrooms.assessmentservice.model.Assessment;
+import com.openclassrooms.assessmentservice.model.Gender;
+import com.openclassrooms.assessmentservice.model.RiskLevel;
+import com.openclassrooms.assessmentservice.repository.impl.AssessmentRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.openclassrooms.assessmentservice.query.AssessmentQuery.INSERT_ASSESSMENT_QUERY;
+import static com.openclassrooms.assessmentservice.query.AssessmentQuery.UPSERT_LATEST_ASSESSMENT_QUERY;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssessmentRepositoryImplTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private JdbcClient jdbcClient;
+
+    @Mock
+    private NamedParameterJdbcTemplate batchJdbc;
+
+    private AssessmentRepositoryImpl assessmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        assessmentRepository = new AssessmentRepositoryImpl(jdbcClient, batchJdbc);
+    }
+
+    private Assessment assessment(String patientUuid, RiskLevel riskLevel, LocalDateTime assessedAt) {
+        return new Assessment(patientUuid, "Jean Dupont", 45, Gender.MALE, riskLevel, 1, List.of("Fumeur"), assessedAt);
+    }
+
+    @Nested
+    @DisplayName("saveAll Tests")
+    class SaveAllTests {
+
+        @Test
+        @DisplayName("Should insert the whole batch and upsert one latest row per patient")
+        void shouldInsertBatchAndUpsertLatestPerPatient() {
+            LocalDateTime now = LocalDateTime.now();
+            List<Assessment> batch = List.of(
+                    assessment("p1", RiskLevel.NONE, now.minusMinutes(5)),
+                    assessment("p1", RiskLevel.BORDERLINE, now),
+                    assessment("p2", RiskLevel.NONE, now));
+
+            assessmentRepository.saveAll(batch);
+
+            ArgumentCaptor<SqlParameterSource[]> inserted = ArgumentCaptor.forClass(SqlParameterSource[].class);
+            ArgumentCaptor<SqlParameterSource[]> upserted = ArgumentCaptor.forClass(SqlParameterSource[].class);
+            verify(batchJdbc).batchUpdate(eq(INSERT_ASSESSMENT_QUERY), inserted.capture());
+            verify(batchJdbc).batchUpdate(eq(UPSERT_LATEST_ASSESSMENT_QUERY), upserted.capture());
+
+            assertEquals(3, inserted.getValue().length);
+            assertEquals(2, upserted.getValue().length);
+            SqlParameterSource latestP1 = List.of(upserted.getValue()).stream()
+                    .filter(params -> "p1".equals(params.getValue("patientUuid")))
+                    .findFirst().orElseThrow();
+            assertEquals("BORDERLINE", latestP1.getValue("riskLevel"));
+            assertEquals("M", latestP1.getValue("gender"));
+            assertArrayEquals(new String[]{"Fumeur"}, (String[]) latestP1.getValue("triggersFound"));
+        }
+
+        @Test
+        @DisplayName("Should not touch the database for an empty batch")
+        void shouldSkipEmptyBatch() {
+            assessmentRepository.saveAll(List.of());
+
+            verifyNoInteractions(batchJdbc);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should return latest assessments page")
+        void shouldReturnLatestAssessments() {
+            List<Assessment> expected = List.of(assessment("p1", RiskLevel.NONE, LocalDateTime.now()));
+            when(jdbcClient.sql(anyString()).paramSource(any(SqlParameterSource.class)).query(any(RowMapper.class)).list())
+                    .thenReturn(expected);
+
+            List<Assessment> result = assessmentRepository.getLatestAssessments(RiskLevel.NONE, 20, 0);
+
+            assertEquals(expected, result);
+        }
+
+        @Test
+        @DisplayName("Should throw ApiException when history query fails")
+        void shouldThrowApiExceptionOnHistoryError() {
+            when(jdbcClient.sql(anyString()).params(anyMap()).query(any(RowMapper.class)).list())
+                    .thenThrow(new RuntimeException("DB error"));
+
+            ApiException exception = assertThrows(ApiException.class, () -> assessmentRepository.getPatientHistory("p1", 20, 0));
+
+            assertEquals("Une erreur s'est produite. Veuillez réessayer.", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should return 0 when count fails")
+        void shouldReturnZeroWhenCountFails() {
+            when(jdbcClient.sql(anyString()).param(anyString(), any()).query(Long.class).single())
+                    .thenThrow(new RuntimeException("DB error"));
+
+            assertEquals(0, assessmentRepository.countPatientHistory("p1"));
+        }
+
+        @Test
+        @DisplayName("Should return latest assessment of a patient")
+        void shouldReturnLatestAssessmentOfPatient() {
+            Assessment expected = assessment("p1", RiskLevel.BORDERLINE, LocalDateTime.now());
+            when(jdbcClient.sql(anyString()).param(anyString(), any()).query(any(RowMapper.class)).optional())
+                    .thenReturn(Optional.of(expected));
+
+            assertEquals(Optional.of(expected), assessmentRepository.findLatestAssessment("p1"));
+        }
+
+        @Test
+        @DisplayName("Should return empty when latest assessment lookup fails")
+        void shouldReturnEmptyWhenLatestLookupFails() {
+            when(jdbcClient.sql(anyString()).param(anyString(), any()).query(any(RowMapper.class)).optional())
+                    .thenThrow(new RuntimeException("DB error"));
+
+            assertTrue(assessmentRepository.findLatestAssessment("p1").isEmpty());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.openclassrooms.assessmentservice.service;
 
+import com.openclassrooms.assessmentservice.config.RiskRulesConfig;
+import com.openclassrooms.assessmentservice.config.RiskRulesConfig.AgeGroup;
 import com.openclassrooms.assessmentservice.model.Gender;
 import com.openclassrooms.assessmentservice.model.RiskLevel;
 import org.junit.jupiter.api.DisplayName;
@@ -8,6 +10,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("RiskLevelCalculator - Calcul du niveau de risque de diabète")
@@ -141,4 +149,110 @@ class RiskLevelCalculatorTest {
             assertThat(calculator.calculate(31, Gender.MALE, 3)).isEqualTo(RiskLevel.BORDERLINE);
         }
     }
-}
\ No newline at end of file
+
+    //  TABLE DE DÉCISION
+
+    /** Ancienne implémentation (liste de prédicats parcourue par un Stream), référence d'équivalence. */
+    private static RiskLevel legacyCalculate(int age, Gender gender, int triggerCount) {
+        if (triggerCount <= 1) {
+            return RiskLevel.NONE;
+        }
+        boolean young = age <= 30;
+        boolean male = gender == Gender.MALE;
+        List<Map.Entry<Predicate<Integer>, RiskLevel>> rules = List.of(
+                Map.entry(t -> young && male && t >= 5, RiskLevel.EARLY_ONSET),
+                Map.entry(t -> young && !male && t >= 7, RiskLevel.EARLY_ONSET),
+                Map.entry(t -> !young && t >= 8, RiskLevel.EARLY_ONSET),
+                Map.entry(t -> young && male && t >= 3, RiskLevel.IN_DANGER),
+                Map.entry(t -> young && !male && t >= 4, RiskLevel.IN_DANGER),
+                Map.entry(t -> !young && t >= 6, RiskLevel.IN_DANGER),
+                Map.entry(t -> !young && t >= 2, RiskLevel.BORDERLINE));
+        return rules.stream()
+                .filter(rule -> rule.getKey().test(triggerCount))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(RiskLevel.NONE);
+    }
+
+    /** Interprétation directe d'une configuration : première règle satisfaite. */
+    private static RiskLevel interpret(RiskRulesConfig config, int age, Gender gender, int triggerCount) {
+        boolean young = age <= config.getAgeThreshold();
+        for (RiskRulesConfig.Rule rule : config.getRules()) {
+            boolean ageMatches = rule.getAge() == AgeGroup.ANY || (rule.getAge() == AgeGroup.YOUNG) == young;
+            boolean genderMatches = rule.getGender() == null || (rule.getGender() == Gender.MALE) == (gender == Gender.MALE);
+            if (ageMatches && genderMatches && triggerCount >= rule.getMinTriggers()) {
+                return rule.getLevel();
+            }
+        }
+        return RiskLevel.NONE;
+    }
+
+    private static final Gender[] GENDERS = {Gender.MALE, Gender.FEMALE, null};
+
+    @Nested
+    @DisplayName("Table de décision précompilée")
+    class DecisionTableTests {
+
+        @Test
+        @DisplayName("Règles par défaut : identique à l'ancienne liste de règles sur tout le domaine")
+        void shouldMatchLegacyRulesExhaustively() {
+            for (int age = -1; age <= 130; age++) {
+                for (Gender gender : GENDERS) {
+                    for (int triggers = -2; triggers <= 40; triggers++) {
+                        assertThat(calculator.calculate(age, gender, triggers))
+                                .as("age=%d gender=%s triggers=%d", age, gender, triggers)
+                                .isEqualTo(legacyCalculate(age, gender, triggers));
+                    }
+                }
+            }
+            assertThat(calculator.calculate(45, Gender.MALE, Integer.MAX_VALUE)).isEqualTo(RiskLevel.EARLY_ONSET);
+        }
+
+        @Test
+        @DisplayName("Configurations aléatoires : identique à l'interprétation directe des règles")
+        void shouldMatchRuleInterpretationForRandomConfigurations() {
+            Random random = new Random(20260316L);
+            RiskLevel[] levels = {RiskLevel.NONE, RiskLevel.BORDERLINE, RiskLevel.IN_DANGER, RiskLevel.EARLY_ONSET};
+            for (int run = 0; run < 500; run++) {
+                RiskRulesConfig config = new RiskRulesConfig();
+                config.setAgeThreshold(random.nextInt(80));
+                List<RiskRulesConfig.Rule> rules = new ArrayList<>();
+                for (int r = 0, count = 1 + random.nextInt(10); r < count; r++) {
+                    rules.add(new RiskRulesConfig.Rule(
+                            AgeGroup.values()[random.nextInt(AgeGroup.values().length)],
+                            GENDERS[random.nextInt(GENDERS.length)],
+                            random.nextInt(15),
+                            levels[random.nextInt(levels.length)]));
+                }
+                config.setRules(rules);
+                RiskLevelCalculator compiled = new RiskLevelCalculator(config);
+
+                for (int sample = 0; sample < 200; sample++) {
+                    int age = random.nextInt(120);
+                    Gender gender = GENDERS[random.nextInt(GENDERS.length)];
+                    int triggers = random.nextInt(25) - 2;
+                    assertThat(compiled.calculate(age, gender, triggers))
+                            .as("run=%d rules=%s age=%d gender=%s triggers=%d", run, rules, age, gender, triggers)
+                            .isEqualTo(interpret(config, age, gender, triggers));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Rechargement : nouvelle table, ou précédente conservée si les règles sont invalides")
+        void shouldRecompileOnRefreshAndKeepPreviousTableWhenInvalid() {
+            RiskRulesConfig config = new RiskRulesConfig();
+            RiskLevelCalculator refreshable = new RiskLevelCalculator(config);
+            assertThat(refreshable.calculate(45, Gender.FEMALE, 2)).isEqualTo(RiskLevel.BORDERLINE);
+
+            config.setRules(List.of(new RiskRulesConfig.Rule(AgeGroup.OLDER, null, 3, RiskLevel.BORDERLINE)));
+            refreshable.recompile();
+            assertThat(refreshable.calculate(45, Gender.FEMALE, 2)).isEqualTo(RiskLevel.NONE);
+            assertThat(refreshable.calculate(45, Gender.FEMALE, 3)).isEqualTo(RiskLevel.BORDERLINE);
+
+            config.setRules(List.of(new RiskRulesConfig.Rule(AgeGroup.OLDER, null, 1, null)));
+            refreshable.recompile();
+            assertThat(refreshable.calculate(45, Gender.FEMALE, 3)).isEqualTo(RiskLevel.BORDERLINE);
+        }
+    }
+}
@@ -1,21 +1,31 @@
 package com.openclassrooms.assessmentservice.service.implementation;
 
 import com.openclassrooms.assessmentservice.cache.AssessmentCache;
+import com.openclassrooms.assessmentservice.config.AssessmentBatchConfig;
+import com.openclassrooms.assessmentservice.enumeration.EventType;
+import com.openclassrooms.assessmentservice.event.Event;
+import com.openclassrooms.assessmentservice.history.AssessmentHistoryWriter;
+import com.openclassrooms.assessmentservice.model.RiskDistribution;
+import com.openclassrooms.assessmentservice.model.TimeBucket;
+import com.openclassrooms.assessmentservice.repository.AssessmentRepository;
+import com.openclassrooms.assessmentservice.model.Assessment;
 import com.openclassrooms.assessmentservice.model.Gender;
 import com.openclassrooms.assessmentservice.model.RiskLevel;
 import com.openclassrooms.assessmentservice.exception.ApiException;
 import com.openclassrooms.assessmentservice.dtoresponse.NoteResponseDTO;
 import com.openclassrooms.assessmentservice.dtoresponse.PatientResponseDTO;
 import com.openclassrooms.assessmentservice.service.RiskLevelCalculator;
+import com.openclassrooms.commons.trigger.TriggerTerms;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -26,8 +36,11 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -46,10 +59,16 @@ class AssessmentServiceImplTest {
     private RiskLevelCalculator riskLevelCalculator;
 
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private AssessmentCache assessmentCache;
+
+    @Spy
+    private AssessmentBatchConfig batchConfig = new AssessmentBatchConfig();
 
     @Mock
-    private AssessmentCache assessmentCache;
+    private AssessmentRepository assessmentRepository;
+
+    @Mock
+    private AssessmentHistoryWriter historyWriter;
 
     @InjectMocks
     private AssessmentServiceImpl assessmentService;
@@ -58,7 +77,11 @@ class AssessmentServiceImplTest {
     private static final String TEST_TOKEN = "test-jwt-token";
 
     @BeforeEach
-    void setUp() {}
+    void setUp() {
+        // Index des déclencheurs indisponible par défaut : repli sur l'analyse des notes
+        when(noteServiceClient.getTriggersByPatientUuid(anyString(), anyString())).thenReturn(Mono.empty());
+        when(noteServiceClient.getNotesByPatientUuid(anyString(), anyString())).thenReturn(Flux.empty());
+    }
 
     private PatientResponseDTO createPatient(int age, Gender gender) {
         return PatientResponseDTO.builder()
@@ -100,8 +123,6 @@ class AssessmentServiceImplTest {
             when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.fromIterable(notes));
             when(riskLevelCalculator.calculate(45, Gender.FEMALE, 4)).thenReturn(RiskLevel.BORDERLINE);
 
-            doNothing().when(eventPublisher).publishEvent(any());
-
             StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
                     .assertNext(result -> {
                         assertThat(result.riskLevel()).isEqualTo(RiskLevel.BORDERLINE);
@@ -122,8 +143,6 @@ class AssessmentServiceImplTest {
             when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.fromIterable(notes));
             when(riskLevelCalculator.calculate(25, Gender.MALE, 4)).thenReturn(RiskLevel.IN_DANGER);
 
-            doNothing().when(eventPublisher).publishEvent(any());
-
             StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
                     .assertNext(result -> {
                         assertThat(result.riskLevel()).isEqualTo(RiskLevel.IN_DANGER);
@@ -146,8 +165,6 @@ class AssessmentServiceImplTest {
             when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.fromIterable(notes));
             when(riskLevelCalculator.calculate(28, Gender.MALE, 6)).thenReturn(RiskLevel.EARLY_ONSET);
 
-            doNothing().when(eventPublisher).publishEvent(any());
-
             StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID,TEST_TOKEN))
                     .assertNext(result -> {
                         assertThat(result.riskLevel()).isEqualTo(RiskLevel.EARLY_ONSET);
@@ -157,6 +174,327 @@ class AssessmentServiceImplTest {
         }
     }
 
+    // TRIGGER INDEX
+
+    @Nested
+    @DisplayName("Index des déclencheurs NotesService")
+    class TriggerIndexTests {
+
+        @Test
+        @DisplayName("Devrait utiliser l'index sans télécharger les notes")
+        void shouldUseTriggerIndex_withoutDownloadingNotes() {
+            PatientResponseDTO patient = createPatient(45, Gender.FEMALE);
+
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(patient));
+            when(noteServiceClient.getTriggersByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(List.of("Fumeur", "Poids", "Rechute")));
+            when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.error(new IllegalStateException("should not be subscribed")));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 3)).thenReturn(RiskLevel.BORDERLINE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .assertNext(result -> {
+                        assertThat(result.triggerCount()).isEqualTo(3);
+                        assertThat(result.triggersFound()).containsExactly("Fumeur", "Poids", "Rechute");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Devrait se replier sur les notes si l'index est en erreur")
+        void shouldFallbackToNotes_whenTriggerIndexFails() {
+            PatientResponseDTO patient = createPatient(45, Gender.FEMALE);
+
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(patient));
+            when(noteServiceClient.getTriggersByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.error(new ApiException("Erreur client NotesService")));
+            when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.just(createNote("Fumeur, anticorps")));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 2)).thenReturn(RiskLevel.BORDERLINE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .assertNext(result -> assertThat(result.triggersFound()).containsExactlyInAnyOrder("Fumeur", "Anticorps"))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Devrait interrompre le flux de notes dès que tous les déclencheurs sont trouvés")
+        void shouldStopStreamingNotes_whenAllTriggersFound() {
+            PatientResponseDTO patient = createPatient(45, Gender.FEMALE);
+            AtomicInteger emitted = new AtomicInteger();
+            Flux<NoteResponseDTO> notes = Flux.concat(
+                    Flux.just(createNote(String.join(" ", TriggerTerms.TERMS))),
+                    Flux.error(new IllegalStateException("should not be requested")))
+                    .doOnNext(note -> emitted.incrementAndGet());
+
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(patient));
+            when(noteServiceClient.getTriggersByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.empty());
+            when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(notes);
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 12)).thenReturn(RiskLevel.EARLY_ONSET);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .assertNext(result -> assertThat(result.triggerCount()).isEqualTo(12))
+                    .verifyComplete();
+            assertThat(emitted).hasValue(1);
+        }
+    }
+
+    // BATCH
+
+    // CACHE
+
+    @Nested
+    @DisplayName("Cache des évaluations")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Devrait servir l'évaluation en cache sans appeler les services")
+        void shouldServeFreshCachedAssessment() {
+            Assessment cached = new Assessment(PATIENT_UUID, "Jean Dupont", 45, Gender.MALE, RiskLevel.NONE, 0, List.of());
+            when(assessmentCache.getByPatientUuid(PATIENT_UUID)).thenReturn(cached);
+            when(assessmentCache.isStale(PATIENT_UUID)).thenReturn(false);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .expectNext(cached)
+                    .verifyComplete();
+
+            verify(assessmentCache, never()).refresh(anyString(), any());
+            verifyNoInteractions(patientServiceClient, historyWriter);
+        }
+
+        @Test
+        @DisplayName("Devrait servir l'évaluation ancienne et la recalculer en arrière-plan sans événement")
+        void shouldServeStaleAssessmentAndRefresh() {
+            Assessment cached = new Assessment(PATIENT_UUID, "Jean Dupont", 45, Gender.FEMALE, RiskLevel.NONE, 0, List.of());
+            when(assessmentCache.getByPatientUuid(PATIENT_UUID)).thenReturn(cached);
+            when(assessmentCache.isStale(PATIENT_UUID)).thenReturn(true);
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(createPatient(45, Gender.FEMALE)));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 0)).thenReturn(RiskLevel.NONE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .expectNext(cached)
+                    .verifyComplete();
+
+            ArgumentCaptor<Mono<Assessment>> loader = ArgumentCaptor.captor();
+            verify(assessmentCache).refresh(eq(PATIENT_UUID), loader.capture());
+            StepVerifier.create(loader.getValue())
+                    .assertNext(refreshed -> assertThat(refreshed.riskLevel()).isEqualTo(RiskLevel.NONE))
+                    .verifyComplete();
+            verify(historyWriter).append(any(Assessment.class));
+            verify(historyWriter, never()).append(any(Assessment.class), any());
+            verify(assessmentCache, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Devrait calculer et mettre en cache en l'absence d'entrée")
+        void shouldComputeAndCacheOnMiss() {
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(createPatient(45, Gender.FEMALE)));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 0)).thenReturn(RiskLevel.NONE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .assertNext(result -> assertThat(result.patientUuid()).isEqualTo(PATIENT_UUID))
+                    .verifyComplete();
+
+            verify(assessmentCache).save(any(Assessment.class));
+            ArgumentCaptor<Event> event = ArgumentCaptor.forClass(Event.class);
+            verify(historyWriter).append(any(Assessment.class), event.capture());
+            assertThat(event.getValue().getEventType()).isEqualTo(EventType.ASSESSMENT_COMPLETED);
+            assertThat(event.getValue().getData().get("patientUuid")).isEqualTo(PATIENT_UUID);
+        }
+
+        @Test
+        @DisplayName("Devrait servir la dernière évaluation enregistrée sans la mettre en cache et la recalculer en arrière-plan")
+        void shouldServeHistoryOnMissWithoutCachingIt() {
+            Assessment persisted = new Assessment(PATIENT_UUID, "Jean Dupont", 45, Gender.FEMALE, RiskLevel.BORDERLINE, 2, List.of("Fumeur", "Poids"));
+            when(assessmentRepository.findLatestAssessment(PATIENT_UUID)).thenReturn(Optional.of(persisted));
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(createPatient(45, Gender.FEMALE)));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 0)).thenReturn(RiskLevel.NONE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .expectNext(persisted)
+                    .verifyComplete();
+
+            verify(assessmentCache, never()).save(any());
+            ArgumentCaptor<Mono<Assessment>> loader = ArgumentCaptor.captor();
+            verify(assessmentCache).refresh(eq(PATIENT_UUID), loader.capture());
+            StepVerifier.create(loader.getValue())
+                    .assertNext(refreshed -> assertThat(refreshed.riskLevel()).isEqualTo(RiskLevel.NONE))
+                    .verifyComplete();
+            verify(historyWriter, never()).append(any(Assessment.class), any());
+        }
+
+        @Test
+        @DisplayName("Devrait évaluer sans consulter l'historique un patient invalidé")
+        void shouldEvaluateInvalidatedPatientWithoutHistory() {
+            when(assessmentCache.wasInvalidated(PATIENT_UUID)).thenReturn(true);
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(createPatient(45, Gender.FEMALE)));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 0)).thenReturn(RiskLevel.NONE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
+                    .assertNext(result -> assertThat(result.riskLevel()).isEqualTo(RiskLevel.NONE))
+                    .verifyComplete();
+
+            verify(assessmentRepository, never()).findLatestAssessment(anyString());
+            verify(assessmentCache).save(any(Assessment.class));
+            verify(assessmentCache, never()).refresh(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Devrait recalculer via le cache et historiser sans événement (recalcul proactif)")
+        void shouldRefreshAssessmentThroughCacheWithoutEvent() {
+            when(patientServiceClient.getPatientByUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(createPatient(45, Gender.FEMALE)));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 0)).thenReturn(RiskLevel.NONE);
+            when(assessmentCache.reload(eq(PATIENT_UUID), any())).thenAnswer(invocation -> invocation.getArgument(1));
+
+            StepVerifier.create(assessmentService.refreshAssessment(PATIENT_UUID, TEST_TOKEN))
+                    .assertNext(result -> assertThat(result.riskLevel()).isEqualTo(RiskLevel.NONE))
+                    .verifyComplete();
+
+            verify(assessmentCache).reload(eq(PATIENT_UUID), any());
+            verify(historyWriter).append(any(Assessment.class));
+            verify(historyWriter, never()).append(any(Assessment.class), any());
+        }
+    }
+
+    // HISTORY
+
+    @Nested
+    @DisplayName("Historique des évaluations")
+    class HistoryTests {
+
+        private final Assessment stored = new Assessment(PATIENT_UUID, "Jean Dupont", 45, Gender.MALE, RiskLevel.BORDERLINE, 2, List.of("Fumeur", "Poids"));
+
+        @Test
+        @DisplayName("Devrait lire la dernière évaluation par patient avec offset calculé")
+        void shouldReadLatestAssessmentsPage() {
+            when(assessmentRepository.getLatestAssessments(RiskLevel.BORDERLINE, 20, 40)).thenReturn(List.of(stored));
+            when(assessmentRepository.countLatestAssessments(RiskLevel.BORDERLINE)).thenReturn(41L);
+
+            StepVerifier.create(assessmentService.getLatestAssessments(RiskLevel.BORDERLINE, 2, 20))
+                    .assertNext(page -> {
+                        assertThat(page.content()).containsExactly(stored);
+                        assertThat(page.totalPages()).isEqualTo(3);
+                        assertThat(page.totalElements()).isEqualTo(41);
+                    })
+                    .verifyComplete();
+
+            verifyNoInteractions(patientServiceClient, noteServiceClient);
+        }
+
+        @Test
+        @DisplayName("Devrait lire l'historique d'un patient")
+        void shouldReadPatientHistory() {
+            when(assessmentRepository.getPatientHistory(PATIENT_UUID, 10, 0)).thenReturn(List.of(stored));
+            when(assessmentRepository.countPatientHistory(PATIENT_UUID)).thenReturn(1L);
+
+            StepVerifier.create(assessmentService.getAssessmentHistory(PATIENT_UUID, 0, 10))
+                    .assertNext(page -> assertThat(page.content()).containsExactly(stored))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Devrait rejeter une pagination invalide")
+        void shouldRejectInvalidPage() {
+            assertThatThrownBy(() -> assessmentService.getAssessmentHistory(PATIENT_UUID, -1, 10)).isInstanceOf(ApiException.class);
+            assertThatThrownBy(() -> assessmentService.getLatestAssessments(null, 0, 101)).isInstanceOf(ApiException.class);
+            verifyNoInteractions(assessmentRepository);
+        }
+
+        @Test
+        @DisplayName("Devrait lire la distribution et rejeter un intervalle inversé")
+        void shouldReadRiskDistribution() {
+            LocalDateTime to = LocalDateTime.now();
+            LocalDateTime from = to.minusDays(7);
+            RiskDistribution row = new RiskDistribution(from, RiskLevel.NONE, 12);
+            when(assessmentRepository.getRiskDistribution(from, to, TimeBucket.DAY)).thenReturn(List.of(row));
+
+            StepVerifier.create(assessmentService.getRiskDistribution(from, to, TimeBucket.DAY))
+                    .expectNext(List.of(row))
+                    .verifyComplete();
+
+            assertThatThrownBy(() -> assessmentService.getRiskDistribution(to, from, TimeBucket.DAY)).isInstanceOf(ApiException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Évaluation en lot")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Devrait évaluer chaque patient et isoler les erreurs")
+        void shouldAssessEachPatient_andIsolateFailures() {
+            PatientResponseDTO patient = createPatient(45, Gender.FEMALE);
+
+            when(patientServiceClient.getPatientsByUuids(anyCollection(), anyString())).thenReturn(Flux.just(patient));
+            when(noteServiceClient.getTriggersByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(List.of("Fumeur", "Poids")));
+            when(riskLevelCalculator.calculate(45, Gender.FEMALE, 2)).thenReturn(RiskLevel.BORDERLINE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRiskBatch(List.of(PATIENT_UUID, "unknown-uuid", PATIENT_UUID), false, TEST_TOKEN).collectList())
+                    .assertNext(results -> {
+                        assertThat(results).hasSize(2);
+                        assertThat(results).anySatisfy(r -> {
+                            assertThat(r.patientUuid()).isEqualTo(PATIENT_UUID);
+                            assertThat(r.assessment().riskLevel()).isEqualTo(RiskLevel.BORDERLINE);
+                        });
+                        assertThat(results).anySatisfy(r -> {
+                            assertThat(r.patientUuid()).isEqualTo("unknown-uuid");
+                            assertThat(r.error()).contains("Patient non trouvé");
+                        });
+                    })
+                    .verifyComplete();
+
+            verify(patientServiceClient, times(1)).getPatientsByUuids(List.of(PATIENT_UUID, "unknown-uuid"), TEST_TOKEN);
+        }
+
+        @Test
+        @DisplayName("Devrait découper les UUID en paquets et isoler un paquet en échec")
+        void shouldChunkPatientLookups_andIsolateFailedChunk() {
+            batchConfig.setPatientLookupChunkSize(2);
+            PatientResponseDTO patient = createPatient(30, Gender.MALE);
+
+            when(patientServiceClient.getPatientsByUuids(eq(List.of(PATIENT_UUID, "other-uuid")), anyString())).thenReturn(Flux.just(patient));
+            when(patientServiceClient.getPatientsByUuids(eq(List.of("third-uuid")), anyString()))
+                    .thenReturn(Flux.error(new ApiException("Service patient indisponible")));
+            when(noteServiceClient.getTriggersByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(List.of()));
+            when(riskLevelCalculator.calculate(30, Gender.MALE, 0)).thenReturn(RiskLevel.NONE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRiskBatch(List.of(PATIENT_UUID, "other-uuid", "third-uuid"), false, TEST_TOKEN).collectList())
+                    .assertNext(results -> {
+                        assertThat(results).hasSize(3);
+                        assertThat(results).filteredOn(r -> r.error() == null).hasSize(1);
+                        assertThat(results).anySatisfy(r -> {
+                            assertThat(r.patientUuid()).isEqualTo("third-uuid");
+                            assertThat(r.error()).contains("indisponible");
+                        });
+                    })
+                    .verifyComplete();
+
+            verify(patientServiceClient, times(2)).getPatientsByUuids(anyCollection(), anyString());
+        }
+
+        @Test
+        @DisplayName("Devrait évaluer tous les patients actifs avec un seul appel PatientService")
+        void shouldAssessAllActivePatients_withSinglePatientCall() {
+            PatientResponseDTO patient = createPatient(25, Gender.MALE);
+
+            when(patientServiceClient.getAllActivePatients(anyString())).thenReturn(Flux.just(patient));
+            when(noteServiceClient.getTriggersByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Mono.just(List.of()));
+            when(riskLevelCalculator.calculate(25, Gender.MALE, 0)).thenReturn(RiskLevel.NONE);
+
+            StepVerifier.create(assessmentService.assessDiabetesRiskBatch(null, true, TEST_TOKEN))
+                    .assertNext(result -> assertThat(result.assessment().riskLevel()).isEqualTo(RiskLevel.NONE))
+                    .verifyComplete();
+
+        }
+
+        @Test
+        @DisplayName("Devrait rejeter un lot vide ou trop grand")
+        void shouldRejectEmptyOrOversizedBatch() {
+            batchConfig.setMaxPatients(1);
+
+            assertThatThrownBy(() -> assessmentService.assessDiabetesRiskBatch(List.of(), false, TEST_TOKEN))
+                    .isInstanceOf(ApiException.class);
+            assertThatThrownBy(() -> assessmentService.assessDiabetesRiskBatch(List.of("a", "b"), false, TEST_TOKEN))
+                    .isInstanceOf(ApiException.class);
+        }
+    }
+
     // ERROR
 
     @Nested
@@ -180,7 +518,7 @@ class AssessmentServiceImplTest {
             verify(patientServiceClient).getPatientByUuid(PATIENT_UUID, TEST_TOKEN);
             verify(noteServiceClient).getNotesByPatientUuid(PATIENT_UUID, TEST_TOKEN);
             verify(riskLevelCalculator, never()).calculate(anyInt(), any(), anyInt());
-            verify(eventPublisher, never()).publishEvent(any());
+            verifyNoInteractions(historyWriter);
         }
 
         @Test
@@ -197,7 +535,7 @@ class AssessmentServiceImplTest {
             verify(patientServiceClient).getPatientByUuid(eq(PATIENT_UUID), anyString());
             verify(noteServiceClient).getNotesByPatientUuid(eq(PATIENT_UUID), anyString());
             verify(riskLevelCalculator, never()).calculate(anyInt(), any(), anyInt());
-            verify(eventPublisher, never()).publishEvent(any());
+            verifyNoInteractions(historyWriter);
         }
     }
 
@@ -218,8 +556,6 @@ class AssessmentServiceImplTest {
             when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.just(note));
             when(riskLevelCalculator.calculate(35, Gender.MALE, 0)).thenReturn(RiskLevel.NONE);
 
-            doNothing().when(eventPublisher).publishEvent(any());
-
             StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
                     .assertNext(result -> {
                         assertThat(result.triggerCount()).isZero();
@@ -238,8 +574,6 @@ class AssessmentServiceImplTest {
             when(noteServiceClient.getNotesByPatientUuid(eq(PATIENT_UUID), anyString())).thenReturn(Flux.just(note));
             when(riskLevelCalculator.calculate(35, Gender.FEMALE, 0)).thenReturn(RiskLevel.NONE);
 
-            doNothing().when(eventPublisher).publishEvent(any());
-
             StepVerifier.create(assessmentService.assessDiabetesRisk(PATIENT_UUID, TEST_TOKEN))
                     .assertNext(result -> {
                         assertThat(result.triggerCount()).isZero();
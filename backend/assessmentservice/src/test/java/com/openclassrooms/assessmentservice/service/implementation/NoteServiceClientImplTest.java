@@ -6,13 +6,16 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.openclassrooms.assessmentservice.exception.ApiException;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.*;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -35,7 +38,12 @@ class NoteServiceClientImplTest {
     }
 
     @BeforeEach
-    void initialize() {
+    void initialize() throws InterruptedException {
+        // Serveur partagé : on écarte les requêtes enregistrées par les tests précédents
+        while (mockWebServer.takeRequest(0, TimeUnit.MILLISECONDS) != null) {
+            // requête précédente ignorée
+        }
+
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -46,62 +54,60 @@ class NoteServiceClientImplTest {
     }
 
     @Test
-    @DisplayName("Should return notes successfully")
-    void getNotesByPatientUuid_Success() {
-        String mockJsonResponse =
+    @DisplayName("Should stream NDJSON notes successfully")
+    void getNotesByPatientUuid_Success() throws InterruptedException {
+        String ndjson =
                 """
-                {
-                    "status": "OK",
-                    "message": "Notes retrieved successfully",
-                    "data": {
-                        "notes": [
-                            {
-                                "noteUuid": "note-1",
-                                "patientUuid": "uuid-123",
-                                "content": "Patient feels better",
-                                "createdAt": "2024-01-01T10:00:00"
-                            }
-                        ]
-                    }
-                }
+                {"noteUuid":"note-1","patientUuid":"uuid-123","content":"Patient feels better","createdAt":"2024-01-01T10:00:00"}
+                {"noteUuid":"note-2","patientUuid":"uuid-123","content":"Fumeur","createdAt":"2024-01-02T10:00:00"}
                 """;
 
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(200)
-                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .setBody(mockJsonResponse));
-
-        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
-                .assertNext(result -> {
-                    assertThat(result).isNotEmpty();
-                    assertThat(result.getFirst().getNoteUuid()).isEqualTo("note-1");
-                    assertThat(result.getFirst().getPatientUuid()).isEqualTo("uuid-123");
-                    assertThat(result.getFirst().getContent()).isEqualTo("Patient feels better");
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .setBody(ndjson));
+
+        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN))
+                .assertNext(note -> {
+                    assertThat(note.getNoteUuid()).isEqualTo("note-1");
+                    assertThat(note.getPatientUuid()).isEqualTo("uuid-123");
+                    assertThat(note.getContent()).isEqualTo("Patient feels better");
                 })
+                .assertNext(note -> assertThat(note.getNoteUuid()).isEqualTo("note-2"))
                 .verifyComplete();
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/api/notes/patient/uuid-123/stream");
+        assertThat(request.getHeader(HttpHeaders.ACCEPT)).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(request.getHeader(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer " + TEST_TOKEN);
     }
 
     @Test
-    @DisplayName("Should return empty list when API returns empty data")
+    @DisplayName("Should return empty flux when patient has no notes")
     void getNotesByPatientUuid_Empty() {
-        String mockEmptyResponse =
-                """
-                {
-                    "status": "OK",
-                    "data": null
-                }
-                """;
-
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(200)
-                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .setBody(mockEmptyResponse));
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .setBody(""));
 
-        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
-                .assertNext(result -> assertThat(result).isEmpty())
+        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN))
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should fail with DecodingException on a malformed line")
+    void getNotesByPatientUuid_MalformedLine() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .setBody("{\"noteUuid\":\"note-1\",\"content\":\"ok\"}\nnot-json\n"));
+
+        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN))
+                .thenConsumeWhile(note -> true)
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
     @Test
     @DisplayName("Should throw ApiException on 404 Not Found")
     void getNotesByPatientUuid_NotFound() {
@@ -134,95 +140,53 @@ class NoteServiceClientImplTest {
     }
 
     @Test
-    @DisplayName("Should return empty list when response has no notes field")
-    void getNotesByPatientUuid_NoNotesField() {
-        String mockJsonResponse =
-                """
-                {
-                    "status": "OK",
-                    "data": {}
-                }
-                """;
-
-        mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .setBody(mockJsonResponse));
+    @DisplayName("Should handle network error with fallback")
+    void getNotesByPatientUuid_NetworkError() {
+        // Simuler une erreur réseau en fermant la connexion
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AT_START));
 
+        // L'erreur réseau déclenche le fallback qui retourne Flux.empty()
         StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
                 .assertNext(result -> assertThat(result).isEmpty())
                 .verifyComplete();
     }
 
     @Test
-    @DisplayName("Should return empty list when notes field is null")
-    void getNotesByPatientUuid_NotesFieldNull() {
-        String mockJsonResponse =
-                """
-                {
-                    "status": "OK",
-                    "data": {
-                        "notes": null
-                    }
-                }
-                """;
-
+    @DisplayName("Should return trigger index successfully")
+    void getTriggersByPatientUuid_Success() {
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(200)
                 .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .setBody(mockJsonResponse));
-
-        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
-                .assertNext(result -> assertThat(result).isEmpty())
+                .setBody("""
+                        {
+                            "status": "OK",
+                            "data": { "patientUuid": "uuid-123", "triggers": ["Fumeur", "Poids"], "triggerCount": 2 }
+                        }
+                        """));
+
+        StepVerifier.create(noteClient.getTriggersByPatientUuid("uuid-123", TEST_TOKEN))
+                .assertNext(triggers -> assertThat(triggers).containsExactly("Fumeur", "Poids"))
                 .verifyComplete();
     }
 
     @Test
-    @DisplayName("Should return empty list when notes field is not an array")
-    void getNotesByPatientUuid_NotesFieldNotArray() {
-        String mockJsonResponse =
-                """
-                {
-                    "status": "OK",
-                    "data": {
-                        "notes": "not an array"
-                    }
-                }
-                """;
-
+    @DisplayName("Should return empty when trigger index is missing from response")
+    void getTriggersByPatientUuid_NoTriggersField() {
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(200)
                 .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .setBody(mockJsonResponse));
+                .setBody("{ \"status\": \"OK\", \"data\": {} }"));
 
-        // convertValue va échouer et retourner Collections.emptyList()
-        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
-                .assertNext(result -> assertThat(result).isEmpty())
-                .verifyComplete();
+        StepVerifier.create(noteClient.getTriggersByPatientUuid("uuid-123", TEST_TOKEN)).verifyComplete();
     }
 
     @Test
-    @DisplayName("Should handle network error with fallback")
-    void getNotesByPatientUuid_NetworkError() {
-        // Simuler une erreur réseau en fermant la connexion
-        mockWebServer.enqueue(new MockResponse().setSocketPolicy(okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AT_START));
+    @DisplayName("Should error on 404 when trigger endpoint is unknown")
+    void getTriggersByPatientUuid_NotFound() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
 
-        // L'erreur réseau déclenche le fallback qui retourne Flux.empty()
-        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
-                .assertNext(result -> assertThat(result).isEmpty())
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("Should return empty list when response body is empty")
-    void getNotesByPatientUuid_EmptyBody() {
-        mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .setBody(""));
-
-        StepVerifier.create(noteClient.getNotesByPatientUuid("uuid-123", TEST_TOKEN).collectList())
-                .assertNext(result -> assertThat(result).isEmpty())
-                .verifyComplete();
+        StepVerifier.create(noteClient.getTriggersByPatientUuid("uuid-123", TEST_TOKEN))
+                .expectError(ApiException.class)
+                .verify();
     }
-}
\ No newline at end of file
+}
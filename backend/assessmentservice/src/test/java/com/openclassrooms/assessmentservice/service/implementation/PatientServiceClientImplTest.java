@@ -11,11 +11,13 @@ import org.junit.jupiter.api.*;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
+import okhttp3.mockwebserver.RecordedRequest;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -339,4 +341,69 @@ class PatientServiceClientImplTest {
         // THEN
         assertThat(result).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should fetch a batch of patients with a single POST")
+    void getPatientsByUuids_Success() throws InterruptedException {
+        // GIVEN
+        String mockJsonResponse = """
+                {
+                    "status": "OK",
+                    "data": {
+                        "patients": [
+                            {"patientUuid": "uuid-1", "gender": "M", "dateOfBirth": "1990-01-01"},
+                            {"patientUuid": "uuid-2", "gender": "F", "dateOfBirth": "1985-06-15"}
+                        ],
+                        "count": 2,
+                        "missing": ["uuid-3"]
+                    }
+                }
+                """;
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(mockJsonResponse));
+
+        // WHEN & THEN
+        StepVerifier.create(patientClient.getPatientsByUuids(List.of("uuid-1", "uuid-2", "uuid-3"), TEST_TOKEN))
+                .assertNext(patient -> assertThat(patient.getGender()).isEqualTo(Gender.MALE))
+                .assertNext(patient -> assertThat(patient.getPatientUuid()).isEqualTo("uuid-2"))
+                .verifyComplete();
+
+        RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/api/patients/batch");
+        assertThat(request.getBody().readUtf8()).contains("uuid-3");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should propagate an error when the batch call fails")
+    void getPatientsByUuids_ServerError() {
+        // GIVEN
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        // WHEN & THEN
+        StepVerifier.create(patientClient.getPatientsByUuids(List.of("uuid-1"), TEST_TOKEN))
+                .expectError()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Batch fallback should signal unavailability instead of an empty result")
+    void getPatientsByUuidsFallback_Test() {
+        StepVerifier.create(patientClient.getPatientsByUuidsFallback(List.of("uuid-1"), TEST_TOKEN, new RuntimeException("Service Down")))
+                .expectErrorMessage("Service patient indisponible")
+                .verify();
+    }
+
+    @Test
+    @DisplayName("All-active-patients fallback should signal unavailability instead of an empty result")
+    void getAllActivePatientsFallback_Test() {
+        StepVerifier.create(patientClient.getAllActivePatientsFallback(TEST_TOKEN, new RuntimeException("Service Down")))
+                .expectErrorMessage("Service patient indisponible")
+                .verify();
+    }
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.authorizationserverservice;
 
+import com.openclassrooms.authorizationserverservice.config.ServiceClientConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
@@ -7,6 +8,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.oidc.OidcScopes;
@@ -38,7 +40,8 @@ public class AuthorizationserverserviceApplication {
 	}
 
 	@Bean
-	public ApplicationRunner applicationRunner(RegisteredClientRepository registeredClientRepository) {
+	public ApplicationRunner applicationRunner(RegisteredClientRepository registeredClientRepository,
+											   ServiceClientConfig serviceClientConfig, PasswordEncoder passwordEncoder) {
 		return args -> {
 			try {
 				log.info("Checking/Updating OAuth2 client configuration...");
@@ -81,10 +84,42 @@ public class AuthorizationserverserviceApplication {
 				log.info("OAuth2 client 'client' is ready. AccessTokenTTL: {}m, RefreshTokenTTL: {}d",
 						accessTokenTtlMinutes, refreshTokenTtlDays);
 
+				serviceClientConfig.getServiceClients().forEach(serviceClient ->
+						registerServiceClient(registeredClientRepository, serviceClient, passwordEncoder));
+
 			} catch (Exception exception) {
 				log.error("Error during client initialization: {}", exception.getMessage());
 				throw exception;
 			}
 		};
 	}
+
+	/**
+	 * Client confidentiel d'un microservice : grant client_credentials uniquement, secret haché,
+	 * autorités des jetons portées par ses paramètres (voir AuthorizationServerConfig#customizer).
+	 */
+	private void registerServiceClient(RegisteredClientRepository registeredClientRepository,
+									   ServiceClientConfig.ServiceClient serviceClient, PasswordEncoder passwordEncoder) {
+		if (serviceClient.getClientSecret() == null || serviceClient.getClientSecret().isBlank()) {
+			log.warn("OAuth2 service client '{}' has no secret configured, not registered", serviceClient.getClientId());
+			return;
+		}
+		RegisteredClient existingClient = registeredClientRepository.findByClientId(serviceClient.getClientId());
+		String id = (existingClient != null) ? existingClient.getId() : randomUUID().toString();
+
+		registeredClientRepository.save(RegisteredClient.withId(id)
+				.clientId(serviceClient.getClientId())
+				.clientSecret(passwordEncoder.encode(serviceClient.getClientSecret()))
+				.clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+				.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+				.clientSettings(ClientSettings.builder()
+						.setting(ServiceClientConfig.AUTHORITIES_SETTING, serviceClient.getAuthorities())
+						.build())
+				.tokenSettings(TokenSettings.builder()
+						.accessTokenTimeToLive(Duration.ofMinutes(accessTokenTtlMinutes))
+						.build())
+				.build());
+
+		log.info("OAuth2 service client '{}' is ready. Authorities: {}", serviceClient.getClientId(), serviceClient.getAuthorities());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.openclassrooms.authorizationserverservice.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clients confidentiels des microservices (grant client_credentials), utilisés pour
+ * leurs appels inter-services hors requête utilisateur (recalcul en arrière-plan, notifications).
+ * Un client sans secret n'est pas enregistré : le service appelant reste sans jeton de service.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth")
+@Validated
+public class ServiceClientConfig {
+
+    /**Paramètre du client enregistré qui porte les autorités de ses jetons (claim authorities).*/
+    public static final String AUTHORITIES_SETTING = "settings.client.service-authorities";
+
+    @Valid
+    private List<ServiceClient> serviceClients = new ArrayList<>();
+
+    @Data
+    public static class ServiceClient {
+
+        @NotBlank
+        private String clientId;
+
+        /**Secret partagé avec le service (stocké haché BCrypt).*/
+        private String clientSecret;
+
+        /**Autorités des jetons émis, séparées par des virgules.*/
+        @NotBlank
+        private String authorities;
+    }
+}
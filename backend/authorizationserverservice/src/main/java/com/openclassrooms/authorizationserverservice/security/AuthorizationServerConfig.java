@@ -1,5 +1,6 @@
 package com.openclassrooms.authorizationserverservice.security;
 
+import com.openclassrooms.authorizationserverservice.config.ServiceClientConfig;
 import com.openclassrooms.authorizationserverservice.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +47,7 @@ import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS;
 import static org.springframework.http.HttpMethod.*;
 import static org.springframework.http.HttpMethod.OPTIONS;
+import static org.springframework.security.oauth2.core.AuthorizationGrantType.CLIENT_CREDENTIALS;
 import static org.springframework.security.oauth2.server.authorization.OAuth2TokenType.ACCESS_TOKEN;
 
 /**
@@ -284,6 +286,10 @@ public class AuthorizationServerConfig {
      * @return chaîne des autorités
      */
     private String getAuthorities(JwtEncodingContext context) {
+        // Jeton d'un microservice : autorités fixées à l'enregistrement du client (ServiceClientConfig)
+        if (CLIENT_CREDENTIALS.equals(context.getAuthorizationGrantType())) {
+            return context.getRegisteredClient().getClientSettings().getSetting(ServiceClientConfig.AUTHORITIES_SETTING);
+        }
         return context.getPrincipal().getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(joining(","));
     }
 
@@ -120,9 +120,12 @@ public final class UserJwtGenerator implements OAuth2TokenGenerator<Jwt> {
         if (StringUtils.hasText(issuer)) {
             claimsBuilder.issuer(issuer);
         }
-        // RETRIEVE USER UUID
+        // RETRIEVE USER UUID (client_credentials : pas d'utilisateur, le sujet est le client du microservice)
+        String subject = AuthorizationGrantType.CLIENT_CREDENTIALS.equals(context.getAuthorizationGrantType())
+                ? registeredClient.getClientId()
+                : getUser(context.getPrincipal()).getUserUuid();
         claimsBuilder
-                .subject(getUser(context.getPrincipal()).getUserUuid())
+                .subject(subject)
                 .audience(Collections.singletonList(registeredClient.getClientId()))
                 .issuedAt(issuedAt)
                 .expiresAt(expiresAt)
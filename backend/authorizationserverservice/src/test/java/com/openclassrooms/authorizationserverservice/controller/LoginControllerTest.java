@@ -1,5 +1,6 @@
 package com.openclassrooms.authorizationserverservice.controller;
 
+import com.openclassrooms.authorizationserverservice.config.ServiceClientConfig;
 import com.openclassrooms.authorizationserverservice.exception.ApiException;
 import com.openclassrooms.authorizationserverservice.model.User;
 import com.openclassrooms.authorizationserverservice.security.MfaAuthentication;
@@ -19,6 +20,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
 
@@ -57,6 +59,12 @@ class LoginControllerTest {
     @MockitoBean
     private AuthorizationServerSettings authorizationServerSettings;
 
+    @MockitoBean
+    private ServiceClientConfig serviceClientConfig;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
     @Autowired
     private WebApplicationContext context;
 
@@ -36,6 +36,7 @@ import java.util.Set;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -97,6 +98,27 @@ class UserJwtGeneratorTest {
         }
     }
 
+    @Test
+    void generate_ClientCredentials_ShouldUseClientIdAsSubject() {
+        // GIVEN : jeton d'un microservice, sans utilisateur
+        RegisteredClient serviceClient = RegisteredClient.withId("service-id")
+                .clientId("assessmentservice")
+                .clientSecret("secret")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .build();
+        when(context.getRegisteredClient()).thenReturn(serviceClient);
+        when(context.getTokenType()).thenReturn(OAuth2TokenType.ACCESS_TOKEN);
+        when(context.getAuthorizationGrantType()).thenReturn(AuthorizationGrantType.CLIENT_CREDENTIALS);
+        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(mock(Jwt.class));
+
+        // WHEN
+        userJwtGenerator.generate(context);
+
+        // THEN
+        verify(jwtEncoder).encode(argThat((JwtEncoderParameters parameters) ->
+                "assessmentservice".equals(parameters.getClaims().getSubject())));
+    }
+
     @Test
     void generate_InvalidTokenType_ShouldReturnNull() {
         // Cas où le type de token est null
@@ -0,0 +1,33 @@
+package com.openclassrooms.commons.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Déclare le registre des schémas et le codec des notifications dans chaque service dépendant de ce module
+ * (le package com.openclassrooms.commons n'est pas couvert par le scan des applications).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+public class NotificationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public NotificationSchemaRegistry notificationSchemaRegistry() {
+        return new NotificationSchemaRegistry();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ObjectMapper.class)
+    public NotificationCodec notificationCodec(NotificationSchemaRegistry notificationSchemaRegistry, ObjectMapper objectMapper) {
+        return new NotificationCodec(notificationSchemaRegistry, objectMapper);
+    }
+}
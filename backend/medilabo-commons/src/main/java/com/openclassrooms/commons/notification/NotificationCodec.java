@@ -0,0 +1,157 @@
+package com.openclassrooms.commons.notification;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.message.BinaryMessageEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.openclassrooms.commons.notification.NotificationSchemaRegistry.AVRO_HEADER_LENGTH;
+
+/**
+ * Encodage des événements publiés sur MEDILABO_NOTIFICATIONS, et décodage des événements consommés.
+ * Avro binaire "single object" (en-tête C3 01, empreinte du schéma, données) avec le schéma
+ * du type d'événement ({@link NotificationSchemaRegistry}) ; enveloppe JSON {payload: {eventType, data}, headers}
+ * pour un type sans schéma. Le consommateur distingue les deux formats par l'en-tête.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationCodec {
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() {};
+
+    private final NotificationSchemaRegistry schemaRegistry;
+    private final ObjectMapper objectMapper;
+    private final Map<Schema, BinaryMessageEncoder<GenericRecord>> encoders = new ConcurrentHashMap<>();
+    /** Lecteurs par schéma d'écriture, vers la dernière version du type d'événement. */
+    private final Map<Long, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Encode l'événement pour Kafka.
+     * @throws NotificationEncodingException si une donnée ne correspond pas au schéma
+     */
+    public byte[] encode(String eventType, Map<String, ?> data) {
+        return schemaRegistry.latest(eventType)
+                .map(registered -> toAvro(registered.schema(), data))
+                .orElseGet(() -> toJson(eventType, data));
+    }
+
+    /**
+     * Décode une notification reçue, si son type d'événement intéresse le consommateur.
+     * Pour un message Avro, le type est connu par l'empreinte : les autres messages sont écartés sans décoder les données.
+     * @param eventTypes types d'événements traités par le consommateur
+     * @return vide si le type d'événement n'est pas traité ou si le schéma est inconnu
+     * @throws IOException si le message est illisible
+     */
+    public Optional<DecodedNotification> decode(byte[] message, Set<String> eventTypes) throws IOException {
+        if (NotificationSchemaRegistry.isAvro(message)) {
+            Optional<NotificationSchemaRegistry.RegisteredSchema> writer = schemaRegistry.find(NotificationSchemaRegistry.fingerprint(message))
+                    .filter(registered -> eventTypes.contains(registered.eventType()));
+            if (writer.isEmpty()) {
+                return Optional.empty();
+            }
+            GenericRecord record = reader(writer.get())
+                    .read(null, DecoderFactory.get().binaryDecoder(message, AVRO_HEADER_LENGTH, message.length - AVRO_HEADER_LENGTH, null));
+            return Optional.of(new DecodedNotification(writer.get().eventType(), toMap(record)));
+        }
+
+        // Producteurs pas encore migrés : enveloppe JSON {payload: {eventType, data}, headers}
+        JsonNode payload = objectMapper.readTree(message).path("payload");
+        String eventType = payload.path("eventType").asText();
+        if (!eventTypes.contains(eventType)) {
+            return Optional.empty();
+        }
+        Map<String, Object> data = payload.path("data").isObject() ? objectMapper.convertValue(payload.get("data"), DATA_TYPE) : Map.of();
+        return Optional.of(new DecodedNotification(eventType, data));
+    }
+
+    private byte[] toAvro(Schema schema, Map<String, ?> data) {
+        try {
+            GenericData.Record record = new GenericData.Record(schema);
+            for (Schema.Field field : schema.getFields()) {
+                Object value = data != null ? data.get(field.name()) : null;
+                record.put(field.pos(), value != null ? toAvroValue(value, field.schema()) : null);
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+            encoders.computeIfAbsent(schema, key -> new BinaryMessageEncoder<>(GenericData.get(), key)).encode(record, output);
+            return output.toByteArray();
+        } catch (IOException | RuntimeException exception) {
+            log.error("Failed to encode {} event: {}", schema.getProp("eventType"), exception.getMessage());
+            throw new NotificationEncodingException("Impossible d'enregistrer l'événement", exception);
+        }
+    }
+
+    /** Champs déclarés ["null", type] : texte, entier ou liste de textes. */
+    private static Object toAvroValue(Object value, Schema fieldSchema) {
+        Schema type = fieldSchema.isUnion()
+                ? fieldSchema.getTypes().stream().filter(branch -> branch.getType() != Schema.Type.NULL).findFirst().orElseThrow()
+                : fieldSchema;
+        return switch (type.getType()) {
+            case INT -> ((Number) value).intValue();
+            case ARRAY -> ((Collection<?>) value).stream().map(String::valueOf).toList();
+            default -> value.toString();
+        };
+    }
+
+    private byte[] toJson(String eventType, Map<String, ?> data) {
+        log.debug("No schema for {}, publishing as JSON", eventType);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventType", eventType);
+        payload.put("data", data);
+        try {
+            return objectMapper.writeValueAsBytes(Map.of(
+                    "payload", payload,
+                    "headers", Map.of("id", UUID.randomUUID().toString(), "timestamp", Instant.now().toString())));
+        } catch (IOException exception) {
+            log.error("Failed to serialize event: {}", exception.getMessage());
+            throw new NotificationEncodingException("Impossible d'enregistrer l'événement", exception);
+        }
+    }
+
+    private GenericDatumReader<GenericRecord> reader(NotificationSchemaRegistry.RegisteredSchema writer) {
+        return readers.computeIfAbsent(writer.fingerprint(), fingerprint -> new GenericDatumReader<>(writer.schema(),
+                schemaRegistry.latest(writer.eventType()).orElseThrow().schema()));
+    }
+
+    private static Map<String, Object> toMap(GenericRecord record) {
+        Map<String, Object> data = new HashMap<>();
+        for (Schema.Field field : record.getSchema().getFields()) {
+            Object value = record.get(field.pos());
+            if (value instanceof Collection<?> values) {
+                data.put(field.name(), values.stream().map(String::valueOf).toList());
+            } else if (value instanceof CharSequence text) {
+                data.put(field.name(), text.toString());
+            } else {
+                data.put(field.name(), value);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Notification reçue d'un autre service : type d'événement et données.
+     */
+    public record DecodedNotification(String eventType, Map<String, Object> data) {
+    }
+}
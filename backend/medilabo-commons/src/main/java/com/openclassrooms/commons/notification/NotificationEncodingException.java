@@ -0,0 +1,15 @@
+package com.openclassrooms.commons.notification;
+
+/**
+ * Événement impossible à encoder : donnée incompatible avec le schéma de son type, ou enveloppe JSON illisible.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class NotificationEncodingException extends RuntimeException {
+
+    public NotificationEncodingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
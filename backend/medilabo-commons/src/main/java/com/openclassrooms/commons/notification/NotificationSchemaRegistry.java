@@ -0,0 +1,91 @@
+package com.openclassrooms.commons.notification;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registre local des schémas Avro des notifications : fichiers schemas/notification/*.avsc de ce module,
+ * copie unique partagée par tous les producteurs et consommateurs du topic MEDILABO_NOTIFICATIONS.
+ * Chaque schéma déclare son type d'événement ("eventType") et sa version ("version") ; les messages
+ * l'identifient par son empreinte CRC-64-AVRO. Les champs sont optionnels (["null", type], défaut null)
+ * pour que chaque version reste lisible par la suivante.
+ * Un nouveau schéma (ou une nouvelle version) est ajouté ici, puis les services sont reconstruits.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class NotificationSchemaRegistry {
+
+    static final String SCHEMA_LOCATION = "classpath*:schemas/notification/*.avsc";
+
+    /** En-tête "single object" : marqueur C3 01 puis empreinte du schéma (8 octets, little-endian). */
+    public static final int AVRO_HEADER_LENGTH = 10;
+
+    private final Map<Long, RegisteredSchema> byFingerprint = new HashMap<>();
+    private final Map<String, RegisteredSchema> latestByEventType = new HashMap<>();
+
+    public NotificationSchemaRegistry() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(SCHEMA_LOCATION)) {
+                try (InputStream input = resource.getInputStream()) {
+                    register(new Schema.Parser().parse(input));
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Impossible de charger les schémas de notification", exception);
+        }
+    }
+
+    /**
+     * Dernière version du schéma d'un type d'événement, utilisée pour l'écriture.
+     */
+    public Optional<RegisteredSchema> latest(String eventType) {
+        return Optional.ofNullable(latestByEventType.get(eventType));
+    }
+
+    /**
+     * Schéma d'écriture d'un message reçu, toutes versions confondues.
+     */
+    public Optional<RegisteredSchema> find(long fingerprint) {
+        return Optional.ofNullable(byFingerprint.get(fingerprint));
+    }
+
+    /**
+     * Indique si le message est un Avro binaire "single object" (sinon : enveloppe JSON).
+     */
+    public static boolean isAvro(byte[] message) {
+        return message.length >= AVRO_HEADER_LENGTH && message[0] == (byte) 0xC3 && message[1] == (byte) 0x01;
+    }
+
+    /**
+     * Empreinte du schéma d'écriture lue dans l'en-tête d'un message Avro.
+     */
+    public static long fingerprint(byte[] message) {
+        return ByteBuffer.wrap(message, 2, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+    }
+
+    private void register(Schema schema) {
+        String eventType = schema.getProp("eventType");
+        if (eventType == null || !(schema.getObjectProp("version") instanceof Integer version)) {
+            throw new IllegalStateException("Schéma " + schema.getFullName() + " sans eventType ou version");
+        }
+        RegisteredSchema registered = new RegisteredSchema(eventType, version, SchemaNormalization.parsingFingerprint64(schema), schema);
+        byFingerprint.put(registered.fingerprint(), registered);
+        latestByEventType.merge(eventType, registered, (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+    }
+
+    public record RegisteredSchema(String eventType, int version, long fingerprint, Schema schema) {
+    }
+}
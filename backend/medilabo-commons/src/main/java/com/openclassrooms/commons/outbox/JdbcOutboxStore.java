@@ -0,0 +1,79 @@
+package com.openclassrooms.commons.outbox;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outbox relationnelle : table outbox_events (outbox_event_id, event_type, event_key, payload, claimed_until),
+ * alimentée dans la transaction métier du service.
+ * Le lot est réservé par une seule requête validée aussitôt (claimed_until = now() + claimTimeout) :
+ * aucun verrou ni connexion n'est gardé pendant l'attente des accusés Kafka, et plusieurs instances
+ * ne publient pas le même lot. Un lot dont l'instance s'est arrêtée redevient disponible à l'expiration
+ * de la réservation.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class JdbcOutboxStore implements OutboxStore<Long> {
+
+    static final String CLAIM_OUTBOX_BATCH_QUERY = """
+            UPDATE outbox_events SET claimed_until = now() + :claimTimeoutMillis * INTERVAL '1 millisecond'
+            WHERE outbox_event_id IN (
+                SELECT outbox_event_id FROM outbox_events
+                WHERE claimed_until IS NULL OR claimed_until < now()
+                ORDER BY outbox_event_id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING outbox_event_id, event_key, payload""";
+    static final String RELEASE_OUTBOX_EVENTS_QUERY = "UPDATE outbox_events SET claimed_until = NULL WHERE outbox_event_id IN (:ids)";
+    static final String DELETE_OUTBOX_EVENTS_QUERY = "DELETE FROM outbox_events WHERE outbox_event_id IN (:ids)";
+
+    private final JdbcClient jdbcClient;
+    private final Duration claimTimeout;
+
+    public JdbcOutboxStore(JdbcClient jdbcClient, Duration claimTimeout) {
+        this.jdbcClient = jdbcClient;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Réserve les plus anciens événements disponibles ; RETURNING ne garantit pas l'ordre, le lot est retrié.
+     */
+    @Override
+    public List<OutboxMessage<Long>> nextBatch(int limit) {
+        return jdbcClient.sql(CLAIM_OUTBOX_BATCH_QUERY)
+                .param("claimTimeoutMillis", claimTimeout.toMillis())
+                .param("limit", limit)
+                .query((resultSet, rowNum) -> new OutboxMessage<>(
+                        resultSet.getLong("outbox_event_id"),
+                        resultSet.getString("event_key"),
+                        resultSet.getBytes("payload")))
+                .list()
+                .stream()
+                .sorted(Comparator.comparing(OutboxMessage::id))
+                .toList();
+    }
+
+    @Override
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcClient.sql(DELETE_OUTBOX_EVENTS_QUERY)
+                .param("ids", ids)
+                .update();
+    }
+
+    @Override
+    public void release(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcClient.sql(RELEASE_OUTBOX_EVENTS_QUERY)
+                .param("ids", ids)
+                .update();
+    }
+}
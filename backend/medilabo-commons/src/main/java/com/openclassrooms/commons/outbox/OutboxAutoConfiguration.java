@@ -0,0 +1,31 @@
+package com.openclassrooms.commons.outbox;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Déclare le relais de l'outbox dans chaque service qui fournit un {@link OutboxStore}.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+@ConditionalOnClass(KafkaTemplate.class)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxRelay.class)
+    @ConditionalOnBean({OutboxStore.class, KafkaTemplate.class})
+    public OutboxRelay<?> outboxRelay(OutboxStore<?> outboxStore, KafkaTemplate<String, byte[]> kafkaTemplate,
+                                      OutboxProperties outboxProperties) {
+        return new OutboxRelay<>(outboxStore, kafkaTemplate, outboxProperties);
+    }
+}
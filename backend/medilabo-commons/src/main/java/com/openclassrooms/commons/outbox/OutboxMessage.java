@@ -0,0 +1,14 @@
+package com.openclassrooms.commons.outbox;
+
+/**
+ * Événement en attente dans l'outbox, prêt à être publié sur Kafka.
+ *
+ * @param id      identifiant dans le stockage, utilisé pour la suppression après acquittement
+ * @param key     clé du message Kafka (ordre des événements d'un même patient)
+ * @param payload événement encodé par le codec des notifications
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record OutboxMessage<ID>(ID id, String key, byte[] payload) {
+}
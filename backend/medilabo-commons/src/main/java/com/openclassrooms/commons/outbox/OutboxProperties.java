@@ -0,0 +1,52 @@
+package com.openclassrooms.commons.outbox;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration du relais de l'outbox (préfixe outbox).
+ * Le relais lit au plus batchSize événements par lot et enchaîne les lots pleins
+ * pendant maxDrainTime au plus, puis attend pollInterval.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@ConfigurationProperties(prefix = "outbox")
+@Validated
+public class OutboxProperties {
+
+    /**Relais actif ; désactivé, les événements restent dans l'outbox.*/
+    private boolean enabled = true;
+
+    /**Topic des notifications.*/
+    @NotBlank
+    private String topic = "MEDILABO_NOTIFICATIONS";
+
+    /**Événements publiés par lot.*/
+    @Min(1)
+    private int batchSize = 200;
+
+    /**Délai entre deux passes du relais.*/
+    @NotNull
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**Durée maximale d'une passe (lots pleins enchaînés).*/
+    @NotNull
+    private Duration maxDrainTime = Duration.ofSeconds(5);
+
+    /**Attente maximale des accusés Kafka d'un lot.*/
+    @NotNull
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    /**Réservation d'un lot (outbox relationnelle), supérieure à sendTimeout ; expirée, le lot d'une instance arrêtée est repris.*/
+    @NotNull
+    private Duration claimTimeout = Duration.ofMinutes(2);
+}
@@ -0,0 +1,137 @@
+package com.openclassrooms.commons.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relais de l'outbox vers Kafka, commun à tous les services : seul le stockage ({@link OutboxStore}) diffère.
+ * FLUX:
+ * 1. Toutes les pollInterval, lit (ou réserve) les batchSize plus anciens événements du stockage
+ * 2. Les envoie sans attendre entre deux envois : le producteur les regroupe (linger.ms, compression)
+ * 3. Attend les accusés du lot, supprime les événements acquittés et libère les refusés
+ * 4. Enchaîne les lots pleins pendant maxDrainTime au plus
+ * Un événement non acquitté reste dans l'outbox et sera renvoyé (au moins une fois) ; un envoi encore
+ * en cours après sendTimeout garde sa réservation jusqu'à expiration, pour ne pas être renvoyé en parallèle.
+ * le producteur idempotent évite les doublons dus à ses propres tentatives.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+public class OutboxRelay<ID> {
+
+    private final OutboxStore<ID> outboxStore;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("outbox-relay").daemon(true).factory());
+
+    public OutboxRelay(OutboxStore<ID> outboxStore, KafkaTemplate<String, byte[]> kafkaTemplate, OutboxProperties properties) {
+        this.outboxStore = outboxStore;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Outbox relay disabled: events stay in the outbox");
+            return;
+        }
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Publie les événements en attente, lot par lot.
+     * @return nombre d'événements publiés
+     */
+    public int drain() {
+        long deadline = System.nanoTime() + properties.getMaxDrainTime().toNanos();
+        int relayed = 0;
+        try {
+            int sent;
+            do {
+                sent = relayNextBatch();
+                relayed += sent;
+            } while (sent == properties.getBatchSize() && System.nanoTime() < deadline);
+        } catch (RuntimeException exception) {
+            log.warn("Outbox relay interrupted, retrying in {}: {}", properties.getPollInterval(), exception.getMessage());
+        }
+        if (relayed > 0) {
+            log.debug("{} outbox events published", relayed);
+        }
+        return relayed;
+    }
+
+    /**
+     * Publie le prochain lot.
+     * @return nombre d'événements acquittés ; un lot incomplet ou en partie refusé arrête la passe
+     */
+    private int relayNextBatch() {
+        List<OutboxMessage<ID>> batch = outboxStore.nextBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = batch.stream()
+                .map(message -> kafkaTemplate.send(properties.getTopic(), message.key(), message.payload()))
+                .toList();
+        awaitAll(sends);
+
+        List<ID> sentIds = new ArrayList<>(batch.size());
+        List<ID> failedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<SendResult<String, byte[]>> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                sentIds.add(batch.get(i).id());
+            } else if (send.isCompletedExceptionally()) {
+                failedIds.add(batch.get(i).id());
+            }
+        }
+        outboxStore.delete(sentIds);
+        outboxStore.release(failedIds);
+
+        if (sentIds.size() < batch.size()) {
+            log.warn("{} of {} outbox events not acknowledged by Kafka, kept for retry", batch.size() - sentIds.size(), batch.size());
+        }
+        return sentIds.size();
+    }
+
+    private void awaitAll(List<CompletableFuture<SendResult<String, byte[]>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException exception) {
+            log.warn("Kafka send failed: {}", exception.getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
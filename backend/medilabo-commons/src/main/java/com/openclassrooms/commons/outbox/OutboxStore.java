@@ -0,0 +1,33 @@
+package com.openclassrooms.commons.outbox;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stockage de l'outbox lu par {@link OutboxRelay} : table outbox_events (PostgreSQL, {@link JdbcOutboxStore})
+ * ou événements enregistrés dans les documents eux-mêmes (MongoDB).
+ * Chaque service qui publie des événements déclare un seul bean de ce type.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface OutboxStore<ID> {
+
+    /**
+     * Plus anciens événements en attente, au plus limit.
+     */
+    List<OutboxMessage<ID>> nextBatch(int limit);
+
+    /**
+     * Supprime les événements acquittés par Kafka.
+     */
+    void delete(Collection<ID> ids);
+
+    /**
+     * Rend disponibles les événements d'un lot non acquittés par Kafka, pour la passe suivante.
+     * Par défaut rien à faire : un stockage qui réserve ses lots ({@link JdbcOutboxStore}) lève la réservation.
+     */
+    default void release(Collection<ID> ids) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.openclassrooms.commons.security;
+
+/**
+ * Jeton de service indisponible : identifiants client absents, ou refus du serveur d'autorisation.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class ServiceTokenException extends RuntimeException {
+
+    public ServiceTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,64 @@
+package com.openclassrooms.commons.security;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Jeton d'accès du service lui-même (grant client_credentials), pour les appels
+ * inter-services hors requête utilisateur (recalcul en arrière-plan, consommation d'événements).
+ * Le jeton est partagé jusqu'à EXPIRY_MARGIN avant son expiration ; un échec n'est pas mis en cache.
+ * Déclaré par chaque service appelant, avec le WebClient du serveur d'autorisation (sans propagation du JWT utilisateur).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+public class ServiceTokenProvider {
+
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final boolean configured;
+    private final Mono<String> token;
+
+    public ServiceTokenProvider(WebClient authorizationServerWebClient, String clientId, String clientSecret) {
+        this.configured = clientId != null && !clientId.isBlank() && clientSecret != null && !clientSecret.isBlank();
+        this.token = authorizationServerWebClient.post()
+                .uri("/oauth2/token")
+                .headers(headers -> headers.setBasicAuth(clientId, clientSecret))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("grant_type", "client_credentials"))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.error(new ServiceTokenException("Jeton de service refusé")))
+                .bodyToMono(TokenResponse.class)
+                .timeout(TIMEOUT)
+                .doOnNext(response -> log.debug("Service token obtained, expires in {}s", response.expiresIn()))
+                .cache(response -> Duration.ofSeconds(Math.max(0, response.expiresIn() - EXPIRY_MARGIN.toSeconds())),
+                        error -> Duration.ZERO,
+                        () -> Duration.ZERO)
+                .map(TokenResponse::accessToken);
+    }
+
+    /**
+     * Indique si des identifiants client sont configurés.
+     */
+    public boolean isConfigured() {
+        return configured;
+    }
+
+    public Mono<String> getToken() {
+        return configured ? token : Mono.error(new ServiceTokenException("Identifiants client non configurés"));
+    }
+
+    record TokenResponse(@JsonProperty("access_token") String accessToken,
+                         @JsonProperty("expires_in") long expiresIn) {
+    }
+}
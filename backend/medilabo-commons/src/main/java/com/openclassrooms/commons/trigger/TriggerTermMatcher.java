@@ -0,0 +1,215 @@
+package com.openclassrooms.commons.trigger;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Automate Aho-Corasick précompilé pour la recherche des termes déclencheurs.
+ * Tous les termes sont détectés en un seul passage sur le texte, sans regex ni concaténation.
+ * La comparaison est insensible à la casse et aux accents ("Cholestérol" = "CHOLESTEROL").
+ * Les variantes d'un même terme ("Vertige"/"Vertiges") partagent le même bit de sortie.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-14
+ */
+final class TriggerTermMatcher {
+
+    /** Caractères repliés (minuscule sans accent) pour Latin-1 et Latin étendu A. */
+    private static final char[] FOLD = buildFoldTable();
+
+    /** Symbole 0 = caractère absent de tous les termes (retour à la racine). */
+    private static final int OTHER = 0;
+
+    private final int[] symbols = new int[128];
+    private final int[][] transitions;
+    private final int[] outputs;
+    private final List<String> labels;
+    private final int allFound;
+
+    /**
+     * @param terms     termes à rechercher
+     * @param canonical mapping variante vers terme canonique
+     */
+    TriggerTermMatcher(List<String> terms, Map<String, String> canonical) {
+        Map<String, Integer> labelIds = new LinkedHashMap<>();
+        for (String term : terms) {
+            labelIds.putIfAbsent(canonical.getOrDefault(term, term), labelIds.size());
+        }
+        if (labelIds.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("Trop de termes déclencheurs: " + labelIds.size());
+        }
+        this.labels = List.copyOf(labelIds.keySet());
+        this.allFound = labelIds.size() == Integer.SIZE ? -1 : (1 << labelIds.size()) - 1;
+
+        // Alphabet compact : uniquement les caractères présents dans les termes repliés
+        int alphabetSize = 1;
+        List<String> foldedTerms = terms.stream().map(TriggerTermMatcher::fold).toList();
+        for (String folded : foldedTerms) {
+            for (int i = 0; i < folded.length(); i++) {
+                char c = folded.charAt(i);
+                if (c >= 128) {
+                    throw new IllegalArgumentException("Terme non ASCII après normalisation: " + folded);
+                }
+                if (symbols[c] == OTHER) {
+                    symbols[c] = alphabetSize++;
+                }
+            }
+        }
+
+        // 1. Trie des termes
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> out = new ArrayList<>();
+        trie.add(new int[alphabetSize]);
+        out.add(0);
+        for (int t = 0; t < terms.size(); t++) {
+            String folded = foldedTerms.get(t);
+            int state = 0;
+            for (int i = 0; i < folded.length(); i++) {
+                int symbol = symbols[folded.charAt(i)];
+                if (trie.get(state)[symbol] == 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(new int[alphabetSize]);
+                    out.add(0);
+                }
+                state = trie.get(state)[symbol];
+            }
+            String term = terms.get(t);
+            out.set(state, out.get(state) | 1 << labelIds.get(canonical.getOrDefault(term, term)));
+        }
+
+        // 2. Liens d'échec en largeur, transformés en table de transitions complète (DFA)
+        this.transitions = trie.toArray(new int[0][]);
+        this.outputs = out.stream().mapToInt(Integer::intValue).toArray();
+        int[] failure = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            if (transitions[0][symbol] != 0) {
+                queue.add(transitions[0][symbol]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[failure[state]];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = transitions[state][symbol];
+                if (next != 0) {
+                    failure[next] = transitions[failure[state]][symbol];
+                    queue.add(next);
+                } else {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                }
+            }
+        }
+    }
+
+    /**
+     * Parcourt un texte et ajoute les termes trouvés au masque fourni.
+     *
+     * @param text  texte à analyser (peut être null)
+     * @param found masque des termes déjà trouvés
+     * @return masque mis à jour (bit i = {@code labels().get(i)} trouvé)
+     */
+    int scan(CharSequence text, int found) {
+        if (text == null || found == allFound) {
+            return found;
+        }
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (isCombiningMark(c)) {
+                continue; // accent décomposé (NFD) : ignoré comme les accents précomposés
+            }
+            state = transitions[state][symbol(c)];
+            int output = outputs[state];
+            if (output != 0) {
+                found |= output;
+                if (found == allFound) {
+                    return found;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Parcourt plusieurs textes indépendamment (pas de correspondance à cheval sur deux textes).
+     */
+    int scanAll(Iterable<? extends CharSequence> texts) {
+        int found = 0;
+        if (texts == null) {
+            return found;
+        }
+        for (CharSequence text : texts) {
+            found = scan(text, found);
+            if (found == allFound) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Convertit un masque en ensemble de termes canoniques, dans l'ordre de déclaration.
+     */
+    Set<String> toTerms(int found) {
+        if (found == 0) {
+            return Collections.emptySet();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i = 0; i < labels.size(); i++) {
+            if ((found & 1 << i) != 0) {
+                terms.add(labels.get(i));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Indique si tous les termes ont été trouvés : inutile de poursuivre l'analyse.
+     */
+    boolean isComplete(int found) {
+        return found == allFound;
+    }
+
+    List<String> labels() {
+        return labels;
+    }
+
+    private int symbol(char c) {
+        char folded = c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+        return folded < 128 ? symbols[folded] : OTHER;
+    }
+
+    private static boolean isCombiningMark(char c) {
+        return c >= '\u0300' && c <= '\u036F';
+    }
+
+    /**
+     * Replie un texte : minuscules et suppression des accents.
+     */
+    static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = chars[i] < FOLD.length ? FOLD[chars[i]] : Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[0x180];
+        for (char c = 0; c < table.length; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            table[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+        return table;
+    }
+}
@@ -1,17 +1,16 @@
-package com.openclassrooms.assessmentservice.service;
+package com.openclassrooms.commons.trigger;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Termes déclencheurs pour l'évaluation du risque de diabète.
- * Ces termes sont recherchés dans les notes médicales
+ * Ces termes sont recherchés dans les notes médicales via un automate Aho-Corasick.
+ * Liste unique : notesservice indexe les déclencheurs de chaque note, assessmentservice les compte.
  *
  * @author Kardigué MAGASSA
- * @version 1.0
+ * @version 1.2
  * @since 2026-02-09
  */
 public final class TriggerTerms {
@@ -45,10 +44,9 @@ public final class TriggerTerms {
 
 
     /**
-     * Patterns compilés pour recherche efficace (insensible à la casse).
+     * Automate précompilé : un seul passage par texte, insensible à la casse et aux accents.
      */
-    public static final List<Pattern> PATTERNS = TERMS.stream().map(term -> Pattern.compile(Pattern.quote(term),
-            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)).toList();
+    private static final TriggerTermMatcher MATCHER = new TriggerTermMatcher(TERMS, CANONICAL);
 
     /**
      * Compte le nombre de termes déclencheurs uniques dans un texte.
@@ -60,7 +58,7 @@ public final class TriggerTerms {
         if (text == null || text.isBlank()) {
             return 0;
         }
-        return (int) PATTERNS.stream().filter(pattern -> pattern.matcher(text).find()).count();
+        return Integer.bitCount(MATCHER.scan(text, 0));
     }
 
     /**
@@ -73,12 +71,7 @@ public final class TriggerTerms {
         if (text == null || text.isBlank()) {
             return Set.of();
         }
-        return TERMS.stream()
-                .filter(term -> Pattern.compile(Pattern.quote(term),
-                                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
-                        .matcher(text).find())
-                .map(term -> CANONICAL.getOrDefault(term, term))  // normaliser
-                .collect(Collectors.toSet());
+        return MATCHER.toTerms(MATCHER.scan(text, 0));
     }
 
     /**
@@ -91,12 +84,12 @@ public final class TriggerTerms {
         if (texts == null || texts.isEmpty()) {
             return 0;
         }
-        String combinedText = String.join(" ", texts);
-        return countTriggers(combinedText);
+        return Integer.bitCount(MATCHER.scanAll(texts));
     }
 
     /**
      * Trouve tous les termes déclencheurs dans plusieurs textes.
+     * Chaque texte est parcouru séparément, sans construire de chaîne combinée.
      *
      * @param texts liste de textes à analyser
      * @return ensemble des termes uniques trouvés
@@ -105,7 +98,32 @@ public final class TriggerTerms {
         if (texts == null || texts.isEmpty()) {
             return Set.of();
         }
-        String combinedText = String.join(" ", texts);
-        return findTriggers(combinedText);
+        return MATCHER.toTerms(MATCHER.scanAll(texts));
+    }
+
+    /**
+     * Analyse incrémentale : ajoute au masque les termes trouvés dans un texte.
+     * Permet d'analyser des notes reçues une à une sans les conserver.
+     *
+     * @param text  le texte à analyser (peut être null)
+     * @param found masque des termes déjà trouvés (0 au départ)
+     * @return masque mis à jour, à convertir avec {@link #toTriggers(int)}
+     */
+    public static int scanTriggers(String text, int found) {
+        return MATCHER.scan(text, found);
+    }
+
+    /**
+     * Indique si le masque contient déjà tous les termes : les textes suivants sont inutiles.
+     */
+    public static boolean allTriggersFound(int found) {
+        return MATCHER.isComplete(found);
+    }
+
+    /**
+     * Convertit un masque obtenu par {@link #scanTriggers(String, int)} en ensemble de termes.
+     */
+    public static Set<String> toTriggers(int found) {
+        return MATCHER.toTerms(found);
     }
 }
@@ -0,0 +1,204 @@
+package com.openclassrooms.commons.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NotificationCodec - Tests unitaires")
+class NotificationCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NotificationSchemaRegistry schemaRegistry = new NotificationSchemaRegistry();
+    private final NotificationCodec notificationCodec = new NotificationCodec(schemaRegistry, objectMapper);
+
+    private GenericRecord readAvro(String eventType, byte[] message) throws Exception {
+        Schema schema = schemaRegistry.latest(eventType).orElseThrow().schema();
+        return new BinaryMessageDecoder<GenericRecord>(GenericData.get(), schema).decode(message);
+    }
+
+    private Map<String, Object> assessmentData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("patientUuid", "patient-1");
+        data.put("name", "Jean Dupont");
+        data.put("email", "jean@test.com");
+        data.put("age", 45);
+        data.put("gender", "M");
+        data.put("riskLevel", "BORDERLINE");
+        data.put("riskLevelDescription", "Risque limité");
+        data.put("triggerCount", 3);
+        data.put("triggersFound", List.of("Fumeur", "Poids", "Rechute"));
+        data.put("assessedAt", "2026-03-16T10:30");
+        return data;
+    }
+
+    @Nested
+    @DisplayName("Registre des schémas")
+    class RegistryTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"USER_CREATED", "PASSWORD_RESET", "PATIENT_CREATED", "PATIENT_UPDATED", "PATIENT_DELETED",
+                "NOTE_CREATED", "NOTE_UPDATED", "NOTE_DELETED", "COMMENT_CREATED", "COMMENT_UPDATED", "COMMENT_DELETED",
+                "FILE_UPLOADED", "FILE_DELETED", "ASSESSMENT_COMPLETED"})
+        @DisplayName("Devrait déclarer un schéma par type d'événement publié")
+        void registry_shouldDeclarePublishedEventTypes(String eventType) {
+            assertThat(schemaRegistry.latest(eventType)).isPresent();
+        }
+
+        @Test
+        @DisplayName("Devrait identifier chaque type d'événement par l'empreinte de son schéma")
+        void registry_shouldIdentifyEachEventTypeBySchema() {
+            NotificationSchemaRegistry.RegisteredSchema created = schemaRegistry.latest("COMMENT_CREATED").orElseThrow();
+            NotificationSchemaRegistry.RegisteredSchema deleted = schemaRegistry.latest("COMMENT_DELETED").orElseThrow();
+
+            assertThat(created.fingerprint()).isNotEqualTo(deleted.fingerprint());
+            assertThat(schemaRegistry.find(deleted.fingerprint())).contains(deleted);
+        }
+    }
+
+    @Nested
+    @DisplayName("encode()")
+    class EncodeTests {
+
+        @Test
+        @DisplayName("Devrait encoder en Avro binaire avec les champs du schéma")
+        void encode_shouldWriteAvroSingleObject() throws Exception {
+            Map<String, Object> data = Map.of(
+                    "patientNumber", "patient-uuid-001",
+                    "doctorName", "Dr. Martin",
+                    "department", "Médecine générale",
+                    "notePreview", "Patient présentant une fatigue persistante");
+
+            byte[] message = notificationCodec.encode("NOTE_CREATED", data);
+
+            assertThat(NotificationSchemaRegistry.isAvro(message)).isTrue();
+            GenericRecord record = readAvro("NOTE_CREATED", message);
+            assertThat(record.get("patientNumber")).hasToString("patient-uuid-001");
+            assertThat(record.get("department")).hasToString("Médecine générale");
+        }
+
+        @Test
+        @DisplayName("Devrait laisser à null les champs absents et ignorer les clés hors schéma")
+        void encode_shouldTolerateMissingAndUnknownFields() throws Exception {
+            Map<String, Object> data = new HashMap<>();
+            data.put("patientUuid", "patient-uuid-001");
+            data.put("email", null);
+            data.put("champInconnu", "valeur");
+
+            byte[] message = notificationCodec.encode("PATIENT_DELETED", data);
+
+            GenericRecord record = readAvro("PATIENT_DELETED", message);
+            assertThat(record.get("patientUuid")).hasToString("patient-uuid-001");
+            assertThat(record.get("email")).isNull();
+            assertThat(record.hasField("champInconnu")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Devrait produire un message plus compact que l'enveloppe JSON")
+        void encode_shouldBeSmallerThanJson() throws Exception {
+            Map<String, Object> data = assessmentData();
+
+            assertThat(notificationCodec.encode("ASSESSMENT_COMPLETED", data).length)
+                    .isLessThan(objectMapper.writeValueAsBytes(Map.of("payload", Map.of("eventType", "ASSESSMENT_COMPLETED", "data", data))).length / 2);
+        }
+
+        @Test
+        @DisplayName("Devrait refuser une donnée incompatible avec le schéma")
+        void encode_shouldRejectValueOfWrongType() {
+            Map<String, Object> data = assessmentData();
+            data.put("age", "quarante-cinq");
+
+            assertThatThrownBy(() -> notificationCodec.encode("ASSESSMENT_COMPLETED", data))
+                    .isInstanceOf(NotificationEncodingException.class);
+        }
+
+        @Test
+        @DisplayName("Devrait encoder en JSON un type d'événement sans schéma")
+        void encode_shouldFallBackToJsonWithoutSchema() throws Exception {
+            byte[] message = notificationCodec.encode("ACCOUNT_VERIFIED", Map.of("email", "jean@test.com"));
+
+            JsonNode notification = objectMapper.readTree(message);
+            assertThat(notification.at("/payload/eventType").asText()).isEqualTo("ACCOUNT_VERIFIED");
+            assertThat(notification.at("/payload/data/email").asText()).isEqualTo("jean@test.com");
+            assertThat(notification.at("/headers/id").asText()).isNotBlank();
+        }
+    }
+
+    @Nested
+    @DisplayName("decode()")
+    class DecodeTests {
+
+        @Test
+        @DisplayName("Devrait relire en types natifs un événement encodé en Avro")
+        void decode_shouldRoundTripTypedFields() throws Exception {
+            byte[] message = notificationCodec.encode("ASSESSMENT_COMPLETED", assessmentData());
+
+            NotificationCodec.DecodedNotification decoded = notificationCodec.decode(message, Set.of("ASSESSMENT_COMPLETED")).orElseThrow();
+
+            assertThat(decoded.eventType()).isEqualTo("ASSESSMENT_COMPLETED");
+            assertThat(decoded.data())
+                    .containsEntry("email", "jean@test.com")
+                    .containsEntry("age", 45)
+                    .containsEntry("triggerCount", 3)
+                    .containsEntry("triggersFound", List.of("Fumeur", "Poids", "Rechute"));
+        }
+
+        @Test
+        @DisplayName("Devrait relire un message écrit avec une version antérieure du schéma")
+        void decode_shouldReadPreviousSchemaVersion() throws Exception {
+            Schema v1;
+            try (InputStream input = getClass().getResourceAsStream("/schemas/notification/comment-created.v1.avsc")) {
+                v1 = new Schema.Parser().parse(input);
+            }
+            GenericData.Record record = new GenericData.Record(v1);
+            record.put("senderName", "Dr. Martin");
+            byte[] message = new BinaryMessageEncoder<GenericRecord>(GenericData.get(), v1).encode(record).array();
+
+            NotificationCodec.DecodedNotification decoded = notificationCodec.decode(message, Set.of("COMMENT_CREATED")).orElseThrow();
+
+            assertThat(schemaRegistry.latest("COMMENT_CREATED").orElseThrow().version()).isEqualTo(2);
+            assertThat(decoded.data())
+                    .containsEntry("senderName", "Dr. Martin")
+                    .containsEntry("patientUuid", null);
+        }
+
+        @Test
+        @DisplayName("Devrait écarter un type d'événement non traité par le consommateur")
+        void decode_shouldSkipUnwantedEventType() throws Exception {
+            byte[] message = notificationCodec.encode("USER_CREATED", Map.of("email", "jean@test.com"));
+
+            assertThat(notificationCodec.decode(message, Set.of("NOTE_CREATED"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Devrait lire l'enveloppe JSON des producteurs non migrés")
+        void decode_shouldReadJsonEnvelope() throws Exception {
+            byte[] message = """
+                    {"payload":{"eventType":"PATIENT_UPDATED","data":{"patientUuid":"patient-2"}},"headers":{"id":"1"}}
+                    """.getBytes(StandardCharsets.UTF_8);
+
+            NotificationCodec.DecodedNotification decoded = notificationCodec.decode(message, Set.of("PATIENT_UPDATED")).orElseThrow();
+
+            assertThat(decoded.eventType()).isEqualTo("PATIENT_UPDATED");
+            assertThat(decoded.data()).containsEntry("patientUuid", "patient-2");
+        }
+    }
+}
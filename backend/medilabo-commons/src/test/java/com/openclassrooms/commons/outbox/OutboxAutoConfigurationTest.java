@@ -0,0 +1,42 @@
+package com.openclassrooms.commons.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("OutboxAutoConfiguration - Tests unitaires")
+class OutboxAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(KafkaAutoConfiguration.class, OutboxAutoConfiguration.class))
+            .withPropertyValues("outbox.enabled=false");
+
+    @Test
+    @DisplayName("Devrait déclarer le relais quand le service fournit un stockage d'outbox")
+    void shouldDeclareRelayWithStore() {
+        contextRunner.withBean(OutboxStore.class, () -> mock(OutboxStore.class))
+                .run(context -> assertThat(context).hasSingleBean(OutboxRelay.class));
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas déclarer de relais sans stockage d'outbox")
+    void shouldNotDeclareRelayWithoutStore() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(OutboxRelay.class));
+    }
+
+    @Test
+    @DisplayName("Devrait lier les réglages du préfixe outbox")
+    void shouldBindProperties() {
+        contextRunner.withPropertyValues("outbox.batch-size=50", "outbox.topic=TEST")
+                .run(context -> assertThat(context.getBean(OutboxProperties.class))
+                        .extracting(OutboxProperties::getBatchSize, OutboxProperties::getTopic)
+                        .isEqualTo(List.of(50, "TEST")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.openclassrooms.commons.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay - Tests unitaires")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxStore<Long> outboxStore;
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private OutboxRelay<Long> outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setSendTimeout(Duration.ofSeconds(1));
+        outboxRelay = new OutboxRelay<>(outboxStore, kafkaTemplate, properties);
+    }
+
+    private static List<OutboxMessage<Long>> messages(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new OutboxMessage<>(id, "patient-" + id, new byte[]{(byte) id}))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Devrait publier les lots pleins à la suite puis supprimer les événements acquittés")
+    void drain_shouldRelayFullBatchesThenStop() {
+        when(outboxStore.nextBatch(2)).thenReturn(messages(1, 2), messages(3));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = outboxRelay.drain();
+
+        assertThat(relayed).isEqualTo(3);
+        verify(kafkaTemplate).send(eq("MEDILABO_NOTIFICATIONS"), eq("patient-1"), aryEq(new byte[]{1}));
+        verify(outboxStore).delete(List.of(1L, 2L));
+        verify(outboxStore).delete(List.of(3L));
+        verify(outboxStore, times(2)).nextBatch(2);
+        verify(outboxStore, times(2)).release(List.of());
+    }
+
+    @Test
+    @DisplayName("Devrait conserver les événements refusés par Kafka et arrêter la passe")
+    void drain_shouldKeepFailedEventsForRetry() {
+        when(outboxStore.nextBatch(2)).thenReturn(messages(1, 2));
+        when(kafkaTemplate.send(anyString(), eq("patient-1"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), eq("patient-2"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        int relayed = outboxRelay.drain();
+
+        assertThat(relayed).isEqualTo(1);
+        verify(outboxStore).delete(List.of(1L));
+        verify(outboxStore).release(List.of(2L));
+        verify(outboxStore, times(1)).nextBatch(2);
+    }
+
+    @Test
+    @DisplayName("Devrait garder réservés les envois encore en cours après sendTimeout")
+    void drain_shouldNotReleasePendingSends() {
+        when(outboxStore.nextBatch(2)).thenReturn(messages(1));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        assertThat(outboxRelay.drain()).isZero();
+        verify(outboxStore).delete(List.of());
+        verify(outboxStore).release(List.of());
+    }
+
+    @Test
+    @DisplayName("Ne devrait rien envoyer quand l'outbox est vide")
+    void drain_shouldDoNothingWhenEmpty() {
+        when(outboxStore.nextBatch(2)).thenReturn(List.of());
+
+        assertThat(outboxRelay.drain()).isZero();
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxStore, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Devrait survivre à un stockage indisponible")
+    void drain_shouldSurviveStoreFailure() {
+        when(outboxStore.nextBatch(2)).thenThrow(new IllegalStateException("DB down"));
+
+        assertThat(outboxRelay.drain()).isZero();
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
@@ -0,0 +1,88 @@
+package com.openclassrooms.commons.security;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ServiceTokenProvider - Tests unitaires")
+class ServiceTokenProviderTest {
+
+    private MockWebServer mockWebServer;
+    private String clientSecret;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        clientSecret = "secret";
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private ServiceTokenProvider provider() {
+        WebClient webClient = WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build();
+        return new ServiceTokenProvider(webClient, "assessment-service", clientSecret);
+    }
+
+    private MockResponse tokenResponse(String token, int expiresIn) {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"access_token\":\"%s\",\"token_type\":\"Bearer\",\"expires_in\":%d}".formatted(token, expiresIn));
+    }
+
+    @Test
+    @DisplayName("Devrait obtenir le jeton en client_credentials puis le réutiliser")
+    void shouldFetchTokenOnceAndReuseIt() throws InterruptedException {
+        mockWebServer.enqueue(tokenResponse("token-1", 300));
+        ServiceTokenProvider provider = provider();
+
+        StepVerifier.create(provider.getToken()).expectNext("token-1").verifyComplete();
+        StepVerifier.create(provider.getToken()).expectNext("token-1").verifyComplete();
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/oauth2/token");
+        assertThat(request.getBody().readUtf8()).isEqualTo("grant_type=client_credentials");
+        assertThat(request.getHeader(HttpHeaders.AUTHORIZATION))
+                .isEqualTo("Basic " + Base64.getEncoder().encodeToString("assessment-service:secret".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Devrait redemander un jeton après un refus")
+    void shouldNotCacheFailure() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(401));
+        mockWebServer.enqueue(tokenResponse("token-2", 300));
+        ServiceTokenProvider provider = provider();
+
+        StepVerifier.create(provider.getToken()).expectError(ServiceTokenException.class).verify();
+        StepVerifier.create(provider.getToken()).expectNext("token-2").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Sans identifiants : non configuré, aucun appel")
+    void shouldFailWithoutCredentials() {
+        clientSecret = " ";
+        ServiceTokenProvider provider = provider();
+
+        assertThat(provider.isConfigured()).isFalse();
+        StepVerifier.create(provider.getToken()).expectError(ServiceTokenException.class).verify();
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+}
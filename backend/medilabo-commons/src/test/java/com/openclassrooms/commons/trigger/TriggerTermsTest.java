@@ -1,4 +1,4 @@
-package com.openclassrooms.assessmentservice.service;
+package com.openclassrooms.commons.trigger;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -7,6 +7,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -149,4 +150,102 @@ class TriggerTermsTest {
             assertThat(count).isZero();
         }
     }
+
+    @Nested
+    @DisplayName("Normalisation (accents, variantes)")
+    class NormalizationTests {
+
+        @Test
+        @DisplayName("Devrait être insensible aux accents")
+        void shouldBeAccentInsensitive() {
+            Set<String> triggers = TriggerTerms.findTriggers("HEMOGLOBINE a1c, cholesterol, reaction");
+
+            assertThat(triggers).containsExactlyInAnyOrder("Hémoglobine A1C", "Cholestérol", "Réaction");
+        }
+
+        @Test
+        @DisplayName("Devrait reconnaître les accents décomposés (NFD)")
+        void shouldMatchDecomposedAccents() {
+            Set<String> triggers = TriggerTerms.findTriggers("Re\u0301action allergique");
+
+            assertThat(triggers).containsExactly("Réaction");
+        }
+
+        @Test
+        @DisplayName("Devrait compter Vertige et Vertiges comme un seul déclencheur")
+        void shouldCountVertigeVariantsOnce() {
+            assertThat(TriggerTerms.findTriggers("Vertige ce matin")).containsExactly("Vertiges");
+            assertThat(TriggerTerms.findTriggers("Vertiges fréquents")).containsExactly("Vertiges");
+            assertThat(TriggerTerms.countTriggers("Vertige puis vertiges")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Devrait détecter les termes se chevauchant")
+        void shouldDetectOverlappingTerms() {
+            Set<String> triggers = TriggerTerms.findTriggers("fumeuse-fumeurtaillepoids");
+
+            assertThat(triggers).containsExactlyInAnyOrder("Fumeuse", "Fumeur", "Taille", "Poids");
+        }
+    }
+
+    @Nested
+    @DisplayName("findTriggersInMultipleTexts()")
+    class FindTriggersInMultipleTextsTests {
+
+        @Test
+        @DisplayName("Devrait agréger les déclencheurs de chaque note")
+        void shouldAggregateTriggersAcrossNotes() {
+            List<String> notes = List.of("Patient fumeur.", "Anticorps détectés.", "Rechute, vertiges.");
+
+            Set<String> triggers = TriggerTerms.findTriggersInMultipleTexts(notes);
+
+            assertThat(triggers).containsExactlyInAnyOrder("Fumeur", "Anticorps", "Rechute", "Vertiges");
+        }
+
+        @Test
+        @DisplayName("Devrait ignorer les notes nulles")
+        void shouldIgnoreNullNotes() {
+            List<String> notes = new ArrayList<>();
+            notes.add(null);
+            notes.add("Microalbumine élevée");
+
+            assertThat(TriggerTerms.findTriggersInMultipleTexts(notes)).containsExactly("Microalbumine");
+        }
+
+        @Test
+        @DisplayName("Devrait trouver tous les termes canoniques")
+        void shouldFindAllCanonicalTerms() {
+            Set<String> triggers = TriggerTerms.findTriggersInMultipleTexts(TriggerTerms.TERMS);
+
+            assertThat(triggers).hasSize(12).doesNotContain("Vertige");
+        }
+    }
+
+    @Nested
+    @DisplayName("scanTriggers() - Analyse incrémentale")
+    class ScanTriggersTests {
+
+        @Test
+        @DisplayName("Devrait cumuler les déclencheurs note par note comme l'analyse groupée")
+        void shouldMatchBatchAnalysis() {
+            List<String> notes = List.of("Patient fumeur.", "Anticorps détectés.", "Rechute, vertiges.");
+
+            int found = 0;
+            for (String note : notes) {
+                found = TriggerTerms.scanTriggers(note, found);
+            }
+
+            assertThat(TriggerTerms.toTriggers(found)).containsExactlyElementsOf(TriggerTerms.findTriggersInMultipleTexts(notes));
+            assertThat(TriggerTerms.allTriggersFound(found)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Devrait signaler quand tous les termes sont trouvés")
+        void shouldDetectAllTriggersFound() {
+            int found = TriggerTerms.scanTriggers(String.join(" ", TriggerTerms.TERMS), 0);
+
+            assertThat(TriggerTerms.allTriggersFound(found)).isTrue();
+            assertThat(TriggerTerms.toTriggers(TriggerTerms.scanTriggers(null, 0))).isEmpty();
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.openclassrooms.notesservice.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration des fils de commentaires (collection note_comments).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "comments")
+@Validated
+public class CommentConfig {
+
+    /**Commentaires par page, et servis avec le détail d'une note.*/
+    @Min(1)
+    @Max(100)
+    private int pageSize = 20;
+
+    /**Migration au démarrage des commentaires encore embedded dans les notes.*/
+    private boolean migrationEnabled = true;
+
+    /**Notes migrées par lot (un bulk d'upserts par lot).*/
+    @Min(1)
+    private int migrationBatchSize = 100;
+}
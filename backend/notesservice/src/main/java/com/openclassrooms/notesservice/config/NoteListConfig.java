@@ -0,0 +1,31 @@
+package com.openclassrooms.notesservice.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration des listes de toutes les notes actives (GET /api/notes, /scroll, /stream).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notes.list")
+@Validated
+public class NoteListConfig {
+
+    /**Plafond de GET /api/notes : au-delà, la liste est tronquée (utiliser /scroll ou /stream).*/
+    @Min(1)
+    private int maxResults = 1000;
+
+    /**Notes lues par aller-retour du curseur MongoDB de l'export NDJSON.*/
+    @Min(1)
+    @Max(1000)
+    private int exportBatchSize = 200;
+}
@@ -0,0 +1,28 @@
+package com.openclassrooms.notesservice.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration de l'index des termes déclencheurs (champ triggers des notes).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "triggers")
+@Validated
+public class TriggerConfig {
+
+    /**Indexation au démarrage des notes écrites avant l'index des déclencheurs.*/
+    private boolean migrationEnabled = true;
+
+    /**Notes indexées par lot (un bulk de $set par lot).*/
+    @Min(1)
+    private int migrationBatchSize = 500;
+}
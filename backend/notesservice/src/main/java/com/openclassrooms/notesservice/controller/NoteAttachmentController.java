@@ -4,6 +4,7 @@ import com.openclassrooms.notesservice.domain.Response;
 import com.openclassrooms.notesservice.dto.CommentRequest;
 import com.openclassrooms.notesservice.service.NoteCommentService;
 import com.openclassrooms.notesservice.service.NoteFileService;
+import com.openclassrooms.notesservice.service.NoteFileService.FileDownload;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +17,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,10 +29,12 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.openclassrooms.notesservice.constant.Role.*;
 import static com.openclassrooms.notesservice.util.RequestUtils.getResponse;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.springframework.http.HttpStatus.*;
 
 /**
@@ -77,18 +82,21 @@ public class NoteAttachmentController {
         return noteFileService.getFiles(noteUuid).collectList().map(files -> ResponseEntity.ok(getResponse(request, Map.of("files", files, "count", files.size()), "Fichiers récupérés avec succès", OK)));
     }
 
-    @Operation(summary = "Télécharge un fichier", description = "Télécharge un fichier attaché à une note")
+    @Operation(summary = "Télécharge un fichier", description = "Télécharge un fichier attaché à une note. Accepte les en-têtes Range (reprise, lecture partielle) et If-None-Match / If-Modified-Since")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Fichier téléchargé",
                     content = @Content(mediaType = "application/octet-stream")),
-            @ApiResponse(responseCode = "404", description = "Fichier non trouvé")
+            @ApiResponse(responseCode = "206", description = "Plage demandée du fichier"),
+            @ApiResponse(responseCode = "304", description = "Fichier inchangé depuis la version détenue par le client"),
+            @ApiResponse(responseCode = "404", description = "Fichier non trouvé"),
+            @ApiResponse(responseCode = "416", description = "Plage demandée invalide")
     })
     @GetMapping("/files/{fileUuid}/download")
     @PreAuthorize("isAuthenticated()")
     public Mono<ResponseEntity<Resource>> downloadFile(@Parameter(description = "UUID de la note") @PathVariable String noteUuid, @Parameter(description = "UUID du fichier") @PathVariable String fileUuid) {
 
         log.debug("Téléchargement fichier: {} de la note: {}", fileUuid, noteUuid);
-        return noteFileService.downloadFile(noteUuid, fileUuid).map(download -> ResponseEntity.ok().contentType(MediaType.parseMediaType(download.getContentType())).header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + download.getFilename() + "\"").body(download.getResource()));
+        return noteFileService.downloadFile(noteUuid, fileUuid).map(this::toDownloadResponse);
     }
 
     @Operation(summary = "Supprime un fichier", description = "Supprime un fichier attaché à une note")
@@ -119,17 +127,24 @@ public class NoteAttachmentController {
         return noteCommentService.addComment(noteUuid, commentRequest, jwt).map(comment -> ResponseEntity.ok(getResponse(request, Map.of("comment", comment), "Commentaire ajouté avec succès", OK)));
     }
 
-    @Operation(summary = "Liste les commentaires", description = "Récupère tous les commentaires d'une note")
+    @Operation(summary = "Liste les commentaires", description = "Récupère les commentaires d'une note par page, du plus ancien au plus récent. Passer le nextCursor de la réponse pour obtenir la page suivante")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Liste des commentaires"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide"),
             @ApiResponse(responseCode = "404", description = "Note non trouvée")
     })
     @GetMapping("/comments")
     @PreAuthorize("isAuthenticated()")
-    public Mono<ResponseEntity<Response>> getComments(@Parameter(description = "UUID de la note") @PathVariable String noteUuid, HttpServletRequest request) {
+    public Mono<ResponseEntity<Response>> getComments(@Parameter(description = "UUID de la note") @PathVariable String noteUuid, @RequestParam(required = false) @Parameter(description = "Curseur de la page suivante (nextCursor)") String cursor, @RequestParam(defaultValue = "20") @Parameter(description = "Taille de page (max 100)", example = "20") int size, HttpServletRequest request) {
 
         log.debug("Liste des commentaires pour note: {}", noteUuid);
-        return noteCommentService.getComments(noteUuid).collectList().map(comments -> ResponseEntity.ok(getResponse(request, Map.of("comments", comments, "count", comments.size()), "Commentaires récupérés avec succès", OK)));
+        return noteCommentService.getComments(noteUuid, cursor, size).map(page -> {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("comments", page.getComments());
+            data.put("count", page.getComments().size());
+            if (page.getNextCursor() != null) data.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(getResponse(request, data, "Commentaires récupérés avec succès", OK));
+        });
     }
 
     @Operation(summary = "Modifie un commentaire", description = "Modifie un commentaire existant")
@@ -159,4 +174,21 @@ public class NoteAttachmentController {
         log.info("Suppression commentaire: {} de la note: {} par: {}", commentUuid, noteUuid, jwt.getSubject());
         return noteCommentService.deleteComment(noteUuid, commentUuid, jwt).then(Mono.just(ResponseEntity.ok(getResponse(request, Map.of(), "Commentaire supprimé avec succès", OK))));
     }
-}
\ No newline at end of file
+
+    /**
+     * Réponse de téléchargement portant ETag et Last-Modified : Spring MVC y répond lui-même
+     * 304 sur une requête conditionnelle et 206 (ResourceRegion) sur un en-tête Range.
+     * no-cache privé : le navigateur garde le fichier mais le revalide à chaque accès.
+     */
+    private ResponseEntity<Resource> toDownloadResponse(FileDownload download) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(download.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(download.getFilename(), UTF_8).build().toString())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(download.getETag());
+        if (download.getLastModified() != null) {
+            builder.lastModified(download.getLastModified());
+        }
+        return builder.body(download.getResource());
+    }
+}
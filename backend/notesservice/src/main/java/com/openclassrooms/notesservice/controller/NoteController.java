@@ -2,6 +2,7 @@ package com.openclassrooms.notesservice.controller;
 
 import com.openclassrooms.notesservice.domain.Response;
 import com.openclassrooms.notesservice.dto.NoteRequest;
+import com.openclassrooms.notesservice.dto.NoteResponse;
 import com.openclassrooms.notesservice.service.NoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,14 +17,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -53,12 +58,14 @@ public class NoteController {
     public Mono<ResponseEntity<Response>> getAllNotesPageable(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) @Parameter(description = "Texte recherché dans le contenu complet et le nom du praticien") String search,
+            @RequestParam(required = false) @Parameter(description = "Patients dont le nom correspond à la recherche") List<String> patientUuids,
             HttpServletRequest request) {
 
         Sort sort = direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return noteService.getAllActiveNotesPageable(pageable)
+        return noteService.searchActiveNotes(search, patientUuids, pageable)
                 .map(notePage -> ResponseEntity.ok(getResponse(request, Map.of(
                         "notes", notePage.getContent(),
                         "currentPage", notePage.getNumber(),
@@ -68,16 +75,49 @@ public class NoteController {
                 ), "Notes récupérées avec succès", OK)));
     }
 
-    @Operation(summary = "Récupérer toutes les notes actives")
+    @Operation(summary = "Récupérer toutes les notes actives",
+            description = "Liste plafonnée (notes.list.max-results) : truncated indique une liste incomplète, nextCursor se passe à /scroll pour lire la suite")
     @GetMapping
     @PreAuthorize(ALL_STAFF)
     public Mono<ResponseEntity<Response>> getAllNotes(HttpServletRequest request) {
         log.debug("Fetching all notes");
-        return noteService.getAllActiveNotes()
-                .collectList()
-                .map(notes -> ResponseEntity.ok(
-                        getResponse(request, Map.of("notes", notes, "count", notes.size()),
-                                "Notes récupérées avec succès", OK)));
+        return noteService.getAllActiveNotes().map(page -> {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("notes", page.getNotes());
+            data.put("count", page.getNotes().size());
+            data.put("truncated", Boolean.TRUE.equals(page.getTruncated()));
+            if (page.getNextCursor() != null) data.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(getResponse(request, data, "Notes récupérées avec succès", OK));
+        });
+    }
+
+    @Operation(summary = "Parcourir les notes actives par curseur",
+            description = "Pages de la plus récente à la plus ancienne ; nextCursor absent sur la dernière page")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page de notes"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide")
+    })
+    @GetMapping("/scroll")
+    @PreAuthorize(ALL_STAFF)
+    public Mono<ResponseEntity<Response>> scrollNotes(@RequestParam(required = false) @Parameter(description = "Curseur de la page suivante (nextCursor)") String cursor, @RequestParam(defaultValue = "20") @Parameter(description = "Taille de page (max 100)", example = "20") int size, HttpServletRequest request) {
+
+        log.debug("Scrolling notes, curseur: {}", cursor);
+        return noteService.getActiveNotesPage(cursor, size).map(page -> {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("notes", page.getNotes());
+            data.put("count", page.getNotes().size());
+            if (page.getNextCursor() != null) data.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(getResponse(request, data, "Notes récupérées avec succès", OK));
+        });
+    }
+
+    @Operation(summary = "Exporter toutes les notes actives",
+            description = "Flux NDJSON : une note (vue réduite) par ligne, triées par date décroissante, lues par lots depuis un curseur MongoDB")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize(ALL_STAFF)
+    public Flux<NoteResponse> streamAllNotes() {
+        log.debug("Streaming all notes");
+        return noteService.streamAllActiveNotes();
     }
 
     @Operation(summary = "Créer une nouvelle note",
@@ -148,6 +188,16 @@ public class NoteController {
         return noteService.getNotesByPatientUuid(patientUuid).collectList().map(notes -> ResponseEntity.ok(getResponse(request, Map.of("notes", notes, "count", notes.size()), "Historique récupéré avec succès", OK)));
     }
 
+    @Operation(summary = "Diffuser l'historique des notes d'un patient",
+            description = "Flux NDJSON : une note par ligne, triées par date décroissante, lues depuis un curseur MongoDB")
+    @GetMapping(value = "/patient/{patientUuid}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize(ALL_STAFF)
+    public Flux<NoteResponse> streamNotesByPatientUuid(@Parameter(description = "UUID du patient") @PathVariable String patientUuid) {
+
+        log.debug("Streaming notes for patient: {}", patientUuid);
+        return noteService.streamNotesByPatientUuid(patientUuid);
+    }
+
     @Operation(summary = "Récupérer les notes créées par un praticien")
     @GetMapping("/practitioner/{practitionerUuid}")
     @PreAuthorize(ADMIN_ONLY)
@@ -210,6 +260,16 @@ public class NoteController {
         return noteService.countNotesByPatientUuid(patientUuid).map(count -> ResponseEntity.ok(getResponse(request, Map.of("patientUuid", patientUuid, "noteCount", count), "Comptage effectué", OK)));
     }
 
+    @Operation(summary = "Récupérer les termes déclencheurs d'un patient",
+            description = "Union des déclencheurs indexés à l'écriture des notes actives, sans transférer le contenu des notes")
+    @GetMapping("/triggers/patient/{patientUuid}")
+    @PreAuthorize(ALL_STAFF)
+    public Mono<ResponseEntity<Response>> getTriggersByPatientUuid(@Parameter(description = "UUID du patient") @PathVariable String patientUuid, HttpServletRequest request) {
+
+        log.debug("Fetching triggers for patient: {}", patientUuid);
+        return noteService.getTriggersByPatientUuid(patientUuid).map(triggers -> ResponseEntity.ok(getResponse(request, Map.of("patientUuid", patientUuid, "triggers", triggers, "triggerCount", triggers.size()), "Déclencheurs récupérés avec succès", OK)));
+    }
+
     /**
      * Extrait le nom du praticien depuis le JWT.
      */
@@ -0,0 +1,43 @@
+package com.openclassrooms.notesservice.domain;
+
+import com.openclassrooms.notesservice.exception.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Curseur opaque des listes parcourues par position (notes, fils de commentaires) :
+ * clé de tri (createdAt, uuid) du dernier élément servi.
+ * Encodé en Base64 URL-safe pour être passé tel quel en paramètre de requête.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record KeysetCursor(LocalDateTime createdAt, String uuid) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Curseur reçu en paramètre de requête ; null pour la première page.
+     */
+    public static KeysetCursor parse(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : decode(cursor);
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (RuntimeException exception) {
+            throw new ApiException("Curseur de pagination invalide");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + SEPARATOR + uuid).getBytes(StandardCharsets.UTF_8));
+    }
+}
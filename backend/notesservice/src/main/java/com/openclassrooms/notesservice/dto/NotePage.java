@@ -0,0 +1,28 @@
+package com.openclassrooms.notesservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page de notes parcourue par curseur, de la plus récente à la plus ancienne.
+ * nextCursor est absent sur la dernière page ; truncated n'est renseigné que par la liste plafonnée (GET /api/notes).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotePage {
+    private List<NoteResponse> notes;
+    private String nextCursor;
+    private Boolean truncated;
+}
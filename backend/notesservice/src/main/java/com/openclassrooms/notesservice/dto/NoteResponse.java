@@ -29,9 +29,19 @@ public class NoteResponse {
     private String practitionerUuid;
     private String practitionerName;
     private String content;
+
+    /**
+     * Aperçu tronqué du contenu, servi par les listes à la place de content (qui n'y figure pas).
+     */
+    private String preview;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Termes déclencheurs détectés dans le contenu (index calculé à l'écriture).
+     */
+    private List<String> triggers;
+
     /**
      * Nombre de fichiers attachés à cette note.
      * Permet au frontend d'afficher un badge sans appel API supplémentaire.
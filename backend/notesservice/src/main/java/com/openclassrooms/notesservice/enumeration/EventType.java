@@ -10,6 +10,7 @@ package com.openclassrooms.notesservice.enumeration;
 public enum EventType {
     NOTE_CREATED,
     NOTE_UPDATED,
+    NOTE_DELETED,
     COMMENT_CREATED,
     COMMENT_UPDATED,
     COMMENT_DELETED,
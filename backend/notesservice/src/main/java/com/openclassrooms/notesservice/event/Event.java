@@ -10,7 +10,7 @@ import java.util.Map;
 
 /**
  * Événement émis par le NotesService.
- * Envoyé via Kafka au NotificationService.
+ * Enregistré dans l'outbox embarquée du document modifié ({@link OutboxEntryFactory}), puis envoyé via Kafka au NotificationService.
  * Structure alignée avec NotificationService.
  *
  * @author Kardigué MAGASSA
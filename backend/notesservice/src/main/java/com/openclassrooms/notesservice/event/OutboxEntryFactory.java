@@ -0,0 +1,39 @@
+package com.openclassrooms.notesservice.event;
+
+import com.openclassrooms.commons.notification.NotificationCodec;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Prépare les événements du NotesService pour l'outbox embarquée.
+ * L'événement est encodé avant l'écriture et enregistré dans le document modifié, par la même instruction
+ * MongoDB : il ne dépend d'aucun appel distant. Les coordonnées du patient (nom, email) ne sont pas
+ * connues ici : le NotificationService les résout à partir de l'UUID du patient.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEntryFactory {
+
+    private final NotificationCodec notificationCodec;
+
+    /**
+     * Encode l'événement ; la clé Kafka est l'UUID du patient (ordre des événements d'un même patient).
+     */
+    public OutboxEntry create(Event event, String patientUuid) {
+        return OutboxEntry.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(event.getEventType().name())
+                .eventKey(patientUuid)
+                .payload(notificationCodec.encode(event.getEventType().name(), event.getData()))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.openclassrooms.notesservice.dto.*;
 import com.openclassrooms.notesservice.model.Comment;
 import com.openclassrooms.notesservice.model.FileAttachment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -23,18 +24,28 @@ public interface NoteMapper {
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "updatedAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "files", ignore = true)
-    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "triggers", ignore = true)
     Note toEntity(NoteRequest request, String practitionerUuid, String practitionerName);
 
     @Mapping(target = "fileCount", expression = "java(note.getFileCount())")
     @Mapping(target = "commentCount", expression = "java(note.getCommentCount())")
     @Mapping(target = "files", source = "files")
-    @Mapping(target = "comments", source = "comments")
+    @Mapping(target = "comments", ignore = true) // première page servie avec le détail (NoteService)
+    @Mapping(target = "preview", ignore = true)
     NoteResponse toResponse(Note note);
 
+    // Listes : contenu, fichiers et commentaires réservés au détail
+    @Mapping(target = "content", ignore = true)
+    @Mapping(target = "files", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    NoteResponse toSummaryResponse(NoteSummary summary);
+
     List<NoteResponse> toResponseList(List<Note> notes);
 
     // Comment
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "noteUuid", ignore = true)
     @Mapping(target = "commentUuid", expression = "java(UUID.randomUUID().toString())")
     @Mapping(target = "content", source = "request.content")
     @Mapping(target = "authorUuid", source = "authorUuid")
@@ -4,24 +4,37 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- * Modèle embedded pour les commentaires sur une note.
- * Stocké directement dans le document Note (embedded document).
+ * Commentaire sur une note - Document MongoDB de la collection note_comments.
+ * Anciennement embedded dans Note : un fil de discussion ne fait plus grossir le document de la note.
+ * NOTE: Les index sont gérés manuellement via le script db
+ * (idx_comment_uuid_unique, idx_note_created_comment pour la pagination par curseur).
  *
  * @author Kardigué MAGASSA
- * @version 1.0
+ * @version 2.0
  * @since 2026-02-07
  */
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@Document(collection = "note_comments")
 public class Comment {
 
+    @Id
+    private String id;
+
     private String commentUuid;
+
+    /**UUID de la note commentée.*/
+    private String noteUuid;
+
     private String content;
 
     private String authorUuid;
@@ -32,4 +45,7 @@ public class Comment {
     private Boolean edited;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    /**Événements du commentaire en attente de publication. Index: idx_comments_outbox (sparse) - géré par script MongoDB*/
+    private List<OutboxEntry> outbox;
+}
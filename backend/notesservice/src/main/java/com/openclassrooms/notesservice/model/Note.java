@@ -13,7 +13,8 @@ import java.util.List;
 
 /**
  * Entité Note - Document MongoDB
- * Représente une note d'observation médicale avec fichiers et commentaires embedded.
+ * Représente une note d'observation médicale avec ses fichiers embedded.
+ * Les commentaires sont dans leur propre collection (note_comments) ; la note n'en garde que le nombre.
  * NOTE: Les index sont gérés manuellement via le script db
  * Ne pas utiliser @Indexed ou @CompoundIndex les conflits.
  *
@@ -45,11 +46,24 @@ public class Note {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Version du document, incrémentée par chaque mise à jour ciblée du contenu ou des fichiers (NoteRepositoryCustom).
+     * Vérifiée à la réécriture du contenu : une modification concurrente est refusée au lieu d'être écrasée.
+     * Absente des notes antérieures (null), ce qui reste une version valide pour la première écriture.
+     */
+    private Long version;
+
+    /**Termes déclencheurs canoniques trouvés dans content, recalculés à chaque écriture (TriggerTerms de medilabo-commons).*/
+    private List<String> triggers;
+
     @Builder.Default
     private List<FileAttachment> files = new ArrayList<>();
 
-    @Builder.Default
-    private List<Comment> comments = new ArrayList<>();
+    /**Nombre de commentaires, maintenu par $inc à chaque ajout ou suppression (absent : aucun commentaire).*/
+    private Integer commentCount;
+
+    /**Événements de la note en attente de publication. Index: idx_notes_outbox (sparse) - géré par script MongoDB*/
+    private List<OutboxEntry> outbox;
 
     public void addFile(FileAttachment file) {
         if (this.files == null) {
@@ -80,32 +94,7 @@ public class Note {
         return this.files == null ? 0 : this.files.size();
     }
 
-    public void addComment(Comment comment) {
-        if (this.comments == null) {
-            this.comments = new ArrayList<>();
-        }
-        this.comments.add(comment);
-        this.updatedAt = LocalDateTime.now();
-    }
-
-    public boolean removeComment(String commentUuid) {
-        if (this.comments == null) return false;
-        boolean removed = this.comments.removeIf(c -> c.getCommentUuid().equals(commentUuid));
-        if (removed) {
-            this.updatedAt = LocalDateTime.now();
-        }
-        return removed;
-    }
-
-    public Comment findComment(String commentUuid) {
-        if (this.comments == null) return null;
-        return this.comments.stream()
-                .filter(c -> c.getCommentUuid().equals(commentUuid))
-                .findFirst()
-                .orElse(null);
-    }
-
     public int getCommentCount() {
-        return this.comments == null ? 0 : this.comments.size();
+        return this.commentCount == null ? 0 : this.commentCount;
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.openclassrooms.notesservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vue réduite d'une note pour les listes, lue par projection sur la collection notes.
+ * Ni contenu complet, ni fichiers : un aperçu tronqué et les compteurs, calculés par MongoDB.
+ * Le document complet n'est lu que pour le détail d'une note.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSummary {
+
+    private String noteUuid;
+    private String patientUuid;
+    private String practitionerUuid;
+    private String practitionerName;
+
+    /**Début du contenu, suivi de « … » s'il a été tronqué.*/
+    private String preview;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<String> triggers;
+    private Integer fileCount;
+    private Integer commentCount;
+}
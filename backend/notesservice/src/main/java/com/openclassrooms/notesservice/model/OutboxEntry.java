@@ -0,0 +1,37 @@
+package com.openclassrooms.notesservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modèle embedded pour les événements en attente de publication sur Kafka.
+ * Stocké dans le document modifié (Note ou Comment), par la même écriture que la modification :
+ * MongoDB garantit l'atomicité d'une écriture sur un document, l'événement ne peut donc pas être perdu
+ * sans la modification. Retiré ($pull) par le relais une fois publié.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntry {
+
+    private String eventId;
+
+    private String eventType;
+
+    /**Clé Kafka (UUID patient).*/
+    private String eventKey;
+
+    /**Notification encodée ({@link com.openclassrooms.commons.notification.NotificationCodec}), publiée telle quelle.*/
+    private byte[] payload;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.notesservice.model.Comment;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository MongoDB des commentaires (collection note_comments)
+ *
+ *  @author Kardigué MAGASSA
+ *  @version 1.0
+ *  @since 2026-03-16
+ */
+@Repository
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
+
+    boolean existsByNoteUuidAndCommentUuid(String noteUuid, String commentUuid);
+    long countByNoteUuid(String noteUuid);
+}
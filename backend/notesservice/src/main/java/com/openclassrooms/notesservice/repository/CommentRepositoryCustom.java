@@ -0,0 +1,42 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.notesservice.model.Comment;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Opérations MongoDB ciblées sur les commentaires (curseur, $set conditionnel, migration).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface CommentRepositoryCustom {
+
+    /**
+     * Page de commentaires d'une note, du plus ancien au plus récent, par curseur (createdAt, commentUuid).
+     * Sans curseur (afterCreatedAt null), première page. Servie par l'index idx_note_created_comment.
+     */
+    List<Comment> findPage(String noteUuid, LocalDateTime afterCreatedAt, String afterCommentUuid, int limit);
+
+    /**
+     * Modifie un commentaire de son auteur et enregistre l'événement dans son outbox, par la même instruction ;
+     * vide si le commentaire ou l'auteur ne correspondent pas.
+     */
+    Optional<Comment> updateContent(String noteUuid, String commentUuid, String authorUuid, String content, LocalDateTime updatedAt, OutboxEntry event);
+
+    /**
+     * Supprime un commentaire et le retourne ; authorUuid null supprime quel que soit l'auteur (praticien de la note).
+     */
+    Optional<Comment> remove(String noteUuid, String commentUuid, String authorUuid);
+
+    /**
+     * Déplace les commentaires embedded d'au plus batchSize notes vers la collection note_comments.
+     * Rejouable : les commentaires sont insérés par upsert sur commentUuid, et le tableau n'est retiré
+     * (avec $inc du compteur) qu'une fois copié. Retourne le nombre de notes migrées.
+     */
+    int migrateEmbeddedComments(int batchSize);
+}
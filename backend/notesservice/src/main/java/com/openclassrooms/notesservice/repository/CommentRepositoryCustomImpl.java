@@ -0,0 +1,112 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.notesservice.model.Comment;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Implémentation MongoTemplate de {@link CommentRepositoryCustom}.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private static final Sort THREAD_ORDER = Sort.by(Sort.Direction.ASC, "createdAt", "commentUuid");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Comment> findPage(String noteUuid, LocalDateTime afterCreatedAt, String afterCommentUuid, int limit) {
+        Criteria criteria = Criteria.where("noteUuid").is(noteUuid);
+        if (afterCreatedAt != null) {
+            criteria.orOperator(
+                    Criteria.where("createdAt").gt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("commentUuid").gt(afterCommentUuid));
+        }
+        return mongoTemplate.find(Query.query(criteria).with(THREAD_ORDER).limit(limit), Comment.class);
+    }
+
+    @Override
+    public Optional<Comment> updateContent(String noteUuid, String commentUuid, String authorUuid, String content, LocalDateTime updatedAt, OutboxEntry event) {
+        Query query = Query.query(Criteria.where("commentUuid").is(commentUuid).and("noteUuid").is(noteUuid).and("authorUuid").is(authorUuid));
+        Update update = new Update().set("content", content).set("edited", true).set("updatedAt", updatedAt).push("outbox", event);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Comment.class));
+    }
+
+    @Override
+    public Optional<Comment> remove(String noteUuid, String commentUuid, String authorUuid) {
+        Criteria criteria = Criteria.where("commentUuid").is(commentUuid).and("noteUuid").is(noteUuid);
+        if (authorUuid != null) {
+            criteria.and("authorUuid").is(authorUuid);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndRemove(Query.query(criteria), Comment.class));
+    }
+
+    @Override
+    public int migrateEmbeddedComments(int batchSize) {
+        String notes = mongoTemplate.getCollectionName(Note.class);
+        Query query = Query.query(Criteria.where("comments").exists(true)).cursorBatchSize(batchSize);
+        query.fields().include("noteUuid", "comments");
+
+        int migrated = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (Stream<Document> legacyNotes = mongoTemplate.stream(query, Document.class, notes)) {
+            for (Document note : (Iterable<Document>) legacyNotes::iterator) {
+                batch.add(note);
+                if (batch.size() == batchSize) {
+                    migrated += migrateBatch(notes, batch);
+                    batch.clear();
+                }
+            }
+        }
+        return batch.isEmpty() ? migrated : migrated + migrateBatch(notes, batch);
+    }
+
+    /**
+     * Copie les commentaires d'un lot de notes (un seul bulk d'upserts), puis retire leur tableau.
+     * Le retrait est conditionné à la présence du tableau : le compteur n'est incrémenté qu'une fois par note.
+     */
+    private int migrateBatch(String notes, List<Document> batch) {
+        BulkOperations upserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        boolean hasComments = false;
+        for (Document note : batch) {
+            for (Document comment : note.getList("comments", Document.class, List.of())) {
+                comment.putIfAbsent("commentUuid", UUID.randomUUID().toString());
+                Update update = new Update().setOnInsert("noteUuid", note.getString("noteUuid"));
+                comment.forEach(update::setOnInsert);
+                upserts.upsert(Query.query(Criteria.where("commentUuid").is(comment.getString("commentUuid"))), update);
+                hasComments = true;
+            }
+        }
+        if (hasComments) {
+            upserts.execute();
+        }
+
+        int migrated = 0;
+        for (Document note : batch) {
+            int count = note.getList("comments", Document.class, List.of()).size();
+            Query legacy = Query.query(Criteria.where("_id").is(note.get("_id")).and("comments").exists(true));
+            migrated += (int) mongoTemplate.updateFirst(legacy, new Update().unset("comments").inc("commentCount", count), notes).getModifiedCount();
+        }
+        return migrated;
+    }
+}
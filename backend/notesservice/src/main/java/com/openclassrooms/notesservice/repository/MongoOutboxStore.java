@@ -0,0 +1,97 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.commons.outbox.OutboxMessage;
+import com.openclassrooms.commons.outbox.OutboxStore;
+import com.openclassrooms.notesservice.model.Comment;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox embarquée du NotesService, lue par le relais commun (OutboxRelay de medilabo-commons).
+ * Les événements sont enregistrés dans le document modifié (champ outbox des notes et des commentaires),
+ * par la même écriture que la modification : MongoDB (sans replica set) n'offre pas de transaction
+ * entre deux documents, mais une écriture sur un document est atomique.
+ * Lecture : événements des deux collections, du plus ancien au plus récent (index sparse idx_notes_outbox, idx_comments_outbox).
+ * Suppression : $pull des événements publiés, un seul bulk par collection.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Repository
+@RequiredArgsConstructor
+public class MongoOutboxStore implements OutboxStore<MongoOutboxStore.EntryRef> {
+
+    private static final String OUTBOX = "outbox";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<OutboxMessage<EntryRef>> nextBatch(int limit) {
+        List<PendingEntry> pending = new ArrayList<>(pendingEntries(mongoTemplate.getCollectionName(Note.class), limit));
+        pending.addAll(pendingEntries(mongoTemplate.getCollectionName(Comment.class), limit));
+        return pending.stream()
+                .sorted(Comparator.comparing(entry -> entry.entry().getCreatedAt()))
+                .limit(limit)
+                .map(entry -> new OutboxMessage<>(
+                        new EntryRef(entry.collection(), entry.documentId(), entry.entry().getEventId()),
+                        entry.entry().getEventKey(),
+                        entry.entry().getPayload()))
+                .toList();
+    }
+
+    @Override
+    public void delete(Collection<EntryRef> ids) {
+        Map<String, Map<Object, List<String>>> byCollection = ids.stream().collect(Collectors.groupingBy(EntryRef::collection,
+                Collectors.groupingBy(EntryRef::documentId, Collectors.mapping(EntryRef::eventId, Collectors.toList()))));
+        byCollection.forEach((collection, byDocument) -> {
+            BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            byDocument.forEach((documentId, eventIds) -> updates.updateOne(
+                    Query.query(Criteria.where("_id").is(documentId)),
+                    new Update().pull(OUTBOX, new Document("eventId", new Document("$in", eventIds)))));
+            updates.execute();
+        });
+    }
+
+    /**
+     * Au plus limit événements d'une collection, du plus ancien au plus récent.
+     */
+    private List<PendingEntry> pendingEntries(String collection, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(OUTBOX + ".eventId").exists(true)),
+                Aggregation.project(OUTBOX),
+                Aggregation.unwind(OUTBOX),
+                Aggregation.sort(Sort.Direction.ASC, OUTBOX + ".createdAt"),
+                Aggregation.limit(limit));
+        return mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults().stream()
+                .map(document -> new PendingEntry(collection, document.get("_id"),
+                        mongoTemplate.getConverter().read(OutboxEntry.class, document.get(OUTBOX, Document.class))))
+                .toList();
+    }
+
+    /**
+     * Position d'un événement : collection, _id du document qui le porte, identifiant de l'événement.
+     */
+    public record EntryRef(String collection, Object documentId, String eventId) {
+    }
+
+    private record PendingEntry(String collection, Object documentId, OutboxEntry entry) {
+    }
+}
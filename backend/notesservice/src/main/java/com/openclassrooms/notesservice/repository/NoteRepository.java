@@ -19,7 +19,7 @@ import java.util.Optional;
  */
 
 @Repository
-public interface NoteRepository extends MongoRepository<Note, String> {
+public interface NoteRepository extends MongoRepository<Note, String>, NoteRepositoryCustom {
 
     Page<Note> findByActiveTrueOrderByCreatedAtDesc(Pageable pageable);
     Page<Note> findByPatientUuidAndActiveTrueOrderByCreatedAtDesc(String patientUuid, Pageable pageable);
@@ -28,5 +28,6 @@ public interface NoteRepository extends MongoRepository<Note, String> {
     List<Note> findByPatientUuidAndActiveTrueOrderByCreatedAtDesc(String patientUuid);
     List<Note> findByPractitionerUuidAndActiveTrueOrderByCreatedAtDesc(String practitionerUuid);
     boolean existsByNoteUuid(String noteUuid);
+    boolean existsByNoteUuidAndActiveTrue(String noteUuid);
     long countByPatientUuidAndActiveTrue(String patientUuid);
 }
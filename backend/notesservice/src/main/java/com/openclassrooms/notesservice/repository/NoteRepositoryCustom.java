@@ -0,0 +1,144 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.notesservice.model.FileAttachment;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Opérations MongoDB ciblées (distinct, $set, $inc, $push, $pull, curseur) non exprimables en requêtes dérivées.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-15
+ */
+public interface NoteRepositoryCustom {
+
+    /**
+     * Union des termes déclencheurs des notes actives d'un patient (distinct côté MongoDB).
+     */
+    List<String> findDistinctTriggersByPatientUuid(String patientUuid);
+
+    /**
+     * Notes actives d'un patient écrites avant l'index des déclencheurs (champ triggers absent), avec leur seul contenu.
+     * Vide une fois la migration terminée.
+     */
+    List<Note> findActiveNotesWithoutTriggers(String patientUuid);
+
+    /**
+     * Notes écrites avant l'index des déclencheurs (champ triggers absent), avec leur seul contenu,
+     * lues par lots depuis un curseur MongoDB. Le Stream retourné doit être fermé pour libérer le curseur.
+     */
+    Stream<Note> streamNotesWithoutTriggers(int batchSize);
+
+    /**
+     * Écrit l'index des déclencheurs d'un lot de notes (un seul bulk de $set).
+     * Une note indexée entre-temps par une écriture n'est pas modifiée. Retourne le nombre de notes indexées.
+     */
+    int updateTriggers(Map<String, List<String>> triggersByNoteUuid);
+
+    /**
+     * Notes actives d'un patient, plus récentes d'abord, lues par lots depuis un curseur MongoDB.
+     * Le Stream retourné doit être fermé pour libérer le curseur.
+     */
+    Stream<Note> streamActiveNotesByPatientUuid(String patientUuid);
+
+    /*
+     * Listes de notes actives, plus récentes d'abord, en vue réduite (NoteSummary) : projection
+     * MongoDB sans contenu complet ni fichiers, aperçu et compteurs calculés côté serveur.
+     */
+
+    /**
+     * Au plus limit notes actives, plus récentes d'abord.
+     */
+    List<NoteSummary> findActiveSummaries(int limit);
+
+    Page<NoteSummary> findActiveSummaries(Pageable pageable);
+
+    /**
+     * Notes actives dont le contenu complet ou le nom du praticien contient text (sans tenir compte de la casse),
+     * ou dont le patient figure dans patientUuids (recherche par nom, résolu par l'appelant).
+     */
+    Page<NoteSummary> searchActiveSummaries(String text, Collection<String> patientUuids, Pageable pageable);
+
+    /**
+     * Notes actives qui suivent la position (beforeCreatedAt, beforeNoteUuid) dans l'ordre
+     * (createdAt, noteUuid) décroissant ; depuis la plus récente si la position est nulle.
+     */
+    List<NoteSummary> findActiveSummariesBefore(LocalDateTime beforeCreatedAt, String beforeNoteUuid, int limit);
+
+    /**
+     * Toutes les notes actives, plus récentes d'abord, lues par lots de batchSize depuis un curseur MongoDB.
+     * Le Stream retourné doit être fermé pour libérer le curseur.
+     */
+    Stream<NoteSummary> streamActiveSummaries(int batchSize);
+
+    List<NoteSummary> findActiveSummariesByPatientUuid(String patientUuid);
+
+    Page<NoteSummary> findActiveSummariesByPatientUuid(String patientUuid, Pageable pageable);
+
+    List<NoteSummary> findActiveSummariesByPractitionerUuid(String practitionerUuid);
+
+    /*
+     * Mises à jour ciblées des fichiers ($push, $pull) : une seule instruction atomique par opération,
+     * sans relire ni réécrire files. Les notes retournées ne portent que leurs champs d'identification
+     * (sans files), plus le fichier concerné s'il est précisé.
+     * Un paramètre event est ajouté ($push) à l'outbox de la note par la même instruction.
+     */
+
+    /**
+     * Note active réduite à ses champs d'identification (propriétaire, patient, version).
+     */
+    Optional<Note> findActiveNote(String noteUuid);
+
+    /**
+     * Note active réduite à ses champs d'identification et au seul fichier demandé (s'il existe).
+     */
+    Optional<Note> findActiveNoteWithFile(String noteUuid, String fileUuid);
+
+    /**
+     * Compte un commentaire de plus sur une note active ; vide si la note n'existe pas.
+     */
+    Optional<Note> incrementCommentCount(String noteUuid, LocalDateTime updatedAt);
+
+    /**
+     * Compte un commentaire de moins (note active ou non : le compteur reste exact).
+     */
+    void decrementCommentCount(String noteUuid, LocalDateTime updatedAt);
+
+    /**
+     * Compte un commentaire de moins et enregistre l'événement de la suppression.
+     */
+    void decrementCommentCount(String noteUuid, LocalDateTime updatedAt, OutboxEntry event);
+
+    /**
+     * Attache un fichier à une note active ; vide si la note n'existe pas.
+     */
+    Optional<Note> pushFile(String noteUuid, FileAttachment file, OutboxEntry event);
+
+    /**
+     * Détache un fichier si l'utilisateur l'a déposé ou est le praticien de la note ; vide sinon.
+     * La note retournée porte le fichier détaché.
+     */
+    Optional<Note> pullFile(String noteUuid, String fileUuid, String userUuid, OutboxEntry event);
+
+    /**
+     * Réécrit le contenu d'une note si elle est toujours à la version lue (verrouillage optimiste).
+     * Retourne false si la note a été modifiée ou supprimée entre-temps.
+     */
+    boolean updateContent(String noteUuid, Long expectedVersion, String content, List<String> triggers, LocalDateTime updatedAt, OutboxEntry event);
+
+    /**
+     * Désactive une note active (suppression logique), avec l'événement à publier ; false si elle n'existe pas.
+     */
+    boolean deactivate(String noteUuid, LocalDateTime updatedAt, OutboxEntry event);
+}
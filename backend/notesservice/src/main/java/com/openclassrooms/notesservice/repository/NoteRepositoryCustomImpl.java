@@ -0,0 +1,276 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.notesservice.model.FileAttachment;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implémentation MongoTemplate de {@link NoteRepositoryCustom}.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-15
+ */
+@RequiredArgsConstructor
+public class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+
+    private static final int CURSOR_BATCH_SIZE = 100;
+
+    /** Champs lus avec un sous-document : de quoi vérifier les droits et publier l'événement. */
+    private static final String[] IDENTITY_FIELDS = {"noteUuid", "patientUuid", "practitionerUuid", "practitionerName", "version"};
+
+    /** Événements en attente de publication, lus par MongoOutboxStore. */
+    private static final String OUTBOX = "outbox";
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    /** Longueur de l'aperçu d'une note dans les listes, en caractères. */
+    private static final int PREVIEW_LENGTH = 200;
+
+    private static final String[] SUMMARY_FIELDS = {"noteUuid", "patientUuid", "practitionerUuid", "practitionerName", "createdAt", "updatedAt", "triggers"};
+
+    private static final MongoExpression PREVIEW = MongoExpression.create(
+            "{ $cond: [ { $gt: [ { $strLenCP: { $ifNull: ['$content', ''] } }, " + PREVIEW_LENGTH + " ] },"
+                    + " { $concat: [ { $substrCP: ['$content', 0, " + PREVIEW_LENGTH + "] }, '…' ] },"
+                    + " { $ifNull: ['$content', ''] } ] }");
+
+    private static final MongoExpression FILE_COUNT = MongoExpression.create("{ $size: { $ifNull: ['$files', []] } }");
+
+    private static final MongoExpression COMMENT_COUNT = MongoExpression.create("{ $ifNull: ['$commentCount', 0] }");
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    /** Ordre total des notes (noteUuid départage les dates égales) : celui du parcours par curseur. */
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "noteUuid");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<String> findDistinctTriggersByPatientUuid(String patientUuid) {
+        Query query = Query.query(Criteria.where("patientUuid").is(patientUuid).and("active").is(true));
+        return mongoTemplate.findDistinct(query, "triggers", Note.class, String.class);
+    }
+
+    @Override
+    public List<Note> findActiveNotesWithoutTriggers(String patientUuid) {
+        Query query = Query.query(Criteria.where("patientUuid").is(patientUuid).and("active").is(true).and("triggers").is(null));
+        query.fields().include("noteUuid", "content");
+        return mongoTemplate.find(query, Note.class);
+    }
+
+    @Override
+    public Stream<Note> streamNotesWithoutTriggers(int batchSize) {
+        Query query = Query.query(Criteria.where("triggers").is(null)).cursorBatchSize(batchSize);
+        query.fields().include("noteUuid", "content");
+        return mongoTemplate.stream(query, Note.class);
+    }
+
+    @Override
+    public int updateTriggers(Map<String, List<String>> triggersByNoteUuid) {
+        if (triggersByNoteUuid.isEmpty()) {
+            return 0;
+        }
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class);
+        triggersByNoteUuid.forEach((noteUuid, triggers) -> updates.updateOne(
+                Query.query(Criteria.where("noteUuid").is(noteUuid).and("triggers").is(null)),
+                Update.update("triggers", triggers)));
+        return updates.execute().getModifiedCount();
+    }
+
+    @Override
+    public Stream<Note> streamActiveNotesByPatientUuid(String patientUuid) {
+        Query query = Query.query(Criteria.where("patientUuid").is(patientUuid).and("active").is(true))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+        return mongoTemplate.stream(query, Note.class);
+    }
+
+    @Override
+    public List<NoteSummary> findActiveSummaries(int limit) {
+        Query query = summaryQuery(Criteria.where("active").is(true)).with(KEYSET_ORDER).limit(limit);
+        return mongoTemplate.find(query, NoteSummary.class, mongoTemplate.getCollectionName(Note.class));
+    }
+
+    @Override
+    public List<NoteSummary> findActiveSummariesBefore(LocalDateTime beforeCreatedAt, String beforeNoteUuid, int limit) {
+        Criteria criteria = Criteria.where("active").is(true);
+        if (beforeCreatedAt != null) {
+            criteria.orOperator(
+                    Criteria.where("createdAt").lt(beforeCreatedAt),
+                    Criteria.where("createdAt").is(beforeCreatedAt).and("noteUuid").lt(beforeNoteUuid));
+        }
+        Query query = summaryQuery(criteria).with(KEYSET_ORDER).limit(limit);
+        return mongoTemplate.find(query, NoteSummary.class, mongoTemplate.getCollectionName(Note.class));
+    }
+
+    @Override
+    public Stream<NoteSummary> streamActiveSummaries(int batchSize) {
+        Query query = summaryQuery(Criteria.where("active").is(true)).with(KEYSET_ORDER).cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, NoteSummary.class, mongoTemplate.getCollectionName(Note.class));
+    }
+
+    @Override
+    public Page<NoteSummary> findActiveSummaries(Pageable pageable) {
+        return findSummaries(Criteria.where("active").is(true), pageable);
+    }
+
+    /**
+     * Recherche sur le contenu complet (l'aperçu des listes n'en porte que les 200 premiers caractères) :
+     * texte échappé, expression régulière insensible à la casse.
+     */
+    @Override
+    public Page<NoteSummary> searchActiveSummaries(String text, Collection<String> patientUuids, Pageable pageable) {
+        String pattern = Pattern.quote(text);
+        List<Criteria> matches = new ArrayList<>(List.of(
+                Criteria.where("content").regex(pattern, "i"),
+                Criteria.where("practitionerName").regex(pattern, "i")));
+        if (patientUuids != null && !patientUuids.isEmpty()) {
+            matches.add(Criteria.where("patientUuid").in(patientUuids));
+        }
+        return findSummaries(Criteria.where("active").is(true).orOperator(matches), pageable);
+    }
+
+    @Override
+    public List<NoteSummary> findActiveSummariesByPatientUuid(String patientUuid) {
+        return findSummaries(Criteria.where("patientUuid").is(patientUuid).and("active").is(true));
+    }
+
+    @Override
+    public Page<NoteSummary> findActiveSummariesByPatientUuid(String patientUuid, Pageable pageable) {
+        return findSummaries(Criteria.where("patientUuid").is(patientUuid).and("active").is(true), pageable);
+    }
+
+    @Override
+    public List<NoteSummary> findActiveSummariesByPractitionerUuid(String practitionerUuid) {
+        return findSummaries(Criteria.where("practitionerUuid").is(practitionerUuid).and("active").is(true));
+    }
+
+    @Override
+    public Optional<Note> findActiveNote(String noteUuid) {
+        Query query = activeNote(noteUuid);
+        query.fields().include(IDENTITY_FIELDS);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Note.class));
+    }
+
+    @Override
+    public Optional<Note> findActiveNoteWithFile(String noteUuid, String fileUuid) {
+        Query query = activeNote(noteUuid);
+        query.fields().include(IDENTITY_FIELDS).elemMatch("files", Criteria.where("fileUuid").is(fileUuid));
+        return Optional.ofNullable(mongoTemplate.findOne(query, Note.class));
+    }
+
+    @Override
+    public Optional<Note> incrementCommentCount(String noteUuid, LocalDateTime updatedAt) {
+        Query query = activeNote(noteUuid);
+        query.fields().include(IDENTITY_FIELDS);
+        // Le compteur ne change pas la version : une réécriture concurrente du contenu reste valide
+        Update update = new Update().inc("commentCount", 1).set("updatedAt", updatedAt);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, RETURN_NEW, Note.class));
+    }
+
+    @Override
+    public void decrementCommentCount(String noteUuid, LocalDateTime updatedAt) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("noteUuid").is(noteUuid)),
+                new Update().inc("commentCount", -1).set("updatedAt", updatedAt), Note.class);
+    }
+
+    @Override
+    public void decrementCommentCount(String noteUuid, LocalDateTime updatedAt, OutboxEntry event) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("noteUuid").is(noteUuid)),
+                new Update().inc("commentCount", -1).set("updatedAt", updatedAt).push(OUTBOX, event), Note.class);
+    }
+
+    @Override
+    public Optional<Note> pushFile(String noteUuid, FileAttachment file, OutboxEntry event) {
+        Query query = activeNote(noteUuid);
+        query.fields().include(IDENTITY_FIELDS);
+        Update update = touch(new Update().push("files", file).push(OUTBOX, event), file.getUploadedAt());
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, RETURN_NEW, Note.class));
+    }
+
+    @Override
+    public Optional<Note> pullFile(String noteUuid, String fileUuid, String userUuid, OutboxEntry event) {
+        return pullOwnedFile(noteUuid, fileUuid, userUuid, event);
+    }
+
+    @Override
+    public boolean updateContent(String noteUuid, Long expectedVersion, String content, List<String> triggers, LocalDateTime updatedAt, OutboxEntry event) {
+        // Les notes antérieures n'ont pas de version : {version: null} correspond au champ absent
+        Query query = activeNote(noteUuid).addCriteria(Criteria.where("version").is(expectedVersion));
+        Update update = touch(new Update().set("content", content).set("triggers", triggers).push(OUTBOX, event), updatedAt);
+        return mongoTemplate.updateFirst(query, update, Note.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean deactivate(String noteUuid, LocalDateTime updatedAt, OutboxEntry event) {
+        Update update = touch(new Update().set("active", false).push(OUTBOX, event), updatedAt);
+        return mongoTemplate.updateFirst(activeNote(noteUuid), update, Note.class).getModifiedCount() == 1;
+    }
+
+    /**
+     * Retire un fichier si l'utilisateur l'a déposé ou est le praticien de la note.
+     * Le document est retourné tel qu'avant la mise à jour, projeté sur le fichier retiré.
+     */
+    private Optional<Note> pullOwnedFile(String noteUuid, String fileUuid, String userUuid, OutboxEntry event) {
+        Criteria owner = Criteria.where("files").elemMatch(Criteria.where("fileUuid").is(fileUuid).and("uploadedByUuid").is(userUuid));
+        Criteria practitioner = Criteria.where("practitionerUuid").is(userUuid).and("files.fileUuid").is(fileUuid);
+        Query query = activeNote(noteUuid).addCriteria(new Criteria().orOperator(owner, practitioner));
+        query.fields().include(IDENTITY_FIELDS).elemMatch("files", Criteria.where("fileUuid").is(fileUuid));
+        Update update = touch(new Update().pull("files", new Document("fileUuid", fileUuid)).push(OUTBOX, event), LocalDateTime.now());
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, Note.class));
+    }
+
+    private List<NoteSummary> findSummaries(Criteria criteria) {
+        return mongoTemplate.find(summaryQuery(criteria).with(NEWEST_FIRST), NoteSummary.class, mongoTemplate.getCollectionName(Note.class));
+    }
+
+    /**
+     * Page de vues réduites ; le comptage n'est exécuté que si la page ne suffit pas à déduire le total.
+     */
+    private Page<NoteSummary> findSummaries(Criteria criteria, Pageable pageable) {
+        Query query = summaryQuery(criteria).with(pageable).with(pageable.getSortOr(NEWEST_FIRST));
+        List<NoteSummary> content = mongoTemplate.find(query, NoteSummary.class, mongoTemplate.getCollectionName(Note.class));
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.count(Query.query(criteria), Note.class));
+    }
+
+    private static Query summaryQuery(Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().include(SUMMARY_FIELDS);
+        query.fields().project(PREVIEW).as("preview");
+        query.fields().project(FILE_COUNT).as("fileCount");
+        query.fields().project(COMMENT_COUNT).as("commentCount");
+        return query;
+    }
+
+    private static Query activeNote(String noteUuid) {
+        return Query.query(Criteria.where("noteUuid").is(noteUuid).and("active").is(true));
+    }
+
+    /** Toute écriture date la note et incrémente sa version. */
+    private static Update touch(Update update, LocalDateTime updatedAt) {
+        return update.set("updatedAt", updatedAt).inc("version", 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.openclassrooms.notesservice.service;
+
+import com.openclassrooms.notesservice.config.CommentConfig;
+import com.openclassrooms.notesservice.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration des commentaires embedded (Note.comments) vers la collection note_comments.
+ * Lancée une fois l'application prête, sur son propre thread : le démarrage n'attend pas la migration.
+ * Rejouable et sans verrou : plusieurs instances peuvent la lancer en même temps sans doublon
+ * ni double comptage (voir CommentRepositoryCustom#migrateEmbeddedComments).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentMigration {
+
+    private final CommentRepository commentRepository;
+    private final CommentConfig config;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isMigrationEnabled()) {
+            return;
+        }
+        Thread.ofPlatform().name("comment-migration").daemon(true).start(this::migrate);
+    }
+
+    public void migrate() {
+        try {
+            int migrated = commentRepository.migrateEmbeddedComments(config.getMigrationBatchSize());
+            if (migrated > 0) {
+                log.info("Commentaires embedded migrés vers note_comments pour {} note(s)", migrated);
+            }
+        } catch (Exception exception) {
+            log.error("Migration des commentaires interrompue, reprise au prochain démarrage: {}", exception.getMessage());
+        }
+    }
+}
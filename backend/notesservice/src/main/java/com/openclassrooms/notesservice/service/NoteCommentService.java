@@ -1,9 +1,9 @@
 package com.openclassrooms.notesservice.service;
 
+import com.openclassrooms.notesservice.dto.CommentPage;
 import com.openclassrooms.notesservice.dto.CommentRequest;
 import com.openclassrooms.notesservice.dto.CommentResponse;
 import org.springframework.security.oauth2.jwt.Jwt;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -15,7 +15,7 @@ import reactor.core.publisher.Mono;
  */
 public interface NoteCommentService {
     Mono<CommentResponse> addComment(String noteUuid, CommentRequest request, Jwt jwt);
-    Flux<CommentResponse> getComments(String noteUuid);
+    Mono<CommentPage> getComments(String noteUuid, String cursor, int size);
     Mono<CommentResponse> updateComment(String noteUuid, String commentUuid, CommentRequest request, Jwt jwt);
     Mono<Void> deleteComment(String noteUuid, String commentUuid, Jwt jwt);
 }
\ No newline at end of file
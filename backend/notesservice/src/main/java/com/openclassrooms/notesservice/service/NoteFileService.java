@@ -7,6 +7,8 @@ import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 /**
  * Service de gestion des fichiers attachés aux notes médicales (Full Réactif).
  *
@@ -26,5 +28,11 @@ public interface NoteFileService {
         private Resource resource;
         private String filename;
         private String contentType;
+
+        /**Validateur du fichier (son fileUuid : un fichier stocké n'est jamais réécrit).*/
+        private String eTag;
+
+        /**Date d'upload, renvoyée en Last-Modified.*/
+        private Instant lastModified;
     }
 }
\ No newline at end of file
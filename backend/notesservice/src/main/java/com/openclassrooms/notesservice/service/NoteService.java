@@ -1,5 +1,6 @@
 package com.openclassrooms.notesservice.service;
 
+import com.openclassrooms.notesservice.dto.NotePage;
 import com.openclassrooms.notesservice.dto.NoteRequest;
 import com.openclassrooms.notesservice.dto.NoteResponse;
 import reactor.core.publisher.Flux;
@@ -7,6 +8,8 @@ import reactor.core.publisher.Mono;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 
 /**
  * Service de gestion des notes médicales (Full Réactif).
@@ -17,14 +20,19 @@ import org.springframework.data.domain.Pageable;
  */
 public interface NoteService {
     Mono<Page<NoteResponse>> getAllActiveNotesPageable(Pageable pageable);
+    Mono<Page<NoteResponse>> searchActiveNotes(String search, List<String> patientUuids, Pageable pageable);
     Mono<Page<NoteResponse>> getNotesByPatientUuidPageable(String patientUuid, Pageable pageable);
-    Flux<NoteResponse> getAllActiveNotes();
+    Mono<NotePage> getAllActiveNotes();
+    Mono<NotePage> getActiveNotesPage(String cursor, int size);
+    Flux<NoteResponse> streamAllActiveNotes();
     Flux<NoteResponse> getNotesByUserUuid(String userUuid);
     Mono<NoteResponse> createNote(NoteRequest request, String practitionerUuid, String practitionerName);
     Mono<NoteResponse> getNoteByUuid(String noteUuid);
     Flux<NoteResponse> getNotesByPatientUuid(String patientUuid);
+    Flux<NoteResponse> streamNotesByPatientUuid(String patientUuid);
     Flux<NoteResponse> getNotesByPractitionerUuid(String practitionerUuid);
     Mono<NoteResponse> updateNote(String noteUuid, NoteRequest request, String practitionerUuid, boolean isSuperAdmin);
     Mono<Void> deleteNote(String noteUuid);
     Mono<Long> countNotesByPatientUuid(String patientUuid);
+    Mono<List<String>> getTriggersByPatientUuid(String patientUuid);
 }
\ No newline at end of file
@@ -12,6 +12,5 @@ import reactor.core.publisher.Mono;
  */
 public interface PatientServiceClient {
     Mono<PatientInfo> getPatientByUuid(String patientUuid);
-    Mono<PatientInfo> getPatientContactInfo(String patientUuid);
     Mono<PatientInfo> getMyPatient();
 }
\ No newline at end of file
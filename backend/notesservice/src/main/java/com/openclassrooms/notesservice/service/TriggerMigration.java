@@ -0,0 +1,65 @@
+package com.openclassrooms.notesservice.service;
+
+import com.openclassrooms.commons.trigger.TriggerTerms;
+import com.openclassrooms.notesservice.config.TriggerConfig;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.repository.NoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Indexation des termes déclencheurs des notes écrites avant l'index (champ triggers absent).
+ * Lancée une fois l'application prête, sur son propre thread : la lecture GET /api/notes/triggers/patient/{uuid}
+ * n'écrit plus rien (elle analyse elle-même les notes pas encore indexées). Rejouable et sans verrou : une note déjà indexée (par une autre instance ou une écriture)
+ * n'est pas réécrite (voir NoteRepositoryCustom#updateTriggers).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TriggerMigration {
+
+    private final NoteRepository noteRepository;
+    private final TriggerConfig config;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isMigrationEnabled()) {
+            return;
+        }
+        Thread.ofPlatform().name("trigger-migration").daemon(true).start(this::migrate);
+    }
+
+    public void migrate() {
+        int batchSize = config.getMigrationBatchSize();
+        int indexed = 0;
+        try (Stream<Note> legacyNotes = noteRepository.streamNotesWithoutTriggers(batchSize)) {
+            Map<String, List<String>> batch = new HashMap<>();
+            for (Note note : (Iterable<Note>) legacyNotes::iterator) {
+                batch.put(note.getNoteUuid(), new ArrayList<>(TriggerTerms.findTriggers(note.getContent())));
+                if (batch.size() == batchSize) {
+                    indexed += noteRepository.updateTriggers(batch);
+                    batch = new HashMap<>();
+                }
+            }
+            indexed += noteRepository.updateTriggers(batch);
+        } catch (Exception exception) {
+            log.error("Indexation des déclencheurs interrompue, reprise au prochain démarrage: {}", exception.getMessage());
+        }
+        if (indexed > 0) {
+            log.info("Déclencheurs indexés pour {} note(s) antérieure(s)", indexed);
+        }
+    }
+}
@@ -6,14 +6,13 @@ import com.openclassrooms.notesservice.service.FileStorageService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -61,9 +60,15 @@ public class FileStorageServiceImpl implements FileStorageService {
             Path noteDir = this.rootLocation.resolve("notes").resolve(noteUuid);
             Files.createDirectories(noteDir);
 
-            //Stocker le fichier
+            //Stocker le fichier : transfert vers un fichier temporaire du même répertoire puis renommage atomique
             Path targetLocation = noteDir.resolve(storedFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            Path tempLocation = noteDir.resolve(storedFilename + ".part");
+            try {
+                file.transferTo(tempLocation.toFile());
+                Files.move(tempLocation, targetLocation, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempLocation);
+            }
 
             log.info("Fichier stocké: {} -> {}", originalFilename, targetLocation);
 
@@ -85,22 +90,19 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public Resource loadFileAsResource(String noteUuid, String fileUuid, String extension) {
-        try {
-            String storedFilename = fileUuid + "." + extension;
-            Path filePath = this.rootLocation
-                    .resolve("notes")
-                    .resolve(noteUuid)
-                    .resolve(storedFilename)
-                    .normalize();
-
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new ApiException("Fichier non trouvé: " + fileUuid);
-            }
-        } catch (MalformedURLException e) {
+        String storedFilename = fileUuid + "." + extension;
+        Path filePath = this.rootLocation
+                .resolve("notes")
+                .resolve(noteUuid)
+                .resolve(storedFilename)
+                .normalize();
+
+        //Ressource adossée au Path : lecture par FileChannel, longueur connue pour Content-Length et les plages (Range)
+        Resource resource = new FileSystemResource(filePath);
+
+        if (resource.exists() && resource.isReadable()) {
+            return resource;
+        } else {
             throw new ApiException("Fichier non trouvé: " + fileUuid);
         }
     }
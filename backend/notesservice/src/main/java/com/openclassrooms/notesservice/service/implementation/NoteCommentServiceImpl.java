@@ -1,28 +1,31 @@
 package com.openclassrooms.notesservice.service.implementation;
 
+import com.openclassrooms.notesservice.domain.KeysetCursor;
+import com.openclassrooms.notesservice.dto.CommentPage;
 import com.openclassrooms.notesservice.dto.CommentRequest;
 import com.openclassrooms.notesservice.dto.CommentResponse;
-import com.openclassrooms.notesservice.dto.PatientInfo;
 import com.openclassrooms.notesservice.enumeration.EventType;
 import com.openclassrooms.notesservice.event.Event;
+import com.openclassrooms.notesservice.event.OutboxEntryFactory;
 import com.openclassrooms.notesservice.exception.ApiException;
 import com.openclassrooms.notesservice.model.Comment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import com.openclassrooms.notesservice.repository.CommentRepository;
 import com.openclassrooms.notesservice.repository.NoteRepository;
 import com.openclassrooms.notesservice.service.NoteCommentService;
-import com.openclassrooms.notesservice.service.PatientServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -30,7 +33,7 @@ import java.util.UUID;
  * ARCHITECTURE RÉACTIVE:
  * Mono.fromCallable() : Encapsule les appels MongoDB bloquants
  * subscribeOn(Schedulers.boundedElastic()) : Exécute sur thread-pool élastique
- * Publication d'événements Kafka de manière réactive
+ * Événements enregistrés dans l'outbox du document modifié, par la même écriture (publiés par le relais)
  *
  * @author Kardigué MAGASSA
  * @version 2.0
@@ -41,110 +44,118 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class NoteCommentServiceImpl implements NoteCommentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NoteRepository noteRepository;
-    private final PatientServiceClient patientServiceClient;
-    private final ApplicationEventPublisher eventPublisher;
+    private final CommentRepository commentRepository;
+    private final OutboxEntryFactory outboxEntryFactory;
 
 
     /**
      * Ajoute un commentaire à une note.
-     * Récupération de la note
      * Construction du commentaire
-     * Ajout à la note et sauvegarde
-     * Publication de l'événement Kafka (async)
+     * $inc du compteur de la note active (vérifie son existence sans la charger)
+     * Insertion dans note_comments avec l'événement COMMENT_CREATED ; compteur rétabli si l'insertion échoue
      * Retour du CommentResponse
      */
     @Override
     public Mono<CommentResponse> addComment(String noteUuid, CommentRequest request, Jwt jwt) {
         log.debug("Adding comment to note: {}", noteUuid);
 
-        return findNoteByUuid(noteUuid)
-                .flatMap(note -> {
-                    Comment comment = Comment.builder()
-                            .commentUuid(UUID.randomUUID().toString())
-                            .content(request.getContent())
-                            .authorUuid(jwt.getSubject())
-                            .authorName(extractName(jwt))
-                            .authorRole(extractRole(jwt))
-                            .authorImageUrl(jwt.getClaimAsString("imageUrl"))
-                            .edited(false)
-                            .createdAt(LocalDateTime.now())
-                            .updatedAt(LocalDateTime.now())
-                            .build();
-
-                    note.addComment(comment);
+        LocalDateTime now = LocalDateTime.now();
+        Comment comment = Comment.builder()
+                .commentUuid(UUID.randomUUID().toString())
+                .noteUuid(noteUuid)
+                .content(request.getContent())
+                .authorUuid(jwt.getSubject())
+                .authorName(extractName(jwt))
+                .authorRole(extractRole(jwt))
+                .authorImageUrl(jwt.getClaimAsString("imageUrl"))
+                .edited(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
 
-                    // Sauvegarde MongoDB
-                    return Mono.fromCallable(() -> {
-                                noteRepository.save(note);
-                                log.info("Commentaire ajouté à la note: {} par: {}", noteUuid, comment.getAuthorName());
-                                return comment;
-                            })
-                            .subscribeOn(Schedulers.boundedElastic())
-                            //Publier l'événement de manière réactive (fire and forget)
-                            .doOnSuccess(savedComment -> publishCommentCreatedEvent(note, savedComment))
-                            .map(this::mapToCommentResponse);
-                });
+        return Mono.fromCallable(() -> {
+                    Note note = noteRepository.incrementCommentCount(noteUuid, now)
+                            .orElseThrow(() -> new ApiException("Note non trouvée: " + noteUuid));
+                    comment.setOutbox(List.of(outboxEntryFactory.create(
+                            commentEvent(EventType.COMMENT_CREATED, note, comment, "Note médicale - " + note.getPatientUuid()),
+                            note.getPatientUuid())));
+                    try {
+                        commentRepository.insert(comment);
+                    } catch (RuntimeException exception) {
+                        noteRepository.decrementCommentCount(noteUuid, now);
+                        throw exception;
+                    }
+                    log.info("Commentaire ajouté à la note: {} par: {}", noteUuid, comment.getAuthorName());
+                    return note;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(note -> mapToCommentResponse(comment));
     }
 
-    /**Liste tous les commentaires d'une note.*/
+    /**
+     * Liste les commentaires d'une note, du plus ancien au plus récent, par page.
+     * Pagination par curseur (createdAt, commentUuid) : coût constant quelle que soit la profondeur.
+     * size + 1 commentaires sont lus pour savoir s'il existe une page suivante, sans comptage.
+     */
     @Override
-    public Flux<CommentResponse> getComments(String noteUuid) {
-        log.debug("Getting comments for note: {}", noteUuid);
+    public Mono<CommentPage> getComments(String noteUuid, String cursor, int size) {
+        log.debug("Getting comments for note: {} (curseur: {})", noteUuid, cursor);
 
-        return findNoteByUuid(noteUuid)
-                //Convertir la liste de commentaires en Flux
-                .flatMapMany(note -> Flux.fromIterable(note.getComments()))
-                // Mapper chaque Comment vers CommentResponse
-                .map(this::mapToCommentResponse);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new ApiException("Pagination invalide (1 <= size <= " + MAX_PAGE_SIZE + ")"));
+        }
+        return Mono.fromCallable(() -> {
+                    KeysetCursor position = KeysetCursor.parse(cursor);
+                    if (!noteRepository.existsByNoteUuidAndActiveTrue(noteUuid)) {
+                        throw new ApiException("Note non trouvée: " + noteUuid);
+                    }
+                    List<Comment> rows = position == null
+                            ? commentRepository.findPage(noteUuid, null, null, size + 1)
+                            : commentRepository.findPage(noteUuid, position.createdAt(), position.uuid(), size + 1);
+                    List<Comment> page = rows.size() > size ? rows.subList(0, size) : rows;
+                    return CommentPage.builder()
+                            .comments(page.stream().map(this::mapToCommentResponse).toList())
+                            .nextCursor(rows.size() > size ? cursorOf(page.getLast()) : null)
+                            .build();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
     }
 
     /**
      * Met à jour un commentaire.
-     * Récupération de la note
-     * Recherche du commentaire
-     * Vérification des droits (auteur uniquement)
-     * Mise à jour et sauvegarde
+     * $set conditionné à l'auteur : vérification des droits, écriture et événement COMMENT_UPDATED en une instruction
+     * En cas de refus, existence du commentaire vérifiée pour en donner la raison
      */
     @Override
     public Mono<CommentResponse> updateComment(String noteUuid, String commentUuid, CommentRequest request, Jwt jwt) {
         log.debug("Updating comment: {} on note: {}", commentUuid, noteUuid);
 
         return findNoteByUuid(noteUuid)
-                .flatMap(note -> {
-                    //Recherche du commentaire
-                    Comment comment = note.findComment(commentUuid);
-                    if (comment == null) {
-                        return Mono.error(new ApiException("Commentaire non trouvé: " + commentUuid));
-                    }
-
-                    //Vérification des droits
-                    if (!comment.getAuthorUuid().equals(jwt.getSubject())) {
-                        return Mono.error(new ApiException("Non autorisé à modifier ce commentaire"));
-                    }
-
-                    // Mise à jour
-                    comment.setContent(request.getContent());
-                    comment.setEdited(true);
-                    comment.setUpdatedAt(LocalDateTime.now());
-
-                    //Sauvegarde
-                    return Mono.fromCallable(() -> {
-                                noteRepository.save(note);
-                                log.info("Commentaire modifié: {} sur la note: {}", commentUuid, noteUuid);
-                                return mapToCommentResponse(comment);
-                            })
-                            .doOnSuccess(response -> publishCommentUpdatedEvent(note, comment))
-                            .subscribeOn(Schedulers.boundedElastic());
-                });
+                .flatMap(note -> Mono.fromCallable(() -> {
+                            // Seul l'auteur peut modifier : il est l'expéditeur de l'événement
+                            Comment updated = Comment.builder().authorName(extractName(jwt)).content(request.getContent()).build();
+                            OutboxEntry event = outboxEntryFactory.create(
+                                    commentEvent(EventType.COMMENT_UPDATED, note, updated, "Commentaire modifié"), note.getPatientUuid());
+                            return commentRepository.updateContent(noteUuid, commentUuid, jwt.getSubject(), request.getContent(), LocalDateTime.now(), event);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(optional -> optional
+                                .map(Mono::just)
+                                .orElseGet(() -> rejectCommentWrite(noteUuid, commentUuid, "Non autorisé à modifier ce commentaire")))
+                        .map(comment -> {
+                            log.info("Commentaire modifié: {} sur la note: {}", commentUuid, noteUuid);
+                            return mapToCommentResponse(comment);
+                        }));
     }
 
     /**
      * Supprime un commentaire.
-     * Récupération de la note
-     * Recherche du commentaire
-     * Vérification des droits (auteur ou praticien de la note)
-     * Suppression et sauvegarde
+     * Suppression conditionnée à l'auteur, sauf pour le praticien de la note
+     * $inc négatif du compteur de la note, avec l'événement COMMENT_DELETED (le commentaire n'existe plus)
+     * En cas de refus, existence du commentaire vérifiée pour en donner la raison
      */
     @Override
     public Mono<Void> deleteComment(String noteUuid, String commentUuid, Jwt jwt) {
@@ -152,38 +163,39 @@ public class NoteCommentServiceImpl implements NoteCommentService {
 
         return findNoteByUuid(noteUuid)
                 .flatMap(note -> {
-
-                    Comment comment = note.findComment(commentUuid);
-                    if (comment == null) {
-                        return Mono.error(new ApiException("Commentaire non trouvé: " + commentUuid));
-                    }
-
-                    //Vérification des droits
-                    String userUuid = jwt.getSubject();
-                    if (!comment.getAuthorUuid().equals(userUuid)
-                            && !note.getPractitionerUuid().equals(userUuid)) {
-                        return Mono.error(new ApiException("Non autorisé à supprimer ce commentaire"));
-                    }
-
-                    note.removeComment(commentUuid);
-
+                    String requiredAuthor = note.getPractitionerUuid().equals(jwt.getSubject()) ? null : jwt.getSubject();
                     return Mono.fromCallable(() -> {
-                                noteRepository.save(note);
-                                log.info("Commentaire supprimé: {} de la note: {}", commentUuid, noteUuid);
-                                return note;
+                                Optional<Comment> removed = commentRepository.remove(noteUuid, commentUuid, requiredAuthor);
+                                removed.ifPresent(comment -> noteRepository.decrementCommentCount(noteUuid, LocalDateTime.now(),
+                                        outboxEntryFactory.create(commentEvent(EventType.COMMENT_DELETED, note, comment, "Commentaire supprimé"),
+                                                note.getPatientUuid())));
+                                return removed;
                             })
-                            .doOnSuccess(n -> publishCommentDeletedEvent(n, comment))
-                            .subscribeOn(Schedulers.boundedElastic());
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(optional -> optional
+                                    .map(Mono::just)
+                                    .orElseGet(() -> rejectCommentWrite(noteUuid, commentUuid, "Non autorisé à supprimer ce commentaire")))
+                            .doOnSuccess(comment -> log.info("Commentaire supprimé: {} de la note: {}", commentUuid, noteUuid));
                 })
                 .then();
     }
 
     /**
-     * Recherche une note par UUID.
-     * Méthode utilitaire pour éviter la duplication.
+     * Raison du refus d'une écriture conditionnelle : commentaire absent ou droits insuffisants.
+     */
+    private Mono<Comment> rejectCommentWrite(String noteUuid, String commentUuid, String forbiddenMessage) {
+        return Mono.fromCallable(() -> commentRepository.existsByNoteUuidAndCommentUuid(noteUuid, commentUuid))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(exists -> Mono.error(exists
+                        ? new ApiException(forbiddenMessage)
+                        : new ApiException("Commentaire non trouvé: " + commentUuid)));
+    }
+
+    /**
+     * Note active réduite à ses champs d'identification (droits et événements), sans ses fichiers.
      */
     private Mono<Note> findNoteByUuid(String noteUuid) {
-        return Mono.fromCallable(() -> noteRepository.findByNoteUuidAndActiveTrue(noteUuid))
+        return Mono.fromCallable(() -> noteRepository.findActiveNote(noteUuid))
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMap(optional -> optional
                         .map(Mono::just)
@@ -191,81 +203,18 @@ public class NoteCommentServiceImpl implements NoteCommentService {
     }
 
     /**
-     * Publie un événement COMMENT_CREATED avec les infos patient.
-     * Exécution asynchrone (fire and forget).
+     * Données des événements de commentaire, tirées de la note et du commentaire : le NotificationService
+     * résout les coordonnées du patient à partir de patientUuid.
      */
-    private void publishCommentCreatedEvent(Note note, Comment comment) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = buildEventData(note, comment, patient);
-                            Event event = Event.builder()
-                                    .eventType(EventType.COMMENT_CREATED)
-                                    .data(data)
-                                    .build();
-                            eventPublisher.publishEvent(event);
-                            log.debug("COMMENT_CREATED event published for note: {}", note.getNoteUuid());
-                        },
-                        error -> log.error("Erreur lors de la récupération patient pour event: {}", error.getMessage()),
-                        () -> log.debug("No patient info found for event, skipping notification")
-                );
-    }
-
-    /**Construit les données de l'événement*/
-    private Map<String, Object> buildEventData(Note note, Comment comment, PatientInfo patient) {
+    private Event commentEvent(EventType eventType, Note note, Comment comment, String subject) {
         Map<String, Object> data = new HashMap<>();
-        data.put("name", patient != null ? patient.getFullName() : null);
-        data.put("email", patient != null ? patient.getEmail() : null);
+        data.put("patientUuid", note.getPatientUuid());
         data.put("recordNumber", note.getNoteUuid());
-        data.put("subject", "Note médicale - " + note.getPatientUuid());
+        data.put("subject", subject);
         data.put("senderName", comment.getAuthorName());
         data.put("date", LocalDateTime.now().toString());
         data.put("comment", truncateContent(comment.getContent(), 200));
-        return data;
-    }
-
-    private void publishCommentUpdatedEvent(Note note, Comment comment) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = buildCommentEventData(note, comment, patient, "modifié");
-                            Event event = Event.builder()
-                                    .eventType(EventType.COMMENT_UPDATED)
-                                    .data(data)
-                                    .build();
-                            eventPublisher.publishEvent(event);
-                            log.debug("COMMENT_UPDATED event published for note: {}", note.getNoteUuid());
-                        },
-                        error -> log.error("Erreur lors de la récupération patient pour event: {}", error.getMessage())
-                );
-    }
-
-    private void publishCommentDeletedEvent(Note note, Comment comment) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = buildCommentEventData(note, comment, patient, "supprimé");
-                            Event event = Event.builder()
-                                    .eventType(EventType.COMMENT_DELETED)
-                                    .data(data)
-                                    .build();
-                            eventPublisher.publishEvent(event);
-                            log.debug("COMMENT_DELETED event published for note: {}", note.getNoteUuid());
-                        },
-                        error -> log.error("Erreur lors de la récupération patient pour event: {}", error.getMessage())
-                );
-    }
-
-    private Map<String, Object> buildCommentEventData(Note note, Comment comment, PatientInfo patient, String action) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", patient != null ? patient.getFullName() : null);
-        data.put("email", patient != null ? patient.getEmail() : null);
-        data.put("recordNumber", note.getNoteUuid());
-        data.put("subject", "Commentaire " + action);
-        data.put("senderName", comment.getAuthorName());
-        data.put("date", LocalDateTime.now().toString());
-        data.put("comment", truncateContent(comment.getContent(), 200));
-        return data;
+        return Event.builder().eventType(eventType).data(data).build();
     }
 
     /**Mappe un Comment vers CommentResponse.*/
@@ -312,4 +261,9 @@ public class NoteCommentServiceImpl implements NoteCommentService {
         if (content.length() <= maxLength) return content;
         return content.substring(0, maxLength - 3) + "...";
     }
-}
\ No newline at end of file
+
+    /**Curseur de la page suivante : position du dernier commentaire servi.*/
+    private static String cursorOf(Comment comment) {
+        return new KeysetCursor(comment.getCreatedAt(), comment.getCommentUuid()).encode();
+    }
+}
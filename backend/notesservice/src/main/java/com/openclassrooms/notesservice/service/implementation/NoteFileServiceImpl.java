@@ -2,19 +2,18 @@ package com.openclassrooms.notesservice.service.implementation;
 
 import com.openclassrooms.notesservice.config.FileStorageConfig;
 import com.openclassrooms.notesservice.dto.FileResponse;
-import com.openclassrooms.notesservice.dto.PatientInfo;
 import com.openclassrooms.notesservice.enumeration.EventType;
 import com.openclassrooms.notesservice.event.Event;
+import com.openclassrooms.notesservice.event.OutboxEntryFactory;
 import com.openclassrooms.notesservice.exception.ApiException;
 import com.openclassrooms.notesservice.model.FileAttachment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
 import com.openclassrooms.notesservice.repository.NoteRepository;
 import com.openclassrooms.notesservice.service.FileStorageService;
 import com.openclassrooms.notesservice.service.NoteFileService;
-import com.openclassrooms.notesservice.service.PatientServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
@@ -24,6 +23,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,7 +32,7 @@ import java.util.Map;
  * ARCHITECTURE RÉACTIVE:
  * Mono.fromCallable() : Encapsule les appels bloquants (MongoDB, FileSystem)
  * subscribeOn(Schedulers.boundedElastic()) : Exécute sur thread-pool élastique
- * Publication d'événements Kafka de manière réactive
+ * Événements enregistrés dans l'outbox de la note, par la même écriture que le fichier (publiés par le relais)
  *
  * @author Kardigué MAGASSA
  * @version 2.0
@@ -46,56 +46,56 @@ public class NoteFileServiceImpl implements NoteFileService {
     private final NoteRepository noteRepository;
     private final FileStorageService fileStorageService;
     private final FileStorageConfig fileStorageConfig;
-    private final PatientServiceClient patientServiceClient;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxEntryFactory outboxEntryFactory;
 
     /**
      * Upload un fichier et l'attache à une note.
-     * Récupération de la note
+     * Lecture des champs d'identification de la note (patient de l'événement)
      * Stockage du fichier physiquement
      * Création de l'attachment
-     * Ajout à la note et sauvegarde MongoDB
-     * Publication de l'événement Kafka (async)
+     * $push atomique du fichier et de l'événement FILE_UPLOADED ; fichier stocké supprimé si la note a disparu entre-temps
      * Retour du FileResponse
      */
     @Override
     public Mono<FileResponse> uploadFile(String noteUuid, MultipartFile file, Jwt jwt) {
         log.debug("Uploading file to note: {}", noteUuid);
 
-        return findNoteByUuid(noteUuid)
-                .flatMap(note -> Mono.fromCallable(() -> {
-                            // Stocker le fichier physiquement
-                            FileStorageService.StoredFileInfo storedInfo = fileStorageService.storeFile(noteUuid, file);
-
-                            // Créer l'attachment
-                            FileAttachment attachment = FileAttachment.builder()
-                                    .fileUuid(storedInfo.getFileUuid())
-                                    .originalName(storedInfo.getOriginalName())
-                                    .storedName(storedInfo.getStoredName())
-                                    .extension(storedInfo.getExtension())
-                                    .contentType(storedInfo.getContentType())
-                                    .size(storedInfo.getSize())
-                                    .formattedSize(storedInfo.getFormattedSize())
-                                    .uri(storedInfo.getRelativePath())
-                                    .uploadedByUuid(jwt.getSubject())
-                                    .uploadedByName(extractName(jwt))
-                                    .uploadedByRole(extractRole(jwt))
-                                    .uploadedAt(LocalDateTime.now())
-                                    .build();
-
-                            // Ajouter à la note
-                            note.addFile(attachment);
-                            noteRepository.save(note);
-
-                            log.info("Fichier uploadé: {} pour la note: {}", storedInfo.getOriginalName(), noteUuid);
+        return Mono.fromCallable(() -> {
+                    Note note = noteRepository.findActiveNote(noteUuid)
+                            .orElseThrow(() -> new ApiException("Note non trouvée: " + noteUuid));
+
+                    // Stocker le fichier physiquement
+                    FileStorageService.StoredFileInfo storedInfo = fileStorageService.storeFile(noteUuid, file);
+
+                    // Créer l'attachment
+                    FileAttachment attachment = FileAttachment.builder()
+                            .fileUuid(storedInfo.getFileUuid())
+                            .originalName(storedInfo.getOriginalName())
+                            .storedName(storedInfo.getStoredName())
+                            .extension(storedInfo.getExtension())
+                            .contentType(storedInfo.getContentType())
+                            .size(storedInfo.getSize())
+                            .formattedSize(storedInfo.getFormattedSize())
+                            .uri(storedInfo.getRelativePath())
+                            .uploadedByUuid(jwt.getSubject())
+                            .uploadedByName(extractName(jwt))
+                            .uploadedByRole(extractRole(jwt))
+                            .uploadedAt(LocalDateTime.now())
+                            .build();
+
+                    // Ajouter à la note, avec l'événement
+                    OutboxEntry event = outboxEntryFactory.create(
+                            fileEvent(EventType.FILE_UPLOADED, note, attachment, "Note médicale - " + note.getPatientUuid()), note.getPatientUuid());
+                    if (noteRepository.pushFile(noteUuid, attachment, event).isEmpty()) {
+                        fileStorageService.deleteFile(noteUuid, attachment.getFileUuid(), attachment.getExtension());
+                        throw new ApiException("Note non trouvée: " + noteUuid);
+                    }
 
-                            //Retourner un tuple (note, attachment) pour l'événement
-                            return new NoteFileContext(note, attachment);
-                        })
-                        .subscribeOn(Schedulers.boundedElastic())
-                        //Publier l'événement de manière réactive (fire and forget)
-                        .doOnSuccess(context -> publishFileUploadedEvent(context.note(), context.attachment()))
-                        .map(context -> mapToFileResponse(context.attachment(), noteUuid)));
+                    log.info("Fichier uploadé: {} pour la note: {}", storedInfo.getOriginalName(), noteUuid);
+                    return attachment;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(attachment -> mapToFileResponse(attachment, noteUuid));
     }
 
     /**Liste tous les fichiers d'une note.*/
@@ -108,12 +108,16 @@ public class NoteFileServiceImpl implements NoteFileService {
                 .map(file -> mapToFileResponse(file, noteUuid));
     }
 
-    /**Télécharge un fichier.*/
+    /**Télécharge un fichier (seul le fichier demandé est lu dans la note).*/
     @Override
     public Mono<FileDownload> downloadFile(String noteUuid, String fileUuid) {
         log.debug("Downloading file: {} from note: {}", fileUuid, noteUuid);
 
-        return findNoteByUuid(noteUuid)
+        return Mono.fromCallable(() -> noteRepository.findActiveNoteWithFile(noteUuid, fileUuid))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(optional -> optional
+                        .map(Mono::just)
+                        .orElseGet(() -> Mono.error(new ApiException("Note non trouvée: " + noteUuid))))
                 .flatMap(note -> {
                     FileAttachment attachment = note.findFile(fileUuid);
                     if (attachment == null) {
@@ -132,6 +136,9 @@ public class NoteFileServiceImpl implements NoteFileService {
                                         .resource(resource)
                                         .filename(attachment.getOriginalName())
                                         .contentType(attachment.getContentType())
+                                        .eTag(attachment.getFileUuid())
+                                        .lastModified(attachment.getUploadedAt() == null ? null
+                                                : attachment.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant())
                                         .build();
                             })
                             .subscribeOn(Schedulers.boundedElastic());
@@ -141,69 +148,47 @@ public class NoteFileServiceImpl implements NoteFileService {
     /**
      * Supprime un fichier d'une note.
      * FLUX:
-     * Récupération de la note
-     * Recherche du fichier
-     * Vérification des droits (propriétaire ou praticien)
-     * Suppression physique
-     * Retrait de la note et sauvegarde
+     * Lecture du seul fichier (nom et patient de l'événement)
+     * $pull conditionné au déposant du fichier ou au praticien de la note, avec l'événement FILE_DELETED
+     * Suppression physique, une fois le fichier détaché
+     * En cas de refus, relecture du seul fichier pour en donner la raison
      */
     @Override
     public Mono<Void> deleteFile(String noteUuid, String fileUuid, Jwt jwt) {
         log.debug("Deleting file: {} from note: {}", fileUuid, noteUuid);
 
-        return findNoteByUuid(noteUuid)
-                .flatMap(note -> {
-                    FileAttachment attachment = note.findFile(fileUuid);
-                    if (attachment == null) {
-                        return Mono.error(new ApiException("Fichier non trouvé: " + fileUuid));
-                    }
-
-                    // Vérifier les droits
-                    String userUuid = jwt.getSubject();
-                    if (!attachment.getUploadedByUuid().equals(userUuid)
-                            && !note.getPractitionerUuid().equals(userUuid)) {
-                        return Mono.error(new ApiException("Non autorisé à supprimer ce fichier"));
-                    }
-
-                    return Mono.fromCallable(() -> {
-                                // Supprimer le fichier physique
-                                fileStorageService.deleteFile(noteUuid, fileUuid, attachment.getExtension());
-
-                                // Retirer de la note
-                                note.removeFile(fileUuid);
-                                noteRepository.save(note);
+        return Mono.fromCallable(() -> noteRepository.findActiveNoteWithFile(noteUuid, fileUuid)
+                        .filter(note -> note.findFile(fileUuid) != null)
+                        .flatMap(note -> noteRepository.pullFile(noteUuid, fileUuid, jwt.getSubject(), outboxEntryFactory.create(
+                                fileEvent(EventType.FILE_DELETED, note, note.findFile(fileUuid), "Fichier supprimé"), note.getPatientUuid()))))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(optional -> optional
+                        .map(Mono::just)
+                        .orElseGet(() -> rejectFileDelete(noteUuid, fileUuid)))
+                .flatMap(note -> Mono.fromRunnable(() -> {
+                            FileAttachment attachment = note.getFiles().getFirst();
+                            // Supprimer le fichier physique
+                            fileStorageService.deleteFile(noteUuid, fileUuid, attachment.getExtension());
 
-                                log.info("Fichier supprimé: {} de la note: {}", fileUuid, noteUuid);
-                                return note;
-                            })
-                            .doOnSuccess(n -> publishFileDeletedEvent(n, attachment))
-                            .subscribeOn(Schedulers.boundedElastic());
-                })
+                            log.info("Fichier supprimé: {} de la note: {}", fileUuid, noteUuid);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))
                 .then();
     }
 
-    private void publishFileDeletedEvent(Note note, FileAttachment file) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = new HashMap<>();
-                            data.put("name", patient != null ? patient.getFullName() : null);
-                            data.put("email", patient != null ? patient.getEmail() : null);
-                            data.put("recordNumber", note.getNoteUuid());
-                            data.put("subject", "Fichier supprimé");
-                            data.put("uploaderName", file.getUploadedByName());
-                            data.put("date", LocalDateTime.now().toString());
-                            data.put("files", file.getOriginalName());
-
-                            Event event = Event.builder()
-                                    .eventType(EventType.FILE_DELETED)
-                                    .data(data)
-                                    .build();
-                            eventPublisher.publishEvent(event);
-                            log.debug("FILE_DELETED event published for note: {}", note.getNoteUuid());
-                        },
-                        error -> log.error("Erreur lors de la récupération patient pour event: {}", error.getMessage())
-                );
+    /**Raison du refus d'un retrait : note absente, fichier absent ou droits insuffisants.*/
+    private Mono<Note> rejectFileDelete(String noteUuid, String fileUuid) {
+        return Mono.fromCallable(() -> noteRepository.findActiveNoteWithFile(noteUuid, fileUuid))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(optional -> {
+                    if (optional.isEmpty()) {
+                        return Mono.error(new ApiException("Note non trouvée: " + noteUuid));
+                    }
+                    if (optional.get().findFile(fileUuid) == null) {
+                        return Mono.error(new ApiException("Fichier non trouvé: " + fileUuid));
+                    }
+                    return Mono.error(new ApiException("Non autorisé à supprimer ce fichier"));
+                });
     }
 
     /**Recherche une note par UUID.*/
@@ -216,37 +201,18 @@ public class NoteFileServiceImpl implements NoteFileService {
     }
 
     /**
-     * Publie un événement FILE_UPLOADED avec les infos patient.
-     * Exécution asynchrone (fire and forget).
+     * Données des événements de fichier, tirées de la note et du fichier : le NotificationService
+     * résout les coordonnées du patient à partir de patientUuid.
      */
-    private void publishFileUploadedEvent(Note note, FileAttachment file) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = buildEventData(note, file, patient);
-                            Event event = Event.builder()
-                                    .eventType(EventType.FILE_UPLOADED)
-                                    .data(data)
-                                    .build();
-                            eventPublisher.publishEvent(event);
-                            log.debug("FILE_UPLOADED event published for note: {}", note.getNoteUuid());
-                        },
-                        error -> log.error("Erreur lors de la récupération patient pour event: {}", error.getMessage()),
-                        () -> log.debug("No patient info found for event, skipping notification")
-                );
-    }
-
-    /**Construit les données de l'événement.*/
-    private Map<String, Object> buildEventData(Note note, FileAttachment file, PatientInfo patient) {
+    private Event fileEvent(EventType eventType, Note note, FileAttachment file, String subject) {
         Map<String, Object> data = new HashMap<>();
-        data.put("name", patient != null ? patient.getFullName() : null);
-        data.put("email", patient != null ? patient.getEmail() : null);
+        data.put("patientUuid", note.getPatientUuid());
         data.put("recordNumber", note.getNoteUuid());
-        data.put("subject", "Note médicale - " + note.getPatientUuid());
+        data.put("subject", subject);
         data.put("uploaderName", file.getUploadedByName());
         data.put("date", LocalDateTime.now().toString());
         data.put("files", file.getOriginalName());
-        return data;
+        return Event.builder().eventType(eventType).data(data).build();
     }
 
     /**Mappe un FileAttachment vers FileResponse.*/
@@ -295,7 +261,4 @@ public class NoteFileServiceImpl implements NoteFileService {
         }
         return "USER";
     }
-
-    /**Record interne pour transporter note et attachment ensemble.*/
-    private record NoteFileContext(Note note, FileAttachment attachment) {}
 }
\ No newline at end of file
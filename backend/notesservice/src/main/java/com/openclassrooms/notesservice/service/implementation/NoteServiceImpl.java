@@ -1,18 +1,26 @@
 package com.openclassrooms.notesservice.service.implementation;
 
+import com.openclassrooms.commons.trigger.TriggerTerms;
+import com.openclassrooms.notesservice.config.CommentConfig;
+import com.openclassrooms.notesservice.config.NoteListConfig;
+import com.openclassrooms.notesservice.domain.KeysetCursor;
+import com.openclassrooms.notesservice.dto.NotePage;
 import com.openclassrooms.notesservice.dto.NoteRequest;
 import com.openclassrooms.notesservice.dto.NoteResponse;
 import com.openclassrooms.notesservice.enumeration.EventType;
 import com.openclassrooms.notesservice.event.Event;
+import com.openclassrooms.notesservice.event.OutboxEntryFactory;
 import com.openclassrooms.notesservice.exception.ApiException;
 import com.openclassrooms.notesservice.mapper.NoteMapper;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import com.openclassrooms.notesservice.repository.CommentRepository;
 import com.openclassrooms.notesservice.repository.NoteRepository;
 import com.openclassrooms.notesservice.service.NoteService;
 import com.openclassrooms.notesservice.service.PatientServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,32 +29,108 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NoteServiceImpl implements NoteService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_LENGTH = 100;
+
     private final NoteRepository noteRepository;
+    private final CommentRepository commentRepository;
+    private final CommentConfig commentConfig;
+    private final NoteListConfig noteListConfig;
     private final NoteMapper noteMapper;
     private final PatientServiceClient patientServiceClient;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxEntryFactory outboxEntryFactory;
+
+    /**
+     * Liste plafonnée à notes.list.max-results : une note de plus est lue pour signaler la troncature.
+     * Liste tronquée : truncated et nextCursor, à passer à getActiveNotesPage (même ordre) pour lire la suite.
+     */
+    @Override
+    public Mono<NotePage> getAllActiveNotes() {
+        int maxResults = noteListConfig.getMaxResults();
+        return Mono.fromCallable(() -> {
+                    List<NoteSummary> rows = noteRepository.findActiveSummaries(maxResults + 1);
+                    boolean truncated = rows.size() > maxResults;
+                    List<NoteSummary> notes = truncated ? rows.subList(0, maxResults) : rows;
+                    if (truncated) {
+                        log.warn("Liste des notes tronquée à {} résultats, utiliser /api/notes/scroll ou /api/notes/stream", maxResults);
+                    }
+                    return NotePage.builder()
+                            .notes(notes.stream().map(noteMapper::toSummaryResponse).toList())
+                            .truncated(truncated)
+                            .nextCursor(truncated ? cursorOf(notes.getLast()) : null)
+                            .build();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 
+    /**
+     * Page de notes actives par curseur (createdAt, noteUuid) : coût constant quelle que soit la profondeur.
+     * size + 1 notes sont lues pour savoir s'il existe une page suivante, sans comptage.
+     */
     @Override
-    public Flux<NoteResponse> getAllActiveNotes() {
-        return Mono.fromCallable(noteRepository::findByActiveTrueOrderByCreatedAtDesc)
+    public Mono<NotePage> getActiveNotesPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new ApiException("Pagination invalide (1 <= size <= " + MAX_PAGE_SIZE + ")"));
+        }
+        return Mono.fromCallable(() -> {
+                    KeysetCursor position = KeysetCursor.parse(cursor);
+                    List<NoteSummary> rows = position == null
+                            ? noteRepository.findActiveSummariesBefore(null, null, size + 1)
+                            : noteRepository.findActiveSummariesBefore(position.createdAt(), position.uuid(), size + 1);
+                    List<NoteSummary> page = rows.size() > size ? rows.subList(0, size) : rows;
+                    return NotePage.builder()
+                            .notes(page.stream().map(noteMapper::toSummaryResponse).toList())
+                            .nextCursor(rows.size() > size ? cursorOf(page.getLast()) : null)
+                            .build();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<NoteResponse> streamAllActiveNotes() {
+        log.debug("Streaming all active notes");
+
+        // Le curseur n'avance qu'à la demande de l'abonné : au plus un lot en mémoire
+        return Flux.fromStream(() -> noteRepository.streamActiveSummaries(noteListConfig.getExportBatchSize()))
                 .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(Flux::fromIterable)
-                .map(noteMapper::toResponse);
+                .map(noteMapper::toSummaryResponse);
     }
 
     @Override
     public Mono<Page<NoteResponse>> getAllActiveNotesPageable(Pageable pageable) {
-        return Mono.fromCallable(() -> noteRepository.findByActiveTrueOrderByCreatedAtDesc(pageable))
+        return Mono.fromCallable(() -> noteRepository.findActiveSummaries(pageable))
                 .subscribeOn(Schedulers.boundedElastic())
-                .map(page -> page.map(noteMapper::toResponse));
+                .map(page -> page.map(noteMapper::toSummaryResponse));
+    }
+
+    /**
+     * Recherche paginée sur le contenu complet des notes, le praticien et les patients désignés.
+     * Sans texte de recherche : liste paginée de toutes les notes actives.
+     */
+    @Override
+    public Mono<Page<NoteResponse>> searchActiveNotes(String search, List<String> patientUuids, Pageable pageable) {
+        if (search == null || search.isBlank()) {
+            return getAllActiveNotesPageable(pageable);
+        }
+        if (search.length() > MAX_SEARCH_LENGTH) {
+            return Mono.error(new ApiException("Recherche trop longue (max " + MAX_SEARCH_LENGTH + " caractères)"));
+        }
+        return Mono.fromCallable(() -> noteRepository.searchActiveSummaries(search.strip(), patientUuids, pageable))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(page -> page.map(noteMapper::toSummaryResponse));
     }
 
     @Override
@@ -62,10 +146,12 @@ public class NoteServiceImpl implements NoteService {
 
         return Mono.fromCallable(() -> {
                     Note note = noteMapper.toEntity(request, practitionerUuid, practitionerName);
+                    note.setTriggers(new ArrayList<>(TriggerTerms.findTriggers(note.getContent())));
+                    // Événement enregistré avec la note : une seule écriture
+                    note.setOutbox(List.of(outboxEntryFactory.create(noteEvent(EventType.NOTE_CREATED, note), note.getPatientUuid())));
                     return noteRepository.save(note);
                 })
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(note -> publishNoteCreatedEvent(note, practitionerName))
                 .map(noteMapper::toResponse);
     }
 
@@ -73,10 +159,16 @@ public class NoteServiceImpl implements NoteService {
     public Mono<NoteResponse> getNoteByUuid(String noteUuid) {
         log.debug("Fetching note: {}", noteUuid);
 
-        return Mono.fromCallable(() -> noteRepository.findByNoteUuidAndActiveTrue(noteUuid))
+        // Le détail porte la première page du fil ; la suite se lit sur /comments avec le curseur
+        return Mono.fromCallable(() -> noteRepository.findByNoteUuidAndActiveTrue(noteUuid).map(note -> {
+                    NoteResponse response = noteMapper.toResponse(note);
+                    response.setComments(noteMapper.toCommentResponseList(
+                            commentRepository.findPage(noteUuid, null, null, commentConfig.getPageSize())));
+                    return response;
+                }))
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMap(optional -> optional
-                        .map(note -> Mono.just(noteMapper.toResponse(note)))
+                        .map(Mono::just)
                         .orElseGet(() -> Mono.error(new ApiException("Note non trouvée: " + noteUuid))));
     }
 
@@ -84,9 +176,20 @@ public class NoteServiceImpl implements NoteService {
     public Flux<NoteResponse> getNotesByPatientUuid(String patientUuid) {
         log.debug("Fetching notes for patient: {}", patientUuid);
 
-        return Mono.fromCallable(() -> noteRepository.findByPatientUuidAndActiveTrueOrderByCreatedAtDesc(patientUuid))
+        // Vues réduites : le document complet n'est lu que par getNoteByUuid
+        return Mono.fromCallable(() -> noteRepository.findActiveSummariesByPatientUuid(patientUuid))
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMapMany(Flux::fromIterable)
+                .map(noteMapper::toSummaryResponse);
+    }
+
+    @Override
+    public Flux<NoteResponse> streamNotesByPatientUuid(String patientUuid) {
+        log.debug("Streaming notes for patient: {}", patientUuid);
+
+        // Flux.fromStream ferme le Stream (donc le curseur) à la fin, sur erreur ou annulation
+        return Flux.fromStream(() -> noteRepository.streamActiveNotesByPatientUuid(patientUuid))
+                .subscribeOn(Schedulers.boundedElastic())
                 .map(noteMapper::toResponse);
     }
 
@@ -94,19 +197,19 @@ public class NoteServiceImpl implements NoteService {
     public Mono<Page<NoteResponse>> getNotesByPatientUuidPageable(String patientUuid, Pageable pageable) {
         log.debug("Fetching notes page for patient: {}", patientUuid);
 
-        return Mono.fromCallable(() -> noteRepository.findByPatientUuidAndActiveTrueOrderByCreatedAtDesc(patientUuid, pageable))
+        return Mono.fromCallable(() -> noteRepository.findActiveSummariesByPatientUuid(patientUuid, pageable))
                 .subscribeOn(Schedulers.boundedElastic())
-                .map(page -> page.map(noteMapper::toResponse));
+                .map(page -> page.map(noteMapper::toSummaryResponse));
     }
 
     @Override
     public Flux<NoteResponse> getNotesByPractitionerUuid(String practitionerUuid) {
         log.debug("Fetching notes by practitioner: {}", practitionerUuid);
 
-        return Mono.fromCallable(() -> noteRepository.findByPractitionerUuidAndActiveTrueOrderByCreatedAtDesc(practitionerUuid))
+        return Mono.fromCallable(() -> noteRepository.findActiveSummariesByPractitionerUuid(practitionerUuid))
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMapMany(Flux::fromIterable)
-                .map(noteMapper::toResponse);
+                .map(noteMapper::toSummaryResponse);
     }
 
     @Override
@@ -126,12 +229,25 @@ public class NoteServiceImpl implements NoteService {
                         return Mono.error(new ApiException("Non autorisé à modifier cette note"));
                     }
 
-                    existingNote.setContent(request.getContent());
-                    existingNote.setUpdatedAt(LocalDateTime.now());
+                    List<String> triggers = new ArrayList<>(TriggerTerms.findTriggers(request.getContent()));
+                    LocalDateTime now = LocalDateTime.now();
+                    OutboxEntry event = outboxEntryFactory.create(
+                            noteEvent(EventType.NOTE_UPDATED, existingNote.toBuilder().content(request.getContent()).build()),
+                            existingNote.getPatientUuid());
 
-                    return Mono.fromCallable(() -> noteRepository.save(existingNote))
+                    // $set du seul contenu, à la version lue : fichiers et commentaires ajoutés entre-temps sont préservés
+                    return Mono.fromCallable(() -> noteRepository.updateContent(noteUuid, existingNote.getVersion(), request.getContent(), triggers, now, event))
                             .subscribeOn(Schedulers.boundedElastic())
-                            .doOnSuccess(this::publishNoteUpdatedEvent)
+                            .flatMap(updated -> {
+                                if (!updated) {
+                                    return Mono.error(new ApiException("Note modifiée entre-temps, veuillez recharger: " + noteUuid));
+                                }
+                                existingNote.setContent(request.getContent());
+                                existingNote.setTriggers(triggers);
+                                existingNote.setUpdatedAt(now);
+                                existingNote.setVersion(existingNote.getVersion() == null ? 1L : existingNote.getVersion() + 1);
+                                return Mono.just(existingNote);
+                            })
                             .map(noteMapper::toResponse);
                 });
     }
@@ -140,19 +256,14 @@ public class NoteServiceImpl implements NoteService {
     public Mono<Void> deleteNote(String noteUuid) {
         log.info("Soft deleting note: {}", noteUuid);
 
-        return Mono.fromCallable(() -> noteRepository.findByNoteUuidAndActiveTrue(noteUuid))
+        return Mono.fromCallable(() -> noteRepository.findActiveNote(noteUuid)
+                        .filter(note -> noteRepository.deactivate(noteUuid, LocalDateTime.now(),
+                                outboxEntryFactory.create(noteEvent(EventType.NOTE_DELETED, note), note.getPatientUuid())))
+                        .isPresent())
                 .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(optional -> {
-                    if (optional.isEmpty()) {
-                        return Mono.error(new ApiException("Note non trouvée: " + noteUuid));
-                    }
-                    Note note = optional.get();
-                    note.setActive(false);
-                    note.setUpdatedAt(LocalDateTime.now());
-
-                    return Mono.fromCallable(() -> noteRepository.save(note))
-                            .subscribeOn(Schedulers.boundedElastic());
-                })
+                .flatMap(deactivated -> deactivated
+                        ? Mono.just(true)
+                        : Mono.<Boolean>error(new ApiException("Note non trouvée: " + noteUuid)))
                 .then();
     }
 
@@ -162,49 +273,52 @@ public class NoteServiceImpl implements NoteService {
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
-    // EVENT PUBLISHING
-
-    private void publishNoteCreatedEvent(Note note, String practitionerName) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = new HashMap<>();
-                            data.put("name", patient != null ? patient.getFullName() : null);
-                            data.put("email", patient != null ? patient.getEmail() : null);
-                            data.put("patientNumber", note.getPatientUuid());
-                            data.put("doctorName", practitionerName);
-                            data.put("department", "Médecine générale");
-                            data.put("date", LocalDateTime.now().toString());
-                            data.put("notePreview", truncate(note.getContent(), 100));
-
-                            eventPublisher.publishEvent(Event.builder()
-                                    .eventType(EventType.NOTE_CREATED).data(data).build());
-                        },
-                        error -> log.error("Error publishing NOTE_CREATED: {}", error.getMessage())
-                );
-    }
-
-    private void publishNoteUpdatedEvent(Note note) {
-        patientServiceClient.getPatientContactInfo(note.getPatientUuid())
-                .subscribe(
-                        patient -> {
-                            Map<String, Object> data = new HashMap<>();
-                            data.put("name", patient != null ? patient.getFullName() : null);
-                            data.put("email", patient != null ? patient.getEmail() : null);
-                            data.put("patientNumber", note.getPatientUuid());
-                            data.put("doctorName", note.getPractitionerName());
-                            data.put("date", LocalDateTime.now().toString());
-                            data.put("notePreview", truncate(note.getContent(), 100));
-
-                            eventPublisher.publishEvent(Event.builder()
-                                    .eventType(EventType.NOTE_UPDATED).data(data).build());
-                        },
-                        error -> log.error("Error publishing NOTE_UPDATED: {}", error.getMessage())
-                );
+    /**
+     * Union des déclencheurs des notes actives du patient, lue depuis l'index calculé à l'écriture.
+     * Les notes pas encore indexées (TriggerMigration en cours ou interrompue) sont analysées ici, sans écriture :
+     * l'union reste complète, l'index n'est écrit que par la migration.
+     */
+    @Override
+    public Mono<List<String>> getTriggersByPatientUuid(String patientUuid) {
+        log.debug("Fetching trigger index for patient: {}", patientUuid);
+
+        return Mono.fromCallable(() -> {
+                    Set<String> triggers = new HashSet<>(noteRepository.findDistinctTriggersByPatientUuid(patientUuid));
+                    for (Note legacyNote : noteRepository.findActiveNotesWithoutTriggers(patientUuid)) {
+                        triggers.addAll(TriggerTerms.findTriggers(legacyNote.getContent()));
+                    }
+                    return triggers.stream()
+                            .sorted(Comparator.comparingInt(TriggerTerms.TERMS::indexOf))
+                            .toList();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // EVENTS
+
+    /**
+     * Données de NOTE_CREATED et NOTE_UPDATED, tirées de la seule note : patientNumber porte l'UUID du patient,
+     * dont le NotificationService résout les coordonnées.
+     */
+    private Event noteEvent(EventType eventType, Note note) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("patientNumber", note.getPatientUuid());
+        data.put("doctorName", note.getPractitionerName());
+        if (eventType == EventType.NOTE_CREATED) {
+            data.put("department", "Médecine générale");
+        }
+        data.put("date", LocalDateTime.now().toString());
+        data.put("notePreview", truncate(note.getContent(), 100));
+        return Event.builder().eventType(eventType).data(data).build();
     }
 
     private String truncate(String content, int max) {
         if (content == null) return "";
         return content.length() <= max ? content : content.substring(0, max - 3) + "...";
     }
+
+    /**Curseur de la page suivante : position de la dernière note servie.*/
+    private static String cursorOf(NoteSummary note) {
+        return new KeysetCursor(note.getCreatedAt(), note.getNoteUuid()).encode();
+    }
 }
\ No newline at end of file
@@ -79,29 +79,6 @@ public class PatientServiceClientImpl implements PatientServiceClient {
                 });
     }
 
-    /**
-     * Récupère les infos de contact d'un patient.
-     * Vérifie que le patient a un email configuré.
-     *
-     * @param patientUuid UUID du patient
-     * @return Mono<PatientInfo> ou Mono.empty() si pas d'email
-     */
-    @Override
-    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getPatientContactInfoFallback")
-    public Mono<PatientInfo> getPatientContactInfo(String patientUuid) {
-        log.debug("Fetching patient contact info: {}", patientUuid);
-
-        return getPatientByUuid(patientUuid)
-                .flatMap(patient -> {
-                    if (patient.getEmail() == null || patient.getEmail().isBlank()) {
-                        log.warn("Patient {} has no email configured", patientUuid);
-                        return Mono.empty();
-                    }
-                    return Mono.just(patient);
-                })
-                .switchIfEmpty(Mono.empty());
-    }
-
     @Override
     public Mono<PatientInfo> getMyPatient() {
         log.debug("Fetching current user's patient record via /me");
@@ -129,12 +106,6 @@ public class PatientServiceClientImpl implements PatientServiceClient {
         return Mono.empty();
     }
 
-    /**Fallback pour getPatientContactInfo.*/
-    public Mono<PatientInfo> getPatientContactInfoFallback(String patientUuid, Throwable throwable) {
-        log.error("Fallback getPatientContactInfo - UUID: {}, Cause: {}", patientUuid, throwable.getMessage());
-        return Mono.empty();
-    }
-
     /**Extrait PatientInfo depuis la réponse ExternalResponse.*/
     private PatientInfo extractPatientInfo(ExternalResponse response) {
         try {
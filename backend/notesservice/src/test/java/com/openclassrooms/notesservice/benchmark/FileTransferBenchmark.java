@@ -0,0 +1,251 @@
+package com.openclassrooms.notesservice.benchmark;
+
+import com.openclassrooms.notesservice.config.FileStorageConfig;
+import com.openclassrooms.notesservice.service.FileStorageService.StoredFileInfo;
+import com.openclassrooms.notesservice.service.implementation.FileStorageServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH des transferts de pièces jointes sur disque, de 1 KB à 500 MB :
+ * upload par transferTo + renommage atomique (la part que Tomcat a déjà écrite sur disque est déplacée)
+ * vs ancien Files.copy du flux de la part, puis téléchargement complet (FileSystemResource vs ancienne UrlResource)
+ * et téléchargement du dernier MB par plage (Range), tels qu'écrits par les convertisseurs de Spring MVC.
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileTransferBenchmark {
+
+    private static final String NOTE_UUID = "benchmark-note";
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Param({"1024", "1048576", "67108864", "524288000"})
+    public long fileSize;
+
+    private Path workDir;
+    private Path sourceFile;
+    private FileStorageServiceImpl storage;
+    private StoredFileInfo storedFile;
+    private final ResourceHttpMessageConverter resourceConverter = new ResourceHttpMessageConverter();
+    private final ResourceRegionHttpMessageConverter regionConverter = new ResourceRegionHttpMessageConverter();
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("notes-file-benchmark");
+        sourceFile = workDir.resolve("source.pdf");
+        writeRandomFile(sourceFile, fileSize);
+
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(workDir.resolve("uploads").toString());
+        config.setMaxFileSize(Long.MAX_VALUE);
+        storage = new FileStorageServiceImpl(config);
+        storage.init();
+
+        storedFile = storage.storeFile("download-note", new SpooledPart(copyOfSource()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    /** Part fraîchement écrite sur disque avant chaque upload, comme Tomcat au-delà de file-size-threshold. */
+    @State(Scope.Thread)
+    public static class Upload {
+
+        SpooledPart part;
+
+        @Setup(Level.Invocation)
+        public void spool(FileTransferBenchmark benchmark) throws IOException {
+            part = new SpooledPart(benchmark.copyOfSource());
+        }
+
+        @TearDown(Level.Invocation)
+        public void clean(FileTransferBenchmark benchmark) throws IOException {
+            Files.deleteIfExists(part.path);
+            FileSystemUtils.deleteRecursively(benchmark.workDir.resolve("uploads").resolve("notes").resolve(NOTE_UUID));
+        }
+    }
+
+    @Benchmark
+    public long streamedUpload(Upload upload) {
+        return storage.storeFile(NOTE_UUID, upload.part).getSize();
+    }
+
+    @Benchmark
+    public long legacyUpload(Upload upload) throws IOException {
+        Path noteDir = Files.createDirectories(workDir.resolve("uploads").resolve("notes").resolve(NOTE_UUID));
+        return Files.copy(upload.part.getInputStream(), noteDir.resolve("legacy.pdf"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Benchmark
+    public long download() throws IOException {
+        Resource resource = storage.loadFileAsResource("download-note", storedFile.getFileUuid(), storedFile.getExtension());
+        return write(resource);
+    }
+
+    @Benchmark
+    public long legacyDownload() throws IOException {
+        Resource resource = new UrlResource(storage.loadFileAsResource("download-note", storedFile.getFileUuid(), storedFile.getExtension()).getURI());
+        return write(resource);
+    }
+
+    @Benchmark
+    public long rangeDownload() throws IOException {
+        Resource resource = storage.loadFileAsResource("download-note", storedFile.getFileUuid(), storedFile.getExtension());
+        long length = Math.min(CHUNK_SIZE, fileSize);
+        CountingOutputMessage message = new CountingOutputMessage();
+        regionConverter.write(new ResourceRegion(resource, fileSize - length, length), MediaType.APPLICATION_PDF, message);
+        return message.count;
+    }
+
+    private long write(Resource resource) throws IOException {
+        CountingOutputMessage message = new CountingOutputMessage();
+        resourceConverter.write(resource, MediaType.APPLICATION_PDF, message);
+        return message.count;
+    }
+
+    private Path copyOfSource() throws IOException {
+        Path spooled = Files.createTempFile(workDir, "upload", ".tmp");
+        return Files.copy(sourceFile, spooled, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeRandomFile(Path path, long size) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (long written = 0; written < size; written += CHUNK_SIZE) {
+                out.write(chunk, 0, (int) Math.min(CHUNK_SIZE, size - written));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FileTransferBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Part multipart déjà sur disque : transferTo la renomme, comme DiskFileItem côté Tomcat. */
+    private static final class SpooledPart implements MultipartFile {
+
+        private final Path path;
+
+        SpooledPart(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "scan.pdf";
+        }
+
+        @Override
+        public String getContentType() {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Sortie HTTP qui compte les octets écrits sans les conserver. */
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private long count;
+
+        @Override
+        public OutputStream getBody() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) {
+                    count++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    count += len;
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.openclassrooms.notesservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notesservice.dto.CommentPage;
 import com.openclassrooms.notesservice.dto.CommentRequest;
 import com.openclassrooms.notesservice.dto.CommentResponse;
 import com.openclassrooms.notesservice.dto.FileResponse;
@@ -33,6 +34,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -228,6 +230,7 @@ class NoteAttachmentControllerTest {
                     .resource(resource)
                     .filename("rapport.pdf")
                     .contentType("application/pdf")
+                    .eTag("file-uuid-123")
                     .build();
 
             when(noteFileService.downloadFile("note-uuid-456", "file-uuid-123"))
@@ -240,10 +243,55 @@ class NoteAttachmentControllerTest {
             mockMvc.perform(asyncDispatch(mvcResult))
                     .andExpect(status().isOk())
                     .andExpect(header().string("Content-Disposition", containsString("rapport.pdf")))
+                    .andExpect(header().string("ETag", "\"file-uuid-123\""))
+                    .andExpect(header().string("Accept-Ranges", "bytes"))
                     .andExpect(content().contentType("application/pdf"));
 
             verify(noteFileService).downloadFile("note-uuid-456", "file-uuid-123");
         }
+
+        @Test
+        @DisplayName("Should return 304 when the client already holds the file")
+        void downloadFile_ifNoneMatch_returns304() throws Exception {
+            when(noteFileService.downloadFile("note-uuid-456", "file-uuid-123"))
+                    .thenReturn(Mono.just(pdfDownload("PDF content".getBytes())));
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/notes/note-uuid-456/files/file-uuid-123/download")
+                            .header("If-None-Match", "\"file-uuid-123\""))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        @DisplayName("Should return 206 with the requested byte range")
+        void downloadFile_rangeHeader_returns206() throws Exception {
+            when(noteFileService.downloadFile("note-uuid-456", "file-uuid-123"))
+                    .thenReturn(Mono.just(pdfDownload("0123456789".getBytes())));
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/notes/note-uuid-456/files/file-uuid-123/download")
+                            .header("Range", "bytes=2-5"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                    .andExpect(content().string("2345"));
+        }
+
+        private FileDownload pdfDownload(byte[] content) {
+            return FileDownload.builder()
+                    .resource(new ByteArrayResource(content))
+                    .filename("rapport.pdf")
+                    .contentType("application/pdf")
+                    .eTag("file-uuid-123")
+                    .lastModified(Instant.parse("2026-03-01T10:00:00Z"))
+                    .build();
+        }
     }
 
     //  FICHIERS - DELETE
@@ -303,10 +351,13 @@ class NoteAttachmentControllerTest {
     class GetCommentsEndpoint {
 
         @Test
-        @DisplayName("Should return list of comments")
+        @DisplayName("Should return first page of comments with next cursor")
         void getComments_commentsExist_returns200() throws Exception {
-            when(noteCommentService.getComments("note-uuid-456"))
-                    .thenReturn(Flux.just(testCommentResponse));
+            when(noteCommentService.getComments("note-uuid-456", null, 20))
+                    .thenReturn(Mono.just(CommentPage.builder()
+                            .comments(List.of(testCommentResponse))
+                            .nextCursor("next-cursor")
+                            .build()));
 
             MvcResult mvcResult = mockMvc.perform(get("/api/notes/note-uuid-456/comments"))
                     .andExpect(request().asyncStarted())
@@ -317,27 +368,31 @@ class NoteAttachmentControllerTest {
                     .andExpect(jsonPath("$.data.comments", hasSize(1)))
                     .andExpect(jsonPath("$.data.count", is(1)))
                     .andExpect(jsonPath("$.data.comments[0].commentUuid", is("comment-uuid-789")))
+                    .andExpect(jsonPath("$.data.nextCursor", is("next-cursor")))
                     .andExpect(jsonPath("$.message", containsString("récupérés")));
 
-            verify(noteCommentService).getComments("note-uuid-456");
+            verify(noteCommentService).getComments("note-uuid-456", null, 20);
         }
 
         @Test
-        @DisplayName("Should return empty list when no comments")
-        void getComments_noComments_returns200WithEmptyList() throws Exception {
-            when(noteCommentService.getComments("note-uuid-456"))
-                    .thenReturn(Flux.empty());
-
-            MvcResult mvcResult = mockMvc.perform(get("/api/notes/note-uuid-456/comments"))
+        @DisplayName("Should pass cursor and size and omit nextCursor on last page")
+        void getComments_withCursor_returns200WithoutNextCursor() throws Exception {
+            when(noteCommentService.getComments("note-uuid-456", "abc", 5))
+                    .thenReturn(Mono.just(CommentPage.builder().comments(List.of()).build()));
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/notes/note-uuid-456/comments")
+                            .param("cursor", "abc")
+                            .param("size", "5"))
                     .andExpect(request().asyncStarted())
                     .andReturn();
 
             mockMvc.perform(asyncDispatch(mvcResult))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data.comments", hasSize(0)))
-                    .andExpect(jsonPath("$.data.count", is(0)));
+                    .andExpect(jsonPath("$.data.count", is(0)))
+                    .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
 
-            verify(noteCommentService).getComments("note-uuid-456");
+            verify(noteCommentService).getComments("note-uuid-456", "abc", 5);
         }
     }
 
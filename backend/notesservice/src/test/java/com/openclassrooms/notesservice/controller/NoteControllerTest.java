@@ -2,6 +2,7 @@ package com.openclassrooms.notesservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.openclassrooms.notesservice.dto.NotePage;
 import com.openclassrooms.notesservice.dto.NoteRequest;
 import com.openclassrooms.notesservice.dto.NoteResponse;
 import com.openclassrooms.notesservice.exception.ApiException;
@@ -16,6 +17,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -26,6 +30,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -240,6 +245,155 @@ class NoteControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/notes/patient/{patientUuid}/stream - Stream Notes by Patient")
+    class StreamNotesByPatientTests {
+
+        @Test
+        @DisplayName("Should stream notes as NDJSON, one per line")
+        void streamNotesByPatientUuid_returnsNdjson() throws Exception {
+            when(noteService.streamNotesByPatientUuid(PATIENT_UUID))
+                    .thenReturn(Flux.just(noteResponse, noteResponse));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes/patient/{patientUuid}/stream", PATIENT_UUID)
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn();
+
+            String[] lines = result.getResponse().getContentAsString().strip().split("\n");
+            assertThat(lines).hasSize(2).allSatisfy(line -> assertThat(line).contains(NOTE_UUID));
+            verify(noteService).streamNotesByPatientUuid(PATIENT_UUID);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/notes/page - Search Active Notes")
+    class SearchNotesTests {
+
+        @Test
+        @DisplayName("Should pass the search text and matching patients to the service")
+        void getAllNotesPageable_withSearch_searchesServerSide() throws Exception {
+            when(noteService.searchActiveNotes(eq("diabète"), eq(List.of("p-1", "p-2")), any(Pageable.class)))
+                    .thenReturn(Mono.just(new PageImpl<>(List.of(noteResponse), PageRequest.of(0, 10), 1)));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes/page")
+                            .param("search", "diabète")
+                            .param("patientUuids", "p-1", "p-2"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.notes", hasSize(1)))
+                    .andExpect(jsonPath("$.data.totalElements", is(1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/notes - All Active Notes")
+    class GetAllNotesTests {
+
+        @Test
+        @DisplayName("Should flag a truncated list with the cursor of the rest")
+        void getAllNotes_truncated_returnsCursor() throws Exception {
+            when(noteService.getAllActiveNotes())
+                    .thenReturn(Mono.just(NotePage.builder().notes(List.of(noteResponse)).truncated(true).nextCursor("next").build()));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.notes", hasSize(1)))
+                    .andExpect(jsonPath("$.data.truncated", is(true)))
+                    .andExpect(jsonPath("$.data.nextCursor", is("next")));
+        }
+
+        @Test
+        @DisplayName("Should return the complete list without cursor")
+        void getAllNotes_complete_omitsCursor() throws Exception {
+            when(noteService.getAllActiveNotes())
+                    .thenReturn(Mono.just(NotePage.builder().notes(List.of(noteResponse)).truncated(false).build()));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.count", is(1)))
+                    .andExpect(jsonPath("$.data.truncated", is(false)))
+                    .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/notes/scroll - Scroll Active Notes")
+    class ScrollNotesTests {
+
+        @Test
+        @DisplayName("Should return a page of notes with next cursor")
+        void scrollNotes_returnsPageWithCursor() throws Exception {
+            when(noteService.getActiveNotesPage("abc", 5))
+                    .thenReturn(Mono.just(NotePage.builder().notes(List.of(noteResponse)).nextCursor("next").build()));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes/scroll").param("cursor", "abc").param("size", "5"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.notes", hasSize(1)))
+                    .andExpect(jsonPath("$.data.count", is(1)))
+                    .andExpect(jsonPath("$.data.nextCursor", is("next")));
+        }
+
+        @Test
+        @DisplayName("Should omit next cursor on last page")
+        void scrollNotes_lastPage_omitsCursor() throws Exception {
+            when(noteService.getActiveNotesPage(null, 20))
+                    .thenReturn(Mono.just(NotePage.builder().notes(List.of()).build()));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes/scroll"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.notes", hasSize(0)))
+                    .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/notes/stream - Export Active Notes")
+    class StreamAllNotesTests {
+
+        @Test
+        @DisplayName("Should export notes as NDJSON, one per line")
+        void streamAllNotes_returnsNdjson() throws Exception {
+            when(noteService.streamAllActiveNotes()).thenReturn(Flux.just(noteResponse, noteResponse, noteResponse));
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/notes/stream").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn();
+
+            assertThat(result.getResponse().getContentAsString().strip().split("\n")).hasSize(3);
+            verify(noteService).streamAllActiveNotes();
+        }
+    }
+
     // GET NOTES BY PRACTITIONER TESTS
 
     @Nested
@@ -477,4 +631,28 @@ class NoteControllerTest {
                     .andExpect(jsonPath("$.data.noteCount", is(0)));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("GET /api/notes/triggers/patient/{patientUuid}")
+    class GetTriggersByPatientUuidTests {
+
+        @Test
+        @DisplayName("Should return trigger union for patient")
+        void getTriggersByPatientUuid_returns200() throws Exception {
+            when(noteService.getTriggersByPatientUuid(PATIENT_UUID)).thenReturn(Mono.just(List.of("Fumeur", "Poids")));
+
+            MvcResult asyncResult = mockMvc.perform(
+                            get("/api/notes/triggers/patient/{patientUuid}", PATIENT_UUID))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.patientUuid", is(PATIENT_UUID)))
+                    .andExpect(jsonPath("$.data.triggers", contains("Fumeur", "Poids")))
+                    .andExpect(jsonPath("$.data.triggerCount", is(2)));
+
+            verify(noteService).getTriggersByPatientUuid(PATIENT_UUID);
+        }
+    }
+}
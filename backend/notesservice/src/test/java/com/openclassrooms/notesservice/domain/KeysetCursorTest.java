@@ -0,0 +1,44 @@
+package com.openclassrooms.notesservice.domain;
+
+import com.openclassrooms.notesservice.exception.ApiException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeysetCursor - Tests unitaires")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Devrait relire la position encodée, séparateur compris dans l'UUID")
+    void encode_shouldRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2026, 3, 16, 10, 30, 15, 123_000_000), "n|1");
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un curseur altéré")
+    void decode_shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("bm9uLXZhbGlkZQ"))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Curseur de pagination invalide");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = " ")
+    @DisplayName("Devrait commencer à la première page sans curseur")
+    void parse_shouldReturnNullWithoutCursor(String cursor) {
+        assertThat(KeysetCursor.parse(cursor)).isNull();
+    }
+}
@@ -4,6 +4,7 @@ import com.openclassrooms.notesservice.dto.*;
 import com.openclassrooms.notesservice.model.Comment;
 import com.openclassrooms.notesservice.model.FileAttachment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -53,7 +54,7 @@ class NoteMapperTest {
         }
 
         @Test
-        @DisplayName("Should not set files or comments on new entity")
+        @DisplayName("Should not set files or comment count on new entity")
         void toEntity_newNote_noFilesOrComments() {
             NoteRequest request = NoteRequest.builder()
                     .patientUuid("patient-uuid")
@@ -63,7 +64,7 @@ class NoteMapperTest {
             Note result = mapper.toEntity(request, "pract-uuid", "Dr. Test");
 
             assertThat(result.getFiles()).isNullOrEmpty();
-            assertThat(result.getComments()).isNullOrEmpty();
+            assertThat(result.getCommentCount()).isZero();
         }
     }
 
@@ -77,7 +78,7 @@ class NoteMapperTest {
         void toResponse_noteWithFilesAndComments_returnsResponseWithCounts() {
             Note note = buildNote();
             note.setFiles(List.of(buildFileAttachment("file-1"), buildFileAttachment("file-2")));
-            note.setComments(List.of(buildComment("comment-1")));
+            note.setCommentCount(1);
 
             NoteResponse result = mapper.toResponse(note);
 
@@ -90,7 +91,7 @@ class NoteMapperTest {
             assertThat(result.getFileCount()).isEqualTo(2);
             assertThat(result.getCommentCount()).isEqualTo(1);
             assertThat(result.getFiles()).hasSize(2);
-            assertThat(result.getComments()).hasSize(1);
+            assertThat(result.getComments()).isNull(); // page de commentaires ajoutée par le service
         }
 
         @Test
@@ -98,14 +99,13 @@ class NoteMapperTest {
         void toResponse_emptyNote_zeroCountsAndEmptyLists() {
             Note note = buildNote();
             note.setFiles(List.of());
-            note.setComments(List.of());
+            note.setCommentCount(null); // note antérieure au compteur
 
             NoteResponse result = mapper.toResponse(note);
 
             assertThat(result.getFileCount()).isZero();
             assertThat(result.getCommentCount()).isZero();
             assertThat(result.getFiles()).isEmpty();
-            assertThat(result.getComments()).isEmpty();
         }
 
         @Test
@@ -113,6 +113,29 @@ class NoteMapperTest {
         void toResponse_nullNote_returnsNull() {
             assertThat(mapper.toResponse(null)).isNull();
         }
+
+        @Test
+        @DisplayName("Should convert NoteSummary to list response without content")
+        void toSummaryResponse_summary_returnsPreviewAndCounts() {
+            NoteSummary summary = NoteSummary.builder()
+                    .noteUuid("note-uuid-123")
+                    .patientUuid("patient-uuid")
+                    .practitionerName("Dr. Dupont")
+                    .preview("Note con…")
+                    .fileCount(2)
+                    .commentCount(5)
+                    .build();
+
+            NoteResponse result = mapper.toSummaryResponse(summary);
+
+            assertThat(result.getNoteUuid()).isEqualTo("note-uuid-123");
+            assertThat(result.getPreview()).isEqualTo("Note con…");
+            assertThat(result.getFileCount()).isEqualTo(2);
+            assertThat(result.getCommentCount()).isEqualTo(5);
+            assertThat(result.getContent()).isNull();
+            assertThat(result.getFiles()).isNull();
+            assertThat(result.getComments()).isNull();
+        }
     }
 
     // toResponseList
@@ -269,7 +292,7 @@ class NoteMapperTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .files(List.of())
-                .comments(List.of())
+                .commentCount(0)
                 .build();
     }
 
@@ -0,0 +1,188 @@
+package com.openclassrooms.notesservice.repository;
+
+import com.openclassrooms.notesservice.model.Comment;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import org.bson.Document;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "comments.migration-enabled=false")
+@ActiveProfiles("test")
+@Testcontainers
+@DisplayName("CommentRepository Integration Tests")
+class CommentRepositoryIT {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("spring.data.mongodb.database", () -> "test");
+    }
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String noteUuid;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        noteRepository.deleteAll();
+        noteUuid = UUID.randomUUID().toString();
+        base = LocalDateTime.of(2026, 3, 16, 10, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        noteRepository.deleteAll();
+    }
+
+    private Comment comment(String commentUuid, String authorUuid, LocalDateTime createdAt) {
+        return Comment.builder()
+                .commentUuid(commentUuid)
+                .noteUuid(noteUuid)
+                .content("Commentaire " + commentUuid)
+                .authorUuid(authorUuid)
+                .authorName("Auteur")
+                .edited(false)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Keyset Pagination Tests")
+    class FindPageTests {
+
+        @Test
+        @DisplayName("Should page through the thread in (createdAt, commentUuid) order, ties included")
+        void findPage_afterCursor_returnsFollowingComments() {
+            // Given : c-2 et c-3 partagent le même createdAt
+            commentRepository.insert(List.of(
+                    comment("c-3", "author-1", base.plusMinutes(1)),
+                    comment("c-1", "author-1", base),
+                    comment("c-2", "author-1", base.plusMinutes(1)),
+                    comment("c-4", "author-1", base.plusMinutes(2))));
+            commentRepository.insert(comment("other", "author-1", base).toBuilder().noteUuid("other-note").build());
+
+            // When
+            List<Comment> first = commentRepository.findPage(noteUuid, null, null, 2);
+            List<Comment> second = commentRepository.findPage(noteUuid, base.plusMinutes(1), "c-2", 2);
+
+            // Then
+            assertThat(first).extracting(Comment::getCommentUuid).containsExactly("c-1", "c-2");
+            assertThat(second).extracting(Comment::getCommentUuid).containsExactly("c-3", "c-4");
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional Write Tests")
+    class ConditionalWriteTests {
+
+        @Test
+        @DisplayName("Should update content for the author only")
+        void updateContent_authorOnly() {
+            // Given
+            commentRepository.insert(comment("c-1", "author-1", base));
+
+            // When
+            Optional<Comment> refused = commentRepository.updateContent(noteUuid, "c-1", "author-2", "Piraté", LocalDateTime.now(), event());
+            Optional<Comment> updated = commentRepository.updateContent(noteUuid, "c-1", "author-1", "Après", LocalDateTime.now(), event());
+
+            // Then
+            assertThat(refused).isEmpty();
+            assertThat(updated).isPresent();
+            assertThat(updated.get().getContent()).isEqualTo("Après");
+            assertThat(updated.get().getEdited()).isTrue();
+            assertThat(updated.get().getOutbox()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should remove for the author, or for anyone when no author is required")
+        void remove_authorOrUnrestricted() {
+            // Given
+            commentRepository.insert(List.of(comment("c-1", "author-1", base), comment("c-2", "author-1", base)));
+
+            // When
+            Optional<Comment> refused = commentRepository.remove(noteUuid, "c-1", "author-2");
+            Optional<Comment> byAuthor = commentRepository.remove(noteUuid, "c-1", "author-1");
+            Optional<Comment> byPractitioner = commentRepository.remove(noteUuid, "c-2", null);
+
+            // Then
+            assertThat(refused).isEmpty();
+            assertThat(byAuthor).isPresent();
+            assertThat(byPractitioner).isPresent();
+            assertThat(commentRepository.countByNoteUuid(noteUuid)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Embedded Comments Migration Tests")
+    class MigrationTests {
+
+        @Test
+        @DisplayName("Should move embedded comments once and set the note counter")
+        void migrateEmbeddedComments_isIdempotent() {
+            // Given : note au format antérieur, commentaires dans le document
+            Date createdAt = new Date();
+            Document legacy = new Document("noteUuid", noteUuid)
+                    .append("patientUuid", "patient-1")
+                    .append("practitionerUuid", "pract-1")
+                    .append("content", "Note antérieure")
+                    .append("active", true)
+                    .append("createdAt", createdAt)
+                    .append("comments", List.of(
+                            new Document("commentUuid", "legacy-1").append("content", "Un").append("authorUuid", "author-1").append("createdAt", createdAt),
+                            new Document("commentUuid", "legacy-2").append("content", "Deux").append("authorUuid", "author-2").append("createdAt", createdAt)));
+            mongoTemplate.insert(legacy, mongoTemplate.getCollectionName(Note.class));
+
+            // When
+            int firstRun = commentRepository.migrateEmbeddedComments(1);
+            int secondRun = commentRepository.migrateEmbeddedComments(1);
+
+            // Then
+            assertThat(firstRun).isEqualTo(1);
+            assertThat(secondRun).isZero();
+            assertThat(commentRepository.countByNoteUuid(noteUuid)).isEqualTo(2);
+            assertThat(commentRepository.existsByNoteUuidAndCommentUuid(noteUuid, "legacy-2")).isTrue();
+            Note migrated = noteRepository.findByNoteUuidAndActiveTrue(noteUuid).orElseThrow();
+            assertThat(migrated.getCommentCount()).isEqualTo(2);
+        }
+    }
+
+    private OutboxEntry event() {
+        return OutboxEntry.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("COMMENT_UPDATED")
+                .payload(new byte[]{1})
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
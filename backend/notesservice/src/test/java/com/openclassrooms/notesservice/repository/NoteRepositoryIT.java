@@ -1,9 +1,14 @@
 package com.openclassrooms.notesservice.repository;
 
+import com.openclassrooms.notesservice.model.FileAttachment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
+import com.openclassrooms.notesservice.model.OutboxEntry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -13,6 +18,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,6 +42,9 @@ class NoteRepositoryIT {
     @Autowired
     private NoteRepository noteRepository;
 
+    @Autowired
+    private MongoOutboxStore outboxStore;
+
     private Note testNote;
     private String patientUuid;
     private String practitionerUuid;
@@ -212,6 +221,181 @@ class NoteRepositoryIT {
         }
     }
 
+    @Nested
+    @DisplayName("Note Summary Projection Tests")
+    class NoteSummaryTests {
+
+        @Test
+        @DisplayName("Should project a truncated preview and counts instead of content and files")
+        void findActiveSummariesByPatientUuid_projectsPreviewAndCounts() {
+            // Given
+            testNote.setContent("x".repeat(250));
+            testNote.setCommentCount(3);
+            testNote.setFiles(List.of(FileAttachment.builder().fileUuid("file-1").originalName("a.pdf").uploadedAt(LocalDateTime.now()).build()));
+            noteRepository.save(testNote);
+
+            // When
+            List<NoteSummary> summaries = noteRepository.findActiveSummariesByPatientUuid(patientUuid);
+
+            // Then
+            assertThat(summaries).singleElement().satisfies(summary -> {
+                assertThat(summary.getPreview()).hasSize(201).endsWith("…");
+                assertThat(summary.getFileCount()).isEqualTo(1);
+                assertThat(summary.getCommentCount()).isEqualTo(3);
+                assertThat(summary.getPractitionerUuid()).isEqualTo(practitionerUuid);
+            });
+        }
+
+        @Test
+        @DisplayName("Should keep short content whole and count legacy notes as uncommented")
+        void findActiveSummaries_shortContent_keepsContent() {
+            // Given
+            noteRepository.save(testNote);
+
+            // When
+            List<NoteSummary> summaries = noteRepository.findActiveSummaries(10);
+
+            // Then
+            assertThat(summaries).singleElement().satisfies(summary -> {
+                assertThat(summary.getPreview()).isEqualTo("Test note content");
+                assertThat(summary.getFileCount()).isZero();
+                assertThat(summary.getCommentCount()).isZero();
+            });
+        }
+
+        @Test
+        @DisplayName("Should page summaries newest first and count active notes only")
+        void findActiveSummariesByPatientUuid_pageable_returnsNewestFirst() {
+            // Given
+            testNote.setCreatedAt(LocalDateTime.now().minusDays(1));
+            noteRepository.save(testNote);
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid(UUID.randomUUID().toString()).content("Récente").createdAt(LocalDateTime.now()).build());
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid(UUID.randomUUID().toString()).active(false).build());
+
+            // When
+            Page<NoteSummary> page = noteRepository.findActiveSummariesByPatientUuid(patientUuid, PageRequest.of(0, 1));
+
+            // Then
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(page.getContent()).extracting(NoteSummary::getPreview).containsExactly("Récente");
+        }
+
+        @Test
+        @DisplayName("Should search the full content beyond the preview, the practitioner and the given patients")
+        void searchActiveSummaries_matchesFullContent() {
+            // Given
+            testNote.setContent("x".repeat(250) + " Hémoglobine A1C (a+b)");
+            noteRepository.save(testNote);
+            Note otherPractitioner = noteRepository.save(testNote.toBuilder().id(null).noteUuid(UUID.randomUUID().toString())
+                    .patientUuid("other-patient").practitionerName("Dr. Hémoglobine").content("Suivi").build());
+            Note otherPatient = noteRepository.save(testNote.toBuilder().id(null).noteUuid(UUID.randomUUID().toString())
+                    .patientUuid("named-patient").practitionerName("Dr. Martin").content("Suivi").build());
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid(UUID.randomUUID().toString()).active(false).build());
+
+            // When
+            Page<NoteSummary> byContent = noteRepository.searchActiveSummaries("a1c (A+B)", null, PageRequest.of(0, 10));
+            Page<NoteSummary> byText = noteRepository.searchActiveSummaries("hémoglobine", List.of("named-patient"), PageRequest.of(0, 10));
+
+            // Then
+            assertThat(byContent.getContent()).extracting(NoteSummary::getNoteUuid).containsExactly(testNote.getNoteUuid());
+            assertThat(byText.getTotalElements()).isEqualTo(3);
+            assertThat(byText.getContent()).extracting(NoteSummary::getNoteUuid)
+                    .contains(otherPractitioner.getNoteUuid(), otherPatient.getNoteUuid());
+        }
+    }
+
+    @Nested
+    @DisplayName("Active Notes Scroll And Export Tests")
+    class ScrollAndExportTests {
+
+        private void saveNotes(LocalDateTime createdAt, String... noteUuids) {
+            for (String noteUuid : noteUuids) {
+                noteRepository.save(testNote.toBuilder().id(null).noteUuid(noteUuid).createdAt(createdAt).build());
+            }
+        }
+
+        @Test
+        @DisplayName("Should scroll newest first, ties broken by noteUuid, without skipping or repeating")
+        void findActiveSummariesBefore_walksWholeCollection() {
+            // Given : n-2 et n-3 partagent le même createdAt
+            LocalDateTime base = LocalDateTime.of(2026, 3, 16, 10, 0);
+            saveNotes(base, "n-1");
+            saveNotes(base.plusMinutes(1), "n-2", "n-3");
+            saveNotes(base.plusMinutes(2), "n-4");
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid("inactive").active(false).createdAt(base.plusMinutes(3)).build());
+
+            // When
+            List<NoteSummary> first = noteRepository.findActiveSummariesBefore(null, null, 2);
+            NoteSummary last = first.getLast();
+            List<NoteSummary> second = noteRepository.findActiveSummariesBefore(last.getCreatedAt(), last.getNoteUuid(), 2);
+
+            // Then
+            assertThat(first).extracting(NoteSummary::getNoteUuid).containsExactly("n-4", "n-3");
+            assertThat(second).extracting(NoteSummary::getNoteUuid).containsExactly("n-2", "n-1");
+        }
+
+        @Test
+        @DisplayName("Should cap the list and stream every active note")
+        void findActiveSummaries_capped_andStreamed() {
+            // Given
+            LocalDateTime base = LocalDateTime.of(2026, 3, 16, 10, 0);
+            saveNotes(base, "n-1", "n-2", "n-3");
+
+            // When
+            List<NoteSummary> capped = noteRepository.findActiveSummaries(2);
+            List<NoteSummary> streamed;
+            try (var stream = noteRepository.streamActiveSummaries(1)) {
+                streamed = stream.toList();
+            }
+
+            // Then
+            assertThat(capped).hasSize(2);
+            assertThat(streamed).extracting(NoteSummary::getNoteUuid).containsExactly("n-3", "n-2", "n-1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Trigger Index Migration Tests")
+    class TriggerMigrationTests {
+
+        @Test
+        @DisplayName("Should stream only notes without triggers and index each of them once")
+        void updateTriggers_indexesLegacyNotesOnce() {
+            // Given : une note antérieure sans champ triggers et une note déjà indexée
+            noteRepository.save(testNote.toBuilder().noteUuid("legacy").content("Rechute, poids en hausse").build());
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid("indexed").triggers(List.of("Fumeur")).build());
+
+            // When
+            List<Note> legacyNotes;
+            try (var stream = noteRepository.streamNotesWithoutTriggers(10)) {
+                legacyNotes = stream.toList();
+            }
+            int firstRun = noteRepository.updateTriggers(Map.of("legacy", List.of("Poids", "Rechute")));
+            int secondRun = noteRepository.updateTriggers(Map.of("legacy", List.of("Anormal")));
+
+            // Then
+            assertThat(legacyNotes).extracting(Note::getNoteUuid).containsExactly("legacy");
+            assertThat(legacyNotes.getFirst().getContent()).isEqualTo("Rechute, poids en hausse");
+            assertThat(firstRun).isEqualTo(1);
+            assertThat(secondRun).isZero();
+            assertThat(noteRepository.findDistinctTriggersByPatientUuid(patientUuid))
+                    .containsExactlyInAnyOrder("Poids", "Rechute", "Fumeur");
+        }
+
+        @Test
+        @DisplayName("Should find only the patient's active notes without triggers")
+        void findActiveNotesWithoutTriggers_returnsLegacyNotesOfPatient() {
+            noteRepository.save(testNote.toBuilder().noteUuid("legacy").content("Rechute").build());
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid("indexed").triggers(List.of("Fumeur")).build());
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid("inactive").active(false).build());
+            noteRepository.save(testNote.toBuilder().id(null).noteUuid("other").patientUuid("other-patient").build());
+
+            assertThat(noteRepository.findActiveNotesWithoutTriggers(patientUuid))
+                    .extracting(Note::getNoteUuid)
+                    .containsExactly("legacy");
+        }
+    }
+
     @Nested
     @DisplayName("Find By Practitioner UUID Tests")
     class FindByPractitionerUuidTests {
@@ -428,4 +612,176 @@ class NoteRepositoryIT {
             assertThat(noteRepository.count()).isZero();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Targeted Sub-document Update Tests")
+    class TargetedUpdateTests {
+
+        @Test
+        @DisplayName("Should increment comment count atomically without bumping version")
+        void incrementCommentCount_activeNote_incrementsCounter() {
+            // Given
+            noteRepository.save(testNote);
+
+            // When
+            Optional<Note> first = noteRepository.incrementCommentCount(testNote.getNoteUuid(), LocalDateTime.now());
+            noteRepository.incrementCommentCount(testNote.getNoteUuid(), LocalDateTime.now());
+
+            // Then
+            assertThat(first).isPresent();
+            assertThat(first.get().getPatientUuid()).isEqualTo(patientUuid);
+            Note stored = noteRepository.findByNoteUuidAndActiveTrue(testNote.getNoteUuid()).orElseThrow();
+            assertThat(stored.getCommentCount()).isEqualTo(2);
+            assertThat(stored.getVersion()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should not count comment on inactive note")
+        void incrementCommentCount_inactiveNote_returnsEmpty() {
+            // Given
+            testNote.setActive(false);
+            noteRepository.save(testNote);
+
+            // When & Then
+            assertThat(noteRepository.incrementCommentCount(testNote.getNoteUuid(), LocalDateTime.now())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should decrement comment count")
+        void decrementCommentCount_decrementsCounter() {
+            // Given
+            testNote.setCommentCount(3);
+            noteRepository.save(testNote);
+
+            // When
+            noteRepository.decrementCommentCount(testNote.getNoteUuid(), LocalDateTime.now());
+
+            // Then
+            assertThat(noteRepository.findByNoteUuidAndActiveTrue(testNote.getNoteUuid()).orElseThrow().getCommentCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should project identity fields only")
+        void findActiveNote_projectsIdentityFields() {
+            // Given
+            testNote.setFiles(List.of(FileAttachment.builder().fileUuid("file-1").originalName("a.pdf").uploadedAt(LocalDateTime.now()).build()));
+            noteRepository.save(testNote);
+
+            // When
+            Optional<Note> found = noteRepository.findActiveNote(testNote.getNoteUuid());
+
+            // Then
+            assertThat(found).isPresent();
+            assertThat(found.get().getPractitionerUuid()).isEqualTo(practitionerUuid);
+            assertThat(found.get().getFiles()).isNullOrEmpty();
+        }
+
+        @Test
+        @DisplayName("Should push and pull files, projecting only the requested file")
+        void pushAndPullFile_projectsRequestedFile() {
+            // Given
+            noteRepository.save(testNote);
+            FileAttachment file = FileAttachment.builder()
+                    .fileUuid(UUID.randomUUID().toString())
+                    .originalName("bilan.pdf")
+                    .extension("pdf")
+                    .uploadedByUuid("uploader-1")
+                    .uploadedAt(LocalDateTime.now())
+                    .build();
+            noteRepository.pushFile(testNote.getNoteUuid(), file, event("FILE_UPLOADED"));
+
+            // When
+            Optional<Note> withFile = noteRepository.findActiveNoteWithFile(testNote.getNoteUuid(), file.getFileUuid());
+            Optional<Note> refused = noteRepository.pullFile(testNote.getNoteUuid(), file.getFileUuid(), "uploader-2", event("FILE_DELETED"));
+            Optional<Note> pulled = noteRepository.pullFile(testNote.getNoteUuid(), file.getFileUuid(), "uploader-1", event("FILE_DELETED"));
+
+            // Then
+            assertThat(withFile).isPresent();
+            assertThat(withFile.get().getFiles()).extracting(FileAttachment::getOriginalName).containsExactly("bilan.pdf");
+            assertThat(refused).isEmpty();
+            assertThat(pulled).isPresent();
+            assertThat(pulled.get().getFiles()).extracting(FileAttachment::getFileUuid).containsExactly(file.getFileUuid());
+            Note stored = noteRepository.findByNoteUuidAndActiveTrue(testNote.getNoteUuid()).orElseThrow();
+            assertThat(stored.getFiles()).isEmpty();
+            assertThat(stored.getOutbox()).extracting(OutboxEntry::getEventType).containsExactly("FILE_UPLOADED", "FILE_DELETED");
+        }
+
+        @Test
+        @DisplayName("Should update content at the read version only, keeping concurrent files")
+        void updateContent_staleVersion_returnsFalse() {
+            // Given : note antérieure sans version
+            noteRepository.save(testNote);
+            Long readVersion = noteRepository.findByNoteUuidAndActiveTrue(testNote.getNoteUuid()).orElseThrow().getVersion();
+            noteRepository.pushFile(testNote.getNoteUuid(), FileAttachment.builder()
+                    .fileUuid(UUID.randomUUID().toString())
+                    .originalName("concurrent.pdf")
+                    .uploadedAt(LocalDateTime.now())
+                    .build(), event("FILE_UPLOADED"));
+
+            // When
+            boolean stale = noteRepository.updateContent(testNote.getNoteUuid(), readVersion, "Écrasement", List.of(), LocalDateTime.now(), event("NOTE_UPDATED"));
+            boolean fresh = noteRepository.updateContent(testNote.getNoteUuid(), 1L, "Nouveau contenu", List.of("Fumeur"), LocalDateTime.now(), event("NOTE_UPDATED"));
+
+            // Then
+            assertThat(readVersion).isNull();
+            assertThat(stale).isFalse();
+            assertThat(fresh).isTrue();
+            Note stored = noteRepository.findByNoteUuidAndActiveTrue(testNote.getNoteUuid()).orElseThrow();
+            assertThat(stored.getContent()).isEqualTo("Nouveau contenu");
+            assertThat(stored.getTriggers()).containsExactly("Fumeur");
+            assertThat(stored.getFiles()).hasSize(1);
+            assertThat(stored.getVersion()).isEqualTo(2L);
+            assertThat(stored.getOutbox()).extracting(OutboxEntry::getEventType).containsExactly("FILE_UPLOADED", "NOTE_UPDATED");
+        }
+
+        @Test
+        @DisplayName("Should deactivate an active note once")
+        void deactivate_activeNote_returnsTrueOnce() {
+            // Given
+            noteRepository.save(testNote);
+
+            // When & Then
+            assertThat(noteRepository.deactivate(testNote.getNoteUuid(), LocalDateTime.now(), event("NOTE_DELETED"))).isTrue();
+            assertThat(noteRepository.deactivate(testNote.getNoteUuid(), LocalDateTime.now(), event("NOTE_DELETED"))).isFalse();
+            assertThat(outboxStore.nextBatch(10)).hasSize(1);
+            assertThat(noteRepository.existsByNoteUuidAndActiveTrue(testNote.getNoteUuid())).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Outbox Tests")
+    class OutboxTests {
+
+        @Test
+        @DisplayName("Should read pending events oldest first, then remove only the published ones")
+        void outbox_readsOldestFirstAndRemovesPublished() {
+            // Given
+            OutboxEntry created = event("NOTE_CREATED");
+            created.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+            testNote.setOutbox(List.of(created));
+            noteRepository.save(testNote);
+            noteRepository.updateContent(testNote.getNoteUuid(), null, "Nouveau contenu", List.of(), LocalDateTime.now(), event("NOTE_UPDATED"));
+
+            // When
+            var batch = outboxStore.nextBatch(10);
+            outboxStore.delete(List.of(batch.getFirst().id()));
+
+            // Then
+            assertThat(batch).extracting(message -> message.id().eventId()).containsExactly(created.getEventId(), batch.get(1).id().eventId());
+            assertThat(batch).extracting(message -> message.key()).containsOnly(patientUuid);
+            assertThat(noteRepository.findByNoteUuidAndActiveTrue(testNote.getNoteUuid()).orElseThrow().getOutbox())
+                    .extracting(OutboxEntry::getEventType).containsExactly("NOTE_UPDATED");
+            assertThat(outboxStore.nextBatch(1)).hasSize(1);
+        }
+    }
+
+    private OutboxEntry event(String eventType) {
+        return OutboxEntry.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .eventKey(patientUuid)
+                .payload(new byte[]{1})
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
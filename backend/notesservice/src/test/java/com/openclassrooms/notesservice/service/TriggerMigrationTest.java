@@ -0,0 +1,64 @@
+package com.openclassrooms.notesservice.service;
+
+import com.openclassrooms.notesservice.config.TriggerConfig;
+import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.repository.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TriggerMigration Tests")
+class TriggerMigrationTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    private TriggerMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        TriggerConfig config = new TriggerConfig();
+        config.setMigrationBatchSize(2);
+        migration = new TriggerMigration(noteRepository, config);
+    }
+
+    private static Note legacyNote(String noteUuid, String content) {
+        return Note.builder().noteUuid(noteUuid).content(content).build();
+    }
+
+    @Test
+    @DisplayName("Should index legacy notes batch by batch with their canonical triggers")
+    void migrate_indexesByBatch() {
+        when(noteRepository.streamNotesWithoutTriggers(2)).thenReturn(Stream.of(
+                legacyNote("n-1", "Rechute"),
+                legacyNote("n-2", "Poids en hausse"),
+                legacyNote("n-3", "RAS")));
+        when(noteRepository.updateTriggers(anyMap())).thenAnswer(invocation -> ((Map<?, ?>) invocation.getArgument(0)).size());
+
+        migration.migrate();
+
+        verify(noteRepository).updateTriggers(Map.of("n-1", List.of("Rechute"), "n-2", List.of("Poids")));
+        verify(noteRepository).updateTriggers(Map.of("n-3", List.of()));
+    }
+
+    @Test
+    @DisplayName("Should not propagate a repository failure")
+    void migrate_swallowsFailure() {
+        when(noteRepository.streamNotesWithoutTriggers(2)).thenThrow(new IllegalStateException("mongo down"));
+
+        migration.migrate();
+
+        verify(noteRepository, never()).updateTriggers(anyMap());
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -89,6 +91,25 @@ class FileStorageServiceImplTest {
             assertThat(Files.exists(storedFile)).isTrue();
         }
 
+        @Test
+        @DisplayName("Should write the uploaded bytes and leave no temporary file")
+        void shouldWriteContentWithoutTemporaryFile() throws IOException {
+            // Given
+            byte[] content = new byte[64 * 1024];
+            new Random(42).nextBytes(content);
+            MockMultipartFile file = new MockMultipartFile("file", "scan.pdf", "application/pdf", content);
+
+            // When
+            FileStorageService.StoredFileInfo result = fileStorageService.storeFile(NOTE_UUID, file);
+
+            // Then
+            Path noteDir = tempDir.resolve("notes").resolve(NOTE_UUID);
+            assertThat(Files.readAllBytes(noteDir.resolve(result.getStoredName()))).isEqualTo(content);
+            try (var files = Files.list(noteDir)) {
+                assertThat(files).extracting(path -> path.getFileName().toString()).containsExactly(result.getStoredName());
+            }
+        }
+
         @Test
         @DisplayName("Should throw exception when file is empty")
         void shouldThrowExceptionWhenFileIsEmpty() {
@@ -190,6 +211,21 @@ class FileStorageServiceImplTest {
             assertThat(resource.isReadable()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should load a file-system resource with its length")
+        void shouldLoadFileSystemResourceWithLength() throws IOException {
+            // Given
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", "test content".getBytes());
+            FileStorageService.StoredFileInfo storedInfo = fileStorageService.storeFile(NOTE_UUID, file);
+
+            // When
+            Resource resource = fileStorageService.loadFileAsResource(NOTE_UUID, storedInfo.getFileUuid(), "pdf");
+
+            // Then
+            assertThat(resource).isInstanceOf(FileSystemResource.class);
+            assertThat(resource.contentLength()).isEqualTo("test content".getBytes().length);
+        }
+
         @Test
         @DisplayName("Should throw exception when file not found")
         void shouldThrowExceptionWhenFileNotFound() {
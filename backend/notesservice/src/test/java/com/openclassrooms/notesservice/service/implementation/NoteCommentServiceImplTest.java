@@ -1,32 +1,38 @@
 package com.openclassrooms.notesservice.service.implementation;
 
+import com.openclassrooms.notesservice.domain.KeysetCursor;
 import com.openclassrooms.notesservice.dto.CommentRequest;
-import com.openclassrooms.notesservice.dto.PatientInfo;
+import com.openclassrooms.notesservice.enumeration.EventType;
+import com.openclassrooms.notesservice.event.Event;
+import com.openclassrooms.notesservice.event.OutboxEntryFactory;
 import com.openclassrooms.notesservice.exception.ApiException;
 import com.openclassrooms.notesservice.model.Comment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import com.openclassrooms.notesservice.repository.CommentRepository;
 import com.openclassrooms.notesservice.repository.NoteRepository;
-import com.openclassrooms.notesservice.service.PatientServiceClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.jwt.Jwt;
-import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,10 +43,10 @@ class NoteCommentServiceImplTest {
     private NoteRepository noteRepository;
 
     @Mock
-    private PatientServiceClient patientServiceClient;
+    private CommentRepository commentRepository;
 
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private OutboxEntryFactory outboxEntryFactory;
 
     @InjectMocks
     private NoteCommentServiceImpl noteCommentService;
@@ -48,7 +54,7 @@ class NoteCommentServiceImplTest {
     private Note testNote;
     private Comment testComment;
     private Jwt mockJwt;
-    private PatientInfo patientInfo;
+    private OutboxEntry outboxEntry;
 
     private static final String NOTE_UUID = "note-uuid-123";
     private static final String COMMENT_UUID = "comment-uuid-456";
@@ -72,6 +78,7 @@ class NoteCommentServiceImplTest {
         // Setup comment
         testComment = Comment.builder()
                 .commentUuid(COMMENT_UUID)
+                .noteUuid(NOTE_UUID)
                 .content("Commentaire de test")
                 .authorUuid(AUTHOR_UUID)
                 .authorName("Jean Dupont")
@@ -81,7 +88,7 @@ class NoteCommentServiceImplTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        // Setup note with comments list
+        // Setup note (commentaires dans note_comments)
         testNote = Note.builder()
                 .id("mongo-id")
                 .noteUuid(NOTE_UUID)
@@ -90,28 +97,14 @@ class NoteCommentServiceImplTest {
                 .practitionerName("Dr. Martin")
                 .content("Note de test")
                 .active(true)
-                .comments(new ArrayList<>())
+                .commentCount(1)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        // Setup patient info
-        patientInfo = PatientInfo.builder()
-                .patientUuid(PATIENT_UUID)
-                .userInfo(new PatientInfo.UserInfo(
-                        "Patient",
-                        "Test",
-                        "patient@test.com",
-                        null,
-                        null,
-                        null
-                ))
-                .build();
-    }
-
-    private void setupPatientServiceClientMock() {
-        when(patientServiceClient.getPatientContactInfo(anyString()))
-                .thenReturn(Mono.just(patientInfo));
+        // Événement enregistré avec l'écriture
+        outboxEntry = OutboxEntry.builder().eventId("event-1").eventKey(PATIENT_UUID).build();
+        lenient().when(outboxEntryFactory.create(any(Event.class), any())).thenReturn(outboxEntry);
     }
 
     @Nested
@@ -122,14 +115,12 @@ class NoteCommentServiceImplTest {
         @DisplayName("Should add comment successfully")
         void shouldAddCommentSuccessfully() {
             // Given
-            setupPatientServiceClientMock();
             CommentRequest request = CommentRequest.builder()
                     .content("Nouveau commentaire")
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
+            when(noteRepository.incrementCommentCount(eq(NOTE_UUID), any(LocalDateTime.class)))
                     .thenReturn(Optional.of(testNote));
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
 
             // When & Then
             StepVerifier.create(noteCommentService.addComment(NOTE_UUID, request, mockJwt))
@@ -138,7 +129,36 @@ class NoteCommentServiceImplTest {
                                     response.getAuthorName().equals("Jean Dupont"))
                     .verifyComplete();
 
-            verify(noteRepository).save(any(Note.class));
+            ArgumentCaptor<Comment> captor = ArgumentCaptor.forClass(Comment.class);
+            verify(commentRepository).insert(captor.capture());
+            assertThat(captor.getValue().getAuthorUuid()).isEqualTo(AUTHOR_UUID);
+            assertThat(captor.getValue().getNoteUuid()).isEqualTo(NOTE_UUID);
+            assertThat(captor.getValue().getOutbox()).containsExactly(outboxEntry);
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.COMMENT_CREATED
+                    && "Jean Dupont".equals(event.getData().get("senderName"))), eq(PATIENT_UUID));
+            verify(noteRepository, never()).save(any(Note.class));
+            verify(noteRepository, never()).decrementCommentCount(anyString(), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should restore comment count when insert fails")
+        void shouldRestoreCountWhenInsertFails() {
+            // Given
+            CommentRequest request = CommentRequest.builder()
+                    .content("Commentaire")
+                    .build();
+
+            when(noteRepository.incrementCommentCount(eq(NOTE_UUID), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(testNote));
+            when(commentRepository.insert(any(Comment.class)))
+                    .thenThrow(new IllegalStateException("mongo indisponible"));
+
+            // When & Then
+            StepVerifier.create(noteCommentService.addComment(NOTE_UUID, request, mockJwt))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+
+            verify(noteRepository).decrementCommentCount(eq(NOTE_UUID), any(LocalDateTime.class));
         }
 
         @Test
@@ -149,7 +169,7 @@ class NoteCommentServiceImplTest {
                     .content("Commentaire")
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(anyString()))
+            when(noteRepository.incrementCommentCount(anyString(), any(LocalDateTime.class)))
                     .thenReturn(Optional.empty());
 
             // When & Then
@@ -157,6 +177,8 @@ class NoteCommentServiceImplTest {
                     .expectErrorMatches(err -> err instanceof ApiException &&
                             err.getMessage().contains("Note non trouvée"))
                     .verify();
+
+            verifyNoInteractions(commentRepository);
         }
     }
 
@@ -165,33 +187,90 @@ class NoteCommentServiceImplTest {
     class GetCommentsTests {
 
         @Test
-        @DisplayName("Should return comments for note")
-        void shouldReturnCommentsForNote() {
+        @DisplayName("Should return first page without cursor when no more comments")
+        void shouldReturnLastPageWithoutCursor() {
             // Given
-            testNote.getComments().add(testComment);
+            when(noteRepository.existsByNoteUuidAndActiveTrue(NOTE_UUID)).thenReturn(true);
+            when(commentRepository.findPage(NOTE_UUID, null, null, 21))
+                    .thenReturn(List.of(testComment));
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
+            // When & Then
+            StepVerifier.create(noteCommentService.getComments(NOTE_UUID, null, 20))
+                    .expectNextMatches(page ->
+                            page.getComments().size() == 1 &&
+                                    page.getComments().getFirst().getCommentUuid().equals(COMMENT_UUID) &&
+                                    page.getNextCursor() == null)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should return next cursor pointing at last comment of page")
+        void shouldReturnNextCursorWhenMoreComments() {
+            // Given
+            LocalDateTime base = LocalDateTime.of(2026, 3, 1, 10, 0);
+            List<Comment> rows = List.of(
+                    testComment.toBuilder().commentUuid("c-1").createdAt(base).build(),
+                    testComment.toBuilder().commentUuid("c-2").createdAt(base.plusMinutes(1)).build(),
+                    testComment.toBuilder().commentUuid("c-3").createdAt(base.plusMinutes(2)).build());
+            when(noteRepository.existsByNoteUuidAndActiveTrue(NOTE_UUID)).thenReturn(true);
+            when(commentRepository.findPage(NOTE_UUID, null, null, 3)).thenReturn(rows);
 
             // When & Then
-            StepVerifier.create(noteCommentService.getComments(NOTE_UUID))
-                    .expectNextMatches(response ->
-                            response.getCommentUuid().equals(COMMENT_UUID))
+            StepVerifier.create(noteCommentService.getComments(NOTE_UUID, null, 2))
+                    .assertNext(page -> {
+                        assertThat(page.getComments()).extracting("commentUuid").containsExactly("c-1", "c-2");
+                        assertThat(KeysetCursor.decode(page.getNextCursor()))
+                                .isEqualTo(new KeysetCursor(base.plusMinutes(1), "c-2"));
+                    })
                     .verifyComplete();
         }
 
         @Test
-        @DisplayName("Should return empty flux when no comments")
-        void shouldReturnEmptyFluxWhenNoComments() {
+        @DisplayName("Should resume after the cursor position")
+        void shouldResumeAfterCursor() {
             // Given
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
+            LocalDateTime after = LocalDateTime.of(2026, 3, 1, 10, 1);
+            String cursor = new KeysetCursor(after, "c-2").encode();
+            when(noteRepository.existsByNoteUuidAndActiveTrue(NOTE_UUID)).thenReturn(true);
+            when(commentRepository.findPage(NOTE_UUID, after, "c-2", 3)).thenReturn(List.of());
 
             // When & Then
-            StepVerifier.create(noteCommentService.getComments(NOTE_UUID))
-                    .expectNextCount(0)
+            StepVerifier.create(noteCommentService.getComments(NOTE_UUID, cursor, 2))
+                    .expectNextMatches(page -> page.getComments().isEmpty() && page.getNextCursor() == null)
                     .verifyComplete();
         }
+
+        @Test
+        @DisplayName("Should error when note not found")
+        void shouldErrorWhenNoteNotFound() {
+            // Given
+            when(noteRepository.existsByNoteUuidAndActiveTrue("unknown-uuid")).thenReturn(false);
+
+            // When & Then
+            StepVerifier.create(noteCommentService.getComments("unknown-uuid", null, 20))
+                    .expectErrorMatches(err -> err instanceof ApiException &&
+                            err.getMessage().contains("Note non trouvée"))
+                    .verify();
+
+            verifyNoInteractions(commentRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid page size or cursor")
+        void shouldRejectInvalidPagination() {
+            StepVerifier.create(noteCommentService.getComments(NOTE_UUID, null, 0))
+                    .expectError(ApiException.class)
+                    .verify();
+            StepVerifier.create(noteCommentService.getComments(NOTE_UUID, null, 101))
+                    .expectError(ApiException.class)
+                    .verify();
+            StepVerifier.create(noteCommentService.getComments(NOTE_UUID, "pas-un-curseur", 20))
+                    .expectErrorMatches(err -> err instanceof ApiException &&
+                            err.getMessage().contains("Curseur"))
+                    .verify();
+
+            verify(commentRepository, never()).findPage(anyString(), any(), any(), anyInt());
+        }
     }
 
     @Nested
@@ -202,16 +281,15 @@ class NoteCommentServiceImplTest {
         @DisplayName("Should update comment when authorized")
         void shouldUpdateCommentWhenAuthorized() {
             // Given
-            setupPatientServiceClientMock();
-            testNote.getComments().add(testComment);
 
             CommentRequest request = CommentRequest.builder()
                     .content("Contenu modifié")
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
+            Comment updated = testComment.toBuilder().content("Contenu modifié").edited(true).build();
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(commentRepository.updateContent(eq(NOTE_UUID), eq(COMMENT_UUID), eq(AUTHOR_UUID), eq("Contenu modifié"), any(LocalDateTime.class), any()))
+                    .thenReturn(Optional.of(updated));
 
             // When & Then
             StepVerifier.create(noteCommentService.updateComment(NOTE_UUID, COMMENT_UUID, request, mockJwt))
@@ -225,17 +303,15 @@ class NoteCommentServiceImplTest {
         @DisplayName("Should error when not author")
         void shouldErrorWhenNotAuthor() {
             // Given
-            Comment otherComment = testComment.toBuilder()
-                    .authorUuid("other-author")
-                    .build();
-            testNote.getComments().add(otherComment);
-
             CommentRequest request = CommentRequest.builder()
                     .content("Tentative de modification")
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(commentRepository.updateContent(anyString(), anyString(), anyString(), anyString(), any(LocalDateTime.class), any()))
+                    .thenReturn(Optional.empty());
+            when(commentRepository.existsByNoteUuidAndCommentUuid(NOTE_UUID, COMMENT_UUID))
+                    .thenReturn(true);
 
             // When & Then
             StepVerifier.create(noteCommentService.updateComment(NOTE_UUID, COMMENT_UUID, request, mockJwt))
@@ -252,8 +328,11 @@ class NoteCommentServiceImplTest {
                     .content("Contenu")
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(commentRepository.updateContent(anyString(), anyString(), anyString(), anyString(), any(LocalDateTime.class), any()))
+                    .thenReturn(Optional.empty());
+            when(commentRepository.existsByNoteUuidAndCommentUuid(NOTE_UUID, "unknown-comment"))
+                    .thenReturn(false);
 
             // When & Then
             StepVerifier.create(noteCommentService.updateComment(NOTE_UUID, "unknown-comment", request, mockJwt))
@@ -271,31 +350,31 @@ class NoteCommentServiceImplTest {
         @DisplayName("Should delete comment when author")
         void shouldDeleteCommentWhenAuthor() {
             // Given
-            setupPatientServiceClientMock();
-            testNote.getComments().add(testComment);
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(commentRepository.remove(NOTE_UUID, COMMENT_UUID, AUTHOR_UUID))
+                    .thenReturn(Optional.of(testComment));
 
             // When & Then
             StepVerifier.create(noteCommentService.deleteComment(NOTE_UUID, COMMENT_UUID, mockJwt))
                     .verifyComplete();
 
-            verify(noteRepository).save(any(Note.class));
+            verify(commentRepository).remove(NOTE_UUID, COMMENT_UUID, AUTHOR_UUID);
+            verify(noteRepository).decrementCommentCount(eq(NOTE_UUID), any(LocalDateTime.class), eq(outboxEntry));
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.COMMENT_DELETED
+                    && PATIENT_UUID.equals(event.getData().get("patientUuid"))), eq(PATIENT_UUID));
+            verify(noteRepository, never()).save(any(Note.class));
         }
 
         @Test
         @DisplayName("Should delete comment when note practitioner")
         void shouldDeleteCommentWhenNotePractitioner() {
             // Given
-            setupPatientServiceClientMock();
 
             // Comment by another author
             Comment otherComment = testComment.toBuilder()
                     .authorUuid("other-author")
                     .build();
-            testNote.getComments().add(otherComment);
 
             // JWT user is the note's practitioner
             Jwt practitionerJwt = Jwt.withTokenValue("token")
@@ -307,32 +386,50 @@ class NoteCommentServiceImplTest {
                     .expiresAt(Instant.now().plusSeconds(3600))
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(commentRepository.remove(eq(NOTE_UUID), eq(COMMENT_UUID), isNull()))
+                    .thenReturn(Optional.of(otherComment));
 
             // When & Then
             StepVerifier.create(noteCommentService.deleteComment(NOTE_UUID, COMMENT_UUID, practitionerJwt))
                     .verifyComplete();
+
+            verify(noteRepository).decrementCommentCount(eq(NOTE_UUID), any(LocalDateTime.class), eq(outboxEntry));
         }
 
         @Test
         @DisplayName("Should error when not authorized")
         void shouldErrorWhenNotAuthorized() {
             // Given
-            Comment otherComment = testComment.toBuilder()
-                    .authorUuid("other-author")
-                    .build();
-            testNote.getComments().add(otherComment);
-
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(commentRepository.remove(NOTE_UUID, COMMENT_UUID, AUTHOR_UUID))
+                    .thenReturn(Optional.empty());
+            when(commentRepository.existsByNoteUuidAndCommentUuid(NOTE_UUID, COMMENT_UUID))
+                    .thenReturn(true);
 
             // When & Then
             StepVerifier.create(noteCommentService.deleteComment(NOTE_UUID, COMMENT_UUID, mockJwt))
                     .expectErrorMatches(err -> err instanceof ApiException &&
                             err.getMessage().contains("Non autorisé"))
                     .verify();
+
+            verify(noteRepository, never()).decrementCommentCount(anyString(), any(LocalDateTime.class), any());
+        }
+
+        @Test
+        @DisplayName("Should error when note not found")
+        void shouldErrorWhenNoteNotFound() {
+            // Given
+            when(noteRepository.findActiveNote("unknown-uuid"))
+                    .thenReturn(Optional.empty());
+
+            // When & Then
+            StepVerifier.create(noteCommentService.deleteComment("unknown-uuid", COMMENT_UUID, mockJwt))
+                    .expectErrorMatches(err -> err instanceof ApiException &&
+                            err.getMessage().contains("Note non trouvée"))
+                    .verify();
+
+            verifyNoInteractions(commentRepository);
         }
     }
 }
\ No newline at end of file
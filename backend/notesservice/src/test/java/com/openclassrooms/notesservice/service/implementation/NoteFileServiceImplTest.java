@@ -1,13 +1,15 @@
 package com.openclassrooms.notesservice.service.implementation;
 
 import com.openclassrooms.notesservice.config.FileStorageConfig;
-import com.openclassrooms.notesservice.dto.PatientInfo;
+import com.openclassrooms.notesservice.enumeration.EventType;
+import com.openclassrooms.notesservice.event.Event;
+import com.openclassrooms.notesservice.event.OutboxEntryFactory;
 import com.openclassrooms.notesservice.exception.ApiException;
 import com.openclassrooms.notesservice.model.FileAttachment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.OutboxEntry;
 import com.openclassrooms.notesservice.repository.NoteRepository;
 import com.openclassrooms.notesservice.service.FileStorageService;
-import com.openclassrooms.notesservice.service.PatientServiceClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,13 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.multipart.MultipartFile;
-import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Instant;
@@ -48,10 +48,7 @@ class NoteFileServiceImplTest {
     private FileStorageConfig fileStorageConfig;
 
     @Mock
-    private PatientServiceClient patientServiceClient;
-
-    @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private OutboxEntryFactory outboxEntryFactory;
 
     @InjectMocks
     private NoteFileServiceImpl noteFileService;
@@ -59,7 +56,7 @@ class NoteFileServiceImplTest {
     private Note testNote;
     private FileAttachment testFileAttachment;
     private Jwt mockJwt;
-    private PatientInfo patientInfo;
+    private OutboxEntry outboxEntry;
     private MultipartFile mockFile;
 
     private static final String NOTE_UUID = "note-uuid-123";
@@ -111,18 +108,9 @@ class NoteFileServiceImplTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        // Setup patient info
-        patientInfo = PatientInfo.builder()
-                .patientUuid(PATIENT_UUID)
-                .userInfo(new PatientInfo.UserInfo(
-                        "Patient",
-                        "Test",
-                        "patient@test.com",
-                        null,
-                        null,
-                        null
-                ))
-                .build();
+        // Événement enregistré avec l'écriture
+        outboxEntry = OutboxEntry.builder().eventId("event-1").eventKey(PATIENT_UUID).build();
+        lenient().when(outboxEntryFactory.create(any(Event.class), any())).thenReturn(outboxEntry);
 
         // Setup mock file
         mockFile = new MockMultipartFile(
@@ -133,11 +121,6 @@ class NoteFileServiceImplTest {
         );
     }
 
-    private void setupPatientServiceClientMock() {
-        when(patientServiceClient.getPatientContactInfo(anyString()))
-                .thenReturn(Mono.just(patientInfo));
-    }
-
     @Nested
     @DisplayName("uploadFile() Tests")
     class UploadFileTests {
@@ -146,7 +129,6 @@ class NoteFileServiceImplTest {
         @DisplayName("Should upload file successfully")
         void shouldUploadFileSuccessfully() {
             // Given
-            setupPatientServiceClientMock();
 
             FileStorageService.StoredFileInfo storedInfo = FileStorageService.StoredFileInfo.builder()
                     .fileUuid(FILE_UUID)
@@ -159,11 +141,11 @@ class NoteFileServiceImplTest {
                     .relativePath("notes/" + NOTE_UUID + "/" + FILE_UUID + ".pdf")
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
-                    .thenReturn(Optional.of(testNote));
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
             when(fileStorageService.storeFile(anyString(), any(MultipartFile.class)))
                     .thenReturn(storedInfo);
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
+            when(noteRepository.pushFile(eq(NOTE_UUID), any(FileAttachment.class), eq(outboxEntry)))
+                    .thenReturn(Optional.of(testNote));
             when(fileStorageConfig.getBaseDownloadUrl()).thenReturn("/api/notes");
 
             // When & Then
@@ -174,21 +156,50 @@ class NoteFileServiceImplTest {
                     .verifyComplete();
 
             verify(fileStorageService).storeFile(anyString(), any(MultipartFile.class));
-            verify(noteRepository).save(any(Note.class));
+            verify(noteRepository).pushFile(eq(NOTE_UUID), any(FileAttachment.class), eq(outboxEntry));
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.FILE_UPLOADED
+                    && PATIENT_UUID.equals(event.getData().get("patientUuid"))), eq(PATIENT_UUID));
+            verify(noteRepository, never()).save(any(Note.class));
         }
 
         @Test
         @DisplayName("Should error when note not found")
         void shouldErrorWhenNoteNotFound() {
             // Given
-            when(noteRepository.findByNoteUuidAndActiveTrue(anyString()))
-                    .thenReturn(Optional.empty());
+            when(noteRepository.findActiveNote(anyString())).thenReturn(Optional.empty());
 
             // When & Then
             StepVerifier.create(noteFileService.uploadFile("unknown-uuid", mockFile, mockJwt))
                     .expectErrorMatches(err -> err instanceof ApiException &&
                             err.getMessage().contains("Note non trouvée"))
                     .verify();
+
+            verifyNoInteractions(fileStorageService);
+        }
+
+        @Test
+        @DisplayName("Should remove stored file when note is deleted during upload")
+        void shouldRemoveStoredFileWhenNoteDeletedDuringUpload() {
+            // Given
+            FileStorageService.StoredFileInfo storedInfo = FileStorageService.StoredFileInfo.builder()
+                    .fileUuid(FILE_UUID)
+                    .originalName("test-document.pdf")
+                    .extension("pdf")
+                    .build();
+
+            when(noteRepository.findActiveNote(NOTE_UUID)).thenReturn(Optional.of(testNote));
+            when(fileStorageService.storeFile(anyString(), any(MultipartFile.class)))
+                    .thenReturn(storedInfo);
+            when(noteRepository.pushFile(eq(NOTE_UUID), any(FileAttachment.class), eq(outboxEntry)))
+                    .thenReturn(Optional.empty());
+
+            // When & Then
+            StepVerifier.create(noteFileService.uploadFile(NOTE_UUID, mockFile, mockJwt))
+                    .expectErrorMatches(err -> err instanceof ApiException &&
+                            err.getMessage().contains("Note non trouvée"))
+                    .verify();
+
+            verify(fileStorageService).deleteFile(NOTE_UUID, FILE_UUID, "pdf");
         }
     }
 
@@ -238,7 +249,7 @@ class NoteFileServiceImplTest {
             testNote.getFiles().add(testFileAttachment);
             Resource mockResource = new ByteArrayResource("test content".getBytes());
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
+            when(noteRepository.findActiveNoteWithFile(NOTE_UUID, FILE_UUID))
                     .thenReturn(Optional.of(testNote));
             when(fileStorageService.loadFileAsResource(NOTE_UUID, FILE_UUID, "pdf"))
                     .thenReturn(mockResource);
@@ -247,7 +258,9 @@ class NoteFileServiceImplTest {
             StepVerifier.create(noteFileService.downloadFile(NOTE_UUID, FILE_UUID))
                     .expectNextMatches(download ->
                             download.getFilename().equals("test-document.pdf") &&
-                                    download.getContentType().equals("application/pdf"))
+                                    download.getContentType().equals("application/pdf") &&
+                                    download.getETag().equals(FILE_UUID) &&
+                                    download.getLastModified() != null)
                     .verifyComplete();
         }
 
@@ -255,7 +268,7 @@ class NoteFileServiceImplTest {
         @DisplayName("Should error when file not found")
         void shouldErrorWhenFileNotFound() {
             // Given
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
+            when(noteRepository.findActiveNoteWithFile(NOTE_UUID, "unknown-file"))
                     .thenReturn(Optional.of(testNote));
 
             // When & Then
@@ -274,28 +287,28 @@ class NoteFileServiceImplTest {
         @DisplayName("Should delete file when uploader")
         void shouldDeleteFileWhenUploader() {
             // Given
-            setupPatientServiceClientMock();
             testNote.getFiles().add(testFileAttachment);
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
+            when(noteRepository.findActiveNoteWithFile(NOTE_UUID, FILE_UUID))
+                    .thenReturn(Optional.of(testNote));
+            when(noteRepository.pullFile(NOTE_UUID, FILE_UUID, UPLOADER_UUID, outboxEntry))
                     .thenReturn(Optional.of(testNote));
             when(fileStorageService.deleteFile(NOTE_UUID, FILE_UUID, "pdf"))
                     .thenReturn(true);
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
 
             // When & Then
             StepVerifier.create(noteFileService.deleteFile(NOTE_UUID, FILE_UUID, mockJwt))
                     .verifyComplete();
 
             verify(fileStorageService).deleteFile(NOTE_UUID, FILE_UUID, "pdf");
-            verify(noteRepository).save(any(Note.class));
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.FILE_DELETED), eq(PATIENT_UUID));
+            verify(noteRepository, never()).save(any(Note.class));
         }
 
         @Test
         @DisplayName("Should delete file when note practitioner")
         void shouldDeleteFileWhenNotePractitioner() {
             // Given
-            setupPatientServiceClientMock();
 
             FileAttachment otherFile = testFileAttachment.toBuilder()
                     .uploadedByUuid("other-uploader")
@@ -311,11 +324,12 @@ class NoteFileServiceImplTest {
                     .expiresAt(Instant.now().plusSeconds(3600))
                     .build();
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
+            when(noteRepository.findActiveNoteWithFile(NOTE_UUID, FILE_UUID))
+                    .thenReturn(Optional.of(testNote));
+            when(noteRepository.pullFile(NOTE_UUID, FILE_UUID, PRACTITIONER_UUID, outboxEntry))
                     .thenReturn(Optional.of(testNote));
             when(fileStorageService.deleteFile(NOTE_UUID, FILE_UUID, "pdf"))
                     .thenReturn(true);
-            when(noteRepository.save(any(Note.class))).thenReturn(testNote);
 
             // When & Then
             StepVerifier.create(noteFileService.deleteFile(NOTE_UUID, FILE_UUID, practitionerJwt))
@@ -331,7 +345,9 @@ class NoteFileServiceImplTest {
                     .build();
             testNote.getFiles().add(otherFile);
 
-            when(noteRepository.findByNoteUuidAndActiveTrue(NOTE_UUID))
+            when(noteRepository.pullFile(NOTE_UUID, FILE_UUID, UPLOADER_UUID, outboxEntry))
+                    .thenReturn(Optional.empty());
+            when(noteRepository.findActiveNoteWithFile(NOTE_UUID, FILE_UUID))
                     .thenReturn(Optional.of(testNote));
 
             // When & Then
@@ -339,6 +355,8 @@ class NoteFileServiceImplTest {
                     .expectErrorMatches(err -> err instanceof ApiException &&
                             err.getMessage().contains("Non autorisé"))
                     .verify();
+
+            verify(fileStorageService, never()).deleteFile(anyString(), anyString(), anyString());
         }
     }
 }
\ No newline at end of file
@@ -1,25 +1,39 @@
 package com.openclassrooms.notesservice.service.implementation;
 
+import com.openclassrooms.notesservice.config.CommentConfig;
+import com.openclassrooms.notesservice.config.NoteListConfig;
+import com.openclassrooms.notesservice.domain.KeysetCursor;
+import com.openclassrooms.notesservice.dto.CommentResponse;
 import com.openclassrooms.notesservice.dto.NoteRequest;
 import com.openclassrooms.notesservice.dto.NoteResponse;
+import com.openclassrooms.notesservice.enumeration.EventType;
+import com.openclassrooms.notesservice.event.Event;
+import com.openclassrooms.notesservice.event.OutboxEntryFactory;
 import com.openclassrooms.notesservice.exception.ApiException;
 import com.openclassrooms.notesservice.mapper.NoteMapper;
+import com.openclassrooms.notesservice.model.Comment;
 import com.openclassrooms.notesservice.model.Note;
+import com.openclassrooms.notesservice.model.NoteSummary;
+import com.openclassrooms.notesservice.model.OutboxEntry;
+import com.openclassrooms.notesservice.repository.CommentRepository;
 import com.openclassrooms.notesservice.repository.NoteRepository;
 import com.openclassrooms.notesservice.service.PatientServiceClient;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -28,19 +42,27 @@ import static org.mockito.Mockito.*;
 class NoteServiceImplTest {
 
     @Mock private NoteRepository noteRepository;
+    @Mock private CommentRepository commentRepository;
     @Mock private NoteMapper noteMapper;
     @Mock private PatientServiceClient patientServiceClient;
-    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private OutboxEntryFactory outboxEntryFactory;
+    @Spy private CommentConfig commentConfig = new CommentConfig();
+    @Spy private NoteListConfig noteListConfig = new NoteListConfig();
 
     @InjectMocks
     private NoteServiceImpl noteService;
 
     private Note note;
+    private NoteSummary summary;
     private NoteResponse noteResponse;
     private NoteRequest noteRequest;
+    private OutboxEntry outboxEntry;
 
     @BeforeEach
     void setUp() {
+        outboxEntry = OutboxEntry.builder().eventId("event-1").eventKey("patient-uuid-456").build();
+        lenient().when(outboxEntryFactory.create(any(Event.class), any())).thenReturn(outboxEntry);
+
         note = Note.builder()
                 .id("mongo-id")
                 .noteUuid("note-uuid-123")
@@ -52,7 +74,17 @@ class NoteServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .files(List.of())
-                .comments(List.of())
+                .commentCount(0)
+                .build();
+
+        summary = NoteSummary.builder()
+                .noteUuid("note-uuid-123")
+                .patientUuid("patient-uuid-456")
+                .practitionerUuid("pract-uuid-789")
+                .practitionerName("Dr. Dupont")
+                .preview("Observation médicale")
+                .fileCount(0)
+                .commentCount(0)
                 .build();
 
         noteResponse = NoteResponse.builder()
@@ -77,17 +109,111 @@ class NoteServiceImplTest {
         @Test
         @DisplayName("Should return all active notes")
         void shouldReturnAllActiveNotes() {
-            when(noteRepository.findByActiveTrueOrderByCreatedAtDesc()).thenReturn(List.of(note));
-            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+            when(noteRepository.findActiveSummaries(1001)).thenReturn(List.of(summary));
+            when(noteMapper.toSummaryResponse(summary)).thenReturn(noteResponse);
 
-            StepVerifier.create(noteService.getAllActiveNotes()).expectNext(noteResponse).verifyComplete();
+            StepVerifier.create(noteService.getAllActiveNotes())
+                    .expectNextMatches(page -> page.getNotes().equals(List.of(noteResponse))
+                            && !page.getTruncated() && page.getNextCursor() == null)
+                    .verifyComplete();
+            verify(noteMapper, never()).toResponse(any(Note.class));
         }
 
         @Test
         @DisplayName("Should return empty when no notes")
         void shouldReturnEmpty_noNotes() {
-            when(noteRepository.findByActiveTrueOrderByCreatedAtDesc()).thenReturn(List.of());
-            StepVerifier.create(noteService.getAllActiveNotes()).expectNextCount(0).verifyComplete();
+            when(noteRepository.findActiveSummaries(1001)).thenReturn(List.of());
+            StepVerifier.create(noteService.getAllActiveNotes())
+                    .expectNextMatches(page -> page.getNotes().isEmpty() && !page.getTruncated())
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should truncate the list at the configured maximum and return the cursor of the rest")
+        void shouldTruncateAtMaxResults() {
+            noteListConfig.setMaxResults(2);
+            LocalDateTime base = LocalDateTime.of(2026, 3, 16, 10, 0);
+            NoteSummary first = NoteSummary.builder().noteUuid("n-3").createdAt(base.plusMinutes(2)).build();
+            NoteSummary second = NoteSummary.builder().noteUuid("n-2").createdAt(base.plusMinutes(1)).build();
+            NoteSummary third = NoteSummary.builder().noteUuid("n-1").createdAt(base).build();
+            when(noteRepository.findActiveSummaries(3)).thenReturn(List.of(first, second, third));
+            when(noteMapper.toSummaryResponse(any(NoteSummary.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.getAllActiveNotes())
+                    .assertNext(page -> {
+                        assertThat(page.getNotes()).hasSize(2);
+                        assertThat(page.getTruncated()).isTrue();
+                        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(base.plusMinutes(1), "n-2"));
+                    })
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("getActiveNotesPage Tests")
+    class GetActiveNotesPageTests {
+
+        private NoteSummary summaryAt(String noteUuid, LocalDateTime createdAt) {
+            return summary.toBuilder().noteUuid(noteUuid).createdAt(createdAt).build();
+        }
+
+        @Test
+        @DisplayName("Should return next cursor pointing at last note of page")
+        void shouldReturnNextCursorWhenMoreNotes() {
+            LocalDateTime base = LocalDateTime.of(2026, 3, 16, 10, 0);
+            when(noteRepository.findActiveSummariesBefore(null, null, 3))
+                    .thenReturn(List.of(summaryAt("n-3", base.plusMinutes(2)), summaryAt("n-2", base.plusMinutes(1)), summaryAt("n-1", base)));
+            when(noteMapper.toSummaryResponse(any(NoteSummary.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.getActiveNotesPage(null, 2))
+                    .assertNext(page -> {
+                        assertThat(page.getNotes()).hasSize(2);
+                        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(base.plusMinutes(1), "n-2"));
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should resume after the cursor and omit it on the last page")
+        void shouldResumeAfterCursor() {
+            LocalDateTime before = LocalDateTime.of(2026, 3, 16, 10, 1);
+            when(noteRepository.findActiveSummariesBefore(before, "n-2", 3)).thenReturn(List.of(summaryAt("n-1", before.minusMinutes(1))));
+            when(noteMapper.toSummaryResponse(any(NoteSummary.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.getActiveNotesPage(new KeysetCursor(before, "n-2").encode(), 2))
+                    .expectNextMatches(page -> page.getNotes().size() == 1 && page.getNextCursor() == null)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject invalid page size or cursor")
+        void shouldRejectInvalidPagination() {
+            StepVerifier.create(noteService.getActiveNotesPage(null, 0)).expectError(ApiException.class).verify();
+            StepVerifier.create(noteService.getActiveNotesPage(null, 101)).expectError(ApiException.class).verify();
+            StepVerifier.create(noteService.getActiveNotesPage("pas-un-curseur", 20))
+                    .expectErrorMatches(e -> e instanceof ApiException && e.getMessage().contains("Curseur"))
+                    .verify();
+
+            verify(noteRepository, never()).findActiveSummariesBefore(any(), any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("streamAllActiveNotes Tests")
+    class StreamAllActiveNotesTests {
+
+        @Test
+        @DisplayName("Should stream summaries with the configured batch size and close the cursor")
+        void shouldStreamSummariesAndCloseCursor() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(noteRepository.streamActiveSummaries(200))
+                    .thenReturn(Stream.of(summary, summary).onClose(() -> closed.set(true)));
+            when(noteMapper.toSummaryResponse(summary)).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.streamAllActiveNotes())
+                    .expectNext(noteResponse, noteResponse)
+                    .verifyComplete();
+            assertThat(closed).isTrue();
         }
     }
 
@@ -99,10 +225,10 @@ class NoteServiceImplTest {
         @DisplayName("Should return paginated notes")
         void shouldReturnPagedNotes() {
             Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
-            Page<Note> page = new PageImpl<>(List.of(note), pageable, 1);
+            Page<NoteSummary> page = new PageImpl<>(List.of(summary), pageable, 1);
 
-            when(noteRepository.findByActiveTrueOrderByCreatedAtDesc(pageable)).thenReturn(page);
-            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+            when(noteRepository.findActiveSummaries(pageable)).thenReturn(page);
+            when(noteMapper.toSummaryResponse(summary)).thenReturn(noteResponse);
 
             StepVerifier.create(noteService.getAllActiveNotesPageable(pageable))
                     .expectNextMatches(p -> p.getTotalElements() == 1
@@ -114,9 +240,9 @@ class NoteServiceImplTest {
         @DisplayName("Should return empty page when no notes")
         void shouldReturnEmptyPage() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Note> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+            Page<NoteSummary> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-            when(noteRepository.findByActiveTrueOrderByCreatedAtDesc(pageable)).thenReturn(emptyPage);
+            when(noteRepository.findActiveSummaries(pageable)).thenReturn(emptyPage);
 
             StepVerifier.create(noteService.getAllActiveNotesPageable(pageable))
                     .expectNextMatches(p -> p.getTotalElements() == 0 && p.getContent().isEmpty())
@@ -124,6 +250,44 @@ class NoteServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("searchActiveNotes Tests")
+    class SearchActiveNotesTests {
+
+        @Test
+        @DisplayName("Should search the full content server-side")
+        void shouldSearchFullContent() {
+            Pageable pageable = PageRequest.of(0, 10);
+            when(noteRepository.searchActiveSummaries("diabète", List.of("patient-uuid-456"), pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+            when(noteMapper.toSummaryResponse(summary)).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.searchActiveNotes(" diabète ", List.of("patient-uuid-456"), pageable))
+                    .expectNextMatches(p -> p.getTotalElements() == 1)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should list all active notes without search text")
+        void shouldListAllWithoutSearch() {
+            Pageable pageable = PageRequest.of(0, 10);
+            when(noteRepository.findActiveSummaries(pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            StepVerifier.create(noteService.searchActiveNotes(" ", null, pageable))
+                    .expectNextMatches(Page::isEmpty)
+                    .verifyComplete();
+            verify(noteRepository, never()).searchActiveSummaries(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a search text that is too long")
+        void shouldRejectTooLongSearch() {
+            StepVerifier.create(noteService.searchActiveNotes("x".repeat(101), null, PageRequest.of(0, 10)))
+                    .expectErrorMatches(e -> e instanceof ApiException && e.getMessage().startsWith("Recherche trop longue"))
+                    .verify();
+        }
+    }
+
     @Nested
     @DisplayName("createNote Tests")
     class CreateNoteTests {
@@ -134,7 +298,6 @@ class NoteServiceImplTest {
             when(noteMapper.toEntity(any(), anyString(), anyString())).thenReturn(note);
             when(noteRepository.save(any(Note.class))).thenReturn(note);
             when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
-            when(patientServiceClient.getPatientContactInfo(anyString())).thenReturn(reactor.core.publisher.Mono.empty());
 
             StepVerifier.create(noteService.createNote(noteRequest, "pract-uuid-789", "Dr. Dupont"))
                     .expectNextMatches(r -> r.getNoteUuid().equals("note-uuid-123"))
@@ -142,6 +305,22 @@ class NoteServiceImplTest {
 
             verify(noteRepository).save(any(Note.class));
         }
+
+        @Test
+        @DisplayName("Should store NOTE_CREATED event in the saved note")
+        void shouldStoreCreatedEventWithNote() {
+            when(noteMapper.toEntity(any(), anyString(), anyString())).thenReturn(note);
+            when(noteRepository.save(any(Note.class))).thenReturn(note);
+            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.createNote(noteRequest, "pract-uuid-789", "Dr. Dupont")).expectNextCount(1).verifyComplete();
+
+            verify(noteRepository).save(argThat(n -> n.getOutbox().equals(List.of(outboxEntry))));
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.NOTE_CREATED
+                    && "patient-uuid-456".equals(event.getData().get("patientNumber"))
+                    && "Dr. Dupont".equals(event.getData().get("doctorName"))), eq("patient-uuid-456"));
+            verifyNoInteractions(patientServiceClient);
+        }
     }
 
     @Nested
@@ -149,12 +328,18 @@ class NoteServiceImplTest {
     class GetNoteByUuidTests {
 
         @Test
-        @DisplayName("Should return note by UUID")
+        @DisplayName("Should return note by UUID with first page of comments")
         void shouldReturnNote() {
+            List<Comment> firstPage = List.of(Comment.builder().commentUuid("comment-1").noteUuid("note-uuid-123").build());
+            List<CommentResponse> firstPageResponses = List.of(CommentResponse.builder().commentUuid("comment-1").build());
             when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
             when(noteMapper.toResponse(note)).thenReturn(noteResponse);
+            when(commentRepository.findPage("note-uuid-123", null, null, 20)).thenReturn(firstPage);
+            when(noteMapper.toCommentResponseList(firstPage)).thenReturn(firstPageResponses);
 
             StepVerifier.create(noteService.getNoteByUuid("note-uuid-123")).expectNext(noteResponse).verifyComplete();
+
+            assertThat(noteResponse.getComments()).isEqualTo(firstPageResponses);
         }
 
         @Test
@@ -175,11 +360,45 @@ class NoteServiceImplTest {
         @Test
         @DisplayName("Should return notes for patient")
         void shouldReturnNotes() {
-            when(noteRepository.findByPatientUuidAndActiveTrueOrderByCreatedAtDesc("patient-uuid-456"))
-                    .thenReturn(List.of(note));
-            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+            when(noteRepository.findActiveSummariesByPatientUuid("patient-uuid-456"))
+                    .thenReturn(List.of(summary));
+            when(noteMapper.toSummaryResponse(summary)).thenReturn(noteResponse);
 
             StepVerifier.create(noteService.getNotesByPatientUuid("patient-uuid-456")).expectNext(noteResponse).verifyComplete();
+            verify(noteRepository, never()).findByPatientUuidAndActiveTrueOrderByCreatedAtDesc(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("streamNotesByPatientUuid Tests")
+    class StreamNotesByPatientUuidTests {
+
+        @Test
+        @DisplayName("Should stream notes from the cursor and close it on completion")
+        void shouldStreamNotesAndCloseCursor() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(noteRepository.streamActiveNotesByPatientUuid("patient-uuid-456"))
+                    .thenReturn(Stream.of(note, note).onClose(() -> closed.set(true)));
+            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.streamNotesByPatientUuid("patient-uuid-456"))
+                    .expectNext(noteResponse, noteResponse)
+                    .verifyComplete();
+            assertThat(closed).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should close the cursor when the subscriber cancels")
+        void shouldCloseCursorOnCancel() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(noteRepository.streamActiveNotesByPatientUuid("patient-uuid-456"))
+                    .thenReturn(Stream.of(note, note, note).onClose(() -> closed.set(true)));
+            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.streamNotesByPatientUuid("patient-uuid-456").take(1))
+                    .expectNext(noteResponse)
+                    .verifyComplete();
+            assertThat(closed).isTrue();
         }
     }
 
@@ -191,11 +410,11 @@ class NoteServiceImplTest {
         @DisplayName("Should return paginated notes for patient")
         void shouldReturnPagedNotes() {
             Pageable pageable = PageRequest.of(0, 5);
-            Page<Note> page = new PageImpl<>(List.of(note), pageable, 1);
+            Page<NoteSummary> page = new PageImpl<>(List.of(summary), pageable, 1);
 
-            when(noteRepository.findByPatientUuidAndActiveTrueOrderByCreatedAtDesc("patient-uuid-456", pageable))
+            when(noteRepository.findActiveSummariesByPatientUuid("patient-uuid-456", pageable))
                     .thenReturn(page);
-            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+            when(noteMapper.toSummaryResponse(summary)).thenReturn(noteResponse);
 
             StepVerifier.create(noteService.getNotesByPatientUuidPageable("patient-uuid-456", pageable))
                     .expectNextMatches(p -> p.getTotalElements() == 1)
@@ -210,10 +429,10 @@ class NoteServiceImplTest {
         @Test
         @DisplayName("Should update note successfully when author")
         void shouldUpdateNote_whenAuthor() {
+            note.setVersion(3L);
             when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
-            when(noteRepository.save(any(Note.class))).thenReturn(note);
+            when(noteRepository.updateContent(eq("note-uuid-123"), eq(3L), eq("Nouveau contenu"), anyList(), any(LocalDateTime.class), any())).thenReturn(true);
             when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
-            when(patientServiceClient.getPatientContactInfo(anyString())).thenReturn(reactor.core.publisher.Mono.empty());
 
             NoteRequest updateRequest = NoteRequest.builder().content("Nouveau contenu").build();
 
@@ -221,16 +440,32 @@ class NoteServiceImplTest {
                     .expectNext(noteResponse)
                     .verifyComplete();
 
-            verify(noteRepository).save(any(Note.class));
+            verify(noteMapper).toResponse(argThat(n -> n.getContent().equals("Nouveau contenu") && n.getVersion() == 4L));
+            verify(noteRepository, never()).save(any(Note.class));
+        }
+
+        @Test
+        @DisplayName("Should store NOTE_UPDATED event with the new content")
+        void shouldStoreUpdatedEventWithContent() {
+            when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
+            when(noteRepository.updateContent(anyString(), any(), anyString(), anyList(), any(LocalDateTime.class), any())).thenReturn(true);
+            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+
+            NoteRequest updateRequest = NoteRequest.builder().content("Nouveau contenu").build();
+
+            StepVerifier.create(noteService.updateNote("note-uuid-123", updateRequest, "pract-uuid-789", false)).expectNextCount(1).verifyComplete();
+
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.NOTE_UPDATED
+                    && "Nouveau contenu".equals(event.getData().get("notePreview"))), eq("patient-uuid-456"));
+            verify(noteRepository).updateContent(eq("note-uuid-123"), isNull(), eq("Nouveau contenu"), anyList(), any(LocalDateTime.class), eq(outboxEntry));
         }
 
         @Test
         @DisplayName("Should allow SUPER_ADMIN to update any note")
         void shouldUpdateNote_asSuperAdmin() {
             when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
-            when(noteRepository.save(any(Note.class))).thenReturn(note);
+            when(noteRepository.updateContent(eq("note-uuid-123"), isNull(), eq("Admin override"), anyList(), any(LocalDateTime.class), any())).thenReturn(true);
             when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
-            when(patientServiceClient.getPatientContactInfo(anyString())).thenReturn(reactor.core.publisher.Mono.empty());
 
             NoteRequest updateRequest = NoteRequest.builder().content("Admin override").build();
 
@@ -239,7 +474,7 @@ class NoteServiceImplTest {
                     .expectNext(noteResponse)
                     .verifyComplete();
 
-            verify(noteRepository).save(any(Note.class));
+            verify(noteRepository).updateContent(eq("note-uuid-123"), isNull(), eq("Admin override"), anyList(), any(LocalDateTime.class), any());
         }
 
         @Test
@@ -254,7 +489,24 @@ class NoteServiceImplTest {
                             && e.getMessage().contains("Non autorisé"))
                     .verify();
 
-            verify(noteRepository, never()).save(any(Note.class));
+            verify(noteRepository, never()).updateContent(anyString(), any(), anyString(), anyList(), any(LocalDateTime.class), any());
+        }
+
+        @Test
+        @DisplayName("Should fail when note was modified concurrently")
+        void shouldFail_concurrentModification() {
+            note.setVersion(3L);
+            when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
+            when(noteRepository.updateContent(eq("note-uuid-123"), eq(3L), anyString(), anyList(), any(LocalDateTime.class), any())).thenReturn(false);
+
+            NoteRequest updateRequest = NoteRequest.builder().content("Contenu obsolète").build();
+
+            StepVerifier.create(noteService.updateNote("note-uuid-123", updateRequest, "pract-uuid-789", false))
+                    .expectErrorMatches(e -> e instanceof ApiException
+                            && e.getMessage().contains("modifiée entre-temps"))
+                    .verify();
+
+            verifyNoInteractions(noteMapper);
         }
 
         @Test
@@ -273,21 +525,35 @@ class NoteServiceImplTest {
     class DeleteNoteTests {
 
         @Test
-        @DisplayName("Should soft delete note")
+        @DisplayName("Should soft delete note with NOTE_DELETED event")
         void shouldSoftDelete() {
-            when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
-            when(noteRepository.save(any(Note.class))).thenReturn(note);
+            when(noteRepository.findActiveNote("note-uuid-123")).thenReturn(Optional.of(note));
+            when(noteRepository.deactivate(eq("note-uuid-123"), any(LocalDateTime.class), eq(outboxEntry))).thenReturn(true);
 
             StepVerifier.create(noteService.deleteNote("note-uuid-123")).verifyComplete();
-            verify(noteRepository).save(argThat(n -> !n.getActive()));
+            verify(noteRepository).deactivate(eq("note-uuid-123"), any(LocalDateTime.class), eq(outboxEntry));
+            verify(outboxEntryFactory).create(argThat(event -> event.getEventType() == EventType.NOTE_DELETED
+                    && "patient-uuid-456".equals(event.getData().get("patientNumber"))), eq("patient-uuid-456"));
+            verify(noteRepository, never()).save(any(Note.class));
         }
 
         @Test
         @DisplayName("Should fail when note not found for delete")
         void shouldFail_noteNotFound() {
-            when(noteRepository.findByNoteUuidAndActiveTrue("unknown")).thenReturn(Optional.empty());
+            when(noteRepository.findActiveNote("unknown")).thenReturn(Optional.empty());
 
             StepVerifier.create(noteService.deleteNote("unknown")).expectErrorMatches(e -> e instanceof ApiException).verify();
+            verify(noteRepository, never()).deactivate(anyString(), any(LocalDateTime.class), any());
+            verifyNoInteractions(outboxEntryFactory);
+        }
+
+        @Test
+        @DisplayName("Should fail when note deleted concurrently")
+        void shouldFail_noteDeletedConcurrently() {
+            when(noteRepository.findActiveNote("note-uuid-123")).thenReturn(Optional.of(note));
+            when(noteRepository.deactivate(eq("note-uuid-123"), any(LocalDateTime.class), any())).thenReturn(false);
+
+            StepVerifier.create(noteService.deleteNote("note-uuid-123")).expectErrorMatches(e -> e instanceof ApiException).verify();
         }
     }
 
@@ -303,4 +569,64 @@ class NoteServiceImplTest {
             StepVerifier.create(noteService.countNotesByPatientUuid("patient-uuid-456")).expectNext(5L).verifyComplete();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Trigger index Tests")
+    class TriggerIndexTests {
+
+        @Test
+        @DisplayName("Should index triggers on create")
+        void shouldIndexTriggers_onCreate() {
+            note.setContent("Patient fumeur, vertiges fréquents");
+            when(noteMapper.toEntity(any(), anyString(), anyString())).thenReturn(note);
+            when(noteRepository.save(any(Note.class))).thenReturn(note);
+            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+
+            StepVerifier.create(noteService.createNote(noteRequest, "pract-uuid-789", "Dr. Dupont")).expectNextCount(1).verifyComplete();
+
+            verify(noteRepository).save(argThat(n -> n.getTriggers().equals(List.of("Fumeur", "Vertiges"))));
+        }
+
+        @Test
+        @DisplayName("Should re-index triggers on update")
+        void shouldReindexTriggers_onUpdate() {
+            note.setTriggers(List.of("Fumeur"));
+            when(noteRepository.findByNoteUuidAndActiveTrue("note-uuid-123")).thenReturn(Optional.of(note));
+            when(noteRepository.updateContent(anyString(), any(), anyString(), anyList(), any(LocalDateTime.class), any())).thenReturn(true);
+            when(noteMapper.toResponse(any(Note.class))).thenReturn(noteResponse);
+
+            NoteRequest updateRequest = NoteRequest.builder().content("Cholestérol anormal").build();
+
+            StepVerifier.create(noteService.updateNote("note-uuid-123", updateRequest, "pract-uuid-789", false)).expectNextCount(1).verifyComplete();
+
+            verify(noteRepository).updateContent(eq("note-uuid-123"), isNull(), eq("Cholestérol anormal"),
+                    eq(List.of("Anormal", "Cholestérol")), any(LocalDateTime.class), any());
+        }
+
+        @Test
+        @DisplayName("Should return patient trigger union in canonical order without writing")
+        void shouldReturnTriggerUnion_withoutWriting() {
+            when(noteRepository.findDistinctTriggersByPatientUuid("patient-uuid-456")).thenReturn(List.of("Rechute", "Fumeur", "Poids"));
+
+            StepVerifier.create(noteService.getTriggersByPatientUuid("patient-uuid-456"))
+                    .expectNext(List.of("Poids", "Fumeur", "Rechute"))
+                    .verifyComplete();
+
+            verify(noteRepository, never()).updateTriggers(any());
+        }
+
+        @Test
+        @DisplayName("Should include triggers of notes not yet indexed by the migration")
+        void shouldIncludeLegacyNoteTriggers() {
+            when(noteRepository.findDistinctTriggersByPatientUuid("patient-uuid-456")).thenReturn(List.of());
+            when(noteRepository.findActiveNotesWithoutTriggers("patient-uuid-456"))
+                    .thenReturn(List.of(Note.builder().noteUuid("legacy").content("Fumeur, poids en hausse").build()));
+
+            StepVerifier.create(noteService.getTriggersByPatientUuid("patient-uuid-456"))
+                    .expectNext(List.of("Poids", "Fumeur"))
+                    .verifyComplete();
+
+            verify(noteRepository, never()).updateTriggers(any());
+        }
+    }
+}
@@ -102,114 +102,6 @@ class PatientServiceClientImplTest {
         }
     }
 
-    @Nested
-    @DisplayName("getPatientContactInfo() Tests")
-    class GetPatientContactInfoTests {
-
-        @Test
-        @DisplayName("Should return patient with email")
-        void shouldReturnPatientWithEmail() throws Exception {
-            String jsonResponse = """
-        {
-            "status": 200,
-            "message": "Success",
-            "data": {
-                "patient": {
-                    "patientUuid": "patient-uuid-123",
-                    "userInfo": {
-                        "firstName": "Jean",
-                        "lastName": "Martin",
-                        "email": "jean.martin@email.com"
-                    }
-                }
-            }
-        }
-        """;
-
-            mockWebServer.enqueue(new MockResponse()
-                    .setResponseCode(200)
-                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .setBody(jsonResponse));
-
-            // When & Then
-            StepVerifier.create(patientServiceClient.getPatientContactInfo(PATIENT_UUID))
-                    .expectNextMatches(p -> "jean.martin@email.com".equals(p.getEmail()))
-                    .verifyComplete();
-        }
-
-        @Test
-        @DisplayName("Should return empty when patient has no email")
-        void shouldReturnEmptyWhenPatientHasNoEmail() throws Exception {
-            // Given
-            PatientInfo patient = PatientInfo.builder()
-                    .patientUuid(PATIENT_UUID)
-                    .userInfo(new PatientInfo.UserInfo(
-                            "Jean",
-                            "Martin",
-                           null,
-                            null,
-                            null,
-                            null
-                    ))
-                    .build();
-
-            ExternalResponse response = new ExternalResponse(
-                    "timestamp",
-                    200,
-                    "path",
-                    "OK",
-                    "Success",
-                    "",
-                    Map.of("patient", patient)
-            );
-
-            mockWebServer.enqueue(new MockResponse()
-                    .setResponseCode(200)
-                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .setBody(objectMapper.writeValueAsString(response)));
-
-            // When & Then
-            StepVerifier.create(patientServiceClient.getPatientContactInfo(PATIENT_UUID))
-                    .verifyComplete();
-        }
-
-        @Test
-        @DisplayName("Should return empty when patient has blank email")
-        void shouldReturnEmptyWhenPatientHasBlankEmail() throws Exception {
-            // Given
-            PatientInfo patient = PatientInfo.builder()
-                    .patientUuid(PATIENT_UUID)
-                    .userInfo(new PatientInfo.UserInfo(
-                            "Jean",
-                            "Martin",
-                            " ",
-                            null,
-                            null,
-                            null
-                    ))
-                    .build();
-
-            ExternalResponse response = new ExternalResponse(
-                    "timestamp",
-                    200,
-                    "path",
-                    "OK",
-                    "Success",
-                    "",
-                    Map.of("patient", patient)
-            );
-
-            mockWebServer.enqueue(new MockResponse()
-                    .setResponseCode(200)
-                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .setBody(objectMapper.writeValueAsString(response)));
-
-            // When & Then
-            StepVerifier.create(patientServiceClient.getPatientContactInfo(PATIENT_UUID))
-                    .verifyComplete();
-        }
-    }
-
     @Nested
     @DisplayName("Fallback Methods Tests")
     class FallbackMethodsTests {
@@ -222,14 +114,5 @@ class PatientServiceClientImplTest {
                             PATIENT_UUID, new RuntimeException("Test error")))
                     .verifyComplete();
         }
-
-        @Test
-        @DisplayName("getPatientContactInfoFallback should return empty Mono")
-        void getPatientContactInfoFallbackShouldReturnEmptyMono() {
-            // When & Then
-            StepVerifier.create(patientServiceClient.getPatientContactInfoFallback(
-                            PATIENT_UUID, new RuntimeException("Test error")))
-                    .verifyComplete();
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.openclassrooms.notificationservice.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration du moteur d'envoi des e-mails : file bornée, connexions SMTP réutilisées,
+ * limitation du débit par domaine destinataire et nouvelles tentatives avec backoff.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification.email.dispatch")
+@Validated
+public class EmailDispatchConfig {
+
+    /**Nombre maximal d'e-mails en file ; au-delà, l'appelant attend jusqu'à enqueueTimeout.*/
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    /**Attente maximale de l'appelant quand la file est pleine, avant rejet.*/
+    @NotNull
+    private Duration enqueueTimeout = Duration.ofSeconds(5);
+
+    /**Nombre de workers, chacun possédant sa propre connexion SMTP.*/
+    @Min(1)
+    private int workers = 2;
+
+    /**Nombre maximal de messages envoyés sur une même connexion SMTP avant de la renouveler.*/
+    @Min(1)
+    private int batchSize = 50;
+
+    /**Durée d'inactivité après laquelle une connexion SMTP est fermée.*/
+    @NotNull
+    private Duration maxIdle = Duration.ofSeconds(30);
+
+    /**Nombre de messages autorisés par domaine destinataire et par période.*/
+    @Min(1)
+    private int domainRateLimit = 20;
+
+    @NotNull
+    private Duration domainRatePeriod = Duration.ofSeconds(1);
+
+    /**Nombre total de tentatives d'envoi d'un message (première comprise).*/
+    @Min(1)
+    private int maxAttempts = 3;
+
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    @DecimalMin("1.0")
+    private double backoffMultiplier = 2.0;
+
+    /**Délai laissé aux workers pour vider la file à l'arrêt.*/
+    @NotNull
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
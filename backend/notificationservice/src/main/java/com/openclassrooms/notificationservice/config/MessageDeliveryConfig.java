@@ -0,0 +1,39 @@
+package com.openclassrooms.notificationservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration de la livraison en temps réel des nouveaux messages (flux SSE par utilisateur).
+ * Chaque message validé est publié sur un topic Kafka lu par toutes les instances :
+ * celle qui détient la connexion du destinataire le lui pousse.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification.delivery")
+@Validated
+public class MessageDeliveryConfig {
+
+    /**Topic des messages à livrer, clé = uuid du destinataire.*/
+    @NotBlank
+    private String topic = "MEDILABO_MESSAGES";
+
+    /**Messages en attente par connexion ; un client qui ne suit pas est déconnecté et recharge sa boîte.*/
+    @Min(1)
+    private int connectionBuffer = 256;
+
+    /**Intervalle des commentaires SSE qui maintiennent la connexion ouverte à travers la gateway.*/
+    @NotNull
+    private Duration heartbeat = Duration.ofSeconds(25);
+}
@@ -0,0 +1,50 @@
+package com.openclassrooms.notificationservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Map;
+
+/**
+ * Gestion des erreurs de consommation Kafka (repris par la fabrique de conteneurs auto-configurée).
+ * Le listener des notifications signale l'enregistrement en échec transitoire (BatchListenerFailedException) :
+ * les offsets qui le précèdent sont validés, il est relu avec backoff exponentiel, puis publié sur le topic d'erreurs.
+ * Les enregistrements suivants du lot sont relus : livraison au moins une fois.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Configuration
+public class NotificationErrorHandlerConfig {
+
+    @Bean
+    public DefaultErrorHandler notificationErrorHandler(ProducerFactory<Object, Object> producerFactory, NotificationRetryConfig config) {
+        // Valeur déjà désérialisée (Notification) : republiée en enveloppe JSON, lue par NotificationDeserializer
+        KafkaTemplate<Object, Object> deadLetterTemplate = new KafkaTemplate<>(producerFactory.copyWithConfigurationOverride(Map.of(
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class,
+                JsonSerializer.ADD_TYPE_INFO_HEADERS, false)));
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, exception) -> new TopicPartition(config.getDeadLetterTopic(), -1));
+
+        ExponentialBackOff backOff = new ExponentialBackOff(config.getInitialBackoff().toMillis(), config.getBackoffMultiplier());
+        backOff.setMaxInterval(config.getMaxBackoff().toMillis());
+        backOff.setMaxAttempts(config.getMaxRetries());
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        errorHandler.setRetryListeners((record, exception, attempt) ->
+                log.warn("Notification en échec (offset {}, tentative {}): {}", record.offset(), attempt, exception.getMessage()));
+        log.info("Notification error handler - maxRetries: {}, deadLetterTopic: {}", config.getMaxRetries(), config.getDeadLetterTopic());
+        return errorHandler;
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.notificationservice.config;
+
+import com.openclassrooms.notificationservice.enumeration.EventType;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration de la consommation Kafka des notifications.
+ * Les événements sont répartis par type entre des pools de workers : un pic d'événements lents
+ * (évaluations en masse) n'occupe que son pool et ne retarde pas les e-mails de sécurité.
+ * Les types absents de routes vont dans le pool "default".
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification.listener")
+@Validated
+public class NotificationListenerConfig {
+
+    /**Nombre de consommateurs Kafka (au plus un par partition).*/
+    @Min(1)
+    private int concurrency = 3;
+
+    /**Tâches en attente par pool ; au-delà, le consommateur traite lui-même (contre-pression).*/
+    @Min(1)
+    private int queueCapacity = 500;
+
+    /**Pools de workers : nom -> nombre de threads.*/
+    private Map<String, Integer> pools = new LinkedHashMap<>(Map.of(
+            "priority", 2,
+            "default", 4,
+            "bulk", 2));
+
+    /**Routage : type d'événement -> pool.*/
+    private Map<EventType, String> routes = new EnumMap<>(Map.of(
+            EventType.USER_CREATED, "priority",
+            EventType.PASSWORD_RESET, "priority",
+            EventType.RESULTS_AVAILABLE, "bulk",
+            EventType.RISK_ASSESSMENT, "bulk",
+            EventType.ASSESSMENT_COMPLETED, "bulk"));
+}
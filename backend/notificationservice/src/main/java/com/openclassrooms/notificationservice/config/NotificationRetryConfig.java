@@ -0,0 +1,54 @@
+package com.openclassrooms.notificationservice.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Nouvelles tentatives des notifications en échec transitoire : l'enregistrement en échec est relu
+ * avec un backoff exponentiel, puis publié sur le topic d'erreurs une fois les tentatives épuisées.
+ * Les enregistrements suivants du lot, relus avec lui, ne sont pas traités deux fois (fenêtre de déduplication).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification.listener.retry")
+@Validated
+public class NotificationRetryConfig {
+
+    /**Nombre de nouvelles tentatives après le premier échec.*/
+    @Min(0)
+    private int maxRetries = 5;
+
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    @DecimalMin("1.0")
+    private double backoffMultiplier = 2.0;
+
+    /**Attente maximale entre deux tentatives (inférieure à max.poll.interval.ms).*/
+    @NotNull
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /**Topic des notifications abandonnées, au format enveloppe JSON relisible sur MEDILABO_NOTIFICATIONS.*/
+    @NotBlank
+    private String deadLetterTopic = "MEDILABO_NOTIFICATIONS.DLT";
+
+    /**Durée pendant laquelle un enregistrement traité est reconnu s'il est relu (bien au-delà de la durée cumulée des tentatives).*/
+    @NotNull
+    private Duration deduplicationWindow = Duration.ofMinutes(15);
+
+    /**Nombre maximal d'enregistrements traités mémorisés.*/
+    @Min(1)
+    private long deduplicationMaximumSize = 100_000;
+}
@@ -0,0 +1,34 @@
+package com.openclassrooms.notificationservice.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Résolution du contact patient pour les événements de dossier (notes, commentaires, fichiers) :
+ * ces événements portent l'UUID du patient, son email est lu dans PatientService au moment de l'envoi.
+ * Sans identifiants client (client_credentials), ces emails ne peuvent pas être envoyés.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification.patient-contact")
+@Validated
+public class PatientContactConfig {
+
+    /**Client OAuth2 (client_credentials) utilisé pour appeler PatientService.*/
+    private String clientId;
+
+    private String clientSecret;
+
+    /**Délai maximal de la lecture du contact (jeton compris).*/
+    @NotNull
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,42 @@
+package com.openclassrooms.notificationservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration des compteurs de messages non lus : cache en mémoire devant la table unread_counters,
+ * diffusion des nouvelles valeurs à toutes les instances et flux SSE du badge de notifications.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification.unread")
+@Validated
+public class UnreadCounterConfig {
+
+    /**Nombre maximal d'utilisateurs dont le compteur est gardé en mémoire.*/
+    @Min(1)
+    private long cacheMaximumSize = 50_000;
+
+    /**Topic des nouvelles valeurs de compteur, lu par toutes les instances, clé = uuid de l'utilisateur.*/
+    @NotBlank
+    private String topic = "MEDILABO_UNREAD_COUNTERS";
+
+    /**Durée de vie d'un compteur en cache : relecture de la base si une diffusion a été perdue ou reçue dans le désordre.*/
+    @NotNull
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
+    /**Intervalle des commentaires SSE qui maintiennent la connexion ouverte à travers la gateway.*/
+    @NotNull
+    private Duration heartbeat = Duration.ofSeconds(25);
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.notificationservice.config;
 
+import com.openclassrooms.commons.security.ServiceTokenProvider;
 import com.openclassrooms.notificationservice.handler.WebClientInterceptor;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
@@ -32,6 +33,12 @@ public class WebClientConfig {
     @Value("${services.user-service.url:http://localhost:8085}")
     private String userService;
 
+    @Value("${services.patient-service.url:http://localhost:8081}")
+    private String patientService;
+
+    @Value("${services.authorization-server.url:http://localhost:9001}")
+    private String authorizationServer;
+
     @Value("${services.authorization-server.timeout:5000}")
     private int timeout;
 
@@ -56,6 +63,37 @@ public class WebClientConfig {
                 .build();
     }
 
+    /**
+     * WebClient pour lire le contact patient dans PatientService.
+     * Appels hors requête utilisateur (consommation Kafka) : le jeton du service est ajouté par l'appelant.
+     */
+    @Bean("patientServiceWebClient")
+    public WebClient patientServiceWebClient(WebClient.Builder builder) {
+        log.info("Configuring WebClient for PatientService: {}", patientService);
+
+        return builder.clone()
+                .baseUrl(patientService)
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient()))
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .filter(WebClientInterceptor.logRequest())
+                .filter(WebClientInterceptor.logResponse())
+                .build();
+    }
+
+    /**
+     * Jeton du service (client_credentials), obtenu auprès de l'Authorization Server sans propagation du JWT utilisateur.
+     */
+    @Bean
+    public ServiceTokenProvider serviceTokenProvider(WebClient.Builder builder, PatientContactConfig config) {
+        WebClient authorizationServerWebClient = builder.clone()
+                .baseUrl(authorizationServer)
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient()))
+                .filter(WebClientInterceptor.logRequest())
+                .filter(WebClientInterceptor.logResponse())
+                .build();
+        return new ServiceTokenProvider(authorizationServerWebClient, config.getClientId(), config.getClientSecret());
+    }
+
     /**
      * Configuration HTTP avec timeouts.
      */
@@ -0,0 +1,264 @@
+package com.openclassrooms.notificationservice.dispatch;
+
+import com.openclassrooms.notificationservice.config.EmailDispatchConfig;
+import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.exception.RetryableNotificationException;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moteur d'envoi des e-mails : découple le rendu (appelant) de l'envoi SMTP (workers).
+ * FLUX:
+ * 1. enqueue() : le message entre dans la file ; au plus queueCapacity messages en cours
+ *    (en file, différés ou en envoi), au-delà l'appelant attend puis reçoit une RetryableNotificationException
+ * 2. Chaque worker garde sa connexion SMTP ouverte et y envoie jusqu'à batchSize messages
+ *    avant de la renouveler, au lieu d'une session TCP/TLS par message
+ * 3. Débit limité par domaine destinataire : un message hors quota est différé à son créneau
+ * 4. Échec transitoire : nouvelle tentative avec backoff exponentiel, jusqu'à maxAttempts ;
+ *    destinataire refusé : échec définitif
+ * MÉTRIQUES: notification.email.queue{state} (profondeur), notification.email.send (durée SMTP),
+ * notification.email.lag (file -> envoyé), notification.email{outcome}, notification.email.connections
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private static final String METRIC_PREFIX = "notification.email";
+    private static final long POLL_MILLIS = 200;
+    private static final Duration MAX_RESERVATION = Duration.ofMinutes(1);
+
+    private final JavaMailSenderImpl mailSender;
+    private final EmailDispatchConfig config;
+
+    /** Messages en cours, de l'acceptation à l'envoi ou l'échec définitif : borne la mémoire. */
+    private final Semaphore inFlight;
+    private final BlockingQueue<PendingEmail> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger delayed = new AtomicInteger();
+    private final RateLimiterRegistry domainLimiters;
+
+    private final Timer sendTimer;
+    private final Timer lag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deferred;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter connections;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile boolean closed;
+
+    public EmailDispatcher(JavaMailSenderImpl mailSender, EmailDispatchConfig config, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.config = config;
+        this.inFlight = new Semaphore(config.getQueueCapacity());
+        this.domainLimiters = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(config.getDomainRateLimit())
+                .limitRefreshPeriod(config.getDomainRatePeriod())
+                .timeoutDuration(MAX_RESERVATION)
+                .build());
+
+        Gauge.builder(METRIC_PREFIX + ".queue", queue, BlockingQueue::size).tag("state", "queued").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue", delayed, AtomicInteger::get).tag("state", "delayed").register(meterRegistry);
+        this.sendTimer = meterRegistry.timer(METRIC_PREFIX + ".send");
+        this.lag = meterRegistry.timer(METRIC_PREFIX + ".lag");
+        this.sent = meterRegistry.counter(METRIC_PREFIX, "outcome", "sent");
+        this.retried = meterRegistry.counter(METRIC_PREFIX, "outcome", "retried");
+        this.deferred = meterRegistry.counter(METRIC_PREFIX, "outcome", "deferred");
+        this.failed = meterRegistry.counter(METRIC_PREFIX, "outcome", "failed");
+        this.rejected = meterRegistry.counter(METRIC_PREFIX, "outcome", "rejected");
+        this.connections = meterRegistry.counter(METRIC_PREFIX + ".connections");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("email-dispatch-delay").daemon(true).factory());
+        workers = Executors.newFixedThreadPool(config.getWorkers(), Thread.ofPlatform().name("email-dispatch-", 0).daemon(true).factory());
+        for (int i = 0; i < config.getWorkers(); i++) {
+            workers.execute(this::work);
+        }
+        log.info("Email dispatcher started - workers: {}, batchSize: {}, capacity: {}",
+                config.getWorkers(), config.getBatchSize(), config.getQueueCapacity());
+    }
+
+    @PreDestroy
+    public void stop() {
+        closed = true;
+        running = false;
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(config.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        scheduler.shutdownNow();
+        if (pending() > 0) {
+            log.warn("Email dispatcher stopped with {} undelivered messages", pending());
+        }
+    }
+
+    /**
+     * Place le message dans la file d'envoi.
+     * Bloque jusqu'à enqueueTimeout si la file est pleine, puis lève une RetryableNotificationException :
+     * le message n'est pas perdu, l'événement Kafka qui l'a produit est relu.
+     */
+    public void enqueue(MimeMessage message) {
+        if (closed) {
+            throw new RetryableNotificationException("Service d'envoi d'e-mails arrêté");
+        }
+        String domain = domainOf(message);
+        try {
+            if (!inFlight.tryAcquire(config.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new RetryableNotificationException("File d'envoi d'e-mails saturée");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RetryableNotificationException("Mise en file de l'e-mail interrompue", exception);
+        }
+        queue.add(new PendingEmail(message, domain, 1, false, System.nanoTime()));
+    }
+
+    /**
+     * Messages acceptés et non encore envoyés ou abandonnés.
+     */
+    public int pending() {
+        return config.getQueueCapacity() - inFlight.availablePermits();
+    }
+
+    private void work() {
+        try (SmtpConnection connection = new SmtpConnection(mailSender, config.getBatchSize(), config.getMaxIdle().toNanos(), connections)) {
+            while (running || !queue.isEmpty() || delayed.get() > 0) {
+                PendingEmail email = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (email == null) {
+                    connection.closeIfIdle();
+                    continue;
+                }
+                dispatch(connection, email);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(SmtpConnection connection, PendingEmail email) {
+        if (!email.permitted()) {
+            long waitNanos = domainLimiters.rateLimiter(email.domain()).reservePermission();
+            if (waitNanos != 0) {
+                // Créneau réservé (attente > 0) ou quota saturé au-delà de la réservation maximale (-1)
+                deferred.increment();
+                schedule(email.withPermit(waitNanos > 0), waitNanos > 0 ? waitNanos : config.getDomainRatePeriod().toNanos());
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            connection.send(email.message());
+            long now = System.nanoTime();
+            sendTimer.record(now - start, TimeUnit.NANOSECONDS);
+            lag.record(now - email.enqueuedAt(), TimeUnit.NANOSECONDS);
+            sent.increment();
+            inFlight.release();
+        } catch (SendFailedException exception) {
+            if (exception.getInvalidAddresses() != null && exception.getInvalidAddresses().length > 0) {
+                giveUp(email, exception);
+            } else {
+                retryLater(email, exception);
+            }
+        } catch (MessagingException | RuntimeException exception) {
+            retryLater(email, exception);
+        }
+    }
+
+    private void retryLater(PendingEmail email, Exception exception) {
+        if (email.attempt() >= config.getMaxAttempts()) {
+            giveUp(email, exception);
+            return;
+        }
+        long backoff = (long) (config.getInitialBackoff().toNanos() * Math.pow(config.getBackoffMultiplier(), email.attempt() - 1));
+        log.warn("Échec envoi email (domaine {}, tentative {}/{}), nouvel essai dans {} ms: {}", email.domain(),
+                email.attempt(), config.getMaxAttempts(), TimeUnit.NANOSECONDS.toMillis(backoff), exception.getMessage());
+        retried.increment();
+        schedule(email.nextAttempt(), backoff);
+    }
+
+    private void giveUp(PendingEmail email, Exception exception) {
+        log.error("Abandon envoi email (domaine {}) après {} tentative(s): {}", email.domain(), email.attempt(), exception.getMessage());
+        failed.increment();
+        inFlight.release();
+    }
+
+    private void schedule(PendingEmail email, long delayNanos) {
+        delayed.incrementAndGet();
+        scheduler.schedule(() -> {
+            queue.add(email);
+            delayed.decrementAndGet();
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String domainOf(MimeMessage message) {
+        try {
+            Address[] recipients = message.getAllRecipients();
+            if (recipients != null && recipients.length > 0 && recipients[0] instanceof InternetAddress address && address.getAddress() != null) {
+                String email = address.getAddress();
+                return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+            }
+            return "";
+        } catch (MessagingException exception) {
+            throw new ApiException("Destinataire de l'e-mail invalide");
+        }
+    }
+
+    /**
+     * Message en file ; permitted : créneau de débit déjà réservé pour ce message.
+     */
+    private record PendingEmail(MimeMessage message, String domain, int attempt, boolean permitted, long enqueuedAt) {
+
+        PendingEmail nextAttempt() {
+            return new PendingEmail(message, domain, attempt + 1, false, enqueuedAt);
+        }
+
+        PendingEmail withPermit(boolean reserved) {
+            return new PendingEmail(message, domain, attempt, reserved, enqueuedAt);
+        }
+    }
+}
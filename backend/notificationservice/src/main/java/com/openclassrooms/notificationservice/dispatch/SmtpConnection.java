@@ -0,0 +1,105 @@
+package com.openclassrooms.notificationservice.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.util.StringUtils;
+
+import java.util.Date;
+
+/**
+ * Connexion SMTP d'un worker, gardée ouverte entre les messages.
+ * Renouvelée après maxMessages messages, fermée après maxIdle sans envoi.
+ * Une connexion réutilisée que le serveur a fermée est rouverte une fois, sans compter de tentative.
+ * Non thread-safe : une instance par worker.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+final class SmtpConnection implements AutoCloseable {
+
+    private final JavaMailSenderImpl mailSender;
+    private final int maxMessages;
+    private final long maxIdleNanos;
+    private final Counter opened;
+
+    private Transport transport;
+    private int sent;
+    private long lastUsed;
+
+    SmtpConnection(JavaMailSenderImpl mailSender, int maxMessages, long maxIdleNanos, Counter opened) {
+        this.mailSender = mailSender;
+        this.maxMessages = maxMessages;
+        this.maxIdleNanos = maxIdleNanos;
+        this.opened = opened;
+    }
+
+    void send(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+
+        boolean reused = transport != null;
+        if (!reused) {
+            open();
+        }
+        try {
+            transport.sendMessage(message, message.getAllRecipients());
+        } catch (SendFailedException exception) {
+            // Refus du destinataire : la connexion reste utilisable
+            throw exception;
+        } catch (MessagingException exception) {
+            close();
+            if (!reused) {
+                throw exception;
+            }
+            log.debug("Connexion SMTP réutilisée fermée par le serveur, réouverture: {}", exception.getMessage());
+            open();
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        lastUsed = System.nanoTime();
+        if (++sent >= maxMessages) {
+            close();
+        }
+    }
+
+    void closeIfIdle() {
+        if (transport != null && System.nanoTime() - lastUsed >= maxIdleNanos) {
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException exception) {
+            log.debug("Erreur fermeture connexion SMTP: {}", exception.getMessage());
+        }
+        transport = null;
+    }
+
+    private void open() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol()
+                : mailSender.getSession().getProperty("mail.transport.protocol");
+        Transport connecting = mailSender.getSession().getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        String username = StringUtils.hasLength(mailSender.getUsername()) ? mailSender.getUsername() : null;
+        String password = StringUtils.hasLength(mailSender.getPassword()) ? mailSender.getPassword() : null;
+        connecting.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        transport = connecting;
+        sent = 0;
+        lastUsed = System.nanoTime();
+        opened.increment();
+    }
+}
@@ -0,0 +1,40 @@
+package com.openclassrooms.notificationservice.domain;
+
+import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.model.MessageSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de la boîte de réception : position (created_at, message_id) du dernier message servi.
+ * Encodé en Base64 URL-safe pour être passé tel quel en paramètre de requête.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record MessageCursor(LocalDateTime createdAt, Long messageId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static MessageCursor of(MessageSummary message) {
+        return new MessageCursor(message.getCreatedAt(), message.getMessageId());
+    }
+
+    public static MessageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new MessageCursor(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (RuntimeException exception) {
+            throw new ApiException("Curseur de pagination invalide");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + SEPARATOR + messageId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,24 @@
+package com.openclassrooms.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page de la boîte de réception.
+ * nextCursor est absent sur la dernière page.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MessagePageDTO {
+    private List<MessageResponseDTO> messages;
+    private String nextCursor;
+}
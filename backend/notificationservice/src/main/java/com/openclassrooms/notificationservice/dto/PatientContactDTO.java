@@ -0,0 +1,26 @@
+package com.openclassrooms.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+/**
+ * DTO pour le contact d'un patient
+ * Reçu depuis PatientService (GET /api/patients/{patientUuid}, data.patient)
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PatientContactDTO {
+    private String patientUuid;
+    private UserInfo userInfo;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UserInfo(String firstName, String lastName, String email) {
+    }
+}
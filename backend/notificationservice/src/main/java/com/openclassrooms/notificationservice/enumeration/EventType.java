@@ -22,6 +22,7 @@ public enum EventType {
 
     NOTE_CREATED,
     NOTE_UPDATED,
+    NOTE_DELETED,
     COMMENT_CREATED,
     COMMENT_UPDATED,
     COMMENT_DELETED,
@@ -1,10 +1,9 @@
 package com.openclassrooms.notificationservice.event;
 
+import com.openclassrooms.notificationservice.domain.Data;
 import com.openclassrooms.notificationservice.enumeration.EventType;
 import lombok.*;
 
-import java.util.Map;
-
 /**
  * @author Kardigué MAGASSA
  * @version 1.0
@@ -18,5 +17,5 @@ import java.util.Map;
 @NoArgsConstructor
 public class Event {
     private EventType eventType;
-    private Map<String, ?> data;
+    private Data data;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.openclassrooms.notificationservice.event;
+
+import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
+
+/**
+ * Message à pousser à son destinataire, tel que publié sur le topic de livraison (JSON).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record MessageDelivery(String receiverUuid, MessageResponseDTO message) {
+}
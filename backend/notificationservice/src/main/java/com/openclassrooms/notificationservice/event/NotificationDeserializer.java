@@ -0,0 +1,93 @@
+package com.openclassrooms.notificationservice.event;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.openclassrooms.commons.notification.NotificationSchemaRegistry;
+import com.openclassrooms.notificationservice.domain.Data;
+import com.openclassrooms.notificationservice.domain.Notification;
+import com.openclassrooms.notificationservice.enumeration.EventType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.avro.reflect.ReflectDatumReader;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.openclassrooms.commons.notification.NotificationSchemaRegistry.AVRO_HEADER_LENGTH;
+
+/**
+ * Désérialiseur Kafka des notifications (délégué de l'ErrorHandlingDeserializer).
+ * Avro binaire "single object" (en-tête C3 01) : le schéma d'écriture est retrouvé par son empreinte
+ * dans {@link NotificationSchemaRegistry}, résolu vers la dernière version du type d'événement,
+ * et les champs sont lus directement dans {@link Data}, sans Map intermédiaire.
+ * Sinon, enveloppe JSON {@link Notification} des producteurs pas encore migrés (champs inconnus ignorés).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class NotificationDeserializer implements Deserializer<Notification> {
+
+    /** Chaque record Avro est lu dans Data : les champs des schémas portent les noms de ses attributs. */
+    private static final ReflectData DATA_MODEL = new ReflectData() {
+        @Override
+        public Class<?> getClass(Schema schema) {
+            return schema.getType() == Schema.Type.RECORD ? Data.class : super.getClass(schema);
+        }
+    };
+
+    private final NotificationSchemaRegistry schemaRegistry;
+    private final ObjectReader jsonReader = JsonMapper.builder()
+            .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(Notification.class);
+    /** Lecteurs par schéma d'écriture (la résolution des versions est calculée une fois). */
+    private final Map<Long, DatumReader<Data>> readers = new ConcurrentHashMap<>();
+
+    public NotificationDeserializer() {
+        this(new NotificationSchemaRegistry());
+    }
+
+    NotificationDeserializer(NotificationSchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public Notification deserialize(String topic, byte[] message) {
+        if (message == null) {
+            return null;
+        }
+        try {
+            if (NotificationSchemaRegistry.isAvro(message)) {
+                return fromAvro(message);
+            }
+            return jsonReader.readValue(message);
+        } catch (IOException | RuntimeException exception) {
+            throw new SerializationException("Notification illisible: " + exception.getMessage(), exception);
+        }
+    }
+
+    private Notification fromAvro(byte[] message) throws IOException {
+        long fingerprint = NotificationSchemaRegistry.fingerprint(message);
+        NotificationSchemaRegistry.RegisteredSchema writer = schemaRegistry.find(fingerprint)
+                .orElseThrow(() -> new SerializationException("Schéma de notification inconnu: " + Long.toHexString(fingerprint)));
+
+        Data data = readers.computeIfAbsent(fingerprint, key -> reader(writer))
+                .read(null, DecoderFactory.get().binaryDecoder(message, AVRO_HEADER_LENGTH, message.length - AVRO_HEADER_LENGTH, null));
+        return new Notification(new Event(EventType.valueOf(writer.eventType()), data), Map.of());
+    }
+
+    private DatumReader<Data> reader(NotificationSchemaRegistry.RegisteredSchema writer) {
+        // Copie du schéma de lecture, textes lus en String (attributs de Data)
+        Schema readerSchema = new Schema.Parser().parse(schemaRegistry.latest(writer.eventType()).orElseThrow().schema().toString());
+        GenericData.setStringType(readerSchema, GenericData.StringType.String);
+        return new ReflectDatumReader<>(writer.schema(), readerSchema, DATA_MODEL);
+    }
+}
@@ -0,0 +1,11 @@
+package com.openclassrooms.notificationservice.event;
+
+/**
+ * Nouvelle valeur du compteur de non-lus d'un utilisateur, telle que publiée sur le topic des compteurs (JSON).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public record UnreadCountUpdate(String userUuid, int unreadCount) {
+}
@@ -0,0 +1,44 @@
+package com.openclassrooms.notificationservice.event.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.event.MessageDelivery;
+import com.openclassrooms.notificationservice.service.MessageDeliveryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener Kafka du topic de livraison des messages.
+ * Chaque instance consomme le topic avec son propre groupe, à partir de la fin du topic :
+ * toutes les instances voient chaque message et seule celle qui détient la connexion du destinataire le pousse.
+ * Le topic est en JSON : le désérialiseur des notifications est remplacé par celui des chaînes.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageDeliveryListener {
+
+    private final MessageDeliveryService messageDeliveryService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${notification.delivery.topic:MEDILABO_MESSAGES}",
+            groupId = "${notification.delivery.group-id:notification-delivery-${random.uuid}}",
+            autoStartup = "${notification.delivery.enabled:true}",
+            properties = {
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "auto.offset.reset=latest"
+            })
+    public void onMessage(String message) {
+        try {
+            messageDeliveryService.deliver(objectMapper.readValue(message, MessageDelivery.class));
+        } catch (Exception e) {
+            log.error("Erreur livraison message: {}", e.getMessage());
+        }
+    }
+}
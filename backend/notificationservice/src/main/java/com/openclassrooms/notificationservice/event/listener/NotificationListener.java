@@ -1,50 +1,189 @@
 package com.openclassrooms.notificationservice.event.listener;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.openclassrooms.notificationservice.config.NotificationRetryConfig;
+import com.openclassrooms.notificationservice.config.PatientContactConfig;
 import com.openclassrooms.notificationservice.domain.Data;
 import com.openclassrooms.notificationservice.domain.Notification;
+import com.openclassrooms.notificationservice.dto.PatientContactDTO;
+import com.openclassrooms.notificationservice.enumeration.EventType;
+import com.openclassrooms.notificationservice.exception.RetryableNotificationException;
 import com.openclassrooms.notificationservice.service.EmailService;
-import lombok.RequiredArgsConstructor;
+import com.openclassrooms.notificationservice.service.PatientServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
-import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Listener Kafka pour les notifications MediLabo.
  * Écoute les événements et déclenche l'envoi des emails appropriés.
+ * Les enregistrements sont reçus par lots (un consommateur par partition, voir notification.listener.concurrency)
+ * et répartis par type d'événement entre les pools de {@link NotificationWorkerPools} ;
+ * les offsets du lot ne sont validés qu'une fois tous ses enregistrements traités.
+ * Échec transitoire ({@link RetryableNotificationException}) : le premier enregistrement concerné est signalé
+ * au gestionnaire d'erreurs (nouvelles tentatives, puis topic d'erreurs) ; les autres échecs sont journalisés et comptés.
+ * Le gestionnaire relit le lot à partir de cet enregistrement : ceux déjà traités, reconnus par topic, partition
+ * et offset, ne sont pas renvoyés (pas d'e-mail en double à chaque incident SMTP).
+ * Les données arrivent déjà typées ({@link com.openclassrooms.notificationservice.event.NotificationDeserializer}).
+ * Les événements de dossier (notes, commentaires, fichiers) ne portent que l'UUID du patient :
+ * son contact est lu dans PatientService avant l'envoi.
  *
  * @author Kardigué MAGASSA
- * @version 2.0
+ * @version 3.0
  * @since 2026-02-09
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class NotificationListener {
 
     private static final String MEDILABO_NOTIFICATIONS = "MEDILABO_NOTIFICATIONS";
 
+    /**Événements publiés sans le contact du patient.*/
+    private static final Set<EventType> PATIENT_RECORD_EVENTS = EnumSet.of(EventType.NOTE_CREATED, EventType.NOTE_UPDATED,
+            EventType.COMMENT_CREATED, EventType.COMMENT_UPDATED, EventType.COMMENT_DELETED,
+            EventType.FILE_UPLOADED, EventType.FILE_DELETED);
+
     private final EmailService emailService;
-    private final ObjectMapper objectMapper;
+    private final NotificationWorkerPools workerPools;
+    private final MeterRegistry meterRegistry;
+    private final PatientServiceClient patientServiceClient;
+    private final PatientContactConfig patientContactConfig;
+    /** Enregistrements traités (succès ou échec définitif), par identité Kafka : topic-partition@offset. */
+    private final Cache<String, Boolean> handledRecords;
+
+    public NotificationListener(EmailService emailService, NotificationWorkerPools workerPools, MeterRegistry meterRegistry,
+                                PatientServiceClient patientServiceClient, PatientContactConfig patientContactConfig,
+                                NotificationRetryConfig retryConfig) {
+        this.emailService = emailService;
+        this.workerPools = workerPools;
+        this.meterRegistry = meterRegistry;
+        this.patientServiceClient = patientServiceClient;
+        this.patientContactConfig = patientContactConfig;
+        this.handledRecords = Caffeine.newBuilder()
+                .maximumSize(retryConfig.getDeduplicationMaximumSize())
+                .expireAfterWrite(retryConfig.getDeduplicationWindow())
+                .build();
+    }
+
+    @KafkaListener(topics = MEDILABO_NOTIFICATIONS, groupId = "${spring.kafka.consumer.group-id:notification-group}",
+            batch = "true", concurrency = "${notification.listener.concurrency:3}")
+    public void handleNotifications(List<ConsumerRecord<String, Notification>> records) {
+        log.debug("Lot de {} notifications reçu", records.size());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(records.size());
 
-    @KafkaListener(topics = MEDILABO_NOTIFICATIONS, groupId = "${spring.kafka.consumer.group-id:notification-group}")
+        for (ConsumerRecord<String, Notification> record : records) {
+            Notification notification = record.value();
+            if (notification == null || notification.getPayload() == null) {
+                log.warn("Notification illisible ignorée: partition={}, offset={}", record.partition(), record.offset());
+                tasks.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            EventType eventType = notification.getPayload().getEventType();
+            String pool = workerPools.poolFor(eventType);
+            String recordKey = record.topic() + "-" + record.partition() + "@" + record.offset();
+            if (handledRecords.getIfPresent(recordKey) != null) {
+                // Relu avec le lot d'un enregistrement en échec transitoire : déjà envoyé
+                log.debug("Notification déjà traitée ignorée: {}", recordKey);
+                meterRegistry.counter("notification.event", "pool", pool, "outcome", "duplicate").increment();
+                tasks.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            tasks.add(workerPools.submit(eventType, () -> {
+                String outcome = "failed";
+                try {
+                    outcome = process(notification) ? "processed" : "failed";
+                    handledRecords.put(recordKey, Boolean.TRUE);
+                } catch (RetryableNotificationException exception) {
+                    outcome = "retried";
+                    throw exception;
+                } finally {
+                    meterRegistry.counter("notification.event", "pool", pool, "outcome", outcome).increment();
+                    if (record.timestamp() > 0) {
+                        meterRegistry.timer("notification.event.lag", "pool", pool)
+                                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - record.timestamp())));
+                    }
+                }
+            }));
+        }
+
+        // Attend tout le lot avant de signaler un échec : aucun worker ne traite encore un enregistrement relu
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        for (int index = 0; index < tasks.size(); index++) {
+            if (tasks.get(index).isCompletedExceptionally()) {
+                Throwable cause = tasks.get(index).handle((ignored, error) -> error instanceof CompletionException ? error.getCause() : error).join();
+                throw new BatchListenerFailedException("Notification en échec transitoire: " + cause.getMessage(), cause, index);
+            }
+        }
+    }
+
+    /**Traite une notification unitaire*/
     public void handleNotification(Notification notification) {
+        process(notification);
+    }
+
+    private boolean process(Notification notification) {
         log.info("Notification reçue: type={}", notification.getPayload().getEventType());
 
         try {
-            objectMapper.configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
-            var data = objectMapper.convertValue(notification.getPayload().getData(), Data.class);
-
-            processNotification(notification, data);
+            Data data = notification.getPayload().getData();
+            if (resolvePatientContact(notification.getPayload().getEventType(), data)) {
+                processNotification(notification, data);
+            }
+            return true;
 
+        } catch (RetryableNotificationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erreur traitement notification: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Complète l'email et le nom du destinataire d'un événement de dossier.
+     * Patient inconnu ou sans email : false, l'email n'est pas envoyé.
+     * PatientService ou jeton indisponible : RetryableNotificationException, l'événement est relu.
+     */
+    private boolean resolvePatientContact(EventType eventType, Data data) {
+        if (!PATIENT_RECORD_EVENTS.contains(eventType) || StringUtils.isNotBlank(data.getEmail())) {
+            return true;
         }
+        String patientUuid = StringUtils.firstNonBlank(data.getPatientUuid(), data.getPatientNumber());
+        if (patientUuid == null) {
+            log.warn("{} sans patient, email non envoyé", eventType);
+            return false;
+        }
+        PatientContactDTO contact;
+        try {
+            contact = patientServiceClient.getPatientContact(patientUuid).block(patientContactConfig.getTimeout());
+        } catch (RuntimeException exception) {
+            throw new RetryableNotificationException("Contact du patient " + patientUuid + " indisponible", exception);
+        }
+        if (contact == null || contact.getUserInfo() == null || StringUtils.isBlank(contact.getUserInfo().email())) {
+            log.info("{} : aucun email pour le patient {}, email non envoyé", eventType, patientUuid);
+            return false;
+        }
+        data.setEmail(contact.getUserInfo().email());
+        if (StringUtils.isBlank(data.getName())) {
+            data.setName(StringUtils.joinWith(" ", contact.getUserInfo().firstName(), contact.getUserInfo().lastName()).trim());
+        }
+        return true;
     }
 
-    /**raite la notification selon son type*/
+    /**Traite la notification selon son type*/
     private void processNotification(Notification notification, Data data) {
         switch (notification.getPayload().getEventType()) {
 
@@ -145,6 +284,9 @@ public class NotificationListener {
                 );
             }
 
+            // Consommé par AssessmentService (invalidation du cache) ; pas d'email au patient
+            case NOTE_DELETED -> log.debug("NOTE_DELETED ignoré : pas d'email de suppression de note");
+
             case COMMENT_UPDATED -> {
                 log.info("Traitement COMMENT_UPDATED pour: {}", data.getEmail());
                 emailService.sendCommentUpdatedEmail(
@@ -0,0 +1,89 @@
+package com.openclassrooms.notificationservice.event.listener;
+
+import com.openclassrooms.notificationservice.config.NotificationListenerConfig;
+import com.openclassrooms.notificationservice.enumeration.EventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pools de workers par type d'événement (voir {@link NotificationListenerConfig}).
+ * File bornée par pool ; pool plein : la tâche s'exécute dans le thread consommateur,
+ * ce qui ralentit la lecture de la partition au lieu d'accumuler en mémoire.
+ * Métriques Micrometer executor.* (tag name=notification-{pool}).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+public class NotificationWorkerPools {
+
+    static final String DEFAULT_POOL = "default";
+
+    private final Map<String, ThreadPoolExecutor> pools = new LinkedHashMap<>();
+    private final Map<EventType, String> routes = new EnumMap<>(EventType.class);
+
+    public NotificationWorkerPools(NotificationListenerConfig config, MeterRegistry meterRegistry) {
+        config.getPools().forEach((name, threads) -> pools.put(name, newPool(name, threads, config.getQueueCapacity(), meterRegistry)));
+        pools.computeIfAbsent(DEFAULT_POOL, name -> newPool(name, 1, config.getQueueCapacity(), meterRegistry));
+
+        config.getRoutes().forEach((type, pool) -> {
+            if (pools.containsKey(pool)) {
+                routes.put(type, pool);
+            } else {
+                log.warn("Pool '{}' inconnu pour {}, routage vers '{}'", pool, type, DEFAULT_POOL);
+            }
+        });
+    }
+
+    /**
+     * Pool chargé du type d'événement.
+     */
+    public String poolFor(EventType type) {
+        return type == null ? DEFAULT_POOL : routes.getOrDefault(type, DEFAULT_POOL);
+    }
+
+    /**
+     * Exécute la tâche dans le pool du type d'événement.
+     */
+    public CompletableFuture<Void> submit(EventType type, Runnable task) {
+        return CompletableFuture.runAsync(task, pools.get(poolFor(type)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.values().forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor pool : pools.values()) {
+            try {
+                if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                    pool.shutdownNow();
+                }
+            } catch (InterruptedException exception) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor newPool(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("notification-" + name + "-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        new ExecutorServiceMetrics(pool, "notification-" + name, Tags.empty()).bindTo(meterRegistry);
+        return pool;
+    }
+}
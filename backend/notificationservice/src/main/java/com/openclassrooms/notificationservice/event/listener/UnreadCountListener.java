@@ -0,0 +1,44 @@
+package com.openclassrooms.notificationservice.event.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.event.UnreadCountUpdate;
+import com.openclassrooms.notificationservice.service.UnreadCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener Kafka du topic des compteurs de non-lus.
+ * Comme pour la livraison des messages, chaque instance consomme le topic avec son propre groupe,
+ * à partir de la fin du topic : le compteur modifié sur une instance met à jour le cache et les flux SSE de toutes.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadCountListener {
+
+    private final UnreadCounterService unreadCounterService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${notification.unread.topic:MEDILABO_UNREAD_COUNTERS}",
+            groupId = "${notification.unread.group-id:notification-unread-${random.uuid}}",
+            autoStartup = "${notification.unread.enabled:true}",
+            properties = {
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "auto.offset.reset=latest"
+            })
+    public void onUnreadCount(String message) {
+        try {
+            UnreadCountUpdate update = objectMapper.readValue(message, UnreadCountUpdate.class);
+            unreadCounterService.apply(update.userUuid(), update.unreadCount());
+        } catch (Exception e) {
+            log.error("Erreur mise à jour compteur de non-lus: {}", e.getMessage());
+        }
+    }
+}
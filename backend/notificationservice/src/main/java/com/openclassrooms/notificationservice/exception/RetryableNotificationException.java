@@ -0,0 +1,20 @@
+package com.openclassrooms.notificationservice.exception;
+
+/**
+ * Échec transitoire du traitement d'une notification (file d'envoi saturée, PatientService indisponible) :
+ * l'événement n'est pas abandonné, il est relu depuis Kafka puis envoyé au topic d'erreurs après les nouvelles tentatives.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public class RetryableNotificationException extends RuntimeException {
+
+    public RetryableNotificationException(String message) {
+        super(message);
+    }
+
+    public RetryableNotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,9 +4,11 @@ import com.openclassrooms.notificationservice.dto.MessageRequestDTO;
 import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
 import com.openclassrooms.notificationservice.model.Message;
+import com.openclassrooms.notificationservice.model.MessageSummary;
 import org.mapstruct.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE, imports = UUID.class)
@@ -70,6 +72,18 @@ public interface MessageMapper {
         return response;
     }
 
+    /**Entities → Responses avec les statuts de l'utilisateur déjà indexés par messageId (UNREAD par défaut)*/
+    default List<MessageResponseDTO> toResponseList(List<Message> messages, Map<Long, String> statusByMessageId) {
+        if (messages == null) return List.of();
+        return messages.stream()
+                .map(m -> {
+                    MessageResponseDTO response = toResponse(m);
+                    response.setStatus(statusByMessageId.getOrDefault(m.getMessageId(), "UNREAD"));
+                    return response;
+                })
+                .toList();
+    }
+
     default List<MessageResponseDTO> toResponseListForUser(List<Message> messages, String userUuid) {
         if (messages == null) return List.of();
         return messages.stream()
@@ -77,6 +91,34 @@ public interface MessageMapper {
                 .toList();
     }
 
+    /**Projection boîte de réception → Response (statut déjà résolu pour l'utilisateur)*/
+    default MessageResponseDTO toInboxResponse(MessageSummary message) {
+        if (message == null) return null;
+        return MessageResponseDTO.builder()
+                .messageUuid(message.getMessageUuid())
+                .conversationId(message.getConversationId())
+                .subject(message.getSubject())
+                .message(message.getMessage())
+                .status(message.getStatus())
+                .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
+                .updatedAt(message.getUpdatedAt() != null ? message.getUpdatedAt().toString() : null)
+                .sender(MessageResponseDTO.UserInfo.builder()
+                        .userUuid(message.getSenderUuid())
+                        .name(message.getSenderName())
+                        .email(message.getSenderEmail())
+                        .imageUrl(message.getSenderImageUrl())
+                        .role(message.getSenderRole())
+                        .build())
+                .receiver(MessageResponseDTO.UserInfo.builder()
+                        .userUuid(message.getReceiverUuid())
+                        .name(message.getReceiverName())
+                        .email(message.getReceiverEmail())
+                        .imageUrl(message.getReceiverImageUrl())
+                        .role(message.getReceiverRole())
+                        .build())
+                .build();
+    }
+
     default String buildFullName(UserRequestDTO user) {
         if (user == null) return "";
         String first = user.getFirstName() != null ? user.getFirstName() : "";
@@ -22,6 +22,10 @@ public class Conversation {
     @Column(name = "conversation_uuid", nullable = false, unique = true, length = 40)
     private String conversationUuid;
 
+    /** Paire de participants normalisée (voir {@link #participantKey}) : une seule conversation par paire. */
+    @Column(name = "participant_key", unique = true, length = 81)
+    private String participantKey;
+
     @Column(name = "participant_1_uuid", nullable = false, length = 40)
     private String participant1Uuid;
 
@@ -66,4 +70,12 @@ public class Conversation {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * Clé d'une paire de participants, indépendante du sens de l'échange : uuid le plus petit d'abord
+     * (ordre binaire, identique au COLLATE "C" de la reprise SQL).
+     */
+    public static String participantKey(String userUuid, String otherUuid) {
+        return userUuid.compareTo(otherUuid) <= 0 ? userUuid + ":" + otherUuid : otherUuid + ":" + userUuid;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.openclassrooms.notificationservice.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection fermée d'un {@link Message} pour la boîte de réception.
+ * Le statut est celui de l'utilisateur courant (une seule ligne de message_statuses jointe),
+ * sans entité gérée ni collection de statuts chargée.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface MessageSummary {
+    Long getMessageId();
+    String getMessageUuid();
+    String getConversationId();
+    String getSubject();
+    String getMessage();
+    String getStatus();
+
+    String getSenderUuid();
+    String getSenderName();
+    String getSenderEmail();
+    String getSenderImageUrl();
+    String getSenderRole();
+
+    String getReceiverUuid();
+    String getReceiverName();
+    String getReceiverEmail();
+    String getReceiverImageUrl();
+    String getReceiverRole();
+
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,35 @@
+package com.openclassrooms.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compteur dénormalisé des messages non lus d'un utilisateur.
+ * Maintenu dans la même transaction que les écritures de message_statuses
+ * (voir UnreadCounterRepository#adjust), il remplace le COUNT sur message_statuses.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Entity
+@Table(name = "unread_counters")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UnreadCounter {
+
+    @Id
+    @Column(name = "user_uuid", length = 40)
+    private String userUuid;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -2,11 +2,32 @@ package com.openclassrooms.notificationservice.repository;
 
 import com.openclassrooms.notificationservice.model.Conversation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
     Optional<Conversation> findByConversationUuid(String conversationUuid);
-}
\ No newline at end of file
+
+    /**
+     * Résout la conversation d'une paire de participants en une instruction sur l'index unique participant_key :
+     * création au premier message, sinon mise à jour de la dernière activité. Deux premiers messages concurrents
+     * d'une même paire obtiennent le même conversation_uuid (le second attend le verrou puis passe en mise à jour).
+     */
+    @Transactional
+    @Query(value = "INSERT INTO conversations (conversation_uuid, participant_key, " +
+            "participant_1_uuid, participant_1_name, participant_1_role, participant_2_uuid, participant_2_name, participant_2_role, " +
+            "subject, last_message_at, message_count, created_at, updated_at) " +
+            "VALUES (:#{#conversation.conversationUuid}, :#{#conversation.participantKey}, " +
+            ":#{#conversation.participant1Uuid}, :#{#conversation.participant1Name}, :#{#conversation.participant1Role}, " +
+            ":#{#conversation.participant2Uuid}, :#{#conversation.participant2Name}, :#{#conversation.participant2Role}, " +
+            ":#{#conversation.subject}, NOW(), 1, NOW(), NOW()) " +
+            "ON CONFLICT (participant_key) DO UPDATE SET last_message_at = NOW(), " +
+            "message_count = conversations.message_count + 1, updated_at = NOW() " +
+            "RETURNING conversation_uuid", nativeQuery = true)
+    String upsertByParticipants(@Param("conversation") Conversation conversation);
+}
@@ -1,25 +1,44 @@
 package com.openclassrooms.notificationservice.repository;
 
 import com.openclassrooms.notificationservice.model.Message;
+import com.openclassrooms.notificationservice.model.MessageSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    @Query("SELECT DISTINCT m FROM Message m LEFT JOIN FETCH m.statuses " + "WHERE m.senderUuid = :userUuid OR m.receiverUuid = :userUuid " + "ORDER BY m.createdAt DESC")
-    List<Message> findAllByUser(@Param("userUuid") String userUuid);
+    String INBOX_SELECT = "SELECT m.messageId AS messageId, m.messageUuid AS messageUuid, m.conversationId AS conversationId, " +
+            "m.subject AS subject, m.message AS message, COALESCE(s.messageStatus, 'UNREAD') AS status, " +
+            "m.senderUuid AS senderUuid, m.senderName AS senderName, m.senderEmail AS senderEmail, m.senderImageUrl AS senderImageUrl, m.senderRole AS senderRole, " +
+            "m.receiverUuid AS receiverUuid, m.receiverName AS receiverName, m.receiverEmail AS receiverEmail, m.receiverImageUrl AS receiverImageUrl, m.receiverRole AS receiverRole, " +
+            "m.createdAt AS createdAt, m.updatedAt AS updatedAt " +
+            "FROM Message m LEFT JOIN MessageStatus s ON s.message = m AND s.userUuid = :userUuid " +
+            "WHERE (m.senderUuid = :userUuid OR m.receiverUuid = :userUuid) ";
 
-    @Query("SELECT DISTINCT m FROM Message m LEFT JOIN FETCH m.statuses " + "WHERE m.conversationId = :conversationId " + "ORDER BY m.createdAt ASC")
-    List<Message> findByConversationId(@Param("conversationId") String conversationId);
+    /**
+     * Première page de la boîte de réception, du plus récent au plus ancien.
+     * Seul le statut de l'utilisateur est joint (pas de JOIN FETCH sur tous les statuts ni de DISTINCT).
+     */
+    @Query(INBOX_SELECT + "ORDER BY m.createdAt DESC, m.messageId DESC")
+    List<MessageSummary> findInbox(@Param("userUuid") String userUuid, Limit limit);
 
-    @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END FROM Message m " + "WHERE (m.senderUuid = :userUuid AND m.receiverEmail = :receiverEmail) " + "OR (m.senderEmail = :receiverEmail AND m.receiverUuid = :userUuid)")
-    boolean conversationExists(@Param("userUuid") String userUuid, @Param("receiverEmail") String receiverEmail);
+    /**
+     * Page suivante par keyset sur (created_at, message_id) : coût constant quelle que soit la profondeur,
+     * contrairement à un OFFSET qui relit toutes les lignes déjà servies.
+     */
+    @Query(INBOX_SELECT + "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.messageId < :messageId)) " +
+            "ORDER BY m.createdAt DESC, m.messageId DESC")
+    List<MessageSummary> findInboxBefore(@Param("userUuid") String userUuid, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("messageId") Long messageId, Limit limit);
 
-    @Query("SELECT m.conversationId FROM Message m " + "WHERE (m.senderUuid = :userUuid AND m.receiverEmail = :receiverEmail) " + "OR (m.senderEmail = :receiverEmail AND m.receiverUuid = :userUuid) " + "ORDER BY m.createdAt DESC")
-    List<String> findConversationIds(@Param("userUuid") String userUuid, @Param("receiverEmail") String receiverEmail);
-}
\ No newline at end of file
+    /** Messages d'une conversation sans leurs statuts : celui de l'utilisateur est lu à part (MessageStatusRepository). */
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.createdAt ASC")
+    List<Message> findByConversationId(@Param("conversationId") String conversationId);
+}
@@ -8,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Repository
 public interface MessageStatusRepository extends JpaRepository<MessageStatus, Long> {
 
@@ -18,4 +20,31 @@ public interface MessageStatusRepository extends JpaRepository<MessageStatus, Lo
     @Modifying
     @Query("UPDATE MessageStatus ms SET ms.messageStatus = :status, ms.readAt = CURRENT_TIMESTAMP " + "WHERE ms.userUuid = :userUuid AND ms.message.messageId = :messageId")
     int updateStatus(@Param("userUuid") String userUuid, @Param("messageId") Long messageId, @Param("status") String status);
+
+    /**
+     * Accusé de lecture d'un message : seule une ligne encore UNREAD est écrite.
+     * @return 1 si le message vient de passer à READ, 0 sinon (déjà lu ou inconnu)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE MessageStatus ms SET ms.messageStatus = 'READ', ms.readAt = CURRENT_TIMESTAMP " +
+            "WHERE ms.userUuid = :userUuid AND ms.message.messageId = :messageId AND ms.messageStatus = 'UNREAD'")
+    int markAsRead(@Param("userUuid") String userUuid, @Param("messageId") Long messageId);
+
+    /**
+     * Accusés de lecture d'une conversation en une seule instruction, quelle que soit sa longueur.
+     * Seules les lignes encore UNREAD de l'utilisateur sont écrites.
+     * @return nombre de messages passés à READ
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE MessageStatus ms SET ms.messageStatus = 'READ', ms.readAt = CURRENT_TIMESTAMP " +
+            "WHERE ms.userUuid = :userUuid AND ms.messageStatus = 'UNREAD' " +
+            "AND ms.message.messageId IN (SELECT m.messageId FROM Message m WHERE m.conversationId = :conversationId)")
+    int markConversationAsRead(@Param("userUuid") String userUuid, @Param("conversationId") String conversationId);
+
+    /** Statuts de l'utilisateur sur une conversation : [messageId, messageStatus], lus une fois par requête. */
+    @Query("SELECT ms.message.messageId, ms.messageStatus FROM MessageStatus ms " +
+            "WHERE ms.userUuid = :userUuid AND ms.message.conversationId = :conversationId")
+    List<Object[]> findStatusesInConversation(@Param("userUuid") String userUuid, @Param("conversationId") String conversationId);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.openclassrooms.notificationservice.repository;
+
+import com.openclassrooms.notificationservice.model.UnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, String> {
+
+    @Query("SELECT c.unreadCount FROM UnreadCounter c WHERE c.userUuid = :userUuid")
+    Optional<Integer> findCount(@Param("userUuid") String userUuid);
+
+    /**
+     * Ajoute delta au compteur (création à la première écriture) et retourne la nouvelle valeur.
+     * Une seule instruction : le verrou de ligne sérialise les écritures concurrentes d'un même utilisateur.
+     * Le compteur ne descend jamais sous zéro.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO unread_counters (user_uuid, unread_count, updated_at) VALUES (:userUuid, GREATEST(:delta, 0), NOW()) " +
+            "ON CONFLICT (user_uuid) DO UPDATE SET unread_count = GREATEST(unread_counters.unread_count + :delta, 0), updated_at = NOW() " +
+            "RETURNING unread_count", nativeQuery = true)
+    int adjust(@Param("userUuid") String userUuid, @Param("delta") int delta);
+}
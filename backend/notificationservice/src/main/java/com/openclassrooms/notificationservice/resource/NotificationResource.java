@@ -1,7 +1,10 @@
 package com.openclassrooms.notificationservice.resource;
 
+import com.openclassrooms.notificationservice.config.MessageDeliveryConfig;
+import com.openclassrooms.notificationservice.config.UnreadCounterConfig;
 import com.openclassrooms.notificationservice.domain.Response;
 import com.openclassrooms.notificationservice.dto.MessageRequestDTO;
+import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
 import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,13 +17,19 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.openclassrooms.notificationservice.utils.RequestUtils.getResponse;
 import static java.util.Map.of;
@@ -47,6 +56,8 @@ import static org.springframework.http.HttpStatus.OK;
 @RequestMapping("/api/notifications")
 public class NotificationResource {
     private final NotificationService notificationService;
+    private final UnreadCounterConfig unreadCounterConfig;
+    private final MessageDeliveryConfig messageDeliveryConfig;
 
     @Operation(summary = "Envoyer un nouveau message")
     @ApiResponses(value = {
@@ -83,17 +94,29 @@ public class NotificationResource {
                         .body(getResponse(request, of("message", messageResponse), "Message envoyé avec succès", CREATED)));
     }
 
-    @Operation(summary = "Récupérer tous les messages de l'utilisateur connecté")
+    @Operation(summary = "Récupérer les messages de l'utilisateur connecté, par page",
+            description = "Du plus récent au plus ancien. Passer le nextCursor de la réponse pour obtenir la page suivante")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages récupérés avec succès"),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide")
+    })
     @GetMapping("/messages")
-    public Mono<ResponseEntity<Response>> getMessages(@AuthenticationPrincipal Jwt jwt, HttpServletRequest request) {
+    public Mono<ResponseEntity<Response>> getMessages(@AuthenticationPrincipal Jwt jwt, HttpServletRequest request,
+                                                      @RequestParam(required = false) @Parameter(description = "Curseur de la page suivante (nextCursor)") String cursor,
+                                                      @RequestParam(defaultValue = "20") @Parameter(description = "Taille de page (max 100)", example = "20") int size) {
 
         String userUuid = extractUserUuid(jwt);
         log.debug("Récupération messages pour user: {}", userUuid);
 
-        return Mono.zip(notificationService.getMessages(userUuid).collectList(), notificationService.getUnreadCount(userUuid)).map(tuple -> {
-            var messages = tuple.getT1();
+        return Mono.zip(notificationService.getMessages(userUuid, cursor, size), notificationService.getUnreadCount(userUuid)).map(tuple -> {
+            var page = tuple.getT1();
             var unreadCount = tuple.getT2();
-            return ResponseEntity.ok(getResponse(request, of("messages", messages, "count", messages.size(), "unreadCount", unreadCount), "Messages récupérés avec succès", OK));
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("messages", page.getMessages());
+            data.put("count", page.getMessages().size());
+            data.put("unreadCount", unreadCount);
+            if (page.getNextCursor() != null) data.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(getResponse(request, data, "Messages récupérés avec succès", OK));
         });
     }
 
@@ -119,6 +142,30 @@ public class NotificationResource {
                 .map(unreadCount -> ResponseEntity.ok(getResponse(request, of("unreadCount", unreadCount), "Compteur récupéré avec succès", OK)));
     }
 
+    @Operation(summary = "Suivre le nombre de messages non lus (Server-Sent Events)",
+            description = "Émet la valeur courante puis chaque changement (événement unread-count), sans interroger la base à chaque poll")
+    @GetMapping(value = "/messages/unread/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Integer>> streamUnreadCount(@AuthenticationPrincipal Jwt jwt) {
+
+        String userUuid = extractUserUuid(jwt);
+        log.debug("Flux SSE des non-lus pour user: {}", userUuid);
+
+        return withHeartbeat(notificationService.watchUnreadCount(userUuid)
+                .map(unreadCount -> ServerSentEvent.builder(unreadCount).event("unread-count").build()), unreadCounterConfig.getHeartbeat());
+    }
+
+    @Operation(summary = "Recevoir les nouveaux messages en temps réel (Server-Sent Events)",
+            description = "Émet chaque message reçu après l'abonnement (événement message) ; à la fermeture du flux, le client recharge sa boîte de réception")
+    @GetMapping(value = "/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MessageResponseDTO>> streamMessages(@AuthenticationPrincipal Jwt jwt) {
+
+        String userUuid = extractUserUuid(jwt);
+        log.debug("Flux SSE des messages pour user: {}", userUuid);
+
+        return withHeartbeat(notificationService.watchMessages(userUuid)
+                .map(message -> ServerSentEvent.builder(message).id(message.getMessageUuid()).event("message").build()), messageDeliveryConfig.getHeartbeat());
+    }
+
     @Operation(summary = "Marquer un message comme lu")
     @PatchMapping("/messages/{messageId}/read")
     public Mono<ResponseEntity<Response>> markAsRead(@AuthenticationPrincipal Jwt jwt, HttpServletRequest request, @Parameter(description = "ID du message") @PathVariable Long messageId) {
@@ -130,6 +177,16 @@ public class NotificationResource {
                 .then(Mono.just(ResponseEntity.ok(getResponse(request, of("messageId", messageId, "status", "READ"), "Message marqué comme lu", OK))));
     }
 
+    /**
+     * Intercale des commentaires keepalive dans un flux SSE ; ils s'arrêtent avec le flux d'événements,
+     * ce qui ferme la connexion et laisse le client se reconnecter.
+     */
+    private static <T> Flux<ServerSentEvent<T>> withHeartbeat(Flux<ServerSentEvent<T>> events, Duration heartbeat) {
+        return events.publish(shared -> Flux.merge(shared, Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<T>builder().comment("keepalive").build())
+                .takeUntilOther(shared.then())));
+    }
+
     /**
      * Construit un UserRequest à partir des claims JWT.
      * Centralise l'extraction des informations utilisateur.
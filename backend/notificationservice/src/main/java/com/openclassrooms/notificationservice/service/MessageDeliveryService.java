@@ -0,0 +1,24 @@
+package com.openclassrooms.notificationservice.service;
+
+import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
+import com.openclassrooms.notificationservice.event.MessageDelivery;
+import reactor.core.publisher.Flux;
+
+/**
+ * Livraison en temps réel des nouveaux messages aux connexions ouvertes de leur destinataire.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface MessageDeliveryService {
+
+    /** Publie le message pour toutes les instances, après commit de la transaction courante. */
+    void publish(String receiverUuid, MessageResponseDTO message);
+
+    /** Pousse un message reçu du topic aux connexions du destinataire ouvertes sur cette instance. */
+    void deliver(MessageDelivery delivery);
+
+    /** Nouveaux messages de l'utilisateur, à partir de l'abonnement. */
+    Flux<MessageResponseDTO> connect(String userUuid);
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.notificationservice.service;
 
+import com.openclassrooms.notificationservice.dto.MessagePageDTO;
 import com.openclassrooms.notificationservice.dto.MessageRequestDTO;
 import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
@@ -15,8 +16,10 @@ import reactor.core.publisher.Mono;
  */
 public interface NotificationService {
     Mono<MessageResponseDTO> sendMessage(MessageRequestDTO request, UserRequestDTO sender);
-    Flux<MessageResponseDTO> getMessages(String userUuid);
+    Mono<MessagePageDTO> getMessages(String userUuid, String cursor, int size);
     Flux<MessageResponseDTO> getConversation(String userUuid, String conversationId);
     Mono<Integer> getUnreadCount(String userUuid);
+    Flux<Integer> watchUnreadCount(String userUuid);
+    Flux<MessageResponseDTO> watchMessages(String userUuid);
     Mono<Void> markMessageAsRead(String userUuid, Long messageId);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.openclassrooms.notificationservice.service;
+
+import com.openclassrooms.notificationservice.dto.PatientContactDTO;
+import reactor.core.publisher.Mono;
+
+public interface PatientServiceClient {
+    /**
+     * Contact du patient, lu avec le jeton du service.
+     * Vide si le patient n'existe plus ; en erreur si PatientService ou le jeton sont indisponibles.
+     */
+    Mono<PatientContactDTO> getPatientContact(String patientUuid);
+}
@@ -0,0 +1,25 @@
+package com.openclassrooms.notificationservice.service;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Compteurs de messages non lus par utilisateur (badge de notifications).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface UnreadCounterService {
+
+    /** Compteur courant, servi depuis le cache ; la base n'est lue qu'en cas d'absence. */
+    int getUnreadCount(String userUuid);
+
+    /** Ajuste le compteur dans la transaction courante ; après commit, la valeur est appliquée ici et diffusée aux autres instances. */
+    void adjust(String userUuid, int delta);
+
+    /** Applique un compteur diffusé par une instance (celle-ci comprise) : cache et abonnés locaux. */
+    void apply(String userUuid, int unreadCount);
+
+    /** Valeur courante puis chaque changement du compteur de l'utilisateur. */
+    Flux<Integer> watch(String userUuid);
+}
@@ -0,0 +1,88 @@
+package com.openclassrooms.notificationservice.service.implementation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.openclassrooms.notificationservice.constant.Constant.*;
+
+/**
+ * Rendu des templates d'e-mails.
+ * Les templates sont analysés une fois (cache Thymeleaf, spring.thymeleaf.cache) et préchargés au démarrage ;
+ * les fragments communs invariants (marque de l'en-tête, pied de page de désinscription, copyright) sont rendus
+ * une seule fois puis injectés tels quels (variables emailBrand, emailFooter, emailCopyright).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailTemplateRenderer {
+
+    /** Fragments invariants, par variable : template du fragment. */
+    static final Map<String, String> FRAGMENTS = Map.of(
+            "emailBrand", "fragments/email-brand",
+            "emailFooter", "fragments/email-footer",
+            "emailCopyright", "fragments/email-copyright");
+
+    static final List<String> TEMPLATES = List.of(
+            TEMPLATE_ACCOUNT_VERIFICATION, TEMPLATE_PASSWORD_RESET,
+            TEMPLATE_WELCOME_PATIENT, TEMPLATE_PATIENT_UPDATED, TEMPLATE_PATIENT_DELETED,
+            TEMPLATE_APPOINTMENT_CONFIRMATION, TEMPLATE_APPOINTMENT_REMINDER,
+            TEMPLATE_NEW_NOTE, TEMPLATE_NOTE_UPDATED,
+            TEMPLATE_NEW_COMMENT, TEMPLATE_COMMENT_UPDATED, TEMPLATE_COMMENT_DELETED,
+            TEMPLATE_NEW_FILES, TEMPLATE_FILE_DELETED,
+            TEMPLATE_RESULTS_AVAILABLE, TEMPLATE_RISK_ASSESSMENT, TEMPLATE_ASSESSMENT_COMPLETED,
+            TEMPLATE_NEW_MESSAGE);
+
+    private final TemplateEngine templateEngine;
+    private volatile Map<String, Object> fragments;
+
+    /**
+     * Rend le template avec les variables du contexte et les fragments pré-rendus.
+     */
+    public String render(String templateName, Context context) {
+        context.setVariables(fragments());
+        return templateEngine.process(templateName, context);
+    }
+
+    /**
+     * Précharge le cache des templates : le premier e-mail n'attend ni lecture ni analyse.
+     * Un rendu sans variables peut échouer, le template est alors déjà analysé et en cache.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        fragments();
+        int failed = 0;
+        for (String template : TEMPLATES) {
+            try {
+                templateEngine.process(template, new Context());
+            } catch (RuntimeException exception) {
+                failed++;
+                log.warn("Préchargement du template '{}' : {}", template, exception.getMessage());
+            }
+        }
+        log.info("Email templates warmed up - {} templates, {} warnings", TEMPLATES.size(), failed);
+    }
+
+    private Map<String, Object> fragments() {
+        Map<String, Object> rendered = fragments;
+        if (rendered == null) {
+            Map<String, Object> processed = new HashMap<>();
+            FRAGMENTS.forEach((variable, template) -> processed.put(variable, templateEngine.process(template, new Context())));
+            rendered = Map.copyOf(processed);
+            fragments = rendered;
+        }
+        return rendered;
+    }
+}
@@ -0,0 +1,131 @@
+package com.openclassrooms.notificationservice.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.config.MessageDeliveryConfig;
+import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
+import com.openclassrooms.notificationservice.event.MessageDelivery;
+import com.openclassrooms.notificationservice.service.MessageDeliveryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Livraison des nouveaux messages : publication sur le topic de livraison après commit,
+ * puis remise aux connexions SSE ouvertes sur cette instance (voir MessageDeliveryListener).
+ * Chaque connexion a sa propre file bornée : un client lent ne retient ni le consommateur Kafka
+ * ni les autres connexions ; à saturation, sa connexion est fermée et il recharge sa boîte à la reconnexion.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Service
+public class MessageDeliveryServiceImpl implements MessageDeliveryService {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageDeliveryConfig config;
+    /** Connexions ouvertes sur cette instance, par uuid d'utilisateur (plusieurs onglets ou appareils). */
+    private final Map<String, Set<Sinks.Many<MessageResponseDTO>>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter delivered;
+    private final Counter dropped;
+
+    public MessageDeliveryServiceImpl(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper,
+                                      MessageDeliveryConfig config, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        meterRegistry.gauge("notification.delivery.connections", connectionCount);
+        this.delivered = meterRegistry.counter("notification.delivery.messages", "outcome", "delivered");
+        this.dropped = meterRegistry.counter("notification.delivery.messages", "outcome", "dropped");
+    }
+
+    @Override
+    public void publish(String receiverUuid, MessageResponseDTO message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(receiverUuid, message);
+                }
+            });
+        } else {
+            send(receiverUuid, message);
+        }
+    }
+
+    @Override
+    public void deliver(MessageDelivery delivery) {
+        Set<Sinks.Many<MessageResponseDTO>> sinks = connections.get(delivery.receiverUuid());
+        if (sinks == null) {
+            return;
+        }
+        for (Sinks.Many<MessageResponseDTO> sink : sinks) {
+            Sinks.EmitResult result;
+            do {
+                result = sink.tryEmitNext(delivery.message());
+            } while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+
+            if (result.isSuccess()) {
+                delivered.increment();
+            } else if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                dropped.increment();
+                log.warn("Connexion saturée pour {}, fermeture du flux", delivery.receiverUuid());
+                sink.tryEmitComplete();
+            }
+        }
+    }
+
+    @Override
+    public Flux<MessageResponseDTO> connect(String userUuid) {
+        return Flux.defer(() -> {
+            Sinks.Many<MessageResponseDTO> sink = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<MessageResponseDTO>get(config.getConnectionBuffer()).get());
+            // Ajout et retrait sous le verrou de l'entrée : une déconnexion concurrente ne peut pas retirer l'ensemble vidé
+            connections.compute(userUuid, (key, sinks) -> {
+                Set<Sinks.Many<MessageResponseDTO>> userSinks = sinks != null ? sinks : ConcurrentHashMap.newKeySet();
+                userSinks.add(sink);
+                return userSinks;
+            });
+            connectionCount.incrementAndGet();
+            return sink.asFlux().doFinally(signal -> disconnect(userUuid, sink));
+        });
+    }
+
+    private void disconnect(String userUuid, Sinks.Many<MessageResponseDTO> sink) {
+        connections.computeIfPresent(userUuid, (key, sinks) -> {
+            sinks.remove(sink);
+            return sinks.isEmpty() ? null : sinks;
+        });
+        connectionCount.decrementAndGet();
+    }
+
+    private void send(String receiverUuid, MessageResponseDTO message) {
+        // Le message est déjà enregistré : un échec de publication prive seulement le destinataire du push
+        try {
+            kafkaTemplate.send(config.getTopic(), receiverUuid, objectMapper.writeValueAsString(new MessageDelivery(receiverUuid, message)))
+                    .whenComplete((result, exception) -> {
+                        if (exception != null) {
+                            log.warn("Publication du message {} impossible: {}", message.getMessageUuid(), exception.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException exception) {
+            log.error("Sérialisation du message {} impossible: {}", message.getMessageUuid(), exception.getMessage());
+        }
+    }
+}
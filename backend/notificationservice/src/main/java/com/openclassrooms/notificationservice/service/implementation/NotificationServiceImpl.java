@@ -1,5 +1,7 @@
 package com.openclassrooms.notificationservice.service.implementation;
 
+import com.openclassrooms.notificationservice.domain.MessageCursor;
+import com.openclassrooms.notificationservice.dto.MessagePageDTO;
 import com.openclassrooms.notificationservice.dto.MessageRequestDTO;
 import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
@@ -8,21 +10,28 @@ import com.openclassrooms.notificationservice.mapper.MessageMapper;
 import com.openclassrooms.notificationservice.model.Conversation;
 import com.openclassrooms.notificationservice.model.Message;
 import com.openclassrooms.notificationservice.model.MessageStatus;
+import com.openclassrooms.notificationservice.model.MessageSummary;
 import com.openclassrooms.notificationservice.repository.ConversationRepository;
 import com.openclassrooms.notificationservice.repository.MessageRepository;
 import com.openclassrooms.notificationservice.repository.MessageStatusRepository;
+import com.openclassrooms.notificationservice.service.MessageDeliveryService;
 import com.openclassrooms.notificationservice.service.NotificationService;
+import com.openclassrooms.notificationservice.service.UnreadCounterService;
 import com.openclassrooms.notificationservice.service.UserServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -31,11 +40,16 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final MessageRepository messageRepository;
     private final MessageStatusRepository messageStatusRepository;
     private final ConversationRepository conversationRepository;
     private final UserServiceClient userService;
     private final MessageMapper messageMapper;
+    private final UnreadCounterService unreadCounterService;
+    private final MessageDeliveryService messageDeliveryService;
+    private final TransactionOperations transactionOperations;
 
     @Override
     @Transactional
@@ -60,21 +74,35 @@ public class NotificationServiceImpl implements NotificationService {
                             .imageUrl(enrichedSender.getImageUrl())
                             .build();
 
-                    return Mono.fromCallable(() -> createMessageWithConversation(request, finalSender, receiver))
+                    return Mono.fromCallable(() -> transactionOperations.execute(status -> createMessageWithConversation(request, finalSender, receiver)))
                             .subscribeOn(Schedulers.boundedElastic());
                 });
     }
 
     @Override
-    public Flux<MessageResponseDTO> getMessages(String userUuid) {
-        log.debug("Récupération messages pour user: {}", userUuid);
+    public Mono<MessagePageDTO> getMessages(String userUuid, String cursor, int size) {
+        log.debug("Récupération messages pour user: {} (curseur: {})", userUuid, cursor);
 
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new ApiException("Pagination invalide (1 <= size <= " + MAX_PAGE_SIZE + ")"));
+        }
         return Mono.fromCallable(() -> {
-                    List<Message> messages = messageRepository.findAllByUser(userUuid);
-                    return messageMapper.toResponseListForUser(messages, userUuid);
+                    // Une ligne de plus pour savoir s'il reste une page, sans COUNT
+                    Limit limit = Limit.of(size + 1);
+                    List<MessageSummary> rows;
+                    if (cursor == null || cursor.isBlank()) {
+                        rows = messageRepository.findInbox(userUuid, limit);
+                    } else {
+                        MessageCursor position = MessageCursor.decode(cursor);
+                        rows = messageRepository.findInboxBefore(userUuid, position.createdAt(), position.messageId(), limit);
+                    }
+                    List<MessageSummary> page = rows.size() > size ? rows.subList(0, size) : rows;
+                    return MessagePageDTO.builder()
+                            .messages(page.stream().map(messageMapper::toInboxResponse).toList())
+                            .nextCursor(rows.size() > size ? MessageCursor.of(page.getLast()).encode() : null)
+                            .build();
                 })
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(Flux::fromIterable);
+                .subscribeOn(Schedulers.boundedElastic());
     }
 
     @Override
@@ -84,13 +112,20 @@ public class NotificationServiceImpl implements NotificationService {
 
         return Mono.fromCallable(() -> {
                     List<Message> messages = messageRepository.findByConversationId(conversationId);
-                    // Marquer les messages non lus comme lus
-                    messages.forEach(msg -> {
-                        if ("UNREAD".equals(msg.getStatusForUser(userUuid))) {
-                            messageStatusRepository.updateStatus(userUuid, msg.getMessageId(), "READ");
-                        }
-                    });
-                    return messageMapper.toResponseListForUser(messages, userUuid);
+                    // Statuts lus avant le marquage : la réponse signale encore les messages nouveaux
+                    Map<Long, String> statusByMessageId = new HashMap<>();
+                    for (Object[] row : messageStatusRepository.findStatusesInConversation(userUuid, conversationId)) {
+                        statusByMessageId.put((Long) row[0], (String) row[1]);
+                    }
+                    if (statusByMessageId.containsValue("UNREAD")) {
+                        Integer read = transactionOperations.execute(status -> {
+                            int count = messageStatusRepository.markConversationAsRead(userUuid, conversationId);
+                            unreadCounterService.adjust(userUuid, -count);
+                            return count;
+                        });
+                        log.debug("{} message(s) marqué(s) comme lu(s) dans la conversation {}", read, conversationId);
+                    }
+                    return messageMapper.toResponseList(messages, statusByMessageId);
                 })
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMapMany(Flux::fromIterable);
@@ -99,15 +134,31 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     public Mono<Integer> getUnreadCount(String userUuid) {
         log.debug("Comptage messages non lus pour user: {}", userUuid);
-        return Mono.fromCallable(() -> messageStatusRepository.countUnread(userUuid))
+        return Mono.fromCallable(() -> unreadCounterService.getUnreadCount(userUuid))
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    @Override
+    public Flux<Integer> watchUnreadCount(String userUuid) {
+        log.debug("Abonnement au compteur de non-lus de {}", userUuid);
+        return unreadCounterService.watch(userUuid);
+    }
+
+    @Override
+    public Flux<MessageResponseDTO> watchMessages(String userUuid) {
+        log.debug("Abonnement aux nouveaux messages de {}", userUuid);
+        return messageDeliveryService.connect(userUuid);
+    }
+
     @Override
     @Transactional
     public Mono<Void> markMessageAsRead(String userUuid, Long messageId) {
         log.debug("Marquage message {} comme lu pour user {}", messageId, userUuid);
-        return Mono.fromCallable(() -> messageStatusRepository.updateStatus(userUuid, messageId, "READ"))
+        return Mono.fromCallable(() -> transactionOperations.execute(status -> {
+                    int count = messageStatusRepository.markAsRead(userUuid, messageId);
+                    unreadCounterService.adjust(userUuid, -count);
+                    return count;
+                }))
                 .subscribeOn(Schedulers.boundedElastic())
                 .doOnSuccess(count -> log.info("Message {} marqué comme lu", messageId))
                 .then();
@@ -125,22 +176,33 @@ public class NotificationServiceImpl implements NotificationService {
         // Créer les statuts (READ pour sender, UNREAD pour receiver)
         createStatuses(saved, sender.getUserUuid(), receiver.getUserUuid());
 
-        // Mettre à jour la conversation
-        updateConversation(conversationId, sender, receiver, request.getSubject());
-
         log.info("Message créé avec succès: {}", saved.getMessageUuid());
 
+        // Push au destinataire une fois la transaction validée
+        if (!sender.getUserUuid().equals(receiver.getUserUuid())) {
+            MessageResponseDTO delivery = messageMapper.toResponse(saved);
+            delivery.setStatus("UNREAD");
+            messageDeliveryService.publish(receiver.getUserUuid(), delivery);
+        }
+
         MessageResponseDTO response = messageMapper.toResponse(saved);
         response.setStatus("READ"); // l'expéditeur voit son message comme lu
         return response;
     }
 
     private String resolveConversationId(UserRequestDTO sender, UserRequestDTO receiver, String subject) {
-        if (messageRepository.conversationExists(sender.getUserUuid(), receiver.getEmail())) {
-            List<String> ids = messageRepository.findConversationIds(sender.getUserUuid(), receiver.getEmail());
-            if (!ids.isEmpty()) return ids.getFirst();
-        }
-        return UUID.randomUUID().toString();
+        // Une instruction indexée : retourne la conversation de la paire, créée au premier message
+        return conversationRepository.upsertByParticipants(Conversation.builder()
+                .conversationUuid(UUID.randomUUID().toString())
+                .participantKey(Conversation.participantKey(sender.getUserUuid(), receiver.getUserUuid()))
+                .participant1Uuid(sender.getUserUuid())
+                .participant1Name(messageMapper.buildFullName(sender))
+                .participant1Role(sender.getRole())
+                .participant2Uuid(receiver.getUserUuid())
+                .participant2Name(messageMapper.buildFullName(receiver))
+                .participant2Role(receiver.getRole())
+                .subject(subject)
+                .build());
     }
 
     private void createStatuses(Message message, String senderUuid, String receiverUuid) {
@@ -160,29 +222,7 @@ public class NotificationServiceImpl implements NotificationService {
         messageStatusRepository.save(senderStatus);
         if (!senderUuid.equals(receiverUuid)) {
             messageStatusRepository.save(receiverStatus);
+            unreadCounterService.adjust(receiverUuid, 1);
         }
     }
-
-    private void updateConversation(String conversationId, UserRequestDTO sender, UserRequestDTO receiver, String subject) {
-        conversationRepository.findByConversationUuid(conversationId)
-                .ifPresentOrElse(
-                        conv -> {
-                            conv.setLastMessageAt(LocalDateTime.now());
-                            conv.setMessageCount(conv.getMessageCount() + 1);
-                            conversationRepository.save(conv);
-                        },
-                        () -> conversationRepository.save(Conversation.builder()
-                                .conversationUuid(conversationId)
-                                .participant1Uuid(sender.getUserUuid())
-                                .participant1Name(messageMapper.buildFullName(sender))
-                                .participant1Role(sender.getRole())
-                                .participant2Uuid(receiver.getUserUuid())
-                                .participant2Name(messageMapper.buildFullName(receiver))
-                                .participant2Role(receiver.getRole())
-                                .subject(subject)
-                                .lastMessageAt(LocalDateTime.now())
-                                .messageCount(1)
-                                .build())
-                );
-    }
-}
\ No newline at end of file
+}
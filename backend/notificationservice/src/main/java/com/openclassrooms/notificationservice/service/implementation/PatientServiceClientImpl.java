@@ -0,0 +1,54 @@
+package com.openclassrooms.notificationservice.service.implementation;
+
+import com.openclassrooms.commons.security.ServiceTokenProvider;
+import com.openclassrooms.notificationservice.domain.Response;
+import com.openclassrooms.notificationservice.dto.PatientContactDTO;
+import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.service.PatientServiceClient;
+import com.openclassrooms.notificationservice.utils.RequestUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecture du contact patient pour les événements de dossier, hors requête utilisateur.
+ * Pas de repli silencieux : une erreur remonte au listener, pour que l'événement ne soit pas perdu.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Service
+public class PatientServiceClientImpl implements PatientServiceClient {
+
+    private final WebClient patientServiceWebClient;
+    private final ServiceTokenProvider serviceTokenProvider;
+
+    public PatientServiceClientImpl(@Qualifier("patientServiceWebClient") WebClient patientServiceWebClient,
+                                    ServiceTokenProvider serviceTokenProvider) {
+        this.patientServiceWebClient = patientServiceWebClient;
+        this.serviceTokenProvider = serviceTokenProvider;
+    }
+
+    @Override
+    public Mono<PatientContactDTO> getPatientContact(String patientUuid) {
+        log.debug("Fetching patient contact: {}", patientUuid);
+
+        return serviceTokenProvider.getToken()
+                .flatMap(token -> patientServiceWebClient.get()
+                        .uri("/api/patients/{patientUuid}", patientUuid)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .retrieve()
+                        .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.empty())
+                        .onStatus(HttpStatusCode::isError, response -> Mono.error(new ApiException("Erreur service Patient")))
+                        .bodyToMono(Response.class))
+                .filter(response -> response.data() != null && response.data().containsKey("patient"))
+                .map(response -> RequestUtils.convertResponse(response, PatientContactDTO.class, "patient"));
+    }
+}
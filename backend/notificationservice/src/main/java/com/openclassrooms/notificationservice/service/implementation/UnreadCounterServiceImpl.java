@@ -0,0 +1,124 @@
+package com.openclassrooms.notificationservice.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.config.UnreadCounterConfig;
+import com.openclassrooms.notificationservice.event.UnreadCountUpdate;
+import com.openclassrooms.notificationservice.repository.UnreadCounterRepository;
+import com.openclassrooms.notificationservice.service.UnreadCounterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compteurs de non-lus : table unread_counters maintenue à chaque écriture de statut,
+ * cache Caffeine devant la table (les lectures répétées du badge ne touchent plus PostgreSQL)
+ * et diffusion des changements aux flux SSE.
+ * Cache et abonnés ne voient une valeur qu'une fois la transaction validée ; la valeur est appliquée
+ * sur cette instance puis publiée sur le topic des compteurs pour les autres (voir UnreadCountListener).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Slf4j
+@Service
+public class UnreadCounterServiceImpl implements UnreadCounterService {
+
+    private static final String CACHE_NAME = "unread-counters";
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final UnreadCounterConfig config;
+    private final Cache<String, Integer> cache;
+    /** Un seul sink pour tous les utilisateurs : chaque flux SSE filtre les changements qui le concernent. */
+    private final Sinks.Many<UnreadCountChange> changes = Sinks.many().multicast().directBestEffort();
+
+    public UnreadCounterServiceImpl(UnreadCounterRepository unreadCounterRepository, KafkaTemplate<String, String> kafkaTemplate,
+                                    ObjectMapper objectMapper, UnreadCounterConfig config, MeterRegistry meterRegistry) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaximumSize())
+                .expireAfterWrite(config.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public int getUnreadCount(String userUuid) {
+        return cache.get(userUuid, key -> unreadCounterRepository.findCount(key).orElse(0));
+    }
+
+    @Override
+    public void adjust(String userUuid, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int unreadCount = unreadCounterRepository.adjust(userUuid, delta);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userUuid, unreadCount);
+                }
+            });
+        } else {
+            publish(userUuid, unreadCount);
+        }
+    }
+
+    @Override
+    public void apply(String userUuid, int unreadCount) {
+        cache.put(userUuid, unreadCount);
+        log.debug("Compteur de non-lus de {} : {}", userUuid, unreadCount);
+        // Sans abonné ou abonnés saturés : le changement est abandonné, le cache reste la référence
+        Sinks.EmitResult result;
+        do {
+            result = changes.tryEmitNext(new UnreadCountChange(userUuid, unreadCount));
+        } while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+    }
+
+    @Override
+    public Flux<Integer> watch(String userUuid) {
+        Flux<Integer> updates = changes.asFlux()
+                .filter(change -> change.userUuid().equals(userUuid))
+                .map(UnreadCountChange::unreadCount);
+        Mono<Integer> current = Mono.fromCallable(() -> getUnreadCount(userUuid))
+                .subscribeOn(Schedulers.boundedElastic());
+        // Abonnement aux changements avant la lecture initiale : aucun changement n'est perdu entre les deux
+        return Flux.merge(updates, current).distinctUntilChanged();
+    }
+
+    private void publish(String userUuid, int unreadCount) {
+        // Appliquée tout de suite ici (lecture de sa propre écriture), puis par chaque instance à la réception
+        apply(userUuid, unreadCount);
+        // Le compteur est déjà enregistré : un échec de publication laisse les autres instances à jour au plus tard après cacheTtl
+        try {
+            kafkaTemplate.send(config.getTopic(), userUuid, objectMapper.writeValueAsString(new UnreadCountUpdate(userUuid, unreadCount)))
+                    .whenComplete((result, exception) -> {
+                        if (exception != null) {
+                            log.warn("Publication du compteur de {} impossible: {}", userUuid, exception.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException exception) {
+            log.error("Sérialisation du compteur de {} impossible: {}", userUuid, exception.getMessage());
+        }
+    }
+
+    private record UnreadCountChange(String userUuid, int unreadCount) {}
+}
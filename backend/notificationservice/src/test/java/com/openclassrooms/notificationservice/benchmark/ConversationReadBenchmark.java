@@ -0,0 +1,194 @@
+package com.openclassrooms.notificationservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark JMH de l'ouverture d'une conversation (lecture + accusés de lecture), par longueur de fil :
+ * chemin actuel (statuts de l'utilisateur lus une fois + un UPDATE ensembliste)
+ * vs ancien chemin (JOIN FETCH de tous les statuts + un UPDATE par message non lu).
+ * Base H2 en mémoire (mode PostgreSQL) : la latence réseau vers PostgreSQL est simulée par roundTripMicros,
+ * ajoutée à chaque instruction envoyée (0 = coût d'exécution seul). L'écriture des lignes reste proportionnelle
+ * au nombre de messages non lus ; ce qui ne l'est plus, c'est le nombre d'allers-retours (3 au lieu de 1 + N).
+ * Les requêtes SQL reprennent celles générées pour MessageRepository / MessageStatusRepository.
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversationReadBenchmark {
+
+    private static final String CONVERSATION_ID = "conv-bench";
+    private static final String READER = "reader-uuid";
+    private static final String WRITER = "writer-uuid";
+
+    @Param({"10", "100", "1000"})
+    private int threadLength;
+
+    @Param({"0", "200"})
+    private long roundTripMicros;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:conversation-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE messages (message_id BIGSERIAL PRIMARY KEY, conversation_id VARCHAR(40) NOT NULL, " +
+                    "subject VARCHAR(255), message TEXT, sender_uuid VARCHAR(40), receiver_uuid VARCHAR(40), created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE message_statuses (message_status_id BIGSERIAL PRIMARY KEY, message_id BIGINT NOT NULL, " +
+                    "user_uuid VARCHAR(40) NOT NULL, message_status VARCHAR(10), read_at TIMESTAMP, CONSTRAINT uq_message_user UNIQUE (message_id, user_uuid))");
+            statement.execute("CREATE INDEX idx_messages_conversation_id ON messages(conversation_id)");
+            statement.execute("CREATE INDEX idx_message_statuses_user_uuid ON message_statuses(user_uuid)");
+        }
+        try (PreparedStatement message = connection.prepareStatement(
+                "INSERT INTO messages (conversation_id, subject, message, sender_uuid, receiver_uuid) VALUES (?, 'Sujet', 'Contenu du message', ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement status = connection.prepareStatement("INSERT INTO message_statuses (message_id, user_uuid, message_status) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < threadLength; i++) {
+                message.setString(1, CONVERSATION_ID);
+                message.setString(2, WRITER);
+                message.setString(3, READER);
+                message.executeUpdate();
+                try (ResultSet keys = message.getGeneratedKeys()) {
+                    keys.next();
+                    long messageId = keys.getLong(1);
+                    insertStatus(status, messageId, WRITER, "READ");
+                    insertStatus(status, messageId, READER, "UNREAD");
+                }
+            }
+        }
+    }
+
+    /** Chaque ouverture mesurée trouve de nouveau tout le fil non lu. */
+    @Setup(Level.Invocation)
+    public void markAllUnread() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE message_statuses SET message_status = 'UNREAD', read_at = NULL WHERE user_uuid = '" + READER + "'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Map<Long, String> bulkReadReceipts() throws SQLException {
+        List<Long> messageIds = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT m.message_id, m.subject, m.message FROM messages m WHERE m.conversation_id = ? ORDER BY m.created_at")) {
+            select.setString(1, CONVERSATION_ID);
+            try (ResultSet rows = execute(select)) {
+                while (rows.next()) messageIds.add(rows.getLong(1));
+            }
+        }
+        Map<Long, String> statusByMessageId = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT ms.message_id, ms.message_status FROM message_statuses ms JOIN messages m ON m.message_id = ms.message_id " +
+                        "WHERE ms.user_uuid = ? AND m.conversation_id = ?")) {
+            select.setString(1, READER);
+            select.setString(2, CONVERSATION_ID);
+            try (ResultSet rows = execute(select)) {
+                while (rows.next()) statusByMessageId.put(rows.getLong(1), rows.getString(2));
+            }
+        }
+        if (statusByMessageId.containsValue("UNREAD")) {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE message_statuses SET message_status = 'READ', read_at = CURRENT_TIMESTAMP " +
+                            "WHERE user_uuid = ? AND message_status = 'UNREAD' " +
+                            "AND message_id IN (SELECT m.message_id FROM messages m WHERE m.conversation_id = ?)")) {
+                update.setString(1, READER);
+                update.setString(2, CONVERSATION_ID);
+                execute(update);
+            }
+        }
+        return statusByMessageId;
+    }
+
+    @Benchmark
+    public Map<Long, String> legacyPerMessageUpdates() throws SQLException {
+        Map<Long, List<String[]>> statusesByMessage = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT DISTINCT m.message_id, m.subject, m.message, ms.user_uuid, ms.message_status FROM messages m " +
+                        "LEFT JOIN message_statuses ms ON ms.message_id = m.message_id WHERE m.conversation_id = ? ORDER BY m.message_id")) {
+            select.setString(1, CONVERSATION_ID);
+            try (ResultSet rows = execute(select)) {
+                while (rows.next()) {
+                    statusesByMessage.computeIfAbsent(rows.getLong(1), id -> new ArrayList<>())
+                            .add(new String[]{rows.getString(4), rows.getString(5)});
+                }
+            }
+        }
+        // Message.getStatusForUser : parcours des statuts de chaque message
+        Map<Long, String> statusByMessageId = new HashMap<>();
+        statusesByMessage.forEach((messageId, statuses) -> statusByMessageId.put(messageId, statuses.stream()
+                .filter(status -> READER.equals(status[0])).map(status -> status[1]).findFirst().orElse("UNREAD")));
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE message_statuses SET message_status = ?, read_at = CURRENT_TIMESTAMP WHERE user_uuid = ? AND message_id = ?")) {
+            for (Map.Entry<Long, String> entry : statusByMessageId.entrySet()) {
+                if ("UNREAD".equals(entry.getValue())) {
+                    update.setString(1, "READ");
+                    update.setString(2, READER);
+                    update.setLong(3, entry.getKey());
+                    execute(update);
+                }
+            }
+        }
+        return statusByMessageId;
+    }
+
+    /** Exécute l'instruction en ajoutant la latence d'un aller-retour réseau. */
+    private ResultSet execute(PreparedStatement statement) throws SQLException {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+        return statement.execute() ? statement.getResultSet() : null;
+    }
+
+    private static void insertStatus(PreparedStatement status, long messageId, String userUuid, String value) throws SQLException {
+        status.setLong(1, messageId);
+        status.setString(2, userUuid);
+        status.setString(3, value);
+        status.executeUpdate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConversationReadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.openclassrooms.notificationservice.benchmark;
+
+import com.openclassrooms.notificationservice.service.implementation.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH du rendu des e-mails, par template :
+ * renderer (cache des templates + pied de page pré-rendu, Context construit directement)
+ * vs ancien chemin (template relu et analysé à chaque envoi, HashMap copiée dans le Context).
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test ;
+ * ajouter -prof gc pour mesurer le taux d'allocation.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    @Param({"account-verification", "welcome-patient", "new-medical-note", "risk-assessment", "assessment-completed"})
+    private String template;
+
+    private EmailTemplateRenderer renderer;
+    private TemplateEngine uncachedEngine;
+
+    @Setup
+    public void setUp() {
+        renderer = new EmailTemplateRenderer(engine(true));
+        renderer.warmUp();
+        uncachedEngine = engine(false);
+    }
+
+    @Benchmark
+    public String cachedRenderer() {
+        Context context = new Context();
+        sampleVariables().forEach(context::setVariable);
+        return renderer.render(template, context);
+    }
+
+    @Benchmark
+    public String legacyUncached() {
+        Map<String, Object> variables = new HashMap<>(sampleVariables());
+        Context context = new Context();
+        context.setVariables(variables);
+        return uncachedEngine.process(template, context);
+    }
+
+    private static TemplateEngine engine(boolean cacheable) {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(cacheable);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    /** Superset des variables utilisées par les templates mesurés. */
+    private static Map<String, Object> sampleVariables() {
+        return Map.ofEntries(
+                Map.entry("name", "Jean Dupont"),
+                Map.entry("url", "http://localhost:4200/patient/dashboard"),
+                Map.entry("recordNumber", "PAT-2026-001"),
+                Map.entry("patientNumber", "PAT-2026-001"),
+                Map.entry("doctorName", "Dr. Martin"),
+                Map.entry("department", "Endocrinologie"),
+                Map.entry("date", "16/03/2026"),
+                Map.entry("notePreview", "Patient présentant une fatigue persistante, contrôle de l'hémoglobine A1C prévu."),
+                Map.entry("riskLevel", "BORDERLINE"),
+                Map.entry("riskLevelDescription", "Risque limité"),
+                Map.entry("assessmentDate", "16/03/2026"),
+                Map.entry("assessedAt", "16/03/2026 10:30"),
+                Map.entry("triggerCount", 3),
+                Map.entry("patientAge", 45),
+                Map.entry("age", 45),
+                Map.entry("triggers", List.of("Hémoglobine A1C", "Poids", "Fumeur")),
+                Map.entry("triggersFound", List.of("Hémoglobine A1C", "Poids", "Fumeur")),
+                Map.entry("recommendation", "Surveillez votre alimentation et consultez votre médecin."));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
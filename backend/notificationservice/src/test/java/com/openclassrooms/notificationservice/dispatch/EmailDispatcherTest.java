@@ -0,0 +1,220 @@
+package com.openclassrooms.notificationservice.dispatch;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.openclassrooms.notificationservice.config.EmailDispatchConfig;
+import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.exception.RetryableNotificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests du moteur d'envoi contre un serveur SMTP GreenMail en mémoire.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@DisplayName("EmailDispatcher Tests")
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private static final String FROM = "noreply@medilabo.fr";
+
+    private JavaMailSenderImpl mailSender;
+    private EmailDispatchConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        config = new EmailDispatchConfig();
+        config.setWorkers(1);
+        config.setDomainRateLimit(1000);
+        config.setInitialBackoff(Duration.ofMillis(10));
+        config.setShutdownTimeout(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    private EmailDispatcher startDispatcher() {
+        dispatcher = new EmailDispatcher(mailSender, config, meterRegistry);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(FROM);
+        helper.setTo(to);
+        helper.setSubject("MediLabo - Test");
+        helper.setText("<p>Bonjour</p>", true);
+        return message;
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("notification.email").tag("outcome", outcome).counter().count();
+    }
+
+    private double connections() {
+        return meterRegistry.get("notification.email.connections").counter().count();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition non atteinte avant le délai").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Nested
+    @DisplayName("Connexions SMTP")
+    class ConnectionTests {
+
+        @Test
+        @DisplayName("Devrait envoyer une rafale sur une seule connexion SMTP")
+        void shouldSendBurstOverSingleConnection() throws Exception {
+            startDispatcher();
+
+            for (int i = 0; i < 20; i++) {
+                dispatcher.enqueue(message("patient" + i + "@medilabo.fr"));
+            }
+
+            assertThat(greenMail.waitForIncomingEmail(10_000, 20)).isTrue();
+            awaitUntil(() -> dispatcher.pending() == 0);
+            assertThat(connections()).isEqualTo(1);
+            assertThat(outcome("sent")).isEqualTo(20);
+            assertThat(meterRegistry.get("notification.email.send").timer().count()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Devrait renouveler la connexion après batchSize messages")
+        void shouldRenewConnectionAfterBatchSize() throws Exception {
+            config.setBatchSize(5);
+            startDispatcher();
+
+            for (int i = 0; i < 12; i++) {
+                dispatcher.enqueue(message("patient" + i + "@medilabo.fr"));
+            }
+
+            assertThat(greenMail.waitForIncomingEmail(10_000, 12)).isTrue();
+            awaitUntil(() -> dispatcher.pending() == 0);
+            assertThat(connections()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Débit et file")
+    class RateAndQueueTests {
+
+        @Test
+        @DisplayName("Devrait différer les messages au-delà du quota du domaine")
+        void shouldDeferMessagesBeyondDomainQuota() throws Exception {
+            config.setDomainRateLimit(2);
+            config.setDomainRatePeriod(Duration.ofMillis(300));
+            startDispatcher();
+
+            for (int i = 0; i < 5; i++) {
+                dispatcher.enqueue(message("patient" + i + "@medilabo.fr"));
+            }
+            dispatcher.enqueue(message("medecin@clinique.fr"));
+
+            assertThat(greenMail.waitForIncomingEmail(10_000, 6)).isTrue();
+            awaitUntil(() -> dispatcher.pending() == 0);
+            assertThat(outcome("deferred")).isEqualTo(3);
+            assertThat(outcome("sent")).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Devrait rejeter les messages quand la file est pleine")
+        void shouldRejectWhenQueueIsFull() throws Exception {
+            config.setQueueCapacity(2);
+            config.setEnqueueTimeout(Duration.ZERO);
+            dispatcher = new EmailDispatcher(mailSender, config, meterRegistry);
+
+            dispatcher.enqueue(message("a@medilabo.fr"));
+            dispatcher.enqueue(message("b@medilabo.fr"));
+            MimeMessage overflow = message("c@medilabo.fr");
+
+            assertThatThrownBy(() -> dispatcher.enqueue(overflow))
+                    .isInstanceOf(RetryableNotificationException.class)
+                    .hasMessageContaining("saturée");
+            assertThat(outcome("rejected")).isEqualTo(1);
+            assertThat(meterRegistry.get("notification.email.queue").tag("state", "queued").gauge().value()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Nouvelles tentatives")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Devrait abandonner après maxAttempts tentatives")
+        void shouldGiveUpAfterMaxAttempts() throws Exception {
+            mailSender.setPort(unusedPort());
+            startDispatcher();
+
+            dispatcher.enqueue(message("patient@medilabo.fr"));
+
+            awaitUntil(() -> dispatcher.pending() == 0);
+            assertThat(outcome("retried")).isEqualTo(2);
+            assertThat(outcome("failed")).isEqualTo(1);
+            assertThat(outcome("sent")).isZero();
+        }
+
+        @Test
+        @DisplayName("Devrait livrer le message quand le serveur redevient disponible")
+        void shouldDeliverAfterTransientFailure() throws Exception {
+            int smtpPort = mailSender.getPort();
+            mailSender.setPort(unusedPort());
+            config.setInitialBackoff(Duration.ofMillis(300));
+            startDispatcher();
+
+            dispatcher.enqueue(message("patient@medilabo.fr"));
+            awaitUntil(() -> outcome("retried") == 1);
+            mailSender.setPort(smtpPort);
+
+            assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+            awaitUntil(() -> dispatcher.pending() == 0);
+            assertThat(outcome("sent")).isEqualTo(1);
+            assertThat(outcome("failed")).isZero();
+        }
+    }
+}
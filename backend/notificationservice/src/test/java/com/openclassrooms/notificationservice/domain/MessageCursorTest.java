@@ -0,0 +1,33 @@
+package com.openclassrooms.notificationservice.domain;
+
+import com.openclassrooms.notificationservice.exception.ApiException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MessageCursor - Tests unitaires")
+class MessageCursorTest {
+
+    @Test
+    @DisplayName("Devrait relire la position encodée, à la microseconde près")
+    void encode_shouldRoundTrip() {
+        MessageCursor cursor = new MessageCursor(LocalDateTime.of(2026, 3, 16, 10, 30, 15, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(MessageCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un curseur altéré")
+    void decode_shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> MessageCursor.decode("bm9uLXZhbGlkZQ"))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Curseur de pagination invalide");
+    }
+}
@@ -0,0 +1,129 @@
+package com.openclassrooms.notificationservice.event;
+
+import com.openclassrooms.commons.notification.NotificationSchemaRegistry;
+import com.openclassrooms.notificationservice.domain.Data;
+import com.openclassrooms.notificationservice.domain.Notification;
+import com.openclassrooms.notificationservice.enumeration.EventType;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NotificationDeserializer - Tests unitaires")
+class NotificationDeserializerTest {
+
+    private static final String TOPIC = "MEDILABO_NOTIFICATIONS";
+
+    private final NotificationSchemaRegistry schemaRegistry = new NotificationSchemaRegistry();
+    private final NotificationDeserializer deserializer = new NotificationDeserializer(schemaRegistry);
+
+    private byte[] encode(GenericRecord record) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryMessageEncoder<GenericRecord>(GenericData.get(), record.getSchema()).encode(record, out);
+        return out.toByteArray();
+    }
+
+    private GenericRecord record(EventType eventType) {
+        return new GenericData.Record(schemaRegistry.latest(eventType.name()).orElseThrow().schema());
+    }
+
+    @Test
+    @DisplayName("Devrait déclarer un schéma pour chaque type d'événement notifié par e-mail")
+    void registry_shouldDeclareProducedEventTypes() {
+        List<EventType> produced = List.of(EventType.USER_CREATED, EventType.PASSWORD_RESET,
+                EventType.PATIENT_CREATED, EventType.NOTE_CREATED, EventType.COMMENT_CREATED,
+                EventType.FILE_UPLOADED, EventType.ASSESSMENT_COMPLETED);
+
+        produced.forEach(eventType -> assertThat(schemaRegistry.latest(eventType.name())).as(eventType.name()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Devrait lire un message Avro directement dans les attributs typés de Data")
+    void deserialize_shouldReadAvroIntoTypedData() throws Exception {
+        GenericRecord record = record(EventType.ASSESSMENT_COMPLETED);
+        record.put("patientUuid", "patient-1");
+        record.put("email", "jean@test.com");
+        record.put("age", 45);
+        record.put("riskLevel", "BORDERLINE");
+        record.put("triggerCount", 2);
+        record.put("triggersFound", List.of("Fumeur", "Poids"));
+
+        Notification notification = deserializer.deserialize(TOPIC, encode(record));
+
+        assertThat(notification.getPayload().getEventType()).isEqualTo(EventType.ASSESSMENT_COMPLETED);
+        Data data = notification.getPayload().getData();
+        assertThat(data.getEmail()).isEqualTo("jean@test.com");
+        assertThat(data.getAge()).isEqualTo(45);
+        assertThat(data.getTriggerCount()).isEqualTo(2);
+        assertThat(data.getTriggersFound()).containsExactly("Fumeur", "Poids");
+        assertThat(data.getGender()).isNull();
+    }
+
+    @Test
+    @DisplayName("Devrait rattacher chaque message Avro à son type par l'empreinte du schéma")
+    void deserialize_shouldResolveEventTypeFromFingerprint() throws Exception {
+        GenericRecord record = record(EventType.COMMENT_DELETED);
+        record.put("recordNumber", "MED-2026-000001");
+        record.put("comment", "Commentaire retiré");
+
+        Notification notification = deserializer.deserialize(TOPIC, encode(record));
+
+        assertThat(notification.getPayload().getEventType()).isEqualTo(EventType.COMMENT_DELETED);
+        assertThat(notification.getPayload().getData().getComment()).isEqualTo("Commentaire retiré");
+    }
+
+    @Test
+    @DisplayName("Devrait lire l'enveloppe JSON des producteurs non migrés en ignorant les champs inconnus")
+    void deserialize_shouldFallBackToJsonEnvelope() {
+        byte[] message = """
+                {"payload":{"eventType":"NEW_MESSAGE","data":{"email":"jean@test.com","champInconnu":"x"}},"headers":{"id":"1"}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        Notification notification = deserializer.deserialize(TOPIC, message);
+
+        assertThat(notification.getPayload().getEventType()).isEqualTo(EventType.NEW_MESSAGE);
+        assertThat(notification.getPayload().getData().getEmail()).isEqualTo("jean@test.com");
+        assertThat(notification.getHeaders()).containsEntry("id", "1");
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un JSON dont une donnée ne respecte pas son type")
+    void deserialize_shouldRejectJsonWithWrongType() {
+        byte[] message = """
+                {"payload":{"eventType":"ASSESSMENT_COMPLETED","data":{"triggerCount":"pas-un-nombre"}}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, message))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un message Avro dont le schéma n'est pas enregistré")
+    void deserialize_shouldRejectUnknownSchema() throws Exception {
+        Schema unknown = SchemaBuilder.record("Inconnu").namespace("com.openclassrooms.medilabo.notification")
+                .fields().optionalString("email").endRecord();
+        GenericRecord record = new GenericData.Record(unknown);
+        record.put("email", "jean@test.com");
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, encode(record)))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Schéma de notification inconnu");
+    }
+
+    @Test
+    @DisplayName("Devrait retourner null pour un message vide (tombstone)")
+    void deserialize_shouldReturnNullForTombstone() {
+        assertThat(deserializer.deserialize(TOPIC, null)).isNull();
+    }
+}
@@ -0,0 +1,59 @@
+package com.openclassrooms.notificationservice.event.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.event.MessageDelivery;
+import com.openclassrooms.notificationservice.service.MessageDeliveryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour MessageDeliveryListener.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageDeliveryListener Tests")
+class MessageDeliveryListenerTest {
+
+    @Mock
+    private MessageDeliveryService messageDeliveryService;
+
+    private MessageDeliveryListener messageDeliveryListener;
+
+    @BeforeEach
+    void setUp() {
+        messageDeliveryListener = new MessageDeliveryListener(messageDeliveryService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Devrait remettre le message lu du topic aux connexions de l'instance")
+    void onMessage_shouldDeliverDecodedMessage() {
+        messageDeliveryListener.onMessage("""
+                {"receiverUuid":"receiver-1","message":{"messageUuid":"msg-1","conversationId":"conv-1","status":"UNREAD"}}
+                """);
+
+        ArgumentCaptor<MessageDelivery> captor = ArgumentCaptor.forClass(MessageDelivery.class);
+        verify(messageDeliveryService).deliver(captor.capture());
+        assertThat(captor.getValue().receiverUuid()).isEqualTo("receiver-1");
+        assertThat(captor.getValue().message().getMessageUuid()).isEqualTo("msg-1");
+        assertThat(captor.getValue().message().getStatus()).isEqualTo("UNREAD");
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer un message illisible sans interrompre la consommation")
+    void onMessage_shouldIgnoreMalformedMessage() {
+        messageDeliveryListener.onMessage("pas du json");
+
+        verifyNoInteractions(messageDeliveryService);
+    }
+}
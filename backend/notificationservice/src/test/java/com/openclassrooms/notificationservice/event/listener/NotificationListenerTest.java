@@ -1,24 +1,40 @@
 package com.openclassrooms.notificationservice.event.listener;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.config.NotificationRetryConfig;
+import com.openclassrooms.notificationservice.config.PatientContactConfig;
+import com.openclassrooms.notificationservice.domain.Data;
 import com.openclassrooms.notificationservice.domain.Notification;
 import com.openclassrooms.notificationservice.enumeration.EventType;
 import com.openclassrooms.notificationservice.event.Event;
+import com.openclassrooms.notificationservice.dto.PatientContactDTO;
+import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.exception.RetryableNotificationException;
 import com.openclassrooms.notificationservice.service.EmailService;
+import com.openclassrooms.notificationservice.service.PatientServiceClient;
+import com.openclassrooms.notificationservice.config.NotificationListenerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -37,30 +53,40 @@ class NotificationListenerTest {
     @Mock
     private EmailService emailService;
 
-    @Spy
-    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private PatientServiceClient patientServiceClient;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
+    private NotificationWorkerPools workerPools;
     private NotificationListener notificationListener;
 
     private Notification notification;
 
     @BeforeEach
     void setUp() {
+        workerPools = new NotificationWorkerPools(new NotificationListenerConfig(), meterRegistry);
+        notificationListener = new NotificationListener(emailService, workerPools, meterRegistry, patientServiceClient, new PatientContactConfig(), new NotificationRetryConfig());
         notification = new Notification();
         notification.setHeaders(Map.of("type", "notification"));
     }
 
+    @AfterEach
+    void tearDown() {
+        workerPools.shutdown();
+    }
+
     // ÉVÉNEMENTS D'AUTHENTIFICATION
 
     @Test
     @DisplayName("Devrait traiter USER_CREATED et envoyer email de vérification")
     void shouldHandleUserCreatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Jean Dupont");
-        data.put("email", "jean@email.com");
-        data.put("token", "verification-token-123");
+        Data data = Data.builder()
+                .name("Jean Dupont")
+                .email("jean@email.com")
+                .token("verification-token-123")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.USER_CREATED)
@@ -83,10 +109,11 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter PASSWORD_RESET et envoyer email de réinitialisation")
     void shouldHandlePasswordResetEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Marie Martin");
-        data.put("email", "marie@email.com");
-        data.put("token", "reset-token-456");
+        Data data = Data.builder()
+                .name("Marie Martin")
+                .email("marie@email.com")
+                .token("reset-token-456")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.PASSWORD_RESET)
@@ -111,10 +138,11 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter PATIENT_CREATED et envoyer email de bienvenue patient")
     void shouldHandlePatientCreatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("recordNumber", "P-2026-001");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .recordNumber("P-2026-001")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.PATIENT_CREATED)
@@ -137,11 +165,12 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter PATIENT_UPDATED et envoyer email de mise à jour patient")
     void shouldHandlePatientUpdatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("recordNumber", "P-2026-001");
-        data.put("date", "27 février 2026");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .recordNumber("P-2026-001")
+                .date("27 février 2026")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.PATIENT_UPDATED)
@@ -165,11 +194,12 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter PATIENT_DELETED et envoyer email de suppression patient")
     void shouldHandlePatientDeletedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("recordNumber", "P-2026-001");
-        data.put("date", "27 février 2026");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .recordNumber("P-2026-001")
+                .date("27 février 2026")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.PATIENT_DELETED)
@@ -195,14 +225,15 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter APPOINTMENT_CREATED et envoyer email de confirmation rendez-vous")
     void shouldHandleAppointmentCreatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("appointmentDate", "15 mars 2026");
-        data.put("appointmentTime", "14:30");
-        data.put("doctorName", "Dr. Martin");
-        data.put("department", "Cardiologie");
-        data.put("location", "Salle 301, Bâtiment A");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .appointmentDate("15 mars 2026")
+                .appointmentTime("14:30")
+                .doctorName("Dr. Martin")
+                .department("Cardiologie")
+                .location("Salle 301, Bâtiment A")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.APPOINTMENT_CREATED)
@@ -229,13 +260,14 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter APPOINTMENT_REMINDER et envoyer email de rappel rendez-vous")
     void shouldHandleAppointmentReminderEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("appointmentDate", "15 mars 2026");
-        data.put("appointmentTime", "14:30");
-        data.put("doctorName", "Dr. Martin");
-        data.put("location", "Salle 301, Bâtiment A");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .appointmentDate("15 mars 2026")
+                .appointmentTime("14:30")
+                .doctorName("Dr. Martin")
+                .location("Salle 301, Bâtiment A")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.APPOINTMENT_REMINDER)
@@ -263,14 +295,15 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter NOTE_CREATED et envoyer email de nouvelle note médicale")
     void shouldHandleNoteCreatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("patientNumber", "PAT-001");
-        data.put("doctorName", "Dr. Martin");
-        data.put("department", "Cardiologie");
-        data.put("date", "27 février 2026");
-        data.put("notePreview", "Résultats de l'examen cardiaque...");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .patientNumber("PAT-001")
+                .doctorName("Dr. Martin")
+                .department("Cardiologie")
+                .date("27 février 2026")
+                .notePreview("Résultats de l'examen cardiaque...")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.NOTE_CREATED)
@@ -297,13 +330,14 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter NOTE_UPDATED et envoyer email de note médicale mise à jour")
     void shouldHandleNoteUpdatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("patientNumber", "PAT-001");
-        data.put("doctorName", "Dr. Martin");
-        data.put("date", "27 février 2026");
-        data.put("notePreview", "Résultats mis à jour...");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .patientNumber("PAT-001")
+                .doctorName("Dr. Martin")
+                .date("27 février 2026")
+                .notePreview("Résultats mis à jour...")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.NOTE_UPDATED)
@@ -331,14 +365,15 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter COMMENT_CREATED et envoyer email de nouveau commentaire")
     void shouldHandleCommentCreatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("recordNumber", "PAT-001");
-        data.put("subject", "Suivi post-opératoire");
-        data.put("senderName", "Dr. Martin");
-        data.put("date", "27 février 2026");
-        data.put("comment", "Le patient se remet bien de l'opération.");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .recordNumber("PAT-001")
+                .subject("Suivi post-opératoire")
+                .senderName("Dr. Martin")
+                .date("27 février 2026")
+                .comment("Le patient se remet bien de l'opération.")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.COMMENT_CREATED)
@@ -365,13 +400,14 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter COMMENT_UPDATED et envoyer email de commentaire mis à jour")
     void shouldHandleCommentUpdatedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("recordNumber", "PAT-001");
-        data.put("senderName", "Dr. Martin");
-        data.put("date", "27 février 2026");
-        data.put("comment", "Commentaire mis à jour...");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .recordNumber("PAT-001")
+                .senderName("Dr. Martin")
+                .date("27 février 2026")
+                .comment("Commentaire mis à jour...")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.COMMENT_UPDATED)
@@ -397,12 +433,13 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter COMMENT_DELETED et envoyer email de commentaire supprimé")
     void shouldHandleCommentDeletedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("recordNumber", "PAT-001");
-        data.put("senderName", "Dr. Martin");
-        data.put("date", "27 février 2026");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .recordNumber("PAT-001")
+                .senderName("Dr. Martin")
+                .date("27 février 2026")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.COMMENT_DELETED)
@@ -429,15 +466,16 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter RISK_ASSESSMENT et envoyer email d'évaluation de risque")
     void shouldHandleRiskAssessmentEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("riskLevel", "DANGER");
-        data.put("assessmentDate", "27 février 2026");
-        data.put("triggerCount", 5);
-        data.put("patientAge", 45);
-        data.put("triggers", List.of("Hémoglobine A1C élevée", "Microalbumine", "Tabagisme"));
-        data.put("recommendation", "Consultation urgente recommandée");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .riskLevel("DANGER")
+                .assessmentDate("27 février 2026")
+                .triggerCount(5)
+                .patientAge(45)
+                .triggers(List.of("Hémoglobine A1C élevée", "Microalbumine", "Tabagisme"))
+                .recommendation("Consultation urgente recommandée")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.RISK_ASSESSMENT)
@@ -465,15 +503,16 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter ASSESSMENT_COMPLETED et envoyer email d'évaluation terminée")
     void shouldHandleAssessmentCompletedEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("riskLevel", "MODERATE");
-        data.put("riskLevelDescription", "Risque modéré de diabète");
-        data.put("assessedAt", "27 février 2026");
-        data.put("triggerCount", 3);
-        data.put("age", 45);
-        data.put("triggersFound", List.of("Antécédents familiaux", "IMC > 30"));
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .riskLevel("MODERATE")
+                .riskLevelDescription("Risque modéré de diabète")
+                .assessedAt("27 février 2026")
+                .triggerCount(3)
+                .age(45)
+                .triggersFound(List.of("Antécédents familiaux", "IMC > 30"))
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.ASSESSMENT_COMPLETED)
@@ -503,13 +542,14 @@ class NotificationListenerTest {
     @DisplayName("Devrait traiter NEW_MESSAGE et envoyer email de nouveau message")
     void shouldHandleNewMessageEvent() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Test");
-        data.put("email", "patient@email.com");
-        data.put("senderName", "Dr. Martin");
-        data.put("senderRole", "Médecin traitant");
-        data.put("subject", "Question concernant votre traitement");
-        data.put("messagePreview", "Bonjour, je souhaitais faire le point sur votre traitement...");
+        Data data = Data.builder()
+                .name("Patient Test")
+                .email("patient@email.com")
+                .senderName("Dr. Martin")
+                .senderRole("Médecin traitant")
+                .subject("Question concernant votre traitement")
+                .messagePreview("Bonjour, je souhaitais faire le point sur votre traitement...")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.NEW_MESSAGE)
@@ -535,7 +575,7 @@ class NotificationListenerTest {
     @DisplayName("Ne devrait pas planter si l'eventType est null")
     void shouldNotCrashWhenEventTypeIsNull() {
         // Given
-        Map<String, Object> data = new HashMap<>();
+        Data data = new Data();
         Event event = Event.builder()
                 .eventType(null)
                 .data(data)
@@ -553,7 +593,7 @@ class NotificationListenerTest {
     @DisplayName("Ne devrait pas planter si les données sont incomplètes")
     void shouldNotCrashWhenDataIsIncomplete() {
         // Given
-        Map<String, Object> data = new HashMap<>();
+        Data data = new Data();
         Event event = Event.builder()
                 .eventType(EventType.USER_CREATED)
                 .data(data)
@@ -570,31 +610,215 @@ class NotificationListenerTest {
         );
     }
 
-    @Test
-    @DisplayName("Devrait logger une erreur en cas d'exception de conversion")
-    void shouldLogErrorWhenConversionFails() {
-        // Given
-        // On mock le objectMapper pour qu'il lance une exception
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        NotificationListener listenerWithMockMapper = new NotificationListener(emailService, mockMapper);
-
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Jean Dupont");
-
-        Event event = Event.builder()
-                .eventType(EventType.USER_CREATED)
-                .data(data)
-                .build();
-        notification.setPayload(event);
-
-        when(mockMapper.convertValue(any(), eq(com.openclassrooms.notificationservice.domain.Data.class)))
-                .thenThrow(new RuntimeException("Erreur de conversion simulée"));
-
-        // When
-        listenerWithMockMapper.handleNotification(notification);
+    // CONSOMMATION PAR LOTS
+
+    @Nested
+    @DisplayName("Consommation par lots")
+    class BatchTests {
+
+        private ConsumerRecord<String, Notification> record(long offset, EventType type, Data data) {
+            Notification value = new Notification(Event.builder().eventType(type).data(data).build(), Map.of());
+            return new ConsumerRecord<>("MEDILABO_NOTIFICATIONS", 0, offset, "key", value);
+        }
+
+        private Data recipient(String email) {
+            return Data.builder()
+                    .name("Jean Dupont")
+                    .email(email)
+                    .token("token")
+                    .recordNumber("PAT-001")
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Devrait traiter tout le lot dans les pools de workers avant de rendre la main")
+        void shouldProcessWholeBatchInWorkerPools() {
+            // Given
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+                    .when(emailService).sendAccountVerificationEmail(any(), any(), any());
+            doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+                    .when(emailService).sendWelcomePatientEmail(any(), any(), any());
+
+            List<ConsumerRecord<String, Notification>> records = List.of(
+                    record(0, EventType.USER_CREATED, recipient("a@email.com")),
+                    record(1, EventType.PATIENT_CREATED, recipient("b@email.com")),
+                    record(2, EventType.USER_CREATED, recipient("c@email.com")));
+
+            // When
+            notificationListener.handleNotifications(records);
+
+            // Then
+            verify(emailService, times(2)).sendAccountVerificationEmail(any(), any(), any());
+            verify(emailService).sendWelcomePatientEmail(any(), any(), any());
+            assertThat(threads)
+                    .anyMatch(name -> name.startsWith("notification-priority-"))
+                    .anyMatch(name -> name.startsWith("notification-default-"));
+            assertThat(meterRegistry.get("notification.event").tags("pool", "priority", "outcome", "processed").counter().count())
+                    .isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Devrait continuer le lot quand un enregistrement échoue")
+        void shouldContinueBatchWhenOneRecordFails() {
+            // Given
+            lenient().doThrow(new RuntimeException("SMTP indisponible"))
+                    .when(emailService).sendAccountVerificationEmail(any(), eq("a@email.com"), any());
+
+            List<ConsumerRecord<String, Notification>> records = List.of(
+                    record(0, EventType.USER_CREATED, recipient("a@email.com")),
+                    record(1, EventType.USER_CREATED, recipient("b@email.com")));
+
+            // When
+            notificationListener.handleNotifications(records);
+
+            // Then
+            verify(emailService).sendAccountVerificationEmail(any(), eq("b@email.com"), any());
+            assertThat(meterRegistry.get("notification.event").tags("outcome", "failed").counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Devrait signaler le premier enregistrement en échec transitoire après avoir traité le lot")
+        void shouldReportFirstRetryableFailure() {
+            // Given
+            doThrow(new RetryableNotificationException("File d'envoi d'e-mails saturée"))
+                    .when(emailService).sendAccountVerificationEmail(any(), eq("b@email.com"), any());
+
+            List<ConsumerRecord<String, Notification>> records = List.of(
+                    new ConsumerRecord<>("MEDILABO_NOTIFICATIONS", 0, 0L, "key", null),
+                    record(1, EventType.USER_CREATED, recipient("a@email.com")),
+                    record(2, EventType.USER_CREATED, recipient("b@email.com")),
+                    record(3, EventType.USER_CREATED, recipient("c@email.com")));
+
+            // When & Then
+            assertThatThrownBy(() -> notificationListener.handleNotifications(records))
+                    .isInstanceOfSatisfying(BatchListenerFailedException.class, exception -> {
+                        assertThat(exception.getIndex()).isEqualTo(2);
+                        assertThat(exception.getCause()).isInstanceOf(RetryableNotificationException.class);
+                    });
+            verify(emailService).sendAccountVerificationEmail(any(), eq("a@email.com"), any());
+            verify(emailService).sendAccountVerificationEmail(any(), eq("c@email.com"), any());
+            assertThat(meterRegistry.get("notification.event").tags("outcome", "retried").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Devrait relire le lot sans renvoyer les enregistrements déjà traités")
+        void shouldNotResendHandledRecordsOnRedelivery() {
+            // Given : b échoue une fois (file saturée) puis passe
+            doThrow(new RetryableNotificationException("File d'envoi d'e-mails saturée"))
+                    .doNothing()
+                    .when(emailService).sendAccountVerificationEmail(any(), eq("b@email.com"), any());
+
+            List<ConsumerRecord<String, Notification>> batch = List.of(
+                    record(1, EventType.USER_CREATED, recipient("a@email.com")),
+                    record(2, EventType.USER_CREATED, recipient("b@email.com")),
+                    record(3, EventType.USER_CREATED, recipient("c@email.com")));
+            assertThatThrownBy(() -> notificationListener.handleNotifications(batch))
+                    .isInstanceOf(BatchListenerFailedException.class);
+
+            // When : le gestionnaire d'erreurs relit le lot à partir de b
+            notificationListener.handleNotifications(batch.subList(1, 3));
+
+            // Then
+            verify(emailService).sendAccountVerificationEmail(any(), eq("a@email.com"), any());
+            verify(emailService, times(2)).sendAccountVerificationEmail(any(), eq("b@email.com"), any());
+            verify(emailService, times(1)).sendAccountVerificationEmail(any(), eq("c@email.com"), any());
+            assertThat(meterRegistry.get("notification.event").tags("outcome", "duplicate").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Devrait ignorer les enregistrements non désérialisables")
+        void shouldSkipUndeserializableRecords() {
+            // Given
+            List<ConsumerRecord<String, Notification>> records = List.of(
+                    new ConsumerRecord<>("MEDILABO_NOTIFICATIONS", 0, 0L, "key", null),
+                    record(1, EventType.USER_CREATED, recipient("a@email.com")));
+
+            // When
+            notificationListener.handleNotifications(records);
+
+            // Then
+            verify(emailService).sendAccountVerificationEmail(any(), eq("a@email.com"), any());
+        }
+    }
 
-        // Then
-        verify(emailService, never()).sendAccountVerificationEmail(any(), any(), any());
+    // CONTACT PATIENT DES ÉVÉNEMENTS DE DOSSIER
+
+    @Nested
+    @DisplayName("Contact patient des événements de dossier")
+    class PatientContactTests {
+
+        private Event noteCreated(Data data) {
+            return Event.builder().eventType(EventType.NOTE_CREATED).data(data).build();
+        }
+
+        @Test
+        @DisplayName("Devrait lire le contact du patient quand l'événement ne porte que son UUID")
+        void shouldResolvePatientContact() {
+            // Given
+            when(patientServiceClient.getPatientContact("patient-uuid-1")).thenReturn(Mono.just(PatientContactDTO.builder()
+                    .patientUuid("patient-uuid-1")
+                    .userInfo(new PatientContactDTO.UserInfo("Jean", "Dupont", "jean@email.com"))
+                    .build()));
+            notification.setPayload(noteCreated(Data.builder().patientNumber("patient-uuid-1").doctorName("Dr. Martin").build()));
+
+            // When
+            notificationListener.handleNotification(notification);
+
+            // Then
+            verify(emailService).sendNewMedicalNoteEmail(eq("Jean Dupont"), eq("jean@email.com"), eq("patient-uuid-1"),
+                    eq("Dr. Martin"), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Ne devrait pas relire le contact déjà présent dans l'événement")
+        void shouldKeepContactFromEvent() {
+            // Given
+            notification.setPayload(noteCreated(Data.builder().name("Jean Dupont").email("jean@email.com").patientNumber("patient-uuid-1").build()));
+
+            // When
+            notificationListener.handleNotification(notification);
+
+            // Then
+            verifyNoInteractions(patientServiceClient);
+            verify(emailService).sendNewMedicalNoteEmail(eq("Jean Dupont"), eq("jean@email.com"), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Ne devrait pas envoyer d'email à un patient sans email")
+        void shouldSkipPatientWithoutEmail() {
+            // Given
+            when(patientServiceClient.getPatientContact("patient-uuid-1")).thenReturn(Mono.empty());
+            notification.setPayload(Event.builder().eventType(EventType.COMMENT_CREATED)
+                    .data(Data.builder().patientUuid("patient-uuid-1").build()).build());
+
+            // When
+            notificationListener.handleNotifications(List.of(new ConsumerRecord<>("MEDILABO_NOTIFICATIONS", 0, 0L, "patient-uuid-1", notification)));
+
+            // Then
+            verifyNoInteractions(emailService);
+            assertThat(meterRegistry.get("notification.event").tags("outcome", "processed").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Devrait signaler un échec transitoire quand PatientService est indisponible")
+        void shouldFailWhenPatientServiceUnavailable() {
+            // Given
+            when(patientServiceClient.getPatientContact("patient-uuid-1")).thenReturn(Mono.error(new ApiException("Erreur service Patient")));
+            notification.setPayload(Event.builder().eventType(EventType.FILE_UPLOADED)
+                    .data(Data.builder().patientUuid("patient-uuid-1").build()).build());
+
+            // When & Then
+            assertThatThrownBy(() -> notificationListener.handleNotifications(
+                    List.of(new ConsumerRecord<>("MEDILABO_NOTIFICATIONS", 0, 0L, "patient-uuid-1", notification))))
+                    .isInstanceOfSatisfying(BatchListenerFailedException.class, exception -> {
+                        assertThat(exception.getIndex()).isZero();
+                        assertThat(exception.getCause()).hasMessageContaining("patient-uuid-1");
+                    });
+            verifyNoInteractions(emailService);
+            assertThat(meterRegistry.get("notification.event").tags("outcome", "retried").counter().count()).isEqualTo(1.0);
+        }
     }
 
     //  TEST POUR LES TYPES D'ÉVÉNEMENTS NON GÉRÉS
@@ -610,9 +834,10 @@ class NotificationListenerTest {
     @DisplayName("Devrait logger un avertissement pour les types d'événements non gérés")
     void shouldLogWarningForUnhandledEventTypes(EventType unhandledType) {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Test");
-        data.put("email", "test@email.com");
+        Data data = Data.builder()
+                .name("Test")
+                .email("test@email.com")
+                .build();
 
         Event event = Event.builder()
                 .eventType(unhandledType)
@@ -633,14 +858,15 @@ class NotificationListenerTest {
     @DisplayName("Devrait appeler sendNewMedicalNoteEmail avec les bons paramètres")
     void shouldCallSendNewMedicalNoteEmailWithCorrectParameters() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Nom");
-        data.put("email", "patient@email.com");
-        data.put("patientNumber", "NUM-123");
-        data.put("doctorName", "Dr Docteur");
-        data.put("department", "Service");
-        data.put("date", "2026-02-27");
-        data.put("notePreview", "Aperçu note");
+        Data data = Data.builder()
+                .name("Patient Nom")
+                .email("patient@email.com")
+                .patientNumber("NUM-123")
+                .doctorName("Dr Docteur")
+                .department("Service")
+                .date("2026-02-27")
+                .notePreview("Aperçu note")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.NOTE_CREATED)
@@ -667,15 +893,16 @@ class NotificationListenerTest {
     @DisplayName("Devrait appeler sendRiskAssessmentEmail avec les bons paramètres")
     void shouldCallSendRiskAssessmentEmailWithCorrectParameters() {
         // Given
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", "Patient Nom");
-        data.put("email", "patient@email.com");
-        data.put("riskLevel", "ELEVÉ");
-        data.put("assessmentDate", "2026-02-27");
-        data.put("triggerCount", 3);
-        data.put("patientAge", 50);
-        data.put("triggers", List.of("Trigger1", "Trigger2"));
-        data.put("recommendation", "Recommandation test");
+        Data data = Data.builder()
+                .name("Patient Nom")
+                .email("patient@email.com")
+                .riskLevel("ELEVÉ")
+                .assessmentDate("2026-02-27")
+                .triggerCount(3)
+                .patientAge(50)
+                .triggers(List.of("Trigger1", "Trigger2"))
+                .recommendation("Recommandation test")
+                .build();
 
         Event event = Event.builder()
                 .eventType(EventType.RISK_ASSESSMENT)
@@ -0,0 +1,68 @@
+package com.openclassrooms.notificationservice.event.listener;
+
+import com.openclassrooms.notificationservice.config.NotificationListenerConfig;
+import com.openclassrooms.notificationservice.enumeration.EventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du routage des événements vers les pools de workers.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@DisplayName("NotificationWorkerPools Tests")
+class NotificationWorkerPoolsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationWorkerPools workerPools;
+
+    @AfterEach
+    void tearDown() {
+        workerPools.shutdown();
+    }
+
+    @Test
+    @DisplayName("Devrait router selon la configuration et utiliser le pool default sinon")
+    void shouldRouteByEventType() {
+        workerPools = new NotificationWorkerPools(new NotificationListenerConfig(), meterRegistry);
+
+        assertThat(workerPools.poolFor(EventType.PASSWORD_RESET)).isEqualTo("priority");
+        assertThat(workerPools.poolFor(EventType.RISK_ASSESSMENT)).isEqualTo("bulk");
+        assertThat(workerPools.poolFor(EventType.NOTE_CREATED)).isEqualTo("default");
+        assertThat(workerPools.poolFor(null)).isEqualTo("default");
+    }
+
+    @Test
+    @DisplayName("Devrait créer le pool default et y router les pools inconnus")
+    void shouldFallBackToDefaultPool() {
+        NotificationListenerConfig config = new NotificationListenerConfig();
+        config.setPools(Map.of("priority", 1));
+        config.setRoutes(Map.of(EventType.USER_CREATED, "priority", EventType.NEW_MESSAGE, "inexistant"));
+        workerPools = new NotificationWorkerPools(config, meterRegistry);
+
+        assertThat(workerPools.poolFor(EventType.USER_CREATED)).isEqualTo("priority");
+        assertThat(workerPools.poolFor(EventType.NEW_MESSAGE)).isEqualTo("default");
+
+        AtomicReference<String> thread = new AtomicReference<>();
+        workerPools.submit(EventType.NEW_MESSAGE, () -> thread.set(Thread.currentThread().getName())).join();
+        assertThat(thread.get()).startsWith("notification-default-");
+    }
+
+    @Test
+    @DisplayName("Devrait exposer les métriques de chaque pool")
+    void shouldBindExecutorMetrics() {
+        workerPools = new NotificationWorkerPools(new NotificationListenerConfig(), meterRegistry);
+
+        assertThat(meterRegistry.find("executor.pool.size").tag("name", "notification-bulk").gauge()).isNotNull();
+    }
+}
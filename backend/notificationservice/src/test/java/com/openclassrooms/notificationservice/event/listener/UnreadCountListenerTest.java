@@ -0,0 +1,52 @@
+package com.openclassrooms.notificationservice.event.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.service.UnreadCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour UnreadCountListener.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadCountListener Tests")
+class UnreadCountListenerTest {
+
+    @Mock
+    private UnreadCounterService unreadCounterService;
+
+    private UnreadCountListener unreadCountListener;
+
+    @BeforeEach
+    void setUp() {
+        unreadCountListener = new UnreadCountListener(unreadCounterService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer le compteur lu du topic sur l'instance")
+    void onUnreadCount_shouldApplyDecodedCounter() {
+        unreadCountListener.onUnreadCount("""
+                {"userUuid":"user-1","unreadCount":4}
+                """);
+
+        verify(unreadCounterService).apply("user-1", 4);
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer un message illisible sans interrompre la consommation")
+    void onUnreadCount_shouldIgnoreMalformedMessage() {
+        unreadCountListener.onUnreadCount("pas du json");
+
+        verifyNoInteractions(unreadCounterService);
+    }
+}
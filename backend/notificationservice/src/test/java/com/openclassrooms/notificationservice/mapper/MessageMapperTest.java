@@ -5,13 +5,16 @@ import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
 import com.openclassrooms.notificationservice.model.Message;
 import com.openclassrooms.notificationservice.model.MessageStatus;
+import com.openclassrooms.notificationservice.model.MessageSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -135,6 +138,17 @@ class MessageMapperTest {
         assertThat(results.getFirst().getStatus()).isEqualTo("UNREAD");
     }
 
+    @Test
+    @DisplayName("Should apply pre-resolved statuses and default to UNREAD")
+    void toResponseList_withStatusMap() {
+        Message other = Message.builder().messageId(2L).messageUuid("msg-456").build();
+        message.setMessageId(1L);
+
+        List<MessageResponseDTO> responses = mapper.toResponseList(List.of(message, other), Map.of(1L, "READ"));
+
+        assertThat(responses).extracting(MessageResponseDTO::getStatus).containsExactly("READ", "UNREAD");
+    }
+
     @Test
     @DisplayName("Should return empty list for null input")
     void toResponseListForUser_nullList_returnsEmpty() {
@@ -147,6 +161,23 @@ class MessageMapperTest {
         assertThat(mapper.toResponseListForUser(List.of(), "user")).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should convert inbox projection to response keeping the resolved status")
+    void toInboxResponse_fromSummary() {
+        MessageSummary summary = new SpelAwareProxyProjectionFactory().createProjection(MessageSummary.class, Map.of(
+                "messageUuid", "msg-123", "conversationId", "conv-123", "status", "UNREAD",
+                "senderUuid", "user-111", "receiverUuid", "user-222",
+                "createdAt", LocalDateTime.of(2026, 3, 16, 10, 30)));
+
+        MessageResponseDTO response = mapper.toInboxResponse(summary);
+
+        assertThat(response.getStatus()).isEqualTo("UNREAD");
+        assertThat(response.getSender().getUserUuid()).isEqualTo("user-111");
+        assertThat(response.getReceiver().getUserUuid()).isEqualTo("user-222");
+        assertThat(response.getCreatedAt()).isEqualTo("2026-03-16T10:30");
+        assertThat(response.getUpdatedAt()).isNull();
+    }
+
     @Test
     @DisplayName("Should build full name from first + last")
     void buildFullName_bothNames_returnsCombined() {
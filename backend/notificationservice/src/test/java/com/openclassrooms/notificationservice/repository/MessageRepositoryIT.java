@@ -3,8 +3,10 @@ package com.openclassrooms.notificationservice.repository;
 import com.openclassrooms.notificationservice.model.Conversation;
 import com.openclassrooms.notificationservice.model.Message;
 import com.openclassrooms.notificationservice.model.MessageStatus;
+import com.openclassrooms.notificationservice.model.MessageSummary;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -98,25 +100,62 @@ class MessageRepositoryIT {
 
     @Test
     @Order(1)
-    @DisplayName("Should find messages for user as sender or receiver")
-    void findAllByUser_messagesExist_returnsList() {
+    @DisplayName("Should find inbox messages for user as sender or receiver with the user's own status")
+    void findInbox_messagesExist_returnsProjection() {
         createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
 
-        List<Message> messages = messageRepository.findAllByUser(receiverUuid);
+        List<MessageSummary> received = messageRepository.findInbox(receiverUuid, Limit.of(10));
+        List<MessageSummary> sent = messageRepository.findInbox(senderUuid, Limit.of(10));
 
-        assertThat(messages).hasSize(1);
-        assertThat(messages.getFirst().getReceiverUuid()).isEqualTo(receiverUuid);
-        assertThat(messages.getFirst().getStatuses()).isNotEmpty();
+        assertThat(received).hasSize(1);
+        assertThat(received.getFirst().getReceiverUuid()).isEqualTo(receiverUuid);
+        assertThat(received.getFirst().getStatus()).isEqualTo("UNREAD");
+        assertThat(sent.getFirst().getStatus()).isEqualTo("READ");
     }
 
     @Test
     @Order(2)
-    @DisplayName("Should return empty list when no messages")
-    void findAllByUser_noMessages_returnsEmpty() {
-        List<Message> messages = messageRepository.findAllByUser("non-existent-user");
+    @DisplayName("Should return empty inbox when no messages")
+    void findInbox_noMessages_returnsEmpty() {
+        List<MessageSummary> messages = messageRepository.findInbox("non-existent-user", Limit.of(10));
         assertThat(messages).isEmpty();
     }
 
+    @Test
+    @Order(17)
+    @DisplayName("Should mark every unread message of a conversation as read in one statement")
+    void markConversationAsRead_onlyUnreadRowsOfUser() {
+        createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
+        createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
+        createAndSaveMessage(UUID.randomUUID().toString(), senderUuid, receiverUuid, receiverEmail);
+
+        int updated = messageStatusRepository.markConversationAsRead(receiverUuid, conversationId);
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(messageStatusRepository.findStatusesInConversation(receiverUuid, conversationId))
+                .allMatch(row -> "READ".equals(row[1]));
+        assertThat(messageStatusRepository.countUnread(receiverUuid)).isEqualTo(1);
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Should page the inbox by keyset without gaps or duplicates")
+    void findInboxBefore_walksPagesInOrder() {
+        for (int i = 0; i < 5; i++) {
+            createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
+        }
+
+        List<MessageSummary> firstPage = messageRepository.findInbox(receiverUuid, Limit.of(2));
+        MessageSummary last = firstPage.getLast();
+        List<MessageSummary> secondPage = messageRepository.findInboxBefore(receiverUuid, last.getCreatedAt(), last.getMessageId(), Limit.of(10));
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(3);
+        assertThat(secondPage).extracting(MessageSummary::getMessageId)
+                .doesNotContainAnyElementsOf(firstPage.stream().map(MessageSummary::getMessageId).toList())
+                .allMatch(id -> id < last.getMessageId());
+    }
+
     @Test
     @Order(3)
     @DisplayName("Should find messages by conversation ID")
@@ -137,42 +176,53 @@ class MessageRepositoryIT {
         assertThat(conversation).isEmpty();
     }
 
+    private Conversation pair(String uuid, String sUuid, String rUuid) {
+        return Conversation.builder()
+                .conversationUuid(uuid)
+                .participantKey(Conversation.participantKey(sUuid, rUuid))
+                .participant1Uuid(sUuid)
+                .participant2Uuid(rUuid)
+                .subject("Test Subject")
+                .build();
+    }
+
     @Test
     @Order(5)
-    @DisplayName("Should return true when conversation exists")
-    void conversationExists_exists_returnsTrue() {
-        createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
-
-        boolean exists = messageRepository.conversationExists(senderUuid, receiverEmail);
+    @DisplayName("Should create the conversation of a new participant pair")
+    void upsertByParticipants_newPair_createsConversation() {
+        String resolved = conversationRepository.upsertByParticipants(pair(conversationId, senderUuid, receiverUuid));
 
-        assertThat(exists).isTrue();
+        assertThat(resolved).isEqualTo(conversationId);
+        assertThat(conversationRepository.findByConversationUuid(conversationId))
+                .hasValueSatisfying(conversation -> assertThat(conversation.getMessageCount()).isEqualTo(1));
     }
 
     @Test
     @Order(6)
-    @DisplayName("Should return false when conversation does not exist")
-    void conversationExists_notExists_returnsFalse() {
-        boolean exists = messageRepository.conversationExists("unknown", "unknown@email.com");
-        assertThat(exists).isFalse();
+    @DisplayName("Should reuse the conversation of a pair whichever side sends")
+    void upsertByParticipants_existingPair_returnsSameConversation() {
+        conversationRepository.upsertByParticipants(pair(conversationId, senderUuid, receiverUuid));
+
+        String resolved = conversationRepository.upsertByParticipants(pair(UUID.randomUUID().toString(), receiverUuid, senderUuid));
+        entityManager.clear();
+
+        assertThat(resolved).isEqualTo(conversationId);
+        assertThat(conversationRepository.count()).isEqualTo(1);
+        assertThat(conversationRepository.findByConversationUuid(conversationId))
+                .hasValueSatisfying(conversation -> assertThat(conversation.getMessageCount()).isEqualTo(2));
     }
 
     @Test
     @Order(7)
-    @DisplayName("Should find conversation IDs")
-    void findConversationIds_exists_returnsIds() {
-        createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
+    @DisplayName("Should keep distinct conversations for distinct pairs")
+    void upsertByParticipants_otherPair_createsAnotherConversation() {
+        conversationRepository.upsertByParticipants(pair(conversationId, senderUuid, receiverUuid));
 
-        List<String> ids = messageRepository.findConversationIds(senderUuid, receiverEmail);
+        String other = UUID.randomUUID().toString();
+        String resolved = conversationRepository.upsertByParticipants(pair(other, senderUuid, UUID.randomUUID().toString()));
 
-        assertThat(ids).contains(conversationId);
-    }
-
-    @Test
-    @Order(8)
-    @DisplayName("Should return empty when no conversation IDs")
-    void findConversationIds_notExists_returnsEmpty() {
-        List<String> ids = messageRepository.findConversationIds("unknown", "unknown@email.com");
-        assertThat(ids).isEmpty();
+        assertThat(resolved).isEqualTo(other);
+        assertThat(conversationRepository.count()).isEqualTo(2);
     }
 
     @Test
@@ -254,8 +304,8 @@ class MessageRepositoryIT {
     void getStatusForUser_loaded_returnsCorrectStatus() {
         Message saved = createAndSaveMessage(conversationId, senderUuid, receiverUuid, receiverEmail);
 
-        // Recharger avec statuses (JOIN FETCH)
-        List<Message> messages = messageRepository.findAllByUser(receiverUuid);
+        // Recharger (statuts chargés à la demande dans la transaction du test)
+        List<Message> messages = messageRepository.findByConversationId(conversationId);
         Message loaded = messages.getFirst();
 
         assertThat(loaded.getStatusForUser(senderUuid)).isEqualTo("READ");
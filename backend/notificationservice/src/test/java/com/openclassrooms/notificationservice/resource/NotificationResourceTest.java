@@ -1,6 +1,9 @@
 package com.openclassrooms.notificationservice.resource;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.config.MessageDeliveryConfig;
+import com.openclassrooms.notificationservice.config.UnreadCounterConfig;
+import com.openclassrooms.notificationservice.dto.MessagePageDTO;
 import com.openclassrooms.notificationservice.dto.MessageRequestDTO;
 import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,9 +22,16 @@ import org.springframework.test.web.servlet.MvcResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
@@ -31,6 +42,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests réactifs pour NotificationResource (Mono/Flux)
  */
 @WebMvcTest(NotificationResource.class)
+@Import({UnreadCounterConfig.class, MessageDeliveryConfig.class})
 @DisplayName("NotificationResource Tests (réactif)")
 class NotificationResourceTest {
 
@@ -171,8 +183,8 @@ class NotificationResourceTest {
         @Test
         @DisplayName("Devrait récupérer tous les messages - 200 OK")
         void shouldGetAllMessages() throws Exception {
-            when(notificationService.getMessages(anyString()))
-                    .thenReturn(Flux.just(messageResponse));
+            when(notificationService.getMessages(anyString(), isNull(), eq(20)))
+                    .thenReturn(Mono.just(MessagePageDTO.builder().messages(List.of(messageResponse)).build()));
             when(notificationService.getUnreadCount(anyString()))
                     .thenReturn(Mono.just(3));
 
@@ -190,8 +202,8 @@ class NotificationResourceTest {
         @Test
         @DisplayName("Devrait retourner liste vide si aucun message")
         void shouldReturnEmptyListWhenNoMessages() throws Exception {
-            when(notificationService.getMessages(anyString()))
-                    .thenReturn(Flux.empty());
+            when(notificationService.getMessages(anyString(), isNull(), eq(20)))
+                    .thenReturn(Mono.just(MessagePageDTO.builder().messages(List.of()).build()));
             when(notificationService.getUnreadCount(anyString()))
                     .thenReturn(Mono.just(0));
 
@@ -205,6 +217,73 @@ class NotificationResourceTest {
                     .andExpect(jsonPath("$.data.messages").isEmpty())
                     .andExpect(jsonPath("$.data.unreadCount").value(0));
         }
+
+        @Test
+        @DisplayName("Devrait transmettre le curseur et exposer nextCursor - 200 OK")
+        void shouldPassCursorAndExposeNextCursor() throws Exception {
+            when(notificationService.getMessages("user-uuid", "curseur-1", 10))
+                    .thenReturn(Mono.just(MessagePageDTO.builder().messages(List.of(messageResponse)).nextCursor("curseur-2").build()));
+            when(notificationService.getUnreadCount(anyString()))
+                    .thenReturn(Mono.just(1));
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/notifications/messages")
+                            .param("cursor", "curseur-1")
+                            .param("size", "10")
+                            .with(jwt().jwt(jwt -> jwt.subject("user-uuid"))))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.count").value(1))
+                    .andExpect(jsonPath("$.data.nextCursor").value("curseur-2"));
+        }
+    }
+
+    // STREAM UNREAD COUNT
+    @Nested
+    @DisplayName("GET /api/notifications/messages/unread/stream - Flux SSE des non-lus")
+    class StreamUnreadCountTests {
+
+        @Test
+        @DisplayName("Devrait pousser chaque valeur du compteur en événement SSE")
+        void shouldStreamUnreadCountAsServerSentEvents() throws Exception {
+            when(notificationService.watchUnreadCount("user-uuid")).thenReturn(Flux.just(3, 2));
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/notifications/messages/unread/stream")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .with(jwt().jwt(jwt -> jwt.subject("user-uuid"))))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Flux sans fin (keepalive) : on lit les événements déjà écrits dans la réponse
+            await().atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> assertThat(mvcResult.getResponse().getContentAsString())
+                            .contains("event:unread-count\ndata:3\n\n", "event:unread-count\ndata:2\n\n"));
+            assertThat(mvcResult.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+    }
+
+    // STREAM MESSAGES
+    @Nested
+    @DisplayName("GET /api/notifications/messages/stream - Flux SSE des nouveaux messages")
+    class StreamMessagesTests {
+
+        @Test
+        @DisplayName("Devrait pousser chaque nouveau message en événement SSE identifié par son uuid")
+        void shouldStreamMessagesAsServerSentEvents() throws Exception {
+            when(notificationService.watchMessages("user-uuid")).thenReturn(Flux.just(messageResponse));
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/notifications/messages/stream")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .with(jwt().jwt(jwt -> jwt.subject("user-uuid"))))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            await().atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> assertThat(mvcResult.getResponse().getContentAsString())
+                            .contains("id:msg-uuid-123\nevent:message\ndata:", "\"conversationId\":\"conv-uuid-456\""));
+        }
     }
 
     // GET CONVERSATION
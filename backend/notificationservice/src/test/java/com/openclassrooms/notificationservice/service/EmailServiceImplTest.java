@@ -1,7 +1,10 @@
 package com.openclassrooms.notificationservice.service;
 
+import com.openclassrooms.notificationservice.dispatch.EmailDispatcher;
 import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.exception.RetryableNotificationException;
 import com.openclassrooms.notificationservice.service.implementation.EmailServiceImpl;
+import com.openclassrooms.notificationservice.service.implementation.EmailTemplateRenderer;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,10 +13,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.thymeleaf.TemplateEngine;
@@ -46,10 +47,12 @@ class EmailServiceImplTest {
     @Mock
     private TemplateEngine templateEngine;
 
+    @Mock
+    private EmailDispatcher emailDispatcher;
+
     @Mock
     private MimeMessage mimeMessage;
 
-    @InjectMocks
     private EmailServiceImpl emailService;
 
     @Captor
@@ -62,6 +65,7 @@ class EmailServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        emailService = new EmailServiceImpl(emailSender, new EmailTemplateRenderer(templateEngine), emailDispatcher);
         ReflectionTestUtils.setField(emailService, "host", TEST_HOST);
         ReflectionTestUtils.setField(emailService, "fromEmail", TEST_FROM_EMAIL);
 
@@ -83,7 +87,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("account-verification"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -103,7 +107,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("password-reset"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo("Marie Martin");
@@ -125,7 +129,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("welcome-patient"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -141,7 +145,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("patient-updated"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -157,7 +161,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("patient-deleted"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -188,7 +192,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("appointment-confirmation"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -214,7 +218,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("appointment-reminder"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -247,7 +251,7 @@ class EmailServiceImplTest {
 
 
             verify(templateEngine).process(eq("new-medical-note"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -273,7 +277,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("note-updated"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -305,7 +309,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("new-comment"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -330,7 +334,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("comment-updated"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -352,7 +356,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("comment-deleted"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -383,7 +387,7 @@ class EmailServiceImplTest {
             );
 
             verify(templateEngine).process(eq("new-files-uploaded"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -430,7 +434,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("file-deleted"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -460,7 +464,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("results-available"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -514,7 +518,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("risk-assessment"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("riskLevel")).isEqualTo("DANGER");
@@ -661,7 +665,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("assessment-completed"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -719,7 +723,7 @@ class EmailServiceImplTest {
 
             // Then
             verify(templateEngine).process(eq("new-message"), contextCaptor.capture());
-            verify(emailSender).send(mimeMessage);
+            verify(emailDispatcher).enqueue(mimeMessage);
 
             Context context = contextCaptor.getValue();
             assertThat(context.getVariable("name")).isEqualTo(TEST_NAME);
@@ -861,11 +865,11 @@ class EmailServiceImplTest {
     class ErrorHandlingTests {
 
         @Test
-        @DisplayName("Devrait lancer ApiException en cas d'erreur d'envoi")
+        @DisplayName("Devrait lancer ApiException si l'email ne peut pas être mis en file")
         void shouldThrowApiExceptionOnSendError() {
             // Given
-            doThrow(new MailSendException("SMTP server unavailable"))
-                    .when(emailSender).send(any(MimeMessage.class));
+            doThrow(new ApiException("File d'envoi d'e-mails saturée"))
+                    .when(emailDispatcher).enqueue(any(MimeMessage.class));
 
             // When & Then
             assertThatThrownBy(() ->
@@ -873,5 +877,19 @@ class EmailServiceImplTest {
                     .isInstanceOf(ApiException.class)
                     .hasMessageContaining("Impossible d'envoyer l'e-mail");
         }
+
+        @Test
+        @DisplayName("Devrait remonter l'échec transitoire quand la file d'envoi reste saturée")
+        void shouldPropagateRetryableFailureWhenQueueIsFull() {
+            // Given
+            doThrow(new RetryableNotificationException("File d'envoi d'e-mails saturée"))
+                    .when(emailDispatcher).enqueue(any(MimeMessage.class));
+
+            // When & Then
+            assertThatThrownBy(() ->
+                    emailService.sendAccountVerificationEmail(TEST_NAME, TEST_EMAIL, "token"))
+                    .isInstanceOf(RetryableNotificationException.class)
+                    .hasMessageContaining("saturée");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.openclassrooms.notificationservice.service;
+
+import com.openclassrooms.notificationservice.service.implementation.EmailTemplateRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests du rendu des templates d'e-mails avec les vrais templates du classpath.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@DisplayName("EmailTemplateRenderer Tests")
+class EmailTemplateRendererTest {
+
+    private TemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        templateEngine = spy(engine);
+        renderer = new EmailTemplateRenderer(templateEngine);
+    }
+
+    private Context welcomeContext(String name) {
+        Context context = new Context();
+        context.setVariable("name", name);
+        context.setVariable("recordNumber", "PAT-2026-001");
+        context.setVariable("url", "http://localhost:4200/patient");
+        return context;
+    }
+
+    @Test
+    @DisplayName("Devrait rendre les variables et le pied de page commun")
+    void shouldRenderVariablesAndSharedFooter() {
+        String html = renderer.render("welcome-patient", welcomeContext("Jean Dupont"));
+
+        assertThat(html)
+                .contains("Jean Dupont")
+                .contains("PAT-2026-001")
+                .contains("Se désinscrire")
+                .doesNotContain("th:block")
+                .doesNotContain("emailFooter");
+    }
+
+    @Test
+    @DisplayName("Devrait rendre chaque fragment commun une seule fois pour tous les e-mails")
+    void shouldRenderFooterOnce() {
+        renderer.render("welcome-patient", welcomeContext("Jean Dupont"));
+        renderer.render("welcome-patient", welcomeContext("Marie Martin"));
+        renderer.render("password-reset", welcomeContext("Paul Durand"));
+
+        verify(templateEngine, times(1)).process(eq("fragments/email-footer"), any(Context.class));
+        verify(templateEngine, times(1)).process(eq("fragments/email-brand"), any(Context.class));
+        verify(templateEngine, times(1)).process(eq("fragments/email-copyright"), any(Context.class));
+    }
+
+    @Test
+    @DisplayName("Devrait injecter la marque et le pied de page commun dans l'e-mail d'évaluation")
+    void shouldRenderSharedFragmentsInAssessmentCompleted() {
+        String html = renderer.render("assessment-completed", welcomeContext("Jean Dupont"));
+
+        assertThat(html)
+                .contains(">MediLabo Solutions</a>")
+                .contains("Se désinscrire")
+                .doesNotContain("emailBrand")
+                .doesNotContain("emailFooter");
+    }
+
+    @Test
+    @DisplayName("Devrait injecter le copyright commun")
+    void shouldRenderSharedCopyright() {
+        String html = renderer.render("note-updated", welcomeContext("Jean Dupont"));
+
+        assertThat(html)
+                .contains("© 2026 MediLabo Solutions - Tous droits réservés")
+                .doesNotContain("emailCopyright");
+    }
+
+    @Test
+    @DisplayName("Devrait précharger tous les templates existants sans échouer sur les absents")
+    void shouldWarmUpTemplateCache() {
+        renderer.warmUp();
+
+        assertThat(templateEngine.getCacheManager().getTemplateCache().keySet())
+                .extracting(key -> key.getTemplate())
+                .contains("fragments/email-footer", "welcome-patient", "risk-assessment", "assessment-completed");
+    }
+}
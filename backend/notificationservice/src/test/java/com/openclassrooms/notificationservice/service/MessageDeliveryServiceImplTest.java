@@ -0,0 +1,125 @@
+package com.openclassrooms.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.config.MessageDeliveryConfig;
+import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
+import com.openclassrooms.notificationservice.event.MessageDelivery;
+import com.openclassrooms.notificationservice.service.implementation.MessageDeliveryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageDeliveryServiceImpl - Tests unitaires")
+class MessageDeliveryServiceImplTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessageDeliveryConfig config = new MessageDeliveryConfig();
+
+    private MessageDeliveryServiceImpl messageDeliveryService;
+
+    @BeforeEach
+    void setUp() {
+        config.setConnectionBuffer(4);
+        messageDeliveryService = new MessageDeliveryServiceImpl(kafkaTemplate, objectMapper, config, meterRegistry);
+    }
+
+    private MessageResponseDTO message(String messageUuid) {
+        return MessageResponseDTO.builder().messageUuid(messageUuid).conversationId("conv-1").status("UNREAD").build();
+    }
+
+    private double connections() {
+        return meterRegistry.get("notification.delivery.connections").gauge().value();
+    }
+
+    @Test
+    @DisplayName("Devrait publier le message sur le topic, clé = destinataire, après commit")
+    void publish_shouldSendAfterCommit() throws Exception {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            messageDeliveryService.publish("receiver-1", message("msg-1"));
+            verifyNoInteractions(kafkaTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate).send(eq("MEDILABO_MESSAGES"), eq("receiver-1"), payload.capture());
+        MessageDelivery delivery = objectMapper.readValue(payload.getValue(), MessageDelivery.class);
+        assertThat(delivery.receiverUuid()).isEqualTo("receiver-1");
+        assertThat(delivery.message().getMessageUuid()).isEqualTo("msg-1");
+    }
+
+    @Test
+    @DisplayName("Devrait pousser le message aux seules connexions du destinataire")
+    void deliver_shouldReachOnlyReceiverConnections() {
+        StepVerifier.create(messageDeliveryService.connect("receiver-1"))
+                .then(() -> {
+                    messageDeliveryService.deliver(new MessageDelivery("other-user", message("msg-0")));
+                    messageDeliveryService.deliver(new MessageDelivery("receiver-1", message("msg-1")));
+                })
+                .assertNext(received -> assertThat(received.getMessageUuid()).isEqualTo("msg-1"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("notification.delivery.messages").tag("outcome", "delivered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait compter les connexions ouvertes et les retirer à la fermeture")
+    void connect_shouldTrackConnectionCount() {
+        Disposable first = messageDeliveryService.connect("receiver-1").subscribe();
+        Disposable second = messageDeliveryService.connect("receiver-1").subscribe();
+        assertThat(connections()).isEqualTo(2);
+
+        first.dispose();
+        second.dispose();
+
+        assertThat(connections()).isZero();
+        messageDeliveryService.deliver(new MessageDelivery("receiver-1", message("msg-1")));
+        assertThat(meterRegistry.get("notification.delivery.messages").tag("outcome", "delivered").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait fermer la connexion d'un client qui ne consomme plus, sans bloquer la livraison")
+    void deliver_shouldCloseSaturatedConnection() {
+        StepVerifier.create(messageDeliveryService.connect("receiver-1"), 0)
+                .then(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        messageDeliveryService.deliver(new MessageDelivery("receiver-1", message("msg-" + i)));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(received -> true)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("notification.delivery.messages").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+        assertThat(connections()).isZero();
+    }
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.notificationservice.service;
 
+import com.openclassrooms.notificationservice.domain.MessageCursor;
 import com.openclassrooms.notificationservice.dto.MessageRequestDTO;
 import com.openclassrooms.notificationservice.dto.UserRequestDTO;
 import com.openclassrooms.notificationservice.dto.MessageResponseDTO;
@@ -8,6 +9,7 @@ import com.openclassrooms.notificationservice.mapper.MessageMapper;
 import com.openclassrooms.notificationservice.model.Conversation;
 import com.openclassrooms.notificationservice.model.Message;
 import com.openclassrooms.notificationservice.model.MessageStatus;
+import com.openclassrooms.notificationservice.model.MessageSummary;
 import com.openclassrooms.notificationservice.repository.ConversationRepository;
 import com.openclassrooms.notificationservice.repository.MessageRepository;
 import com.openclassrooms.notificationservice.repository.MessageStatusRepository;
@@ -16,13 +18,20 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +44,9 @@ class NotificationServiceImplTest {
     @Mock private ConversationRepository conversationRepository;
     @Mock private UserServiceClient userService;
     @Mock private MessageMapper messageMapper;
+    @Mock private UnreadCounterService unreadCounterService;
+    @Mock private MessageDeliveryService messageDeliveryService;
+    @Spy private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
 
     @InjectMocks
     private NotificationServiceImpl notificationService;
@@ -93,12 +105,11 @@ class NotificationServiceImplTest {
         void shouldSendMessage_newConversation() {
             when(userService.getUserByUuid(anyString())).thenReturn(Mono.just(sender));
             when(userService.getUserByEmail(receiver.getEmail())).thenReturn(Mono.just(receiver));
-            when(messageRepository.conversationExists(anyString(), anyString())).thenReturn(false);
+            when(conversationRepository.upsertByParticipants(any(Conversation.class)))
+                    .thenAnswer(invocation -> invocation.<Conversation>getArgument(0).getConversationUuid());
             when(messageMapper.toEntity(any(), any(), any())).thenReturn(savedMessage);
             when(messageRepository.save(any(Message.class))).thenReturn(savedMessage);
             when(messageStatusRepository.save(any(MessageStatus.class))).thenReturn(MessageStatus.builder().build());
-            when(conversationRepository.findByConversationUuid(anyString())).thenReturn(Optional.empty());
-            when(conversationRepository.save(any(Conversation.class))).thenReturn(Conversation.builder().build());
             when(messageMapper.toResponse(any(Message.class))).thenReturn(expectedResponse);
             when(messageMapper.buildFullName(any())).thenReturn("Jean Dupont");
 
@@ -108,6 +119,13 @@ class NotificationServiceImplTest {
 
             verify(messageRepository).save(any(Message.class));
             verify(messageStatusRepository, atLeast(1)).save(any(MessageStatus.class));
+            verify(unreadCounterService).adjust(receiver.getUserUuid(), 1);
+            verify(unreadCounterService, never()).adjust(eq(sender.getUserUuid()), anyInt());
+            verify(transactionOperations).execute(any());
+            verify(conversationRepository).upsertByParticipants(argThat(conversation ->
+                    conversation.getParticipantKey().equals(Conversation.participantKey(receiver.getUserUuid(), sender.getUserUuid()))
+                            && conversation.getParticipant1Uuid().equals(sender.getUserUuid())));
+            verify(messageDeliveryService).publish(eq(receiver.getUserUuid()), any(MessageResponseDTO.class));
         }
 
         @Test
@@ -115,21 +133,18 @@ class NotificationServiceImplTest {
         void shouldSendMessage_existingConversation() {
             when(userService.getUserByUuid(anyString())).thenReturn(Mono.just(sender));
             when(userService.getUserByEmail(receiver.getEmail())).thenReturn(Mono.just(receiver));
-            when(messageRepository.conversationExists(anyString(), anyString())).thenReturn(true);
-            when(messageRepository.findConversationIds(anyString(), anyString())).thenReturn(List.of("existing-conv"));
+            when(conversationRepository.upsertByParticipants(any(Conversation.class))).thenReturn("existing-conv");
             when(messageMapper.toEntity(any(), any(), any())).thenReturn(savedMessage);
             when(messageRepository.save(any(Message.class))).thenReturn(savedMessage);
             when(messageStatusRepository.save(any(MessageStatus.class))).thenReturn(MessageStatus.builder().build());
-            when(conversationRepository.findByConversationUuid(anyString()))
-                    .thenReturn(Optional.of(Conversation.builder().messageCount(1).build()));
-            when(conversationRepository.save(any(Conversation.class))).thenReturn(Conversation.builder().build());
             when(messageMapper.toResponse(any(Message.class))).thenReturn(expectedResponse);
 
             StepVerifier.create(notificationService.sendMessage(messageRequest, sender))
                     .expectNext(expectedResponse)
                     .verifyComplete();
 
-            verify(messageRepository).findConversationIds(anyString(), anyString());
+            verify(messageRepository).save(argThat(message -> "existing-conv".equals(message.getConversationId())));
+            verify(conversationRepository, never()).save(any(Conversation.class));
         }
 
         @Test
@@ -148,26 +163,71 @@ class NotificationServiceImplTest {
     @DisplayName("getMessages Tests")
     class GetMessagesTests {
 
+        private final LocalDateTime createdAt = LocalDateTime.of(2026, 3, 16, 10, 30);
+
+        private MessageSummary summary(long messageId) {
+            return new SpelAwareProxyProjectionFactory().createProjection(MessageSummary.class,
+                    Map.of("messageId", messageId, "createdAt", createdAt, "status", "UNREAD"));
+        }
+
         @Test
-        @DisplayName("Should get all messages for user")
-        void shouldGetMessages() {
-            when(messageRepository.findAllByUser(anyString())).thenReturn(List.of(savedMessage));
-            when(messageMapper.toResponseListForUser(anyList(), anyString())).thenReturn(List.of(expectedResponse));
+        @DisplayName("Should return the last page without cursor when fewer rows than size")
+        void shouldGetFirstPage_noNextCursor() {
+            MessageSummary row = summary(1L);
+            when(messageRepository.findInbox(sender.getUserUuid(), Limit.of(21))).thenReturn(List.of(row));
+            when(messageMapper.toInboxResponse(row)).thenReturn(expectedResponse);
+
+            StepVerifier.create(notificationService.getMessages(sender.getUserUuid(), null, 20))
+                    .assertNext(page -> {
+                        assertThat(page.getMessages()).containsExactly(expectedResponse);
+                        assertThat(page.getNextCursor()).isNull();
+                    })
+                    .verifyComplete();
+        }
 
-            StepVerifier.create(notificationService.getMessages(sender.getUserUuid()))
-                    .expectNext(expectedResponse)
+        @Test
+        @DisplayName("Should trim the extra row and expose the cursor of the last returned message")
+        void shouldGetFirstPage_withNextCursor() {
+            MessageSummary first = summary(7L);
+            when(messageRepository.findInbox(sender.getUserUuid(), Limit.of(2))).thenReturn(List.of(first, summary(6L)));
+            when(messageMapper.toInboxResponse(first)).thenReturn(expectedResponse);
+
+            StepVerifier.create(notificationService.getMessages(sender.getUserUuid(), null, 1))
+                    .assertNext(page -> {
+                        assertThat(page.getMessages()).hasSize(1);
+                        assertThat(MessageCursor.decode(page.getNextCursor())).isEqualTo(new MessageCursor(createdAt, 7L));
+                    })
                     .verifyComplete();
+            verify(messageMapper, times(1)).toInboxResponse(any(MessageSummary.class));
         }
 
         @Test
-        @DisplayName("Should return empty when no messages")
-        void shouldReturnEmpty_noMessages() {
-            when(messageRepository.findAllByUser(anyString())).thenReturn(List.of());
-            when(messageMapper.toResponseListForUser(anyList(), anyString())).thenReturn(List.of());
+        @DisplayName("Should seek after the cursor position")
+        void shouldGetNextPage_fromCursor() {
+            String cursor = new MessageCursor(createdAt, 7L).encode();
+            when(messageRepository.findInboxBefore(sender.getUserUuid(), createdAt, 7L, Limit.of(21))).thenReturn(List.of());
 
-            StepVerifier.create(notificationService.getMessages("unknown"))
-                    .expectNextCount(0)
+            StepVerifier.create(notificationService.getMessages(sender.getUserUuid(), cursor, 20))
+                    .assertNext(page -> assertThat(page.getMessages()).isEmpty())
                     .verifyComplete();
+            verify(messageRepository, never()).findInbox(anyString(), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid page size")
+        void shouldRejectInvalidSize() {
+            StepVerifier.create(notificationService.getMessages("unknown", null, 101))
+                    .expectError(ApiException.class)
+                    .verify();
+            verifyNoInteractions(messageRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            StepVerifier.create(notificationService.getMessages("unknown", "pas-un-curseur", 20))
+                    .expectErrorMatches(e -> e instanceof ApiException && e.getMessage().contains("Curseur"))
+                    .verify();
         }
     }
 
@@ -176,26 +236,43 @@ class NotificationServiceImplTest {
     class GetConversationTests {
 
         @Test
-        @DisplayName("Should get conversation and mark unread as read")
+        @DisplayName("Should get conversation and mark unread as read in a single statement")
         void shouldGetConversation_markAsRead() {
-            Message unread = Message.builder()
-                    .messageId(2L)
-                    .conversationId("conv-123")
-                    .statuses(List.of(MessageStatus.builder()
-                            .userUuid(sender.getUserUuid())
-                            .messageStatus("UNREAD")
-                            .build()))
-                    .build();
-
-            when(messageRepository.findByConversationId("conv-123")).thenReturn(List.of(unread));
-            when(messageStatusRepository.updateStatus(sender.getUserUuid(), 2L, "READ")).thenReturn(1);
-            when(messageMapper.toResponseListForUser(anyList(), anyString())).thenReturn(List.of(expectedResponse));
+            List<Message> thread = List.of(
+                    Message.builder().messageId(1L).conversationId("conv-123").build(),
+                    Message.builder().messageId(2L).conversationId("conv-123").build(),
+                    Message.builder().messageId(3L).conversationId("conv-123").build());
+            Map<Long, String> statuses = Map.of(1L, "READ", 2L, "UNREAD", 3L, "UNREAD");
+
+            when(messageRepository.findByConversationId("conv-123")).thenReturn(thread);
+            when(messageStatusRepository.findStatusesInConversation(sender.getUserUuid(), "conv-123"))
+                    .thenReturn(List.of(new Object[]{1L, "READ"}, new Object[]{2L, "UNREAD"}, new Object[]{3L, "UNREAD"}));
+            when(messageStatusRepository.markConversationAsRead(sender.getUserUuid(), "conv-123")).thenReturn(2);
+            when(messageMapper.toResponseList(thread, statuses)).thenReturn(List.of(expectedResponse));
+
+            StepVerifier.create(notificationService.getConversation(sender.getUserUuid(), "conv-123"))
+                    .expectNext(expectedResponse)
+                    .verifyComplete();
+
+            verify(messageStatusRepository, times(1)).markConversationAsRead(sender.getUserUuid(), "conv-123");
+            verify(messageStatusRepository, never()).updateStatus(anyString(), anyLong(), anyString());
+            verify(unreadCounterService).adjust(sender.getUserUuid(), -2);
+        }
+
+        @Test
+        @DisplayName("Should not write anything when the conversation is already read")
+        void shouldGetConversation_alreadyRead() {
+            when(messageRepository.findByConversationId("conv-123")).thenReturn(List.of(savedMessage));
+            when(messageStatusRepository.findStatusesInConversation(sender.getUserUuid(), "conv-123"))
+                    .thenReturn(List.<Object[]>of(new Object[]{1L, "READ"}));
+            when(messageMapper.toResponseList(anyList(), anyMap())).thenReturn(List.of(expectedResponse));
 
             StepVerifier.create(notificationService.getConversation(sender.getUserUuid(), "conv-123"))
                     .expectNext(expectedResponse)
                     .verifyComplete();
 
-            verify(messageStatusRepository).updateStatus(sender.getUserUuid(), 2L, "READ");
+            verify(messageStatusRepository, never()).markConversationAsRead(anyString(), anyString());
+            verifyNoInteractions(unreadCounterService);
         }
     }
 
@@ -206,7 +283,7 @@ class NotificationServiceImplTest {
         @Test
         @DisplayName("Should return unread count")
         void shouldReturnUnreadCount() {
-            when(messageStatusRepository.countUnread(anyString())).thenReturn(5);
+            when(unreadCounterService.getUnreadCount(sender.getUserUuid())).thenReturn(5);
 
             StepVerifier.create(notificationService.getUnreadCount(sender.getUserUuid()))
                     .expectNext(5)
@@ -219,14 +296,56 @@ class NotificationServiceImplTest {
     class MarkMessageAsReadTests {
 
         @Test
-        @DisplayName("Should mark message as read")
+        @DisplayName("Should mark message as read and decrement the unread counter")
         void shouldMarkAsRead() {
-            when(messageStatusRepository.updateStatus(anyString(), anyLong(), anyString())).thenReturn(1);
+            when(messageStatusRepository.markAsRead(sender.getUserUuid(), 2L)).thenReturn(1);
 
             StepVerifier.create(notificationService.markMessageAsRead(sender.getUserUuid(), 2L))
                     .verifyComplete();
 
-            verify(messageStatusRepository).updateStatus(sender.getUserUuid(), 2L, "READ");
+            verify(messageStatusRepository).markAsRead(sender.getUserUuid(), 2L);
+            verify(unreadCounterService).adjust(sender.getUserUuid(), -1);
+        }
+
+        @Test
+        @DisplayName("Should leave the counter unchanged when the message was already read")
+        void shouldMarkAsRead_alreadyRead() {
+            when(messageStatusRepository.markAsRead(sender.getUserUuid(), 2L)).thenReturn(0);
+
+            StepVerifier.create(notificationService.markMessageAsRead(sender.getUserUuid(), 2L))
+                    .verifyComplete();
+
+            verify(unreadCounterService, never()).adjust(anyString(), intThat(delta -> delta != 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("watchMessages Tests")
+    class WatchMessagesTests {
+
+        @Test
+        @DisplayName("Should delegate to the user's delivery connection")
+        void shouldWatchMessages() {
+            when(messageDeliveryService.connect(receiver.getUserUuid())).thenReturn(Flux.just(expectedResponse));
+
+            StepVerifier.create(notificationService.watchMessages(receiver.getUserUuid()))
+                    .expectNext(expectedResponse)
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("watchUnreadCount Tests")
+    class WatchUnreadCountTests {
+
+        @Test
+        @DisplayName("Should delegate to the unread counter stream")
+        void shouldWatchUnreadCount() {
+            when(unreadCounterService.watch(sender.getUserUuid())).thenReturn(Flux.just(3, 2));
+
+            StepVerifier.create(notificationService.watchUnreadCount(sender.getUserUuid()))
+                    .expectNext(3, 2)
+                    .verifyComplete();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.openclassrooms.notificationservice.service;
+
+import com.openclassrooms.commons.security.ServiceTokenException;
+import com.openclassrooms.commons.security.ServiceTokenProvider;
+import com.openclassrooms.notificationservice.exception.ApiException;
+import com.openclassrooms.notificationservice.service.implementation.PatientServiceClientImpl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour PatientServiceClientImpl.
+ * Utilise MockWebServer pour simuler les réponses de PatientService.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@DisplayName("PatientServiceClientImpl Tests")
+class PatientServiceClientImplTest {
+
+    private MockWebServer mockWebServer;
+    private ServiceTokenProvider serviceTokenProvider;
+    private PatientServiceClientImpl patientServiceClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        serviceTokenProvider = mock(ServiceTokenProvider.class);
+        when(serviceTokenProvider.getToken()).thenReturn(Mono.just("service-token"));
+        WebClient webClient = WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build();
+        patientServiceClient = new PatientServiceClientImpl(webClient, serviceTokenProvider);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private MockResponse jsonResponse(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(body);
+    }
+
+    @Test
+    @DisplayName("Devrait lire le contact du patient avec le jeton du service")
+    void shouldReadPatientContactWithServiceToken() throws InterruptedException {
+        // Given
+        mockWebServer.enqueue(jsonResponse(200, """
+                {"code":200,"data":{"patient":{"patientUuid":"patient-1","bloodType":"A+",
+                "userInfo":{"firstName":"Jean","lastName":"Dupont","email":"jean@email.com","phone":"0600000000"}}}}
+                """));
+
+        // When & Then
+        StepVerifier.create(patientServiceClient.getPatientContact("patient-1"))
+                .assertNext(contact -> {
+                    assertThat(contact.getPatientUuid()).isEqualTo("patient-1");
+                    assertThat(contact.getUserInfo().email()).isEqualTo("jean@email.com");
+                    assertThat(contact.getUserInfo().firstName()).isEqualTo("Jean");
+                })
+                .verifyComplete();
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/api/patients/patient-1");
+        assertThat(request.getHeader(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer service-token");
+    }
+
+    @Test
+    @DisplayName("Devrait retourner vide pour un patient inconnu")
+    void shouldReturnEmptyWhenPatientNotFound() {
+        // Given
+        mockWebServer.enqueue(jsonResponse(404, "{\"code\":404,\"message\":\"Patient non trouvé\"}"));
+
+        // When & Then
+        StepVerifier.create(patientServiceClient.getPatientContact("unknown")).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Devrait propager l'erreur de PatientService")
+    void shouldPropagateServerError() {
+        // Given
+        mockWebServer.enqueue(jsonResponse(503, "{}"));
+
+        // When & Then
+        StepVerifier.create(patientServiceClient.getPatientContact("patient-1"))
+                .expectError(ApiException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Devrait propager l'absence de jeton sans appeler PatientService")
+    void shouldPropagateMissingToken() {
+        // Given
+        when(serviceTokenProvider.getToken()).thenReturn(Mono.error(new ServiceTokenException("Identifiants client non configurés")));
+
+        // When & Then
+        StepVerifier.create(patientServiceClient.getPatientContact("patient-1"))
+                .expectError(ServiceTokenException.class)
+                .verify();
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+}
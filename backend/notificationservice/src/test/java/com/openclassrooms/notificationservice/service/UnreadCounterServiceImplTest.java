@@ -0,0 +1,146 @@
+package com.openclassrooms.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.notificationservice.config.UnreadCounterConfig;
+import com.openclassrooms.notificationservice.repository.UnreadCounterRepository;
+import com.openclassrooms.notificationservice.service.implementation.UnreadCounterServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadCounterServiceImpl - Tests unitaires")
+class UnreadCounterServiceImplTest {
+
+    @Mock
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private UnreadCounterServiceImpl unreadCounterService;
+
+    @BeforeEach
+    void setUp() {
+        unreadCounterService = new UnreadCounterServiceImpl(unreadCounterRepository, kafkaTemplate, new ObjectMapper(), new UnreadCounterConfig(), new SimpleMeterRegistry());
+        lenient().when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+    }
+
+    @Test
+    @DisplayName("Devrait lire le compteur une seule fois puis le servir depuis le cache")
+    void getUnreadCount_shouldHitDatabaseOnce() {
+        when(unreadCounterRepository.findCount("user-1")).thenReturn(Optional.of(4));
+
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(4);
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(4);
+
+        verify(unreadCounterRepository, times(1)).findCount("user-1");
+    }
+
+    @Test
+    @DisplayName("Devrait retourner 0 pour un utilisateur sans compteur")
+    void getUnreadCount_shouldDefaultToZero() {
+        when(unreadCounterRepository.findCount("user-1")).thenReturn(Optional.empty());
+
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait mettre à jour le cache avec la valeur retournée par la base hors transaction")
+    void adjust_shouldPublishImmediatelyWithoutTransaction() {
+        when(unreadCounterRepository.adjust("user-1", 1)).thenReturn(3);
+
+        unreadCounterService.adjust("user-1", 1);
+
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(3);
+        verify(unreadCounterRepository, never()).findCount(anyString());
+    }
+
+    @Test
+    @DisplayName("Devrait attendre la validation de la transaction avant de publier")
+    void adjust_shouldPublishAfterCommit() {
+        when(unreadCounterRepository.findCount("user-1")).thenReturn(Optional.of(5));
+        when(unreadCounterRepository.adjust("user-1", -2)).thenReturn(3);
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            unreadCounterService.adjust("user-1", -2);
+            assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(5);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Devrait diffuser la nouvelle valeur aux autres instances, clé = uuid de l'utilisateur")
+    void adjust_shouldBroadcastNewValue() {
+        when(unreadCounterRepository.adjust("user-1", 1)).thenReturn(3);
+
+        unreadCounterService.adjust("user-1", 1);
+
+        verify(kafkaTemplate).send("MEDILABO_UNREAD_COUNTERS", "user-1", "{\"userUuid\":\"user-1\",\"unreadCount\":3}");
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer au cache et aux abonnés un compteur diffusé par une autre instance")
+    void apply_shouldUpdateCacheAndSubscribers() {
+        when(unreadCounterRepository.findCount("user-1")).thenReturn(Optional.of(2));
+
+        StepVerifier.create(unreadCounterService.watch("user-1"))
+                .expectNext(2)
+                .then(() -> unreadCounterService.apply("user-1", 6))
+                .expectNext(6)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(unreadCounterService.getUnreadCount("user-1")).isEqualTo(6);
+        verify(unreadCounterRepository, times(1)).findCount("user-1");
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer un ajustement nul")
+    void adjust_shouldIgnoreZeroDelta() {
+        unreadCounterService.adjust("user-1", 0);
+
+        verify(unreadCounterRepository, never()).adjust(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Devrait émettre la valeur courante puis les changements de l'utilisateur uniquement")
+    void watch_shouldEmitCurrentValueThenOwnChanges() {
+        when(unreadCounterRepository.findCount("user-1")).thenReturn(Optional.of(2));
+        when(unreadCounterRepository.adjust("user-2", 1)).thenReturn(7);
+        when(unreadCounterRepository.adjust("user-1", 1)).thenReturn(3);
+
+        StepVerifier.create(unreadCounterService.watch("user-1"))
+                .expectNext(2)
+                .then(() -> unreadCounterService.adjust("user-2", 1))
+                .then(() -> unreadCounterService.adjust("user-1", 1))
+                .expectNext(3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -44,6 +44,7 @@ CREATE TABLE IF NOT EXISTS message_statuses (
 CREATE TABLE IF NOT EXISTS conversations (
     conversation_id BIGSERIAL PRIMARY KEY,
     conversation_uuid VARCHAR(40) NOT NULL,
+    participant_key VARCHAR(81),
     -- Participants
     participant_1_uuid VARCHAR(40) NOT NULL,
     participant_1_name VARCHAR(100),
@@ -57,13 +58,21 @@ CREATE TABLE IF NOT EXISTS conversations (
     message_count INTEGER DEFAULT 0,
     created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT uq_conversations_uuid UNIQUE (conversation_uuid)
+    CONSTRAINT uq_conversations_uuid UNIQUE (conversation_uuid),
+    CONSTRAINT uq_conversations_participant_key UNIQUE (participant_key)
     );
 
+CREATE TABLE IF NOT EXISTS unread_counters (
+    user_uuid VARCHAR(40) PRIMARY KEY,
+    unread_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ck_unread_counters_count CHECK (unread_count >= 0)
+);
+
 -- INDEXES
 CREATE INDEX IF NOT EXISTS idx_messages_conversation_id ON messages(conversation_id);
-CREATE INDEX IF NOT EXISTS idx_messages_sender_uuid ON messages(sender_uuid);
-CREATE INDEX IF NOT EXISTS idx_messages_receiver_uuid ON messages(receiver_uuid);
+CREATE INDEX IF NOT EXISTS idx_messages_sender_created ON messages(sender_uuid, created_at DESC, message_id DESC);
+CREATE INDEX IF NOT EXISTS idx_messages_receiver_created ON messages(receiver_uuid, created_at DESC, message_id DESC);
 CREATE INDEX IF NOT EXISTS idx_messages_created_at ON messages(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_message_statuses_user_uuid ON message_statuses(user_uuid);
 CREATE INDEX IF NOT EXISTS idx_message_statuses_status ON message_statuses(message_status);
@@ -0,0 +1,25 @@
+package com.openclassrooms.patientservice.config;
+
+import com.openclassrooms.commons.outbox.JdbcOutboxStore;
+import com.openclassrooms.commons.outbox.OutboxProperties;
+import com.openclassrooms.commons.outbox.OutboxStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Outbox transactionnelle (table outbox_events), alimentée dans la transaction des écritures patient.
+ * Le relais vers Kafka et ses réglages (préfixe outbox) sont fournis par medilabo-commons.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxStore<Long> outboxStore(JdbcClient jdbcClient, OutboxProperties outboxProperties) {
+        return new JdbcOutboxStore(jdbcClient, outboxProperties.getClaimTimeout());
+    }
+}
@@ -1,7 +1,9 @@
 package com.openclassrooms.patientservice.controller;
 
 import com.openclassrooms.patientservice.domain.Response;
+import com.openclassrooms.patientservice.dto.PatientBatchRequestDTO;
 import com.openclassrooms.patientservice.dto.PatientRequestDTO;
+import com.openclassrooms.patientservice.dto.PatientSummaryDTO;
 import com.openclassrooms.patientservice.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,7 +22,9 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -34,7 +38,7 @@ import static org.springframework.http.HttpStatus.*;
  * Controller REST pour la gestion des dossiers patients (Full Réactif).
  *
  * @author Kardigué MAGASSA
- * @version 2.1
+ * @version 2.2
  * @since 2026-01-09
  */
 @Tag(name = "Patients", description = "API de gestion des dossiers patients")
@@ -105,6 +109,26 @@ public class PatientController {
                 getResponse(request, Map.of("patients", patients, "count", patients.size()), "Patients récupérés avec succès", OK)));
     }
 
+    @Operation(summary = "Rechercher des patients en masse par UUID",
+            description = "Une seule requête IN ; retourne une projection compacte et la liste des UUID introuvables")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Patients récupérés"),
+            @ApiResponse(responseCode = "400", description = "Liste vide ou trop longue"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize(ALL_STAFF)
+    public Mono<ResponseEntity<Response>> getPatientsByUuids(@Valid @RequestBody PatientBatchRequestDTO batchRequest, HttpServletRequest request) {
+        log.debug("Fetching {} patients by UUID", batchRequest.getPatientUuids().size());
+
+        return patientService.getPatientsByUuids(batchRequest.getPatientUuids()).collectList().map(patients -> {
+            Set<String> missing = new LinkedHashSet<>(batchRequest.getPatientUuids());
+            patients.stream().map(PatientSummaryDTO::getPatientUuid).forEach(missing::remove);
+            return ResponseEntity.ok(getResponse(request, Map.of("patients", patients, "count", patients.size(), "missing", missing),
+                    "Patients récupérés avec succès", OK));
+        });
+    }
+
     @Operation(summary = "Récupérer un patient par UUID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Patient trouvé"),
@@ -0,0 +1,31 @@
+package com.openclassrooms.patientservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Requête de recherche en masse de patients par UUID.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientBatchRequestDTO {
+
+    /** Borne haute d'une requête ; reste loin de la limite de 32767 paramètres JDBC de PostgreSQL. */
+    public static final int MAX_PATIENT_UUIDS = 5000;
+
+    @NotEmpty(message = "La liste des UUID patients est obligatoire")
+    @Size(max = MAX_PATIENT_UUIDS, message = "Trop d'UUID patients (max " + MAX_PATIENT_UUIDS + ")")
+    private List<String> patientUuids;
+}
@@ -0,0 +1,33 @@
+package com.openclassrooms.patientservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO compact pour les recherches en masse (jointures inter-services).
+ * Reprend les noms de champs de {@link PatientResponseDTO} : les clients existants le désérialisent sans changement.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PatientSummaryDTO {
+    private String patientUuid;
+    private String userUuid;
+    private String medicalRecordNumber;
+    private LocalDate dateOfBirth;
+    private Integer age;
+    private String gender;
+    private Boolean active;
+    private PatientResponseDTO.UserInfo userInfo;
+}
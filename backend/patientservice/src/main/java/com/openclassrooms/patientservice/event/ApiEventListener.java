@@ -1,53 +1,39 @@
 package com.openclassrooms.patientservice.event;
 
-import com.openclassrooms.patientservice.domain.Notification;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import com.openclassrooms.commons.outbox.OutboxRelay;
+import com.openclassrooms.patientservice.model.OutboxEvent;
+import com.openclassrooms.patientservice.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.messaging.support.MessageBuilder;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.kafka.support.KafkaHeaders.TOPIC;
-
-
+/**
+ * Enregistre les événements dans l'outbox ; {@link OutboxRelay} les publie ensuite sur Kafka.
+ * Listener synchrone : l'écriture rejoint la transaction de l'appelant, l'événement n'existe
+ * que si la modification du patient est validée, et survit à une indisponibilité de Kafka.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ApiEventListener {
-    private final KafkaTemplate<String, Notification> kafkaTemplate;
-    private static final String NOTIFICATION_TOPIC = "MEDILABO_NOTIFICATIONS";
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationCodec notificationCodec;
 
     /**
-     * Écoute les événements et les publie sur Kafka.
+     * Écoute les événements et les ajoute à l'outbox.
      * @param event L'événement à publier
      */
-    @Async
     @EventListener
     public void onApiEvent(Event event) {
-        try {
-            log.info("Publishing event: eventType={}", event.getEventType());
-
-            var notification = new Notification(event);
-            var message = MessageBuilder
-                    .withPayload(notification)
-                    .setHeader(TOPIC, NOTIFICATION_TOPIC)
-                    .build();
-
-            kafkaTemplate.send(message)
-                    .whenComplete((result, ex) -> {
-                        if (ex != null) {
-                            log.error("Failed to publish event: eventType={}",
-                                    event.getEventType(), ex);
-                        } else {
-                            log.debug("Event published successfully: eventType={}",
-                                    event.getEventType());
-                        }
-                    });
-
-        } catch (Exception e) {
-            log.error("Error publishing event to Kafka", e);
-        }
+        log.info("Storing event in outbox: eventType={}", event.getEventType());
+
+        Object patientUuid = event.getData() != null ? event.getData().get("patientUuid") : null;
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(event.getEventType().name())
+                .eventKey(patientUuid != null ? patientUuid.toString() : null)
+                .payload(notificationCodec.encode(event.getEventType().name(), event.getData()))
+                .build());
     }
 }
@@ -2,10 +2,14 @@ package com.openclassrooms.patientservice.mapper;
 
 import com.openclassrooms.patientservice.dto.PatientRequestDTO;
 import com.openclassrooms.patientservice.dto.PatientResponseDTO;
+import com.openclassrooms.patientservice.dto.PatientSummaryDTO;
 import com.openclassrooms.patientservice.dto.UserRequestDTO;
 import com.openclassrooms.patientservice.model.Patient;
+import com.openclassrooms.patientservice.model.PatientSummary;
 import org.mapstruct.*;
 
+import java.time.LocalDate;
+import java.time.Period;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,7 +22,7 @@ import java.util.UUID;
  * @since 2026-04-02
  */
 
-@Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE, imports = UUID.class)
+@Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE, imports = {UUID.class, Period.class, LocalDate.class})
 public interface PatientMapper {
 
     /**
@@ -90,4 +94,24 @@ public interface PatientMapper {
     @Mapping(target = "address", source = "address")
     @Mapping(target = "imageUrl", source = "imageUrl")
     PatientResponseDTO.UserInfo toUserInfo(UserRequestDTO user);
-}
\ No newline at end of file
+
+    /**
+     * Convertit une projection compacte en DTO de recherche en masse
+     * @param summary projection issue de la requête IN
+     * @return DTO compact sans informations utilisateur
+     */
+    @Mapping(target = "age", expression = "java(summary.getDateOfBirth() != null ? Period.between(summary.getDateOfBirth(), LocalDate.now()).getYears() : 0)")
+    @Mapping(target = "userInfo", ignore = true)
+    PatientSummaryDTO toSummary(PatientSummary summary);
+
+    /**
+     * ENRICH : PatientSummary + UserRequest → PatientSummaryDTO avec UserInfo
+     */
+    default PatientSummaryDTO toSummaryWithUserInfo(PatientSummary summary, UserRequestDTO user) {
+        PatientSummaryDTO response = toSummary(summary);
+        if (user != null) {
+            response.setUserInfo(toUserInfo(user));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.patientservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/**
+ * Événement en attente de publication sur Kafka.
+ * Écrit dans la même transaction que le patient modifié, supprimé une fois publié par le relais.
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_event_id")
+    private Long outboxEventId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    /** Clé Kafka (UUID patient), null si l'événement n'en porte pas. */
+    @Column(name = "event_key", length = 40)
+    private String eventKey;
+
+    /** Notification encodée ({@link com.openclassrooms.commons.notification.NotificationCodec}), publiée telle quelle. */
+    @Column(nullable = false, columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /** Fin de la réservation par le relais (JdbcOutboxStore), null tant que l'événement n'est pas en cours d'envoi. */
+    @Column(name = "claimed_until", columnDefinition = "TIMESTAMP(6) WITH TIME ZONE")
+    private OffsetDateTime claimedUntil;
+}
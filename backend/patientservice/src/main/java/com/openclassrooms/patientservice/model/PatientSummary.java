@@ -0,0 +1,20 @@
+package com.openclassrooms.patientservice.model;
+
+import java.time.LocalDate;
+
+/**
+ * Projection fermée de {@link Patient} pour les recherches en masse.
+ * Spring Data ne sélectionne que ces colonnes (pas d'entité gérée ni de champs TEXT médicaux).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+public interface PatientSummary {
+    String getPatientUuid();
+    String getUserUuid();
+    String getMedicalRecordNumber();
+    LocalDate getDateOfBirth();
+    String getGender();
+    Boolean getActive();
+}
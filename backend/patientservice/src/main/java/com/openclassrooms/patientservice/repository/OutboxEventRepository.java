@@ -0,0 +1,17 @@
+package com.openclassrooms.patientservice.repository;
+
+import com.openclassrooms.patientservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository JPA de l'outbox : écriture des événements ; lecture et suppression
+ * par le relais commun (JdbcOutboxStore de medilabo-commons).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
@@ -1,6 +1,7 @@
 package com.openclassrooms.patientservice.repository;
 
 import com.openclassrooms.patientservice.model.Patient;
+import com.openclassrooms.patientservice.model.PatientSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +46,12 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     boolean existsByMedicalRecordNumber(String medicalRecordNumber);
     long countByActiveTrue();
 
+    /**
+     * Recherche en masse : une seule requête {@code WHERE patient_uuid IN (...)} sur l'index unique.
+     * Projection fermée : seules les colonnes de {@link PatientSummary} sont lues.
+     */
+    List<PatientSummary> findByPatientUuidIn(Collection<String> patientUuids);
+
 
     /**
      * Soft delete : marque le patient comme inactif.
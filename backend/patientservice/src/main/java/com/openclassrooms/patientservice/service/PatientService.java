@@ -2,16 +2,19 @@ package com.openclassrooms.patientservice.service;
 
 import com.openclassrooms.patientservice.dto.PatientRequestDTO;
 import com.openclassrooms.patientservice.dto.PatientResponseDTO;
+import com.openclassrooms.patientservice.dto.PatientSummaryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Service de gestion des patients.
  *
  * @author Kardigué MAGASSA
- * @version 2.1
+ * @version 2.2
  * @since 2026-01-09
  */
 public interface PatientService {
@@ -31,6 +34,7 @@ public interface PatientService {
     // QUERY
     Mono<PatientResponseDTO> getPatientByMedicalRecordNumber(String medicalRecordNumber);
     Flux<PatientResponseDTO> getPatientsByBloodType(String bloodType);
+    Flux<PatientSummaryDTO> getPatientsByUuids(Collection<String> patientUuids);
 
     // UTILITY
     Mono<Boolean> hasPatientRecord(String userUuid);
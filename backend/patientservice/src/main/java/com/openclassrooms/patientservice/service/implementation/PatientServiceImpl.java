@@ -3,10 +3,12 @@ package com.openclassrooms.patientservice.service.implementation;
 import com.openclassrooms.patientservice.dto.PatientRequestDTO;
 import com.openclassrooms.patientservice.dto.UserRequestDTO;
 import com.openclassrooms.patientservice.dto.PatientResponseDTO;
+import com.openclassrooms.patientservice.dto.PatientSummaryDTO;
 import com.openclassrooms.patientservice.event.Event;
 import com.openclassrooms.patientservice.exception.ApiException;
 import com.openclassrooms.patientservice.mapper.PatientMapper;
 import com.openclassrooms.patientservice.model.Patient;
+import com.openclassrooms.patientservice.model.PatientSummary;
 import com.openclassrooms.patientservice.repository.PatientRepository;
 import com.openclassrooms.patientservice.service.PatientService;
 import com.openclassrooms.patientservice.service.UserServiceClient;
@@ -17,15 +19,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+import static com.openclassrooms.patientservice.dto.PatientBatchRequestDTO.MAX_PATIENT_UUIDS;
 import static com.openclassrooms.patientservice.enumeration.EventType.*;
 
 @Slf4j
@@ -38,6 +48,10 @@ public class PatientServiceImpl implements PatientService {
     private final PatientMapper patientMapper;
     private final UserServiceClient userService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+
+    /** UUID utilisateurs envoyés par appel groupé vers Authorization Server. */
+    private static final int USER_LOOKUP_BATCH_SIZE = 1000;
 
     // CRUD OPERATIONS
 
@@ -50,13 +64,8 @@ public class PatientServiceImpl implements PatientService {
                     if (patients.isEmpty()) {
                         return Mono.just(page.map(patientMapper::toResponse));
                     }
-                    // Enrichir chaque patient avec les infos utilisateur
-                    return Flux.fromIterable(patients)
-                            .flatMap(patient -> enrichWithUserInfo(patient)
-                                    .onErrorResume(e -> {
-                                        log.warn("Could not enrich patient {}: {}", patient.getPatientUuid(), e.getMessage());
-                                        return Mono.just(patientMapper.toResponse(patient));
-                                    }))
+                    // Enrichir la page avec les infos utilisateur : un seul appel Authorization Server
+                    return enrichAllWithUserInfo(patients)
                             .collectList()
                             .map(enrichedList -> new org.springframework.data.domain.PageImpl<>(
                                     enrichedList, page.getPageable(), page.getTotalElements()));
@@ -79,13 +88,15 @@ public class PatientServiceImpl implements PatientService {
                 .flatMap(user -> {
                     String medicalRecordNumber = generateUniqueMedicalRecordNumber();
 
-                    return Mono.fromCallable(() -> {
+                    // Patient et événement (outbox) écrits dans la même transaction
+                    return Mono.fromCallable(() -> transactionOperations.execute(status -> {
                                 Patient patient = patientMapper.toEntity(request, medicalRecordNumber);
                                 Patient savedPatient = patientRepository.save(patient);
 
                                 eventPublisher.publishEvent(Event.builder()
                                         .eventType(PATIENT_CREATED)
                                         .data(Map.of(
+                                                "patientUuid", savedPatient.getPatientUuid(),
                                                 "email", user.getEmail(),
                                                 "name", user.getFirstName() + " " + user.getLastName(),
                                                 "recordNumber", medicalRecordNumber,
@@ -95,7 +106,7 @@ public class PatientServiceImpl implements PatientService {
 
                                 log.info("Patient created successfully: {}", savedPatient.getPatientUuid());
                                 return patientMapper.toResponse(savedPatient);
-                            })
+                            }))
                             .subscribeOn(Schedulers.boundedElastic());
                 });
     }
@@ -141,12 +152,7 @@ public class PatientServiceImpl implements PatientService {
     public Flux<PatientResponseDTO> getAllActivePatients() {
         return Mono.fromCallable(patientRepository::findAllByOrderByCreatedAtDesc)
                 .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(Flux::fromIterable)
-                .flatMap(patient -> enrichWithUserInfo(patient)
-                        .onErrorResume(e -> {
-                            log.warn("Could not enrich patient {}: {}", patient.getPatientUuid(), e.getMessage());
-                            return Mono.just(patientMapper.toResponse(patient));
-                        }));
+                .flatMapMany(this::enrichAllWithUserInfo);
     }
 
     @Override
@@ -170,11 +176,6 @@ public class PatientServiceImpl implements PatientService {
                         userService.getUserByUuid(existingPatient.getUserUuid())
                                 .flatMap(user -> {
 
-                                    Mono<Patient> updatePatientMono = Mono.fromCallable(() -> {
-                                        Patient updatedPatient = patientMapper.updateEntity(existingPatient, request);
-                                        return patientRepository.save(updatedPatient);
-                                    }).subscribeOn(Schedulers.boundedElastic());
-
                                     Mono<UserRequestDTO> updateUserMono;
                                     if (request.getPhone() != null || request.getAddress() != null) {
                                         updateUserMono = userService.updateUserContactInfo(
@@ -189,18 +190,19 @@ public class PatientServiceImpl implements PatientService {
                                         updateUserMono = Mono.just(user);
                                     }
 
-                                    return Mono.zip(updatePatientMono, updateUserMono)
-                                            .map(tuple -> {
-                                                Patient savedPatient = tuple.getT1();
-                                                UserRequestDTO updatedUser = tuple.getT2();
+                                    // Contact mis à jour d'abord : l'événement porte l'email final,
+                                    // écrit (outbox) dans la même transaction que le patient
+                                    return updateUserMono.flatMap(updatedUser -> Mono.fromCallable(() -> transactionOperations.execute(status -> {
+                                                Patient savedPatient = patientRepository.save(patientMapper.updateEntity(existingPatient, request));
 
-                                                publishPatientUpdatedEvent(updatedUser.getEmail(),
+                                                publishPatientUpdatedEvent(patientUuid, updatedUser.getEmail(),
                                                         updatedUser.getFirstName() + " " + updatedUser.getLastName(),
                                                         savedPatient.getMedicalRecordNumber());
 
                                                 log.info("Patient updated successfully: {}", patientUuid);
                                                 return patientMapper.toResponseWithUserInfo(savedPatient, updatedUser);
-                                            });
+                                            }))
+                                            .subscribeOn(Schedulers.boundedElastic()));
                                 })
                 );
     }
@@ -224,15 +226,15 @@ public class PatientServiceImpl implements PatientService {
                     }
 
                     return userService.getUserByUuid(patient.getUserUuid())
-                            .flatMap(user -> Mono.fromCallable(() -> {
+                            .flatMap(user -> Mono.fromCallable(() -> transactionOperations.execute(status -> {
                                         int deleted = patientRepository.softDeleteByPatientUuid(patientUuid);
                                         if (deleted > 0) {
-                                            publishPatientDeletedEvent(user.getEmail(),
+                                            publishPatientDeletedEvent(patientUuid, user.getEmail(),
                                                     user.getFirstName() + " " + user.getLastName(),
                                                     patient.getMedicalRecordNumber());
                                         }
                                         return deleted > 0;
-                                    })
+                                    }))
                                     .subscribeOn(Schedulers.boundedElastic()));
                 })
                 .flatMap(deleted -> {
@@ -289,6 +291,29 @@ public class PatientServiceImpl implements PatientService {
                 .map(patientMapper::toResponse);
     }
 
+    /**
+     * Recherche en masse pour les jointures inter-services.
+     * Une seule requête IN sur la projection compacte, puis un seul appel utilisateur groupé.
+     * Les UUID inconnus sont simplement absents du résultat ; l'ordre de la requête est conservé.
+     */
+    @Override
+    public Flux<PatientSummaryDTO> getPatientsByUuids(Collection<String> patientUuids) {
+        if (patientUuids == null || patientUuids.isEmpty()) {
+            return Flux.empty();
+        }
+        Set<String> uniqueUuids = new LinkedHashSet<>(patientUuids);
+        uniqueUuids.removeIf(Objects::isNull);
+        if (uniqueUuids.size() > MAX_PATIENT_UUIDS) {
+            return Flux.error(new ApiException("Trop d'UUID patients (max " + MAX_PATIENT_UUIDS + ")"));
+        }
+        log.debug("Fetching {} patients by UUID", uniqueUuids.size());
+
+        return Mono.fromCallable(() -> patientRepository.findByPatientUuidIn(uniqueUuids))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(summaries -> enrichAllWithUsers(summaries, PatientSummary::getUserUuid,
+                        patientMapper::toSummaryWithUserInfo, patientMapper::toSummary));
+    }
+
     // UTILITY OPERATIONS
 
     @Override
@@ -314,6 +339,32 @@ public class PatientServiceImpl implements PatientService {
                 });
     }
 
+    private Flux<PatientResponseDTO> enrichAllWithUserInfo(List<Patient> patients) {
+        return enrichAllWithUsers(patients, Patient::getUserUuid, patientMapper::toResponseWithUserInfo, patientMapper::toResponse);
+    }
+
+    /**
+     * Enrichit une liste avec un appel groupé par paquet de USER_LOOKUP_BATCH_SIZE (un seul pour une page)
+     * au lieu d'un getUserByUuid par patient. Ordre conservé ; utilisateur absent ou service en erreur :
+     * le patient est retourné sans userInfo, comme pour l'enrichissement unitaire.
+     */
+    private <P, R> Flux<R> enrichAllWithUsers(List<P> patients, Function<P, String> userUuidOf,
+                                              BiFunction<P, UserRequestDTO, R> withUser, Function<P, R> withoutUser) {
+        return Flux.fromIterable(patients)
+                .buffer(USER_LOOKUP_BATCH_SIZE)
+                .concatMap(chunk -> userService.getUsersByUuids(chunk.stream().map(userUuidOf).toList())
+                        .onErrorResume(e -> {
+                            log.warn("Could not fetch user info for {} patients: {}", chunk.size(), e.getMessage());
+                            return Mono.just(Map.of());
+                        })
+                        .flatMapIterable(users -> chunk.stream()
+                                .map(patient -> {
+                                    UserRequestDTO user = users.get(userUuidOf.apply(patient));
+                                    return user != null ? withUser.apply(patient, user) : withoutUser.apply(patient);
+                                })
+                                .toList()));
+    }
+
     private String generateUniqueMedicalRecordNumber() {
         String medicalRecordNumber;
         int attempts = 0;
@@ -336,39 +387,33 @@ public class PatientServiceImpl implements PatientService {
         return String.format("MED-%d-%06d", year, random);
     }
 
-    // EVENT PUBLISHING
-
-    private void publishPatientUpdatedEvent(String email, String name, String recordNumber) {
-        try {
-            eventPublisher.publishEvent(Event.builder()
-                    .eventType(PATIENT_UPDATED)
-                    .data(Map.of(
-                            "email", email,
-                            "name", name,
-                            "recordNumber", recordNumber,
-                            "date", LocalDateTime.now().toString()
-                    ))
-                    .build());
-            log.debug("PATIENT_UPDATED event published for: {}", email);
-        } catch (Exception e) {
-            log.error("Failed to publish PATIENT_UPDATED event: {}", e.getMessage());
-        }
+    // EVENT PUBLISHING (outbox, dans la transaction de l'appelant)
+
+    private void publishPatientUpdatedEvent(String patientUuid, String email, String name, String recordNumber) {
+        eventPublisher.publishEvent(Event.builder()
+                .eventType(PATIENT_UPDATED)
+                .data(Map.of(
+                        "patientUuid", patientUuid,
+                        "email", email,
+                        "name", name,
+                        "recordNumber", recordNumber,
+                        "date", LocalDateTime.now().toString()
+                ))
+                .build());
+        log.debug("PATIENT_UPDATED event stored for: {}", email);
     }
 
-    private void publishPatientDeletedEvent(String email, String name, String recordNumber) {
-        try {
-            eventPublisher.publishEvent(Event.builder()
-                    .eventType(PATIENT_DELETED)
-                    .data(Map.of(
-                            "email", email,
-                            "name", name,
-                            "recordNumber", recordNumber,
-                            "date", LocalDateTime.now().toString()
-                    ))
-                    .build());
-            log.debug("PATIENT_DELETED event published for: {}", email);
-        } catch (Exception e) {
-            log.error("Failed to publish PATIENT_DELETED event: {}", e.getMessage());
-        }
+    private void publishPatientDeletedEvent(String patientUuid, String email, String name, String recordNumber) {
+        eventPublisher.publishEvent(Event.builder()
+                .eventType(PATIENT_DELETED)
+                .data(Map.of(
+                        "patientUuid", patientUuid,
+                        "email", email,
+                        "name", name,
+                        "recordNumber", recordNumber,
+                        "date", LocalDateTime.now().toString()
+                ))
+                .build());
+        log.debug("PATIENT_DELETED event stored for: {}", email);
     }
 }
\ No newline at end of file
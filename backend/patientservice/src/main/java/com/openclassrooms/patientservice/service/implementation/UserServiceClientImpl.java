@@ -15,16 +15,25 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.openclassrooms.patientservice.util.RequestUtils.convertResponse;
+import static com.openclassrooms.patientservice.util.RequestUtils.convertResponseList;
 
 /**
  * Implémentation du service de communication avec Authorization Server.
  * Le token JWT est automatiquement propagé via WebClientInterceptor.
  *
  * @author Kardigué MAGASSA
- * @version 2.1
+ * @version 2.2
  * @since 2026-01-09
  */
 @Slf4j
@@ -35,6 +44,8 @@ public class UserServiceClientImpl implements UserServiceClient {
     private final WebClient authServerWebClient;
     private static final String CIRCUIT_BREAKER_NAME = "authServerService";
     private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    /** Limite userservice par appel POST /api/users/batch. */
+    private static final int MAX_BATCH_SIZE = 5000;
 
     @Override
     @Retry(name = CIRCUIT_BREAKER_NAME)
@@ -58,6 +69,42 @@ public class UserServiceClientImpl implements UserServiceClient {
                 .timeout(TIMEOUT);
     }
 
+    /**
+     * Résolution groupée : les UUID d'une page ou d'une liste sont fusionnés (doublons retirés)
+     * en un seul appel POST /api/users/batch au lieu d'un getUserByUuid par patient.
+     * La fusion se fait par requête entrante : le JWT propagé est celui du SecurityContext courant.
+     *
+     * @return map userUuid → utilisateur ; les UUID inconnus sont absents
+     */
+    @Override
+    @Retry(name = CIRCUIT_BREAKER_NAME)
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getUsersByUuidsFallback")
+    public Mono<Map<String, UserRequestDTO>> getUsersByUuids(Collection<String> userUuids) {
+        Set<String> uniqueUuids = userUuids == null ? Set.of() : userUuids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (uniqueUuids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (uniqueUuids.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new ApiException("Trop d'UUID utilisateurs (max " + MAX_BATCH_SIZE + ")"));
+        }
+        log.debug("Fetching {} users in one call", uniqueUuids.size());
+
+        return authServerWebClient.post()
+                .uri("/api/users/batch")
+                .bodyValue(Map.of("userUuids", uniqueUuids))
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ApiException("Erreur client lors de la récupération des utilisateurs")))
+                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ApiException("Erreur serveur Authorization Server")))
+                .bodyToMono(Response.class)
+                .map(this::extractUsers)
+                .defaultIfEmpty(Map.of())
+                .doOnSuccess(users -> log.debug("Resolved {}/{} users", users.size(), uniqueUuids.size()))
+                .doOnError(error -> log.error("Error fetching {} users: {}", uniqueUuids.size(), error.getMessage()))
+                .timeout(TIMEOUT);
+    }
+
     @Override
     @Retry(name = CIRCUIT_BREAKER_NAME)
     @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getUserByEmailFallback")
@@ -146,6 +193,11 @@ public class UserServiceClientImpl implements UserServiceClient {
         return Mono.error(new ApiException("Service utilisateur indisponible"));
     }
 
+    public Mono<Map<String, UserRequestDTO>> getUsersByUuidsFallback(Collection<String> userUuids, Throwable t) {
+        log.error("Fallback getUsersByUuids - {} UUIDs, Cause: {}", userUuids == null ? 0 : userUuids.size(), t.getMessage());
+        return Mono.just(Map.of());
+    }
+
     public Mono<UserRequestDTO> getUserByEmailFallback(String email, Throwable t) {
         log.error("Fallback getUserByEmail - Email: {}, Cause: {}", email, t.getMessage());
         return Mono.empty();
@@ -160,4 +212,14 @@ public class UserServiceClientImpl implements UserServiceClient {
         log.error("Fallback updateUserContactInfo - UUID: {}, Cause: {}", userUuid, t.getMessage());
         return Mono.empty();
     }
-}
\ No newline at end of file
+
+    private Map<String, UserRequestDTO> extractUsers(Response response) {
+        if (response == null || response.data() == null || response.data().get("users") == null) {
+            return Map.of();
+        }
+        List<UserRequestDTO> users = convertResponseList(response, UserRequestDTO.class, "users");
+        return users.stream()
+                .filter(user -> user.getUserUuid() != null)
+                .collect(Collectors.toMap(UserRequestDTO::getUserUuid, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+    }
+}
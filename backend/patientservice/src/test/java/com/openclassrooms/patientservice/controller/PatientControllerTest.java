@@ -2,7 +2,9 @@ package com.openclassrooms.patientservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.openclassrooms.patientservice.dto.PatientBatchRequestDTO;
 import com.openclassrooms.patientservice.dto.PatientRequestDTO;
+import com.openclassrooms.patientservice.dto.PatientSummaryDTO;
 import com.openclassrooms.patientservice.dto.PatientResponseDTO;
 import com.openclassrooms.patientservice.exception.HandleException;
 import com.openclassrooms.patientservice.service.PatientService;
@@ -241,6 +243,48 @@ class PatientControllerTest {
         }
     }
 
+    // READ BATCH
+
+    @Nested
+    @DisplayName("POST /api/patients/batch")
+    class GetPatientsByUuidsEndpoint {
+
+        @Test
+        @DisplayName("Should return found patients and list missing UUIDs")
+        void getPatientsByUuids_someMissing_returns200WithMissing() throws Exception {
+            PatientSummaryDTO summary = PatientSummaryDTO.builder()
+                    .patientUuid("patient-uuid-123")
+                    .dateOfBirth(LocalDate.of(1990, 5, 15))
+                    .gender("M")
+                    .build();
+            when(patientService.getPatientsByUuids(List.of("patient-uuid-123", "unknown-uuid"))).thenReturn(Flux.just(summary));
+
+            PatientBatchRequestDTO body = new PatientBatchRequestDTO(List.of("patient-uuid-123", "unknown-uuid"));
+            MvcResult mvcResult = mockMvc.perform(post("/api/patients/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(body)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.count", is(1)))
+                    .andExpect(jsonPath("$.data.patients[0].patientUuid", is("patient-uuid-123")))
+                    .andExpect(jsonPath("$.data.missing[0]", is("unknown-uuid")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when UUID list is empty")
+        void getPatientsByUuids_emptyList_returns400() throws Exception {
+            mockMvc.perform(post("/api/patients/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PatientBatchRequestDTO(List.of()))))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(patientService);
+        }
+    }
+
     // READ BY UUID
 
     @Nested
@@ -1,22 +1,24 @@
 package com.openclassrooms.patientservice.event;
 
-import com.openclassrooms.patientservice.domain.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import com.openclassrooms.commons.notification.NotificationSchemaRegistry;
 import com.openclassrooms.patientservice.enumeration.EventType;
+import com.openclassrooms.patientservice.model.OutboxEvent;
+import com.openclassrooms.patientservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.messaging.Message;
 
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -25,105 +27,77 @@ import static org.mockito.Mockito.*;
 class ApiEventListenerTest {
 
     @Mock
-    private KafkaTemplate<String, Notification> kafkaTemplate;
+    private OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @InjectMocks
     private ApiEventListener apiEventListener;
 
+    @BeforeEach
+    void setUp() {
+        apiEventListener = new ApiEventListener(outboxEventRepository, new NotificationCodec(new NotificationSchemaRegistry(), objectMapper));
+    }
+
     @Nested
     @DisplayName("onApiEvent() - Tests")
     class OnApiEventTests {
 
         @Test
-        @DisplayName("Devrait publier l'événement sur Kafka avec succès")
-        void onApiEvent_shouldPublishToKafkaSuccessfully() {
+        @DisplayName("Devrait enregistrer l'événement dans l'outbox")
+        void onApiEvent_shouldStoreEventInOutbox() {
             // Given
             Event event = Event.builder()
-                    .eventType(EventType.PATIENT_CREATED)
-                    .data(Map.of("email", "test@test.com", "name", "John Doe"))
+                    .eventType(EventType.PATIENT_UPDATED)
+                    .data(Map.of("patientUuid", "patient-uuid-001", "email", "test@test.com"))
                     .build();
 
-            when(kafkaTemplate.send(any(Message.class)))
-                    .thenReturn(CompletableFuture.completedFuture(null));
-
             // When
             apiEventListener.onApiEvent(event);
 
             // Then
-            ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
-            verify(kafkaTemplate, timeout(1000)).send(messageCaptor.capture());
-
-            Message<Notification> sentMessage = messageCaptor.getValue();
-            assertThat(sentMessage).isNotNull();
-            assertThat(sentMessage.getHeaders().get("kafka_topic")).isEqualTo("MEDILABO_NOTIFICATIONS");
-            assertThat(sentMessage.getPayload()).isNotNull();
-            assertThat(sentMessage.getPayload().getPayload()).isEqualTo(event);
-        }
+            ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+            verify(outboxEventRepository).save(captor.capture());
 
-        @Test
-        @DisplayName("Devrait gérer les exceptions lors de la création du message")
-        void onApiEvent_shouldHandleMessageCreationException() {
-            // Given
-            Event event = null;
-
-            // When
-            apiEventListener.onApiEvent(event);
+            OutboxEvent stored = captor.getValue();
+            assertThat(stored.getEventType()).isEqualTo("PATIENT_UPDATED");
+            assertThat(stored.getEventKey()).isEqualTo("patient-uuid-001");
+            assertThat(stored.getCreatedAt()).isNotNull();
 
-            // Then - Ne devrait pas planter, juste logger l'erreur
-            verify(kafkaTemplate, never()).send(any(Message.class));
+            // Avro "single object" : en-tête C3 01
+            assertThat(stored.getPayload()).startsWith((byte) 0xC3, (byte) 0x01);
         }
 
         @Test
-        @DisplayName("Devrait créer une notification avec les bons headers")
-        void onApiEvent_shouldCreateNotificationWithCorrectHeaders() {
+        @DisplayName("Devrait enregistrer sans clé quand l'événement ne porte pas d'UUID patient")
+        void onApiEvent_shouldStoreWithoutKey() {
             // Given
             Event event = Event.builder()
-                    .eventType(EventType.PATIENT_DELETED)
-                    .data(Map.of("patientId", "123"))
+                    .eventType(EventType.PATIENT_CREATED)
+                    .data(Map.of("email", "test@test.com"))
                     .build();
 
-            when(kafkaTemplate.send(any(Message.class)))
-                    .thenReturn(CompletableFuture.completedFuture(null));
-
             // When
             apiEventListener.onApiEvent(event);
 
             // Then
-            ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
-            verify(kafkaTemplate, timeout(1000)).send(messageCaptor.capture());
-
-            Message<Notification> sentMessage = messageCaptor.getValue();
-            Notification notification = sentMessage.getPayload();
-
-            assertThat(notification).isNotNull();
-            assertThat(notification.getPayload()).isEqualTo(event);
-            assertThat(notification.getHeaders()).containsKeys("id", "timestamp");
+            ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+            verify(outboxEventRepository).save(captor.capture());
+            assertThat(captor.getValue().getEventKey()).isNull();
         }
 
         @Test
-        @DisplayName("Devrait traiter différents types d'événements")
-        void onApiEvent_shouldHandleDifferentEventTypes() {
+        @DisplayName("Devrait propager l'échec d'écriture pour annuler la transaction de l'appelant")
+        void onApiEvent_shouldPropagateStorageFailure() {
             // Given
-            EventType[] eventTypes = {
-                    EventType.PATIENT_CREATED,
-                    EventType.PATIENT_UPDATED,
-                    EventType.PATIENT_DELETED
-            };
-
-            when(kafkaTemplate.send(any(Message.class)))
-                    .thenReturn(CompletableFuture.completedFuture(null));
+            Event event = Event.builder()
+                    .eventType(EventType.PATIENT_DELETED)
+                    .data(Map.of("patientUuid", "patient-uuid-001"))
+                    .build();
+            when(outboxEventRepository.save(any(OutboxEvent.class))).thenThrow(new IllegalStateException("DB down"));
 
             // When & Then
-            for (EventType eventType : eventTypes) {
-                Event event = Event.builder()
-                        .eventType(eventType)
-                        .data(Map.of("test", "data"))
-                        .build();
-
-                apiEventListener.onApiEvent(event);
-
-                verify(kafkaTemplate, timeout(1000).atLeastOnce()).send(any(Message.class));
-            }
+            assertThatThrownBy(() -> apiEventListener.onApiEvent(event))
+                    .isInstanceOf(IllegalStateException.class);
         }
     }
 }
@@ -2,6 +2,7 @@ package com.openclassrooms.patientservice.repository;
 
 import com.openclassrooms.patientservice.exception.ApiException;
 import com.openclassrooms.patientservice.model.Patient;
+import com.openclassrooms.patientservice.model.PatientSummary;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -141,6 +142,23 @@ class PatientRepositoryIT {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @Order(3)
+    @DisplayName("Should find patients in bulk with a compact projection")
+    void findByPatientUuidIn_someExist_returnsOnlyExisting() {
+        // Given
+        Patient saved = patientRepository.save(testPatient);
+
+        // When
+        List<PatientSummary> result = patientRepository.findByPatientUuidIn(List.of(saved.getPatientUuid(), "non-existent-uuid"));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getPatientUuid()).isEqualTo(saved.getPatientUuid());
+        assertThat(result.get(0).getDateOfBirth()).isEqualTo(LocalDate.of(1990, 5, 15));
+        assertThat(result.get(0).getGender()).isEqualTo("M");
+    }
+
     @Test
     @Order(4)
     @DisplayName("Should find patient by user UUID")
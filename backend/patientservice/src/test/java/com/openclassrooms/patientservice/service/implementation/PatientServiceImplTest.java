@@ -3,10 +3,12 @@ package com.openclassrooms.patientservice.service.implementation;
 import com.openclassrooms.patientservice.dto.PatientRequestDTO;
 import com.openclassrooms.patientservice.dto.UserRequestDTO;
 import com.openclassrooms.patientservice.dto.PatientResponseDTO;
+import com.openclassrooms.patientservice.dto.PatientSummaryDTO;
 import com.openclassrooms.patientservice.event.Event;
 import com.openclassrooms.patientservice.exception.ApiException;
 import com.openclassrooms.patientservice.mapper.PatientMapper;
 import com.openclassrooms.patientservice.model.Patient;
+import com.openclassrooms.patientservice.model.PatientSummary;
 import com.openclassrooms.patientservice.repository.PatientRepository;
 import com.openclassrooms.patientservice.service.UserServiceClient;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +18,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,7 +32,9 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.openclassrooms.patientservice.enumeration.EventType.PATIENT_DELETED;
@@ -47,6 +53,8 @@ class PatientServiceImplTest {
     private UserServiceClient userService;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
 
     @InjectMocks
     private PatientServiceImpl patientService;
@@ -111,7 +119,7 @@ class PatientServiceImplTest {
             Page<Patient> patientPage = new PageImpl<>(List.of(patient), pageable, 1);
 
             when(patientRepository.findAllByOrderByCreatedAtDesc(pageable)).thenReturn(patientPage);
-            when(userService.getUserByUuid("user-uuid-001")).thenReturn(Mono.just(userRequestDTO));
+            when(userService.getUsersByUuids(List.of("user-uuid-001"))).thenReturn(Mono.just(Map.of("user-uuid-001", userRequestDTO)));
             when(patientMapper.toResponseWithUserInfo(patient, userRequestDTO)).thenReturn(patientResponseDTO);
 
             // When & Then
@@ -120,6 +128,33 @@ class PatientServiceImplTest {
                             page.getTotalElements() == 1 &&
                                     page.getContent().getFirst().equals(patientResponseDTO))
                     .verifyComplete();
+
+            verify(userService, never()).getUserByUuid(anyString());
+        }
+
+        @Test
+        @DisplayName("getAllPatientsPageable - un seul appel utilisateur pour toute la page")
+        void getAllPatientsPageable_ShouldResolveUsersInSingleCall() {
+            // Given
+            Patient second = patient.toBuilder().patientId(2L).patientUuid("patient-uuid-002").userUuid("user-uuid-002").build();
+            Patient third = patient.toBuilder().patientId(3L).patientUuid("patient-uuid-003").userUuid("user-uuid-003").build();
+            PatientResponseDTO thirdResponse = PatientResponseDTO.builder().patientUuid("patient-uuid-003").build();
+            Pageable pageable = PageRequest.of(0, 10);
+            Page<Patient> patientPage = new PageImpl<>(List.of(patient, second, third), pageable, 3);
+
+            when(patientRepository.findAllByOrderByCreatedAtDesc(pageable)).thenReturn(patientPage);
+            when(userService.getUsersByUuids(anyCollection())).thenReturn(Mono.just(Map.of(
+                    "user-uuid-001", userRequestDTO,
+                    "user-uuid-002", userRequestDTO)));
+            when(patientMapper.toResponseWithUserInfo(any(Patient.class), eq(userRequestDTO))).thenReturn(patientResponseDTO);
+            when(patientMapper.toResponse(third)).thenReturn(thirdResponse);
+
+            // When & Then : ordre conservé, utilisateur inconnu → DTO sans userInfo
+            StepVerifier.create(patientService.getAllPatientsPageable(pageable))
+                    .expectNextMatches(page -> page.getContent().equals(List.of(patientResponseDTO, patientResponseDTO, thirdResponse)))
+                    .verifyComplete();
+
+            verify(userService, times(1)).getUsersByUuids(List.of("user-uuid-001", "user-uuid-002", "user-uuid-003"));
         }
 
         @Test
@@ -130,7 +165,7 @@ class PatientServiceImplTest {
             Page<Patient> patientPage = new PageImpl<>(List.of(patient), pageable, 1);
 
             when(patientRepository.findAllByOrderByCreatedAtDesc(pageable)).thenReturn(patientPage);
-            when(userService.getUserByUuid("user-uuid-001"))
+            when(userService.getUsersByUuids(anyCollection()))
                     .thenReturn(Mono.error(new RuntimeException("Service indisponible")));
             when(patientMapper.toResponse(patient)).thenReturn(patientResponseDTO);
 
@@ -203,6 +238,32 @@ class PatientServiceImplTest {
         verify(eventPublisher, times(1)).publishEvent(any(Event.class));
     }
 
+    @Test
+    @DisplayName("createPatient - patient et événement écrits dans la même transaction")
+    void createPatient_ShouldStoreEventInPatientTransaction() {
+        PatientRequestDTO request = new PatientRequestDTO();
+        request.setUserUuid("user-uuid-001");
+
+        when(patientRepository.existsByUserUuid("user-uuid-001")).thenReturn(false);
+        when(userService.getUserByUuid("user-uuid-001")).thenReturn(Mono.just(userRequestDTO));
+        when(patientMapper.toEntity(any(PatientRequestDTO.class), anyString())).thenReturn(patient);
+        when(patientRepository.save(any(Patient.class))).thenReturn(patient);
+        when(patientRepository.existsByMedicalRecordNumber(anyString())).thenReturn(false);
+        when(patientMapper.toResponse(patient)).thenReturn(patientResponseDTO);
+        doAnswer(invocation -> {
+            verify(eventPublisher, never()).publishEvent(any(Event.class));
+            Object result = invocation.callRealMethod();
+            verify(eventPublisher).publishEvent(any(Event.class));
+            return result;
+        }).when(transactionOperations).execute(any());
+
+        StepVerifier.create(patientService.createPatient(request))
+                .expectNext(patientResponseDTO)
+                .verifyComplete();
+
+        verify(transactionOperations).execute(any());
+    }
+
     @Test
     @DisplayName("createPatient - erreur si dossier existe déjà")
     void createPatient_ShouldFailIfAlreadyExists() {
@@ -258,7 +319,7 @@ class PatientServiceImplTest {
     @DisplayName("getAllActivePatients - retourne la liste enrichie")
     void getAllActivePatients_ShouldReturnEnrichedList() {
         when(patientRepository.findAllByOrderByCreatedAtDesc()).thenReturn(List.of(patient));
-        when(userService.getUserByUuid("user-uuid-001")).thenReturn(Mono.just(userRequestDTO));
+        when(userService.getUsersByUuids(List.of("user-uuid-001"))).thenReturn(Mono.just(Map.of("user-uuid-001", userRequestDTO)));
         when(patientMapper.toResponseWithUserInfo(patient, userRequestDTO)).thenReturn(patientResponseDTO);
 
         StepVerifier.create(patientService.getAllActivePatients())
@@ -608,4 +669,83 @@ class PatientServiceImplTest {
             verify(userService).updateUserContactInfo(eq("user-uuid-001"), isNull(), eq("456 New Street"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("getPatientsByUuids - Tests")
+    class GetPatientsByUuidsTests {
+
+        private PatientSummary summary(String patientUuid, String userUuid) {
+            PatientSummary summary = mock(PatientSummary.class);
+            lenient().when(summary.getPatientUuid()).thenReturn(patientUuid);
+            lenient().when(summary.getUserUuid()).thenReturn(userUuid);
+            return summary;
+        }
+
+        @Test
+        @DisplayName("getPatientsByUuids - une seule requête IN pour tout le lot, doublons retirés")
+        @SuppressWarnings("unchecked")
+        void getPatientsByUuids_ShouldRunSingleInQuery() {
+            // Given
+            PatientSummary first = summary("patient-uuid-001", "user-uuid-001");
+            PatientSummary second = summary("patient-uuid-002", "user-uuid-002");
+            PatientSummaryDTO firstDto = PatientSummaryDTO.builder().patientUuid("patient-uuid-001").build();
+            PatientSummaryDTO secondDto = PatientSummaryDTO.builder().patientUuid("patient-uuid-002").build();
+
+            when(patientRepository.findByPatientUuidIn(anyCollection())).thenReturn(List.of(first, second));
+            when(userService.getUsersByUuids(List.of("user-uuid-001", "user-uuid-002")))
+                    .thenReturn(Mono.just(Map.of("user-uuid-001", userRequestDTO, "user-uuid-002", userRequestDTO)));
+            when(patientMapper.toSummaryWithUserInfo(first, userRequestDTO)).thenReturn(firstDto);
+            when(patientMapper.toSummaryWithUserInfo(second, userRequestDTO)).thenReturn(secondDto);
+
+            // When & Then
+            StepVerifier.create(patientService.getPatientsByUuids(List.of("patient-uuid-001", "patient-uuid-002", "patient-uuid-001")))
+                    .expectNext(firstDto, secondDto)
+                    .verifyComplete();
+
+            ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+            verify(patientRepository, times(1)).findByPatientUuidIn(captor.capture());
+            assertThat(captor.getValue().size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("getPatientsByUuids - erreur utilisateur : DTO compact sans userInfo")
+        void getPatientsByUuids_ShouldFallbackWithoutUserInfo() {
+            // Given
+            PatientSummary first = summary("patient-uuid-001", "user-uuid-001");
+            PatientSummaryDTO plainDto = PatientSummaryDTO.builder().patientUuid("patient-uuid-001").build();
+
+            when(patientRepository.findByPatientUuidIn(anyCollection())).thenReturn(List.of(first));
+            when(userService.getUsersByUuids(anyCollection())).thenReturn(Mono.error(new ApiException("Service utilisateur indisponible")));
+            when(patientMapper.toSummary(first)).thenReturn(plainDto);
+
+            // When & Then
+            StepVerifier.create(patientService.getPatientsByUuids(List.of("patient-uuid-001")))
+                    .expectNext(plainDto)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("getPatientsByUuids - liste vide : aucune requête")
+        void getPatientsByUuids_ShouldSkipQueryWhenEmpty() {
+            StepVerifier.create(patientService.getPatientsByUuids(List.of()))
+                    .verifyComplete();
+
+            verifyNoInteractions(patientRepository);
+        }
+
+        @Test
+        @DisplayName("getPatientsByUuids - erreur si le lot dépasse la limite")
+        void getPatientsByUuids_ShouldRejectOversizedBatch() {
+            List<String> uuids = new java.util.ArrayList<>();
+            for (int i = 0; i <= 5000; i++) {
+                uuids.add("patient-uuid-" + i);
+            }
+
+            StepVerifier.create(patientService.getPatientsByUuids(uuids))
+                    .expectError(ApiException.class)
+                    .verify();
+
+            verifyNoInteractions(patientRepository);
+        }
+    }
+}
@@ -18,6 +18,8 @@ import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -642,4 +644,88 @@ public class UserServiceClientImplTest {
                 .verifyComplete();
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("getUsersByUuids() Tests")
+    class GetUsersByUuidsTests {
+
+        @Mock
+        private WebClient.RequestBodyUriSpec requestBodyUriSpec;
+        @Mock
+        private WebClient.RequestBodySpec requestBodySpec;
+        @Mock
+        @SuppressWarnings("rawtypes")
+        private WebClient.RequestHeadersSpec postHeadersSpec;
+        @Mock
+        private WebClient.ResponseSpec postResponseSpec;
+
+        private void setupPostMocks() {
+            lenient().when(authServerWebClient.post()).thenReturn(requestBodyUriSpec);
+            lenient().when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+            lenient().when(requestBodySpec.bodyValue(any())).thenReturn(postHeadersSpec);
+            lenient().when(postHeadersSpec.retrieve()).thenReturn(postResponseSpec);
+            lenient().when(postResponseSpec.onStatus(any(), any())).thenReturn(postResponseSpec);
+        }
+
+        @Test
+        @DisplayName("Should resolve all users in one call keyed by UUID")
+        void getUsersByUuids_success_returnsUsersByUuid() {
+            setupPostMocks();
+            UserRequestDTO otherUser = testUser.toBuilder().userUuid("user-uuid-456").firstName("Jane").build();
+            Response batchResponse = new Response(
+                    currentTime, HttpStatus.OK.value(),
+                    "/api/users/batch", HttpStatus.OK,
+                    "Users retrieved", null,
+                    Map.of("users", List.of(testUser, otherUser), "count", 2)
+            );
+            when(postResponseSpec.bodyToMono(Response.class)).thenReturn(Mono.just(batchResponse));
+
+            StepVerifier.create(userService.getUsersByUuids(List.of("user-uuid-123", "user-uuid-456", "user-uuid-123")))
+                    .assertNext(users -> {
+                        assertThat(users).containsOnlyKeys("user-uuid-123", "user-uuid-456");
+                        assertThat(users.get("user-uuid-456").getFirstName()).isEqualTo("Jane");
+                    })
+                    .verifyComplete();
+
+            verify(authServerWebClient, times(1)).post();
+            verify(requestBodySpec).bodyValue(argThat(body -> {
+                @SuppressWarnings("unchecked")
+                Map<String, Collection<String>> map = (Map<String, Collection<String>>) body;
+                return map.get("userUuids").size() == 2;
+            }));
+        }
+
+        @Test
+        @DisplayName("Should return empty map without calling userservice when no UUID")
+        void getUsersByUuids_emptyInput_returnsEmptyMap() {
+            StepVerifier.create(userService.getUsersByUuids(List.of()))
+                    .assertNext(users -> assertThat(users).isEmpty())
+                    .verifyComplete();
+
+            verifyNoInteractions(authServerWebClient);
+        }
+
+        @Test
+        @DisplayName("Should return empty map when response has no users")
+        void getUsersByUuids_noUsersInResponse_returnsEmptyMap() {
+            setupPostMocks();
+            Response emptyResponse = new Response(
+                    currentTime, HttpStatus.OK.value(),
+                    "/api/users/batch", HttpStatus.OK,
+                    "Users retrieved", null, Map.of()
+            );
+            when(postResponseSpec.bodyToMono(Response.class)).thenReturn(Mono.just(emptyResponse));
+
+            StepVerifier.create(userService.getUsersByUuids(List.of("user-uuid-123")))
+                    .assertNext(users -> assertThat(users).isEmpty())
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Fallback should return empty map")
+        void getUsersByUuidsFallback_returnsEmptyMap() {
+            StepVerifier.create(userService.getUsersByUuidsFallback(List.of("user-uuid-123"), new RuntimeException("Service down")))
+                    .assertNext(users -> assertThat(users).isEmpty())
+                    .verifyComplete();
+        }
+    }
+}
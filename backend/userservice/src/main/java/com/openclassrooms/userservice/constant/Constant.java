@@ -8,4 +8,6 @@ package com.openclassrooms.userservice.constant;
  */
 public final class Constant {
     public static final String MEDI_LABO_LLC = "MediLabo, LLC.";
+    /** Nombre maximal d'UUID par recherche en masse (POST /api/users/batch). */
+    public static final int MAX_BATCH_USER_UUIDS = 5000;
 }
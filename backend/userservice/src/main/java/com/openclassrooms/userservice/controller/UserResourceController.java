@@ -4,6 +4,7 @@ import com.openclassrooms.userservice.domain.Response;
 import com.openclassrooms.userservice.dtorequest.PasswordRequest;
 import com.openclassrooms.userservice.dtorequest.ResetPasswordRequest;
 import com.openclassrooms.userservice.dtorequest.RoleRequest;
+import com.openclassrooms.userservice.dtorequest.UserBatchRequest;
 import com.openclassrooms.userservice.dtorequest.UserRequest;
 import com.openclassrooms.userservice.service.UserService;
 import com.openclassrooms.userservice.exception.HandleException;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -184,6 +186,18 @@ public class UserResourceController {
         return ok(getResponse(request, of("user", user), "Profil récupéré", OK));
     }
 
+    @Operation(summary = "Get users by UUIDs", description = "Retrieve several users in a single query (inter-service enrichment)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many UUIDs"),
+            @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<Response> getUsersByUuids(@NotNull Authentication authentication, @Valid @RequestBody UserBatchRequest batchRequest, HttpServletRequest request) {
+        var users = userService.getUsersByUuids(batchRequest.getUserUuids());
+        return ok(getResponse(request, of("users", users, "count", users.size()), "Utilisateurs récupérés", OK));
+    }
+
     @Operation(summary = "Get assignee by patient UUID", description = "Retrieve the user assigned to a patient")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User retrieved successfully"),
@@ -0,0 +1,28 @@
+package com.openclassrooms.userservice.dtorequest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+import static com.openclassrooms.userservice.constant.Constant.MAX_BATCH_USER_UUIDS;
+
+/**
+ * Requête de recherche en masse d'utilisateurs par UUID (enrichissement inter-services).
+ *
+ * @author Kardigué MAGASSA
+ * @version 1.0
+ * @since 2026-03-16
+ */
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserBatchRequest {
+    @NotEmpty(message = "La liste des UUID utilisateurs est obligatoire.")
+    @Size(max = MAX_BATCH_USER_UUIDS, message = "Trop d'UUID utilisateurs (max " + MAX_BATCH_USER_UUIDS + ").")
+    private List<String> userUuids;
+}
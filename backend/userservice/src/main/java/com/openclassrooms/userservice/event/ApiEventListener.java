@@ -1,15 +1,12 @@
 package com.openclassrooms.userservice.event;
 
 
-import com.openclassrooms.userservice.domain.Notification;
+import com.openclassrooms.commons.notification.NotificationCodec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.kafka.support.KafkaHeaders.TOPIC;
-
 /**
  * Écouteur central des événements métier de l’application.
  * Cette classe est responsable de la publication des événements applicatifs
@@ -37,7 +34,8 @@ import static org.springframework.kafka.support.KafkaHeaders.TOPIC;
 @Component
 @RequiredArgsConstructor
 public class ApiEventListener {
-    private final KafkaTemplate<String, Notification> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final NotificationCodec notificationCodec;
     private static final String NOTIFICATION_TOPIC = "MEDILABO_NOTIFICATIONS";
 
     /**
@@ -45,8 +43,7 @@ public class ApiEventListener {
      * Cette méthode est automatiquement déclenchée par Spring lorsqu’un
      * {@code Event} est publié dans le contexte applicatif.
      * Elle réalise les étapes suivantes :
-     * Encapsule l’événement dans un objet {@link Notification}
-     * Construit un message Kafka avec un header de topic
+     * Encode l’événement ({@link NotificationCodec} : Avro binaire, JSON pour un type sans schéma)
      * Envoie le message au broker Kafka
      * Le topic utilisé est {@code NOTIFICATION_TOPIC}, qui centralise
      * tous les événements métier de l’application.
@@ -58,7 +55,6 @@ public class ApiEventListener {
      */
     @EventListener
     public void onApiEvent(Event event) {
-        var message = MessageBuilder.withPayload(new Notification(event)).setHeader(TOPIC, NOTIFICATION_TOPIC).build();
-        kafkaTemplate.send(message);
+        kafkaTemplate.send(NOTIFICATION_TOPIC, notificationCodec.encode(event.getEventType().name(), event.getData()));
     }
 }
\ No newline at end of file
@@ -133,6 +133,12 @@ public class UserQuery {
             SELECT * FROM update_user_role(:userUuid, :role)
             """;
 
+    /** Un seul aller-retour pour N UUID : le tableau est lié en un paramètre varchar[] unique. */
+    public static final String SELECT_USERS_BY_UUIDS_QUERY =
+            """
+            SELECT r.name AS role, r.authority AS authorities, u.qr_code_image_uri, u.member_id, u.account_non_expired, u.account_non_locked, u.created_at, u.email, u.username, u.enabled, u.first_name, u.user_id, u.image_url, u.last_login, u.last_name, u.mfa, u.updated_at, u.user_uuid, u.bio, u.phone, u.address FROM users u JOIN user_roles ur ON ur.user_id = u.user_id JOIN roles r ON r.role_id = ur.role_id WHERE u.user_uuid = ANY(:userUuids)
+            """;
+
     public static final String SELECT_USERS_QUERY =
             """
             SELECT r.name AS role, r.authority AS authorities, u.qr_code_image_uri, u.member_id, u.account_non_expired, u.account_non_locked, u.created_at, u.email, u.username, u.enabled, u.first_name, u.user_id, u.image_url, u.last_login, u.last_name, u.mfa, u.updated_at, u.user_uuid, u.bio, u.phone, u.address FROM users u JOIN user_roles ur ON ur.user_id = u.user_id JOIN roles r ON r.role_id = ur.role_id LIMIT 100
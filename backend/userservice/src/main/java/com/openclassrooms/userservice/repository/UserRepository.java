@@ -2,6 +2,7 @@ package com.openclassrooms.userservice.repository;
 
 import com.openclassrooms.userservice.model.*;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,6 +17,7 @@ public interface UserRepository {
     long countUsers();
     User getUserByEmail(String email);
     User getUserByUuid(String userUuid);
+    List<User> getUsersByUuids(Collection<String> userUuids);
     User getUserById(Long userId);
     User updateUser(String userUuid, String firstName, String lastName, String email, String phone, String bio, String address);
     String createUser(String firstName, String lastName, String email, String username, String password);
@@ -14,11 +14,13 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import static com.openclassrooms.userservice.util.UserUtils.*;
 import static java.lang.String.format;
+import static java.sql.Types.ARRAY;
 import static java.sql.Types.VARCHAR;
 import static java.util.Map.of;
 
@@ -78,6 +80,29 @@ public class UserRepositoryImpl implements UserRepository {
         }
     }
 
+    /**
+     * Recherche en masse : {@code WHERE user_uuid = ANY(:userUuids)} avec un seul paramètre tableau,
+     * quel que soit le nombre d'UUID (un seul plan d'exécution, pas d'expansion IN).
+     *
+     * @param userUuids UUID des utilisateurs
+     * @return utilisateurs trouvés ; les UUID inconnus sont ignorés
+     */
+    @Override
+    public List<User> getUsersByUuids(Collection<String> userUuids) {
+        if (userUuids == null || userUuids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return jdbc.sql(SELECT_USERS_BY_UUIDS_QUERY)
+                    .paramSource(new MapSqlParameterSource().addValue("userUuids", userUuids.toArray(String[]::new), ARRAY))
+                    .query(User.class)
+                    .list();
+        } catch (Exception exception) {
+            log.error(exception.getMessage());
+            throw new ApiException("Une erreur s'est produite. Veuillez réessayer.");
+        }
+    }
+
     /**
      * @param email adresse e-mail de l'utilisateur
      * @return l'utilisateur correspondant
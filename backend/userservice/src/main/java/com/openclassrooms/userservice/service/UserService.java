@@ -7,6 +7,7 @@ import com.openclassrooms.userservice.model.Device;
 import com.openclassrooms.userservice.model.User;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +21,7 @@ public interface UserService {
     PageResponse<User> getUsersPageable(int page, int size);
     User getUserByEmail(String email);
     User getUserByUuid(String userUuid);
+    List<User> getUsersByUuids(Collection<String> userUuids);
     User updateUser(String userUuid, String firstName, String lastName, String email, String phone, String bio, String address);
     void createUser(String firstName, String lastName, String email, String username, String password);
     void verifyAccount(String token);
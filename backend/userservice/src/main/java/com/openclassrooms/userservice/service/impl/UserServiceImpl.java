@@ -21,11 +21,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
+import static com.openclassrooms.userservice.constant.Constant.MAX_BATCH_USER_UUIDS;
 import static com.openclassrooms.userservice.enumeration.EventType.PASSWORD_RESET;
 import static com.openclassrooms.userservice.enumeration.EventType.USER_CREATED;
 import static com.openclassrooms.userservice.util.UserUtils.randomUUUID;
@@ -97,6 +100,25 @@ public class UserServiceImpl implements UserService {
         return userRepository.getUserByUuid(userUuid);
     }
 
+    /**
+     * Recherche en masse pour l'enrichissement inter-services (une seule requête SQL).
+     *
+     * @param userUuids UUID des utilisateurs (doublons et null ignorés)
+     * @return utilisateurs trouvés ; les UUID inconnus sont absents
+     */
+    @Override
+    public List<User> getUsersByUuids(Collection<String> userUuids) {
+        if (userUuids == null || userUuids.isEmpty()) {
+            return List.of();
+        }
+        var uniqueUuids = new LinkedHashSet<>(userUuids);
+        uniqueUuids.removeIf(Objects::isNull);
+        if (uniqueUuids.size() > MAX_BATCH_USER_UUIDS) {
+            throw new ApiException("Trop d'UUID utilisateurs (max " + MAX_BATCH_USER_UUIDS + ").");
+        }
+        return userRepository.getUsersByUuids(uniqueUuids);
+    }
+
 
     /**
      * Met à jour les informations d'un utilisateur.
@@ -255,6 +255,39 @@ class UserResourceControllerTest {
                 .andExpect(jsonPath("$.data.user.userUuid").value(uuid));
     }
 
+    @Test
+    @DisplayName("POST /batch - Succès")
+    void getUsersByUuids_ShouldReturnUsers() throws Exception {
+        User first = new User();
+        first.setUserUuid("uuid-1");
+        User second = new User();
+        second.setUserUuid("uuid-2");
+
+        when(userService.getUsersByUuids(List.of("uuid-1", "uuid-2"))).thenReturn(List.of(first, second));
+
+        mockMvc.perform(post("/api/users/batch")
+                        .principal(new UsernamePasswordAuthenticationToken("uuid-1", null))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userUuids\": [\"uuid-1\", \"uuid-2\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.count").value(2))
+                .andExpect(jsonPath("$.data.users[1].userUuid").value("uuid-2"));
+    }
+
+    @Test
+    @DisplayName("POST /batch - Liste vide rejetée")
+    void getUsersByUuids_ShouldRejectEmptyList() throws Exception {
+        mockMvc.perform(post("/api/users/batch")
+                        .principal(new UsernamePasswordAuthenticationToken("uuid-1", null))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userUuids\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getUsersByUuids(any());
+    }
+
     @Test
     @DisplayName("GET /assignee/{patientUuid} - Succès")
     void getAssigneeByUuid_ShouldReturnAssignee() throws Exception {
@@ -1,52 +1,62 @@
 package com.openclassrooms.userservice.event;
 
-import com.openclassrooms.userservice.domain.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.commons.notification.NotificationCodec;
+import com.openclassrooms.commons.notification.NotificationSchemaRegistry;
+import com.openclassrooms.userservice.enumeration.EventType;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.messaging.Message;
-import org.springframework.kafka.support.KafkaHeaders;
-import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ApiEventListenerTest {
 
     @Mock
-    private KafkaTemplate<String, Notification> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<byte[]> messageCaptor;
+
+    private final NotificationSchemaRegistry schemaRegistry = new NotificationSchemaRegistry();
 
-    @InjectMocks
     private ApiEventListener apiEventListener;
 
-    @Captor
-    private ArgumentCaptor<Message<Notification>> messageCaptor;
+    @BeforeEach
+    void setUp() {
+        apiEventListener = new ApiEventListener(kafkaTemplate, new NotificationCodec(schemaRegistry, new ObjectMapper()));
+    }
 
     @Test
     @DisplayName("Kafka : Devrait envoyer une notification lors de la réception d'un événement")
-    void onApiEvent_ShouldSendNotificationToKafka() {
+    void onApiEvent_ShouldSendNotificationToKafka() throws Exception {
         // 1. GIVEN
-        Event mockEvent = mock(Event.class);
+        Event event = new Event(EventType.USER_CREATED, Map.of("token", "token-123", "name", "Jean", "email", "jean@test.com"));
 
         // 2. WHEN
-        apiEventListener.onApiEvent(mockEvent);
+        apiEventListener.onApiEvent(event);
 
         // 3. THEN
-        // Utilisation du verify de Mockito
-        verify(kafkaTemplate, times(1)).send(messageCaptor.capture());
-
-        Message<Notification> sentMessage = messageCaptor.getValue();
-
-        // Vérification du Header en utilisant la constante Spring Kafka
-        // Dans le code on importes TOPIC de KafkaHeaders
-        assertThat(sentMessage.getHeaders().get(KafkaHeaders.TOPIC)).isEqualTo("MEDILABO_NOTIFICATIONS");
+        verify(kafkaTemplate, times(1)).send(eq("MEDILABO_NOTIFICATIONS"), messageCaptor.capture());
 
-        // Vérification du Payload
-        assertThat(sentMessage.getPayload()).isNotNull();
+        // Payload Avro binaire, lisible avec le schéma USER_CREATED
+        GenericRecord record = new BinaryMessageDecoder<GenericRecord>(GenericData.get(),
+                schemaRegistry.latest("USER_CREATED").orElseThrow().schema()).decode(messageCaptor.getValue());
+        assertThat(record.get("email")).hasToString("jean@test.com");
+        assertThat(record.get("token")).hasToString("token-123");
     }
-}
\ No newline at end of file
+}
@@ -586,6 +586,43 @@ class UserRepositoryImplTest {
         assertEquals("Une erreur s'est produite. Veuillez réessayer.", exception.getMessage());
     }
 
+    @Test
+    void getUsersByUuids_Success_ShouldBindSingleArrayParameter() {
+        // GIVEN
+        User user = new User();
+        JdbcClient.StatementSpec statementSpec = mock(JdbcClient.StatementSpec.class);
+        JdbcClient.MappedQuerySpec<User> querySpec = mock(JdbcClient.MappedQuerySpec.class);
+
+        when(jdbcClient.sql(anyString())).thenReturn(statementSpec);
+        when(statementSpec.paramSource(any(SqlParameterSource.class))).thenReturn(statementSpec);
+        when(statementSpec.query(User.class)).thenReturn(querySpec);
+        when(querySpec.list()).thenReturn(List.of(user));
+
+        // WHEN
+        List<User> actualUsers = userRepository.getUsersByUuids(List.of("uuid-1", "uuid-2"));
+
+        // THEN
+        assertEquals(1, actualUsers.size());
+        verify(jdbcClient).sql(contains("ANY(:userUuids)"));
+        verify(statementSpec).paramSource(argThat((SqlParameterSource source) ->
+                source.getSqlType("userUuids") == java.sql.Types.ARRAY
+                        && ((String[]) source.getValue("userUuids")).length == 2));
+    }
+
+    @Test
+    void getUsersByUuids_EmptyInput_ShouldNotQuery() {
+        assertTrue(userRepository.getUsersByUuids(List.of()).isEmpty());
+        verifyNoInteractions(jdbcClient);
+    }
+
+    @Test
+    void getUsersByUuids_GenericException_ShouldThrowApiException() {
+        when(jdbcClient.sql(anyString())).thenThrow(new RuntimeException("SQL Error"));
+
+        ApiException ex = assertThrows(ApiException.class, () -> userRepository.getUsersByUuids(List.of("uuid-1")));
+        assertEquals("Une erreur s'est produite. Veuillez réessayer.", ex.getMessage());
+    }
+
     @Test
     void getUsers_Success_ShouldReturnList() {
         // GIVEN
@@ -35,6 +35,8 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -143,6 +145,36 @@ class UserServiceImplTest {
         assertThat(result.getUserUuid()).isEqualTo("uuid-123");
     }
 
+    @Test
+    @DisplayName("getUsersByUuids doit dédoublonner les UUID avant la requête unique")
+    void getUsersByUuids_ShouldDeduplicate() {
+        // GIVEN
+        User mockUser = new User();
+        mockUser.setUserUuid("uuid-123");
+        when(userRepository.getUsersByUuids(anyCollection())).thenReturn(List.of(mockUser));
+
+        // WHEN
+        List<User> result = userService.getUsersByUuids(List.of("uuid-123", "uuid-123", "uuid-456"));
+
+        // THEN
+        assertThat(result).hasSize(1);
+        verify(userRepository).getUsersByUuids(argThat(uuids -> uuids.size() == 2));
+    }
+
+    @Test
+    @DisplayName("getUsersByUuids doit refuser un lot trop grand")
+    void getUsersByUuids_ShouldRejectOversizedBatch() {
+        List<String> uuids = new java.util.ArrayList<>();
+        for (int i = 0; i <= 5000; i++) {
+            uuids.add("uuid-" + i);
+        }
+
+        assertThatThrownBy(() -> userService.getUsersByUuids(uuids))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Trop d'UUID");
+        verify(userRepository, never()).getUsersByUuids(anyCollection());
+    }
+
     @Test
     @DisplayName("updatePassword doit lever une exception si les mots de passe ne matchent pas")
     void updatePassword_ShouldThrowException_WhenPasswordsDoNotMatch() {
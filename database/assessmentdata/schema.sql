@@ -1,7 +1,7 @@
--- Author: FirstName LastName
+-- Author: Kardigué MAGASSA
 -- MediLabo ASSESSMENT Server - Database Schema
--- Date : January 5th 2026
--- Version: 1.0
+-- Date : March 16th 2026
+-- Version: 1.1
 
 -- General Rules ---
 -- Use underscore_names instead of CamelCase --
@@ -14,6 +14,79 @@
 
 BEGIN;
 
+-- Historique des évaluations : append-only, partitionné par patient (hash)
+-- La clé de partition fait partie de la clé primaire
+CREATE TABLE IF NOT EXISTS assessments (
+    assessment_id BIGINT GENERATED ALWAYS AS IDENTITY,
+    patient_uuid VARCHAR(40) NOT NULL,
+    patient_name VARCHAR(200),
+    age INTEGER NOT NULL,
+    gender VARCHAR(10),
+    risk_level VARCHAR(20) NOT NULL,
+    trigger_count INTEGER NOT NULL DEFAULT 0,
+    triggers_found TEXT[] NOT NULL DEFAULT '{}',
+    assessed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_assessments PRIMARY KEY (patient_uuid, assessment_id),
+    CONSTRAINT ck_assessments_risk_level CHECK (risk_level IN ('NONE', 'BORDERLINE', 'IN_DANGER', 'EARLY_ONSET', 'UNKNOWN'))
+) PARTITION BY HASH (patient_uuid);
 
+CREATE TABLE IF NOT EXISTS assessments_p0 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE IF NOT EXISTS assessments_p1 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE IF NOT EXISTS assessments_p2 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE IF NOT EXISTS assessments_p3 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE IF NOT EXISTS assessments_p4 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE IF NOT EXISTS assessments_p5 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE IF NOT EXISTS assessments_p6 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE IF NOT EXISTS assessments_p7 PARTITION OF assessments FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+-- Dernière évaluation de chaque patient (une ligne par patient, mise à jour par upsert)
+CREATE TABLE IF NOT EXISTS latest_assessments (
+    patient_uuid VARCHAR(40) PRIMARY KEY,
+    patient_name VARCHAR(200),
+    age INTEGER NOT NULL,
+    gender VARCHAR(10),
+    risk_level VARCHAR(20) NOT NULL,
+    trigger_count INTEGER NOT NULL DEFAULT 0,
+    triggers_found TEXT[] NOT NULL DEFAULT '{}',
+    assessed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT ck_latest_assessments_risk_level CHECK (risk_level IN ('NONE', 'BORDERLINE', 'IN_DANGER', 'EARLY_ONSET', 'UNKNOWN'))
+);
+
+-- Outbox : événements écrits dans la transaction de l'historique, publiés sur Kafka par lots puis supprimés
+CREATE TABLE IF NOT EXISTS outbox_events (
+    outbox_event_id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    event_key VARCHAR(40),
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_until TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Bases créées avant la réservation des lots par le relais
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP(6) WITH TIME ZONE;
+
+-- INDEXES
+-- Historique d'un patient : une seule partition, parcours de l'index dans l'ordre
+CREATE INDEX IF NOT EXISTS idx_assessments_patient_uuid_assessed_at ON assessments (patient_uuid, assessed_at DESC);
+-- Distribution dans le temps : table append-only, assessed_at croissant => BRIN compact
+CREATE INDEX IF NOT EXISTS idx_assessments_assessed_at ON assessments USING BRIN (assessed_at);
+CREATE INDEX IF NOT EXISTS idx_latest_assessments_risk_level ON latest_assessments (risk_level, patient_uuid);
+
+
+-- TRIGGER: historique en écriture seule (pas de modification des évaluations passées)
+CREATE OR REPLACE FUNCTION prevent_assessment_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'assessments is append-only';
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS prevent_assessments_update ON assessments;
+
+CREATE TRIGGER prevent_assessments_update
+    BEFORE UPDATE ON assessments
+    FOR EACH ROW
+    EXECUTE FUNCTION prevent_assessment_update();
 
 COMMIT;
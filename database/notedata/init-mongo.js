@@ -8,7 +8,7 @@
 // ║                                                                            ║
 // ║  NOUVEAUTÉS V2:                                                            ║
 // ║    - Ajout du champ "files" (array) pour les fichiers attachés             ║
-// ║    - Ajout du champ "comments" (array) pour les commentaires               ║
+// ║    - Commentaires dans la collection "note_comments" (compteur sur la note) ║
 // ╚════════════════════════════════════════════════════════════════════════════╝
 
 
@@ -53,6 +53,19 @@ db.createCollection('notes', {
           description: 'Date de dernière modification'
         },
 
+        // Index des termes déclencheurs (calculé à l'écriture par notesservice)
+        triggers: {
+          bsonType: 'array',
+          description: 'Termes déclencheurs canoniques présents dans content',
+          items: { bsonType: 'string' }
+        },
+
+        // Version incrémentée par chaque mise à jour ciblée (verrouillage optimiste du contenu)
+        version: {
+          bsonType: ['int', 'long'],
+          description: 'Version du document, absente des notes antérieures'
+        },
+
         // NOUVEAUX CHAMPS V2 - Fichiers attachés
         files: {
           bsonType: 'array',
@@ -113,51 +126,25 @@ db.createCollection('notes', {
           }
         },
 
-        // NOUVEAUX CHAMPS (V2) - Commentaires
-        comments: {
+        // Nombre de commentaires (les commentaires sont dans note_comments)
+        commentCount: {
+          bsonType: ['int', 'long'],
+          minimum: 0,
+          description: 'Nombre de commentaires, maintenu par $inc'
+        },
+        // Événements en attente de publication (outbox embarquée, retirés par le relais une fois publiés)
+        outbox: {
           bsonType: 'array',
-          description: 'Liste des commentaires sur la note',
+          description: 'Événements en attente de publication sur Kafka',
           items: {
             bsonType: 'object',
-            required: ['commentUuid', 'content', 'authorUuid', 'createdAt'],
+            required: ['eventId', 'eventType', 'payload', 'createdAt'],
             properties: {
-              commentUuid: {
-                bsonType: 'string',
-                description: 'UUID unique du commentaire'
-              },
-              content: {
-                bsonType: 'string',
-                minLength: 1,
-                description: 'Contenu du commentaire'
-              },
-              authorUuid: {
-                bsonType: 'string',
-                description: 'UUID de l\'auteur'
-              },
-              authorName: {
-                bsonType: 'string',
-                description: 'Nom de l\'auteur'
-              },
-              authorRole: {
-                bsonType: 'string',
-                description: 'Rôle de l\'auteur (DOCTOR, NURSE, etc.)'
-              },
-              authorImageUrl: {
-                bsonType: 'string',
-                description: 'URL de l\'avatar de l\'auteur'
-              },
-              edited: {
-                bsonType: 'bool',
-                description: 'Indique si le commentaire a été modifié'
-              },
-              createdAt: {
-                bsonType: 'date',
-                description: 'Date de création'
-              },
-              updatedAt: {
-                bsonType: 'date',
-                description: 'Date de dernière modification'
-              }
+              eventId: { bsonType: 'string', description: 'UUID de l\'événement' },
+              eventType: { bsonType: 'string', description: 'Type d\'événement' },
+              eventKey: { bsonType: 'string', description: 'Clé Kafka (UUID patient)' },
+              payload: { bsonType: 'binData', description: 'Notification encodée' },
+              createdAt: { bsonType: 'date', description: 'Date de l\'événement' }
             }
           }
         }
@@ -216,6 +203,15 @@ db.notes.createIndex(
   }
 );
 
+// Index composé du parcours de toutes les notes actives (curseur /scroll et export /stream)
+db.notes.createIndex(
+  { active: 1, createdAt: -1, noteUuid: -1 },
+  {
+    name: 'idx_active_created_note',
+    background: true
+  }
+);
+
 // NOUVEL INDEX: Recherche de fichiers par fileUuid (pour téléchargement rapide)
 db.notes.createIndex(
   { 'files.fileUuid': 1 },
@@ -226,12 +222,120 @@ db.notes.createIndex(
   }
 );
 
-// NOUVEL INDEX: Recherche de commentaires par auteur
+// Événements en attente du relais : seules les notes qui en portent sont indexées
 db.notes.createIndex(
-  { 'comments.authorUuid': 1 },
-  { 
+  { 'outbox.eventId': 1 },
+  {
+    name: 'idx_notes_outbox',
+    background: true,
+    sparse: true
+  }
+);
+
+// COLLECTION DES COMMENTAIRES (un document par commentaire, rattaché à sa note par noteUuid)
+db.createCollection('note_comments', {
+  validator: {
+    $jsonSchema: {
+      bsonType: 'object',
+      required: ['commentUuid', 'noteUuid', 'content', 'authorUuid', 'createdAt'],
+      properties: {
+        commentUuid: {
+          bsonType: 'string',
+          description: 'UUID unique du commentaire'
+        },
+        noteUuid: {
+          bsonType: 'string',
+          description: 'UUID de la note commentée'
+        },
+        content: {
+          bsonType: 'string',
+          minLength: 1,
+          description: 'Contenu du commentaire'
+        },
+        authorUuid: {
+          bsonType: 'string',
+          description: 'UUID de l\'auteur'
+        },
+        authorName: {
+          bsonType: 'string',
+          description: 'Nom de l\'auteur'
+        },
+        authorRole: {
+          bsonType: 'string',
+          description: 'Rôle de l\'auteur (DOCTOR, NURSE, etc.)'
+        },
+        authorImageUrl: {
+          bsonType: 'string',
+          description: 'URL de l\'avatar de l\'auteur'
+        },
+        edited: {
+          bsonType: 'bool',
+          description: 'Indique si le commentaire a été modifié'
+        },
+        createdAt: {
+          bsonType: 'date',
+          description: 'Date de création'
+        },
+        updatedAt: {
+          bsonType: 'date',
+          description: 'Date de dernière modification'
+        },
+        // Événements en attente de publication (outbox embarquée, retirés par le relais une fois publiés)
+        outbox: {
+          bsonType: 'array',
+          description: 'Événements en attente de publication sur Kafka',
+          items: {
+            bsonType: 'object',
+            required: ['eventId', 'eventType', 'payload', 'createdAt'],
+            properties: {
+              eventId: { bsonType: 'string', description: 'UUID de l\'événement' },
+              eventType: { bsonType: 'string', description: 'Type d\'événement' },
+              eventKey: { bsonType: 'string', description: 'Clé Kafka (UUID patient)' },
+              payload: { bsonType: 'binData', description: 'Notification encodée' },
+              createdAt: { bsonType: 'date', description: 'Date de l\'événement' }
+            }
+          }
+        }
+      }
+    }
+  },
+  validationLevel: 'strict',
+  validationAction: 'error'
+});
+
+// Index unique sur commentUuid (upserts de la migration, modification et suppression)
+db.note_comments.createIndex(
+  { commentUuid: 1 },
+  {
+    unique: true,
+    name: 'idx_comment_uuid_unique'
+  }
+);
+
+// Index composé du fil d'une note : pagination par curseur (createdAt, commentUuid)
+db.note_comments.createIndex(
+  { noteUuid: 1, createdAt: 1, commentUuid: 1 },
+  {
+    name: 'idx_note_created_comment',
+    background: true
+  }
+);
+
+// Recherche de commentaires par auteur
+db.note_comments.createIndex(
+  { authorUuid: 1 },
+  {
     name: 'idx_comments_author',
+    background: true
+  }
+);
+
+// Événements en attente du relais : seuls les commentaires qui en portent sont indexés
+db.note_comments.createIndex(
+  { 'outbox.eventId': 1 },
+  {
+    name: 'idx_comments_outbox',
     background: true,
     sparse: true
   }
-);
\ No newline at end of file
+);
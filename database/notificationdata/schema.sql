@@ -49,6 +49,7 @@ CREATE TABLE IF NOT EXISTS message_statuses (
 CREATE TABLE IF NOT EXISTS conversations (
     conversation_id BIGSERIAL PRIMARY KEY,
     conversation_uuid VARCHAR(40) NOT NULL,
+    participant_key VARCHAR(81),
     participant_1_uuid VARCHAR(40) NOT NULL,
     participant_1_name VARCHAR(100),
     participant_1_role VARCHAR(20),
@@ -63,9 +64,44 @@ CREATE TABLE IF NOT EXISTS conversations (
     CONSTRAINT uq_conversations_uuid UNIQUE (conversation_uuid)
 );
 
+-- Paire de participants normalisée ("uuid_min:uuid_max") : une conversation par paire, résolue par un seul upsert indexé.
+-- Reprise : la conversation la plus récente de chaque paire reçoit la clé, les plus anciennes la gardent à NULL.
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS participant_key VARCHAR(81);
+UPDATE conversations SET participant_key = pairs.participant_key
+FROM (
+    SELECT DISTINCT ON (participant_key) conversation_id, participant_key
+    FROM (
+        SELECT conversation_id, last_message_at,
+               LEAST(participant_1_uuid COLLATE "C", participant_2_uuid COLLATE "C") || ':' ||
+               GREATEST(participant_1_uuid COLLATE "C", participant_2_uuid COLLATE "C") AS participant_key
+        FROM conversations
+    ) candidates
+    WHERE NOT EXISTS (SELECT 1 FROM conversations keyed WHERE keyed.participant_key = candidates.participant_key)
+    ORDER BY participant_key, last_message_at DESC NULLS LAST, conversation_id DESC
+) pairs
+WHERE conversations.conversation_id = pairs.conversation_id AND conversations.participant_key IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_conversations_participant_key ON conversations(participant_key);
+
+-- Compteur dénormalisé des non-lus : maintenu à chaque écriture de message_statuses (application et fonctions ci-dessous)
+CREATE TABLE IF NOT EXISTS unread_counters (
+    user_uuid VARCHAR(40) PRIMARY KEY,
+    unread_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ck_unread_counters_count CHECK (unread_count >= 0)
+);
+
+-- Reprise des statuts existants (sans effet sur les compteurs déjà présents)
+INSERT INTO unread_counters (user_uuid, unread_count)
+SELECT user_uuid, COUNT(*) FROM message_statuses WHERE message_status = 'UNREAD' GROUP BY user_uuid
+ON CONFLICT (user_uuid) DO NOTHING;
+
 CREATE INDEX IF NOT EXISTS idx_messages_conversation_id ON messages(conversation_id);
-CREATE INDEX IF NOT EXISTS idx_messages_sender_uuid ON messages(sender_uuid);
-CREATE INDEX IF NOT EXISTS idx_messages_receiver_uuid ON messages(receiver_uuid);
+-- Boîte de réception paginée par keyset (created_at, message_id) : un parcours d'index ordonné par côté de l'échange.
+-- Ces index couvrent aussi les recherches par sender_uuid / receiver_uuid seuls.
+DROP INDEX IF EXISTS idx_messages_sender_uuid;
+DROP INDEX IF EXISTS idx_messages_receiver_uuid;
+CREATE INDEX IF NOT EXISTS idx_messages_sender_created ON messages(sender_uuid, created_at DESC, message_id DESC);
+CREATE INDEX IF NOT EXISTS idx_messages_receiver_created ON messages(receiver_uuid, created_at DESC, message_id DESC);
 CREATE INDEX IF NOT EXISTS idx_messages_created_at ON messages(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_message_statuses_user_uuid ON message_statuses(user_uuid);
 
@@ -112,7 +148,24 @@ LANGUAGE PLPGSQL
 AS $$
 DECLARE 
     v_message_id BIGINT;
+    v_conversation_id VARCHAR(40);
 BEGIN
+    -- Conversation de la paire (p_conversation_id n'est retenu qu'à la création)
+    INSERT INTO conversations (
+        conversation_uuid, participant_key, participant_1_uuid, participant_1_name, participant_1_role,
+        participant_2_uuid, participant_2_name, participant_2_role,
+        subject, last_message_at, message_count
+    )
+    VALUES (p_conversation_id,
+            LEAST(p_sender_uuid COLLATE "C", p_receiver_uuid COLLATE "C") || ':' || GREATEST(p_sender_uuid COLLATE "C", p_receiver_uuid COLLATE "C"),
+            p_sender_uuid, p_sender_name, p_sender_role,
+            p_receiver_uuid, p_receiver_name, p_receiver_role, p_subject, NOW(), 1)
+    ON CONFLICT (participant_key) DO UPDATE SET
+        last_message_at = NOW(),
+        message_count = conversations.message_count + 1,
+        updated_at = NOW()
+    RETURNING conversations.conversation_uuid INTO v_conversation_id;
+
     INSERT INTO messages (
         message_uuid, conversation_id,
         sender_uuid, sender_name, sender_email, sender_image_url, sender_role,
@@ -120,7 +173,7 @@ BEGIN
         subject, message
     )
     VALUES (
-        p_message_uuid, p_conversation_id,
+        p_message_uuid, v_conversation_id,
         p_sender_uuid, p_sender_name, p_sender_email, p_sender_image_url, p_sender_role,
         p_receiver_uuid, p_receiver_name, p_receiver_email, p_receiver_image_url, p_receiver_role,
         p_subject, p_message
@@ -133,18 +186,11 @@ BEGIN
     
     INSERT INTO message_statuses (message_id, user_uuid, message_status)
     VALUES (v_message_id, p_receiver_uuid, 'UNREAD') ON CONFLICT DO NOTHING;
-    
-    INSERT INTO conversations (
-        conversation_uuid, participant_1_uuid, participant_1_name, participant_1_role,
-        participant_2_uuid, participant_2_name, participant_2_role,
-        subject, last_message_at, message_count
-    )
-    VALUES (p_conversation_id, p_sender_uuid, p_sender_name, p_sender_role,
-            p_receiver_uuid, p_receiver_name, p_receiver_role, p_subject, NOW(), 1)
-    ON CONFLICT (conversation_uuid) DO UPDATE SET
-        last_message_at = NOW(),
-        message_count = conversations.message_count + 1,
-        updated_at = NOW();
+
+    IF p_receiver_uuid <> p_sender_uuid THEN
+        INSERT INTO unread_counters (user_uuid, unread_count) VALUES (p_receiver_uuid, 1)
+        ON CONFLICT (user_uuid) DO UPDATE SET unread_count = unread_counters.unread_count + 1, updated_at = NOW();
+    END IF;
     
     RETURN QUERY
     SELECT 
@@ -162,7 +208,11 @@ CREATE OR REPLACE FUNCTION mark_message_read(p_user_uuid VARCHAR(40), p_message_
 RETURNS VARCHAR LANGUAGE PLPGSQL AS $$
 BEGIN
     UPDATE message_statuses SET message_status = 'READ', read_at = NOW()
-    WHERE message_id = p_message_id AND user_uuid = p_user_uuid;
+    WHERE message_id = p_message_id AND user_uuid = p_user_uuid AND message_status = 'UNREAD';
+    IF FOUND THEN
+        UPDATE unread_counters SET unread_count = GREATEST(unread_count - 1, 0), updated_at = NOW()
+        WHERE user_uuid = p_user_uuid;
+    END IF;
     RETURN 'READ';
 END; $$;
 
@@ -171,9 +221,8 @@ CREATE OR REPLACE FUNCTION get_unread_count(p_user_uuid VARCHAR(40))
 RETURNS INTEGER LANGUAGE PLPGSQL AS $$
 DECLARE v_count INTEGER;
 BEGIN
-    SELECT COUNT(*) INTO v_count FROM message_statuses
-    WHERE user_uuid = p_user_uuid AND message_status = 'UNREAD';
-    RETURN v_count;
+    SELECT unread_count INTO v_count FROM unread_counters WHERE user_uuid = p_user_uuid;
+    RETURN COALESCE(v_count, 0);
 END; $$;
 
 COMMIT;
\ No newline at end of file
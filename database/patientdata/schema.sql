@@ -77,6 +77,21 @@ COMMENT ON COLUMN patients.user_uuid IS 'UUID de l''utilisateur (référence Aut
 COMMENT ON COLUMN patients.medical_record_number IS 'Numéro de dossier médical unique (format: MED-YYYY-XXXXXX)';
 COMMENT ON COLUMN patients.active IS 'Patient actif (false = soft delete)';
 
+-- OUTBOX : événements écrits dans la transaction du patient, publiés sur Kafka par lots puis supprimés
+CREATE TABLE IF NOT EXISTS outbox_events (
+    outbox_event_id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    event_key VARCHAR(40),
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_until TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Bases créées avant la réservation des lots par le relais
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP(6) WITH TIME ZONE;
+
+COMMENT ON TABLE outbox_events IS 'Outbox transactionnelle - événements en attente de publication Kafka';
+
 -- VÉRIFICATION 
 SELECT table_name FROM information_schema.tables WHERE table_schema = 'public';
 
@@ -55,6 +55,7 @@ export class MessagesComponent {
   /**
    * Extrait les contacts uniques depuis les messages existants.
    * Permet aux patients d'écrire aux personnes qui les ont déjà contactés.
+   * Ne couvre que les pages chargées : "Charger plus de messages" complète la liste.
    */
   private extractContactsFromMessages(): any[] {
     const messages = this.store.messages() ?? [];
@@ -15,6 +15,7 @@ export class NotesComponent {
   protected store = inject(AppStore);
 
   searchQuery = signal('');
+  private searchTimer?: ReturnType<typeof setTimeout>;
  pageSize = signal(10);
 
   // Formulaire création note
@@ -33,7 +34,7 @@ export class NotesComponent {
 changePageSize(event: Event) {
     const newSize = +(event.target as HTMLSelectElement).value;
     this.pageSize.set(newSize);
-    this.store.getAllNotesPageable({ ...defaultQuery, page: 0, size: newSize });
+    this.store.getAllNotesPageable(this.pageQuery(0, newSize));
 }
 
   // Patient sélectionné (aperçu)
@@ -80,19 +81,8 @@ changePageSize(event: Event) {
     });
   });
 
-  // Filtrage côté client sur la page courante
-  filteredNotes = computed(() => {
-    let notes = this.enrichedNotes();
-    const query = this.searchQuery().toLowerCase();
-    if (query) {
-      notes = notes.filter(n =>
-        n.content?.toLowerCase().includes(query) ||
-        n.practitionerName?.toLowerCase().includes(query) ||
-        n.patientName?.toLowerCase().includes(query)
-      );
-    }
-    return notes;
-  });
+  // Recherche côté serveur : la page reçue est déjà filtrée (contenu complet, praticien, patient)
+  filteredNotes = this.enrichedNotes;
 
   // Pas de pagination côté client — la page vient du backend
   paginatedNotes = this.filteredNotes;
@@ -123,7 +113,7 @@ changePageSize(event: Event) {
 
   // Navigation
   goToPage(page: number) {
-    this.store.getAllNotesPageable({ ...defaultQuery, page, size: this.pageSize() });
+    this.store.getAllNotesPageable(this.pageQuery(page, this.pageSize()));
   }
 
   previousPage() {
@@ -138,10 +128,15 @@ changePageSize(event: Event) {
 
   onSearch(event: Event) {
     this.searchQuery.set((event.target as HTMLInputElement).value);
+    // Une requête par pause de saisie, à partir de la première page
+    clearTimeout(this.searchTimer);
+    this.searchTimer = setTimeout(() => this.goToPage(0), 300);
   }
 
   clearSearch() {
+    clearTimeout(this.searchTimer);
     this.searchQuery.set('');
+    this.goToPage(0);
   }
 
   deleteNote(noteUuid: string) {
@@ -157,7 +152,18 @@ changePageSize(event: Event) {
   }
 
   private reloadCurrentPage() {
-    this.store.getAllNotesPageable({ ...defaultQuery, page: this.currentPage(), size: this.pageSize() });
+    this.store.getAllNotesPageable(this.pageQuery(this.currentPage(), this.pageSize()));
     this.store.getAllNotes();
 }
+
+  // Requête de page avec la recherche en cours ; le nom du patient est résolu ici en UUID (patients déjà chargés)
+  private pageQuery(page: number, size: number): IQuery {
+    const filter = this.searchQuery().trim();
+    if (!filter) return { ...defaultQuery, page, size };
+    const lower = filter.toLowerCase();
+    const patientUuids = (this.store.allPatients() ?? [])
+      .filter(p => p.userInfo && `${p.userInfo.firstName} ${p.userInfo.lastName}`.toLowerCase().includes(lower))
+      .map(p => p.patientUuid);
+    return { ...defaultQuery, page, size, filter, patientUuids };
+  }
 }
\ No newline at end of file
@@ -8,6 +8,8 @@ export interface INote {
   practitionerUuid: string;
   practitionerName: string;
   content: string;
+  // Aperçu tronqué servi par les listes, qui ne portent pas content
+  preview?: string;
   active: boolean;
   createdAt: string;
   updatedAt: string;
@@ -6,6 +6,7 @@ export interface IQuery {
     status?: string;
     type?: string;
     filter?: string;
+    patientUuids?: string[];
 }
 
 export const defaultQuery: IQuery = { page: 0, size: 10, sortBy: 'createdAt', direction: 'desc', status: '', type: '', filter: ''};
\ No newline at end of file
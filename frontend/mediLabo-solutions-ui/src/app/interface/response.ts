@@ -24,6 +24,8 @@ export interface IResponse {
     comment?: IComment;
     conversation: IMessage[];
     messages: IMessage[];
+    nextCursor?: string;
+    unreadCount?: number;
     message: IMessage;
     patient: IPatient;
     patients: IPatient[];
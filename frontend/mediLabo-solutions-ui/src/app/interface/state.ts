@@ -30,6 +30,9 @@ export interface IState {
     users?: IUser[];
     report?: IPatient[];
     messages?: IMessage[];
+    messagesCursor?: string;
+    loadingMoreMessages?: boolean;
+    unreadCount?: number;
     conversation?: IMessage[];
     devices?: IDevice[];
     userPage?: IPage<IUser>;
@@ -46,7 +49,8 @@ export const initialState: IState = {
     assessments: null, assessmentDetail: null, allAssessments: null,
     pages: null, currentPage: 0, reportRequest: undefined,
     loading: false, error: null,
-    messages: null, conversation: null, devices: null,
+    messages: null, messagesCursor: null, loadingMoreMessages: false, unreadCount: null,
+    conversation: null, devices: null,
     query: defaultQuery,
     userPage: null,
     patientPage: null, 
@@ -21,7 +21,9 @@ allNotesPageable$ = (query: IQuery) =>
           page: query.page.toString(),
           size: query.size.toString(),
           sortBy: query.sortBy || 'createdAt',
-          direction: query.direction || 'desc'
+          direction: query.direction || 'desc',
+          // Recherche côté serveur sur le contenu complet (l'aperçu n'en porte que 200 caractères)
+          ...(query.filter ? { search: query.filter, patientUuids: query.patientUuids ?? [] } : {})
         }
       })
       .pipe(tap(console.log), catchError(this.handleError))
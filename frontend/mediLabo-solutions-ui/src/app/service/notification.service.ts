@@ -10,10 +10,11 @@ export class NotificationService {
 
   constructor() {}
 
-  messages$ = () =>
+  // Pagination par curseur : passer le nextCursor de la page précédente pour obtenir la suivante
+  messages$ = (cursor?: string) =>
     <Observable<IResponse>>(
       this.http
-        .get<IResponse>(`${server}/api/notifications/messages`)
+        .get<IResponse>(`${server}/api/notifications/messages`, { params: cursor ? { cursor } : {} })
         .pipe(tap(console.log), catchError(this.handleError))
     );
 
@@ -6,7 +6,7 @@ import { computed, inject, Query } from '@angular/core';
 import { getMessageCount } from '../utils/fileutils';
 import { UserService } from '../service/user.service';
 import { HotToastService } from '@ngxpert/hot-toast';
-import { pipe, switchMap, tap } from 'rxjs';
+import { exhaustMap, filter, pipe, switchMap, tap } from 'rxjs';
 import { IResponse } from '../interface/response';
 import { NotificationService } from '../service/notification.service';
 import { IUser } from '../interface/user';
@@ -20,7 +20,8 @@ export const AppStore = signalStore(
     { providedIn: 'root' },
     withState<IState>(initialState),
     // withWatch((state) todo something on state change),
-    withComputed((store) => ({unreadMessageCount: computed(() => getMessageCount(store.messages()))})),
+    // Compteur du serveur (toutes pages confondues), à défaut celui des messages chargés
+    withComputed((store) => ({unreadMessageCount: computed(() => store.unreadCount() ?? getMessageCount(store.messages()))})),
 
     // withHooks((store)
     withMethods((store, userService = inject(UserService), patientService = inject(PatientService), noteService = inject(NoteService), assessmentService = inject(AssessmentService), toastService = inject(HotToastService), notificationService = inject(NotificationService)) => ({
@@ -561,7 +562,8 @@ export const AppStore = signalStore(
                 tapResponse({
                     next: (response: IResponse) => {
                         patchState(store, (state) => ({
-                            noteDetail: response.data.note,
+                            // Le fil de commentaires n'est pas renvoyé par la mise à jour : on garde celui déjà chargé
+                            noteDetail: { ...response.data.note, comments: state.noteDetail?.comments ?? [] },
                             notes: state.notes?.map(n => n.noteUuid === noteUuid ? response.data.note : n) ?? [],
                             loading: false, error: null
                         }));
@@ -732,7 +734,7 @@ export const AppStore = signalStore(
             switchMap(() => notificationService.messages$().pipe(
                 tapResponse({
                     next: (response: IResponse) => {
-                        patchState(store, { messages: response.data.messages, loading: false, error: null });
+                        patchState(store, { messages: response.data.messages, messagesCursor: response.data.nextCursor ?? null, unreadCount: response.data.unreadCount ?? null, loading: false, error: null });
                     },
                     error: (error: string) => {
                         toastService.error(error ? error : `Une erreur s'est produite. Veuillez réessayer.`);
@@ -740,6 +742,27 @@ export const AppStore = signalStore(
                     }
                 })
             )))),
+        // Page suivante de la boîte de réception, ajoutée aux messages déjà chargés
+        loadMoreMessages: rxMethod<void>(pipe(
+            filter(() => !!store.messagesCursor() && !store.loadingMoreMessages()),
+            tap(() => patchState(store, { loadingMoreMessages: true, error: null })),
+            exhaustMap(() => notificationService.messages$(store.messagesCursor()).pipe(
+                tapResponse({
+                    next: (response: IResponse) => {
+                        patchState(store, (state) => ({
+                            messages: [...(state.messages ?? []), ...response.data.messages],
+                            messagesCursor: response.data.nextCursor ?? null,
+                            unreadCount: response.data.unreadCount ?? state.unreadCount,
+                            loadingMoreMessages: false,
+                            error: null
+                        }));
+                    },
+                    error: (error: string) => {
+                        toastService.error(error ? error : `Une erreur s'est produite. Veuillez réessayer.`);
+                        patchState(store, { loadingMoreMessages: false, error });
+                    }
+                })
+            )))),
         sendMessage: rxMethod<any>(pipe(
             tap(() => patchState(store, { loading: true, error: null })),
             switchMap((form) => notificationService.sendMessage$(form).pipe(